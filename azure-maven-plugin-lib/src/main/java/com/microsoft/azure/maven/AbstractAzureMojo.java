@@ -30,6 +30,9 @@ import com.microsoft.azure.toolkit.lib.common.exception.AzureExecutionException;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessager;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
+import com.microsoft.azure.toolkit.lib.common.metrics.LogMetricsExporter;
+import com.microsoft.azure.toolkit.lib.common.metrics.Meter;
 import com.microsoft.azure.toolkit.lib.common.model.Subscription;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
 import com.microsoft.azure.toolkit.lib.common.proxy.ProxyInfo;
@@ -183,6 +186,14 @@ public abstract class AbstractAzureMojo extends AbstractMojo {
     @Parameter(property = "failsOnError", defaultValue = "true")
     protected Boolean failsOnError;
 
+    /**
+     * Boolean flag to print a summary of metrics (e.g. ARM requests, cache hits and upload throughput) at the end of current goal.
+     * @since 1.37.0
+     */
+    @Getter
+    @Parameter(property = "printMetrics", defaultValue = "false")
+    protected Boolean printMetrics;
+
     /**
      * Deprecated, please set the authentication type in `auth`
      * @since 1.2.13
@@ -296,6 +307,7 @@ public abstract class AbstractAzureMojo extends AbstractMojo {
     @Override
     public void execute() throws MojoExecutionException {
         final String originalReflectionLogLevel = System.getProperty("org.slf4j.simpleLogger.log.org.reflections.Reflections");
+        final List<Meter> metricsSnapshot = BooleanUtils.isTrue(printMetrics) ? AzureMetrics.snapshot() : null;
         try {
             System.setProperty("org.slf4j.simpleLogger.log.org.reflections.Reflections", "warn");
             Azure.az().config().setLogLevel(HttpLogDetailLevel.NONE.name());
@@ -303,6 +315,9 @@ public abstract class AbstractAzureMojo extends AbstractMojo {
             Azure.az().config().setProduct(getPluginName());
             Azure.az().config().setVersion(getPluginVersion());
             Azure.az().config().setTelemetryEnabled(BooleanUtils.isNotFalse(allowTelemetry));
+            if (Objects.nonNull(metricsSnapshot)) {
+                AzureMetrics.setEnabled(true);
+            }
             // init proxy manager
             initMavenSettingsProxy(Optional.ofNullable(this.session).map(MavenSession::getRequest).orElse(null));
             ProxyManager.getInstance().applyProxy();
@@ -331,6 +346,11 @@ public abstract class AbstractAzureMojo extends AbstractMojo {
         } catch (Throwable e) {
             onMojoError(e);
         } finally {
+            if (Objects.nonNull(metricsSnapshot)) {
+                // meters are shared by all goals of the build (and by goals running in parallel with `-T`), print what's
+                // recorded since this goal started, the meters themselves are kept for other goals.
+                new LogMetricsExporter().export(AzureMetrics.getMetersSince(metricsSnapshot));
+            }
             // When maven goal executes too quick, The HTTPClient of AI SDK may not fully initialize and will step
             // into endless loop when close, we need to call it in main thread.
             // Refer here for detail codes: https://github.com/Microsoft/ApplicationInsights-Java/blob/master/core/src
@@ -377,6 +397,29 @@ public abstract class AbstractAzureMojo extends AbstractMojo {
     }
 
     protected Account loginAzure(MavenAuthConfiguration auth) throws MavenDecryptException, AzureExecutionException {
+        // all modules of current build share the same account, sign in only once even in parallel builds.
+        return getAzureSessionContext().getOrLogin(getAuthKey(auth), () -> doLoginAzure(auth));
+    }
+
+    /**
+     * identifies the auth configuration (without secrets), an account is only reused by builds with the same key.
+     */
+    private String getAuthKey(@Nullable MavenAuthConfiguration auth) {
+        final MavenAuthConfiguration config = auth == null ? new MavenAuthConfiguration() : auth;
+        final Function<String, String> cli = name -> System.getProperty("auth." + name); // see `toAuthConfiguration`
+        return Stream.of(StringUtils.firstNonBlank(config.getType(), authType, cli.apply("type")),
+                StringUtils.firstNonBlank(config.getServerId(), cli.apply("serverId")),
+                StringUtils.firstNonBlank(config.getEnvironment(), cli.apply("environment")),
+                StringUtils.firstNonBlank(config.getClient(), cli.apply("client")),
+                StringUtils.firstNonBlank(config.getTenant(), cli.apply("tenant")),
+                StringUtils.firstNonBlank(config.getCertificate(), cli.apply("certificate")))
+            .map(StringUtils::trimToEmpty).map(StringUtils::lowerCase).collect(Collectors.joining("|"));
+    }
+
+    /**
+     * signs in with {@code auth}, called at most once per build and auth configuration by {@link #loginAzure(MavenAuthConfiguration)}.
+     */
+    protected Account doLoginAzure(MavenAuthConfiguration auth) throws MavenDecryptException, AzureExecutionException {
         if (Azure.az(AzureAccount.class).isLoggedIn()) {
             return Azure.az(AzureAccount.class).account();
         }
@@ -437,15 +480,36 @@ public abstract class AbstractAzureMojo extends AbstractMojo {
     @SneakyThrows
     protected void selectSubscription() {
         final Account account = Azure.az(AzureAccount.class).account();
-        final List<Subscription> subscriptions = account.getSubscriptions();
-        final String targetSubscriptionId = getTargetSubscriptionId(getSubscriptionId(), subscriptions, account.getSelectedSubscriptions());
-        checkSubscription(subscriptions, targetSubscriptionId);
-        account.setSelectedSubscriptions(Collections.singletonList(targetSubscriptionId));
+        final String targetSubscriptionId = resolveTargetSubscriptionId(account);
         final Subscription subscription = account.getSubscription(targetSubscriptionId);
         log.info(String.format(SUBSCRIPTION_TEMPLATE, TextUtils.cyan(subscription.getName()), TextUtils.cyan(subscription.getId())));
         this.subscriptionId = targetSubscriptionId;
     }
 
+    /**
+     * resolve (and select) the target subscription, the resolution is shared by all modules of current build,
+     * so that users are prompted at most once.
+     */
+    protected String resolveTargetSubscriptionId(@Nonnull final Account account) throws AzureExecutionException, IOException {
+        final String targetSubscriptionId = getAzureSessionContext().getOrSelectSubscription(getSubscriptionId(), () -> {
+            final List<Subscription> subscriptions = account.getSubscriptions();
+            final String target = getTargetSubscriptionId(getSubscriptionId(), subscriptions, account.getSelectedSubscriptions());
+            checkSubscription(subscriptions, target);
+            return target;
+        });
+        final List<Subscription> selected = account.getSelectedSubscriptions();
+        if (selected.size() != 1 || !StringUtils.equalsIgnoreCase(selected.get(0).getId(), targetSubscriptionId)) {
+            account.setSelectedSubscriptions(Collections.singletonList(targetSubscriptionId));
+        }
+        Optional.ofNullable(telemetryProxy).ifPresent(t -> t.addDefaultProperty(SUBSCRIPTION_ID_KEY, targetSubscriptionId));
+        return targetSubscriptionId;
+    }
+
+    @Nonnull
+    protected AzureSessionContext getAzureSessionContext() {
+        return AzureSessionContext.of(this.session);
+    }
+
     private static void promptAzureEnvironment(AzureEnvironment env) {
         if (env != null && env != AzureEnvironment.AZURE) {
             AzureMessager.getMessager().info(AzureString.format("Auth environment: %s", AzureEnvironmentUtils.azureEnvironmentToString(env)));
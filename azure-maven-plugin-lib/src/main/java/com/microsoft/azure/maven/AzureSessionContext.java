@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.maven;
+
+import com.azure.core.http.HttpClient;
+import com.microsoft.azure.maven.exception.MavenDecryptException;
+import com.microsoft.azure.toolkit.lib.Azure;
+import com.microsoft.azure.toolkit.lib.auth.Account;
+import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureExecutionException;
+import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter;
+import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemetryClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Azure state shared by all plugin executions of one Maven build (reactor), including parallel builds ({@code mvn -T}).
+ * Maven clones {@link MavenSession} per project in parallel builds, so the context is keyed on the shared
+ * {@link MavenExecutionRequest} and released together with it.
+ * <p>
+ * In a long-lived JVM (e.g. Maven Daemon) the plugin realm, and with it the signed-in account, HTTP connection pools
+ * and resource caches, survives between builds. The account is reused by later builds only if they use the same
+ * auth configuration and the JVM has not been idle for longer than {@value IDLE_TIMEOUT_PROPERTY} minutes.
+ */
+@Slf4j
+public class AzureSessionContext {
+    public static final String IDLE_TIMEOUT_PROPERTY = "azure.session.idleTimeout";
+    private static final long DEFAULT_IDLE_TIMEOUT_IN_MINUTES = 30;
+    private static final Map<MavenExecutionRequest, AzureSessionContext> contexts = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AzureSessionContext standalone = new AzureSessionContext();
+    // the JVM wide state below outlives contexts on purpose: it describes what previous builds left behind.
+    private static final AtomicLong lastActive = new AtomicLong(0);
+    @Nullable
+    private static volatile String lastAuthKey;
+    /**
+     * signs out the account and evicts all caches, replaced in tests.
+     */
+    @Nonnull
+    static volatile Runnable signOutAction = () -> Azure.az(AzureAccount.class).logout();
+
+    private final Object loginLock = new Object();
+    private final Object subscriptionLock = new Object();
+    private final Map<String, String> resolvedSubscriptions = new ConcurrentHashMap<>();
+    @Nullable
+    private volatile SignedIn signedIn;
+
+    /**
+     * @return the context shared by all executions of the build {@code session} belongs to, or a JVM wide one if
+     * {@code session} is not available (e.g. in unit tests).
+     */
+    @Nonnull
+    public static AzureSessionContext of(@Nullable MavenSession session) {
+        final MavenExecutionRequest request = Optional.ofNullable(session).map(MavenSession::getRequest).orElse(null);
+        if (Objects.isNull(request)) {
+            return standalone;
+        }
+        return contexts.computeIfAbsent(request, r -> {
+            evictIfIdle();
+            return new AzureSessionContext();
+        });
+    }
+
+    /**
+     * @param authKey identifies the auth configuration, an account signed in (by this or a previous build in the same
+     *                JVM) with a different auth configuration is signed out first.
+     * @return the shared account if it's still signed in with the same auth configuration, otherwise sign in with
+     * {@code login} exactly once even if called concurrently by executions of different modules.
+     */
+    @Nonnull
+    public Account getOrLogin(@Nonnull String authKey, @Nonnull AccountLoader login) throws AzureExecutionException, MavenDecryptException {
+        if (evictIfIdle()) { // e.g. the standalone context, which is never recreated.
+            synchronized (this.loginLock) {
+                this.signedIn = null;
+            }
+        }
+        lastActive.set(System.currentTimeMillis());
+        final SignedIn current = this.signedIn;
+        if (isValid(current, authKey)) {
+            return current.account;
+        }
+        synchronized (this.loginLock) {
+            final SignedIn previous = this.signedIn;
+            if (isValid(previous, authKey)) {
+                return previous.account;
+            }
+            if (Objects.nonNull(lastAuthKey) && !StringUtils.equals(lastAuthKey, authKey)) {
+                log.debug("auth configuration changed, signing out.");
+                signOut();
+            }
+            if (Objects.nonNull(previous) && !StringUtils.equals(previous.authKey, authKey)) {
+                // subscriptions were resolved against the previous account.
+                this.resolvedSubscriptions.clear();
+            }
+            log.debug("signing in for the current build.");
+            final Account loggedIn = login.login();
+            this.signedIn = new SignedIn(loggedIn, authKey);
+            lastAuthKey = authKey;
+            return loggedIn;
+        }
+    }
+
+    @Nullable
+    public Account getAccount() {
+        final SignedIn current = this.signedIn;
+        return Objects.nonNull(current) && current.account.isLoggedIn() ? current.account : null;
+    }
+
+    /**
+     * resolves the target subscription for the configured {@code subscriptionId} (may be blank, which means the user is
+     * prompted or the only subscription is used), {@code selector} is called only once per distinct configured value,
+     * prompts of parallel executions are serialized.
+     */
+    @Nonnull
+    public String getOrSelectSubscription(@Nullable String subscriptionId, @Nonnull SubscriptionSelector selector)
+        throws AzureExecutionException, IOException {
+        final String key = StringUtils.lowerCase(StringUtils.trimToEmpty(subscriptionId));
+        final String resolved = this.resolvedSubscriptions.get(key);
+        if (StringUtils.isNotBlank(resolved)) {
+            return resolved;
+        }
+        synchronized (this.subscriptionLock) {
+            final String selected = this.resolvedSubscriptions.get(key);
+            if (StringUtils.isNotBlank(selected)) {
+                return selected;
+            }
+            final String target = selector.select();
+            if (StringUtils.isNotBlank(target)) {
+                this.resolvedSubscriptions.put(key, target);
+            }
+            return target;
+        }
+    }
+
+    /**
+     * the shared (Netty) http client and its connection pool used by all management clients of this build.
+     */
+    @Nonnull
+    public HttpClient getHttpClient() {
+        return AbstractAzServiceSubscription.getDefaultHttpClient();
+    }
+
+    @Nonnull
+    public AzureTelemetryClient getTelemetryClient() {
+        return AzureTelemeter.getClient();
+    }
+
+    /**
+     * drops the shared account, e.g. after the user signed out.
+     */
+    public void reset() {
+        synchronized (this.loginLock) {
+            this.signedIn = null;
+            this.resolvedSubscriptions.clear();
+        }
+    }
+
+    /**
+     * @return true if the account is signed out because the JVM has been idle for too long.
+     */
+    private static boolean evictIfIdle() {
+        final long last = lastActive.get();
+        final long now = System.currentTimeMillis();
+        final long timeout = TimeUnit.MINUTES.toMillis(NumberUtils.toLong(System.getProperty(IDLE_TIMEOUT_PROPERTY), DEFAULT_IDLE_TIMEOUT_IN_MINUTES));
+        if (last > 0 && now - last > timeout && lastActive.compareAndSet(last, now)) { // only one caller signs out.
+            log.debug("JVM has been idle for more than {} ms, signing out.", timeout);
+            signOut();
+            return true;
+        }
+        return false;
+    }
+
+    private static void signOut() {
+        try {
+            // evicts all caches as well.
+            signOutAction.run();
+        } catch (final RuntimeException e) {
+            log.debug("failed to sign out.", e);
+        }
+        lastAuthKey = null;
+    }
+
+    private static boolean isValid(@Nullable SignedIn signedIn, @Nonnull String authKey) {
+        return Objects.nonNull(signedIn) && StringUtils.equals(signedIn.authKey, authKey) && signedIn.account.isLoggedIn();
+    }
+
+    /**
+     * the shared account together with the auth configuration it's signed in with, published as a whole so that an
+     * account is never paired with the key of another one.
+     */
+    @RequiredArgsConstructor
+    private static class SignedIn {
+        @Nonnull
+        private final Account account;
+        @Nonnull
+        private final String authKey;
+    }
+
+    @FunctionalInterface
+    public interface AccountLoader {
+        @Nonnull
+        Account login() throws AzureExecutionException, MavenDecryptException;
+    }
+
+    @FunctionalInterface
+    public interface SubscriptionSelector {
+        @Nonnull
+        String select() throws AzureExecutionException, IOException;
+    }
+}
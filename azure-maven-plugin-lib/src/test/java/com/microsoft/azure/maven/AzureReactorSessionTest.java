@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.maven;
+
+import com.microsoft.azure.maven.exception.MavenDecryptException;
+import com.microsoft.azure.maven.model.MavenAuthConfiguration;
+import com.microsoft.azure.toolkit.lib.auth.Account;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureExecutionException;
+import com.microsoft.azure.toolkit.lib.common.model.Subscription;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * runs the goals of a synthetic multi-module reactor in parallel (like {@code mvn -T}) with stubbed sign in.
+ */
+public class AzureReactorSessionTest {
+    private static final int MODULES = 20;
+    private static final String SUBSCRIPTION_ID = "00000000-0000-0000-0000-000000000000";
+
+    private Runnable originalSignOutAction;
+
+    @Before
+    public void setUp() {
+        this.originalSignOutAction = AzureSessionContext.signOutAction;
+        AzureSessionContext.signOutAction = () -> {
+        };
+    }
+
+    @After
+    public void tearDown() {
+        AzureSessionContext.signOutAction = this.originalSignOutAction;
+    }
+
+    @Test
+    public void testSingleLoginAndSubscriptionListingInParallelReactor() throws Exception {
+        final Account account = Mockito.mock(Account.class);
+        Mockito.when(account.isLoggedIn()).thenReturn(true);
+        Mockito.when(account.getSelectedSubscriptions()).thenReturn(Collections.emptyList());
+        Mockito.when(account.getSubscriptions()).thenAnswer(invocation -> {
+            pause(); // slow subscription listing
+            return Collections.singletonList(new Subscription(SUBSCRIPTION_ID));
+        });
+        final AtomicInteger logins = new AtomicInteger();
+
+        final MavenSession reactor = newReactor(MODULES);
+        final List<DeployMojo> mojos = new ArrayList<>();
+        for (final MavenProject project : reactor.getProjects()) {
+            if (!project.isExecutionRoot()) { // the aggregator has nothing to deploy
+                // the multi-threaded builder runs every project with its own clone of the session.
+                final MavenSession session = reactor.clone();
+                session.setCurrentProject(project);
+                mojos.add(new DeployMojo(project, session, account, logins));
+            }
+        }
+        assertEquals(MODULES, mojos.size());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(reactor.getRequest().getDegreeOfConcurrency());
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<String>> results = new ArrayList<>();
+        try {
+            for (final DeployMojo mojo : mojos) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    mojo.doExecute();
+                    return mojo.getSubscriptionId();
+                }));
+            }
+            start.countDown();
+            for (final Future<String> result : results) {
+                assertEquals(SUBSCRIPTION_ID, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, logins.get());
+        verify(account, times(1)).getSubscriptions();
+    }
+
+    private static MavenSession newReactor(int modules) {
+        final MavenProject root = newProject("reactor", "pom");
+        root.setExecutionRoot(true);
+        final List<MavenProject> projects = new ArrayList<>();
+        projects.add(root);
+        for (int i = 0; i < modules; i++) {
+            final MavenProject module = newProject("module-" + i, "jar");
+            module.setParent(root);
+            root.getModel().addModule(module.getArtifactId());
+            projects.add(module);
+        }
+        final MavenExecutionRequest request = new DefaultMavenExecutionRequest();
+        request.setDegreeOfConcurrency(modules);
+        final MavenSession session = new MavenSession(null, null, request, new DefaultMavenExecutionResult());
+        session.setProjects(projects);
+        return session;
+    }
+
+    private static MavenProject newProject(String artifactId, String packaging) {
+        final MavenProject project = new MavenProject();
+        project.setGroupId("com.example");
+        project.setArtifactId(artifactId);
+        project.setVersion("1.0.0");
+        project.setPackaging(packaging);
+        return project;
+    }
+
+    private static void pause() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(50);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * a goal that signs in and resolves the target subscription like deployment goals do, with sign in stubbed.
+     */
+    private static class DeployMojo extends AbstractAzureMojo {
+        private final Account account;
+        private final AtomicInteger logins;
+
+        DeployMojo(MavenProject project, MavenSession session, Account account, AtomicInteger logins) {
+            this.project = project;
+            this.session = session;
+            this.plugin = new PluginDescriptor();
+            this.plugin.setArtifactId("azure-maven-plugin-lib");
+            this.plugin.setVersion("0.1.0-SNAPSHOT");
+            this.subscriptionId = SUBSCRIPTION_ID;
+            this.allowTelemetry = false;
+            this.account = account;
+            this.logins = logins;
+            this.initTelemetryProxy();
+        }
+
+        @Override
+        protected void doExecute() throws AzureExecutionException, MavenDecryptException, IOException {
+            this.resolveTargetSubscriptionId(this.loginAzure());
+        }
+
+        @Override
+        protected Account doLoginAzure(MavenAuthConfiguration auth) {
+            this.logins.incrementAndGet();
+            pause(); // slow sign in
+            return this.account;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.maven;
+
+import com.microsoft.azure.toolkit.lib.auth.Account;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class AzureSessionContextTest {
+    private static final String SUBSCRIPTION_ID = "00000000-0000-0000-0000-000000000000";
+    private static final String AUTH_KEY = "azure_cli";
+
+    private final AtomicInteger signOuts = new AtomicInteger();
+    private Runnable originalSignOutAction;
+
+    @Before
+    public void setUp() {
+        this.originalSignOutAction = AzureSessionContext.signOutAction;
+        AzureSessionContext.signOutAction = this.signOuts::incrementAndGet;
+    }
+
+    @After
+    public void tearDown() {
+        AzureSessionContext.signOutAction = this.originalSignOutAction;
+        System.clearProperty(AzureSessionContext.IDLE_TIMEOUT_PROPERTY);
+    }
+
+    @Test
+    public void testContextPerBuild() {
+        final MavenSession session1 = Mockito.mock(MavenSession.class);
+        final MavenSession session2 = Mockito.mock(MavenSession.class);
+        Mockito.when(session1.getRequest()).thenReturn(Mockito.mock(MavenExecutionRequest.class));
+        Mockito.when(session2.getRequest()).thenReturn(Mockito.mock(MavenExecutionRequest.class));
+        assertSame(AzureSessionContext.of(session1), AzureSessionContext.of(session1));
+        assertNotSame(AzureSessionContext.of(session1), AzureSessionContext.of(session2));
+        assertSame(AzureSessionContext.of(null), AzureSessionContext.of(Mockito.mock(MavenSession.class)));
+    }
+
+    @Test
+    public void testReloginAfterSignedOut() throws Exception {
+        final MavenSession session = Mockito.mock(MavenSession.class);
+        Mockito.when(session.getRequest()).thenReturn(Mockito.mock(MavenExecutionRequest.class));
+        final AzureSessionContext context = AzureSessionContext.of(session);
+        final Account account = Mockito.mock(Account.class);
+        Mockito.when(account.isLoggedIn()).thenReturn(false); // signed out
+        final AtomicInteger logins = new AtomicInteger();
+        context.getOrLogin(AUTH_KEY, () -> {
+            logins.incrementAndGet();
+            return account;
+        });
+        context.getOrLogin(AUTH_KEY, () -> {
+            logins.incrementAndGet();
+            return account;
+        });
+        assertEquals(2, logins.get());
+    }
+
+    @Test
+    public void testSignOutIfAuthConfigurationChanged() throws Exception {
+        final Account account = Mockito.mock(Account.class);
+        Mockito.when(account.isLoggedIn()).thenReturn(true);
+        newContext().getOrLogin("service_principal|tenant-a", () -> account);
+        final int signOutsBefore = this.signOuts.get();
+
+        // next build in the same JVM with a different auth configuration
+        newContext().getOrLogin("service_principal|tenant-b", () -> account);
+        assertEquals(signOutsBefore + 1, this.signOuts.get());
+
+        // and another one with the same configuration
+        newContext().getOrLogin("service_principal|tenant-b", () -> account);
+        assertEquals(signOutsBefore + 1, this.signOuts.get());
+    }
+
+    @Test
+    public void testReloginIfAuthConfigurationChangedWithinBuild() throws Exception {
+        final Account accountA = Mockito.mock(Account.class);
+        final Account accountB = Mockito.mock(Account.class);
+        Mockito.when(accountA.isLoggedIn()).thenReturn(true);
+        Mockito.when(accountB.isLoggedIn()).thenReturn(true);
+        final AzureSessionContext context = newContext();
+        assertSame(accountA, context.getOrLogin("service_principal|tenant-a", () -> accountA));
+        assertEquals(SUBSCRIPTION_ID, context.getOrSelectSubscription(null, () -> SUBSCRIPTION_ID));
+        final int signOutsBefore = this.signOuts.get();
+
+        // e.g. a module of the same build configured with another tenant
+        assertSame(accountB, context.getOrLogin("service_principal|tenant-b", () -> accountB));
+        assertEquals(signOutsBefore + 1, this.signOuts.get());
+        assertSame(accountB, context.getAccount());
+        // subscription resolved with the previous account is not reused
+        assertEquals("another", context.getOrSelectSubscription(null, () -> "another"));
+    }
+
+    @Test
+    public void testSignOutIfIdle() throws Exception {
+        final Account account = Mockito.mock(Account.class);
+        Mockito.when(account.isLoggedIn()).thenReturn(true);
+        final AtomicInteger logins = new AtomicInteger();
+        final AzureSessionContext context = newContext();
+        context.getOrLogin(AUTH_KEY, () -> {
+            logins.incrementAndGet();
+            return account;
+        });
+        context.getOrLogin(AUTH_KEY, () -> {
+            logins.incrementAndGet();
+            return account;
+        });
+        assertEquals(1, logins.get());
+        final int signOutsBefore = this.signOuts.get();
+
+        System.setProperty(AzureSessionContext.IDLE_TIMEOUT_PROPERTY, "0");
+        TimeUnit.MILLISECONDS.sleep(20);
+        // the same context (e.g. standalone one) is used after idle.
+        context.getOrLogin(AUTH_KEY, () -> {
+            logins.incrementAndGet();
+            return account;
+        });
+        assertEquals(2, logins.get());
+        assertEquals(signOutsBefore + 1, this.signOuts.get());
+
+        TimeUnit.MILLISECONDS.sleep(20);
+        // a new build after idle.
+        newContext();
+        assertEquals(signOutsBefore + 2, this.signOuts.get());
+    }
+
+    private static AzureSessionContext newContext() {
+        final MavenSession session = Mockito.mock(MavenSession.class);
+        Mockito.when(session.getRequest()).thenReturn(Mockito.mock(MavenExecutionRequest.class));
+        return AzureSessionContext.of(session);
+    }
+}
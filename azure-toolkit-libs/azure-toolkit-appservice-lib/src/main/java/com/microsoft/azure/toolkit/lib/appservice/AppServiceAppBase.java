@@ -44,8 +44,10 @@ import reactor.core.publisher.Flux;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -137,6 +139,16 @@ public abstract class AppServiceAppBase<
         return Optional.ofNullable(getFileClient()).map(c -> c.getFileContent(path)).orElseGet(Flux::empty);
     }
 
+    @Nonnull
+    public Flux<ByteBuffer> getFileContent(String path, long offset, @Nullable Long count) {
+        return Optional.ofNullable(getFileClient()).map(c -> c.getFileContent(path, offset, count)).orElseGet(Flux::empty);
+    }
+
+    @Nullable
+    public AppServiceFile getFileProperties(String path) {
+        return Optional.ofNullable(getFileClient()).map(c -> c.getFileProperties(path)).orElse(null);
+    }
+
     @Nonnull
     public List<? extends AppServiceFile> getFilesInDirectory(String dir) {
         return Optional.ofNullable(getFileClient()).map(c -> c.getFilesInDirectory(dir)).orElseGet(Collections::emptyList);
@@ -151,6 +163,16 @@ public abstract class AppServiceAppBase<
         Optional.ofNullable(getFileClient()).ifPresent(c -> c.uploadFileToPath(content, path));
     }
 
+    /**
+     * @param etag overwrite the file only if its ETag still matches, null to overwrite unconditionally.
+     * @return ETag of the saved file if returned by the server.
+     */
+    @Nullable
+    public String uploadFile(@Nonnull Path source, String path, @Nullable String etag) throws IOException {
+        final IFileClient client = getFileClient();
+        return Objects.isNull(client) ? null : client.uploadFile(source, path, etag);
+    }
+
     public void createDirectory(String path) {
         Optional.ofNullable(getFileClient()).ifPresent(c -> c.createDirectory(path));
     }
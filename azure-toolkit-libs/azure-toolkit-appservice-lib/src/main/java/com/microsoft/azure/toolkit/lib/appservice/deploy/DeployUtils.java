@@ -11,6 +11,8 @@ import com.azure.resourcemanager.appservice.models.WebAppBase;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.model.DataPlaneClients;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Optional;
@@ -38,7 +40,8 @@ class DeployUtils {
         if (StringUtils.isEmpty(connectionString)) {
             throw new AzureToolkitRuntimeException(INTERNAL_STORAGE_NOT_FOUND);
         }
-        return new BlobServiceClientBuilder().connectionString(connectionString).buildClient();
+        return DataPlaneClients.get(BlobServiceClient.class, connectionString, http -> new BlobServiceClientBuilder().httpClient(http)
+                .addPolicy(AbstractAzServiceSubscription.getUserAgentPolicy()).connectionString(connectionString).buildClient());
     }
 
     static void updateFunctionAppSetting(final WebAppBase deployTarget, final String key, final String value) {
@@ -9,6 +9,7 @@ import com.azure.core.annotation.BodyParam;
 import com.azure.core.annotation.Delete;
 import com.azure.core.annotation.ExpectedResponses;
 import com.azure.core.annotation.Get;
+import com.azure.core.annotation.Head;
 import com.azure.core.annotation.HeaderParam;
 import com.azure.core.annotation.Headers;
 import com.azure.core.annotation.Host;
@@ -24,6 +25,8 @@ import com.azure.core.util.BinaryData;
 import com.azure.core.util.FluxUtil;
 import com.azure.resourcemanager.appservice.models.WebAppBase;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.fasterxml.jackson.databind.node.NullNode;
 import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.appservice.AppServiceAppBase;
@@ -33,14 +36,15 @@ import com.microsoft.azure.toolkit.lib.appservice.model.ProcessInfo;
 import com.microsoft.azure.toolkit.lib.appservice.model.TunnelStatus;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
+import com.microsoft.azure.toolkit.lib.common.task.AzureSchedulers;
 import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
 import lombok.Data;
 import lombok.experimental.SuperBuilder;
 import org.apache.commons.lang3.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -55,6 +59,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -66,8 +71,14 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
     private final KuduService kuduService;
     private final AppServiceAppBase<?, ?, ?> app;
     private static final String HOME_PREFIX = "/home";
-
-    private AppServiceKuduClient(String host, KuduService kuduService, AppServiceAppBase<?, ?, ?> app) {
+    private static final Duration LISTING_TTL = Duration.ofSeconds(10);
+    // fallback of `getFileProperties` in lookups by path: recent listings of the parent directory.
+    private final Cache<String, List<? extends AppServiceFile>> listings = Caffeine.newBuilder()
+        .expireAfterWrite(LISTING_TTL.toMillis(), TimeUnit.MILLISECONDS)
+        .maximumSize(100)
+        .build();
+
+    AppServiceKuduClient(String host, KuduService kuduService, AppServiceAppBase<?, ?, ?> app) {
         this.host = host;
         this.app = app;
         this.kuduService = kuduService;
@@ -92,22 +103,48 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
 
     public Flux<ByteBuffer> getFileContent(final String path) {
         final String fixedPath = StringUtils.removeStart(path, HOME_PREFIX);
-        return this.kuduService.getFileContent(host, fixedPath).flatMapMany(StreamResponse::getValue);
+        return AzureMetrics.track(this.kuduService.getFileContent(host, fixedPath).flatMapMany(StreamResponse::getValue), "kudu.file", AzureMetrics.DOWNLOAD);
+    }
+
+    @Override
+    public Flux<ByteBuffer> getFileContent(final String path, long offset, @Nullable Long count) {
+        final String fixedPath = StringUtils.removeStart(path, HOME_PREFIX);
+        return AzureMetrics.track(this.kuduService.getFileContent(host, fixedPath, VfsUtils.toRange(offset, count)).flatMapMany(StreamResponse::getValue),
+            "kudu.file", AzureMetrics.DOWNLOAD);
+    }
+
+    @Nullable
+    @Override
+    public AppServiceFile getFileProperties(String path) {
+        final String fixedPath = StringUtils.removeStart(path, HOME_PREFIX);
+        return Optional.ofNullable(VfsUtils.toFile(this.kuduService.getFileProperties(host, fixedPath).block(), fixedPath))
+            .map(file -> file.withApp(app))
+            .orElse(null);
     }
 
     public List<? extends AppServiceFile> getFilesInDirectory(String dir) {
         // this file is generated by kudu itself, should not be visible to user.
         final String fixedDir = StringUtils.removeStart(dir, HOME_PREFIX);
-        return Objects.requireNonNull(this.kuduService.getFilesInDirectory(host, fixedDir).block()).getValue().stream()
+        final List<AppServiceFile> files = Objects.requireNonNull(this.kuduService.getFilesInDirectory(host, fixedDir).block()).getValue().stream()
             .filter(file -> !"text/xml".equals(file.getMime()) || !file.getName().contains("LogFiles-kudu-trace_pending.xml"))
             .map(file -> file.withApp(app).withPath(Paths.get(fixedDir, file.getName()).toString()))
             .collect(Collectors.toList());
+        this.listings.put(fixedDir, files);
+        return files;
     }
 
     public AppServiceFile getFileByPath(String path) {
         final String fixedPath = StringUtils.removeStart(path, HOME_PREFIX);
         final File file = new File(fixedPath);
-        final List<? extends AppServiceFile> result = getFilesInDirectory(file.getParent());
+        try {
+            return this.getFileProperties(path);
+        } catch (final RuntimeException e) {
+            // e.g. `HEAD` is blocked by a proxy, find it in the listing of the parent directory instead.
+        }
+        final String parent = StringUtils.defaultString(file.getParent(), "/");
+        // not `listings.get(parent, this::getFilesInDirectory)`: listing puts into the cache, which is a recursive update.
+        final List<? extends AppServiceFile> result = Optional.<List<? extends AppServiceFile>>ofNullable(this.listings.getIfPresent(parent))
+            .orElseGet(() -> this.getFilesInDirectory(parent));
         return result.stream()
             .filter(appServiceFile -> StringUtils.equals(file.getName(), appServiceFile.getName()))
             .findFirst()
@@ -116,14 +153,32 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
 
     public void uploadFileToPath(String content, String path) {
         this.kuduService.saveFile(host, path, content).block();
+        this.listings.invalidateAll();
+    }
+
+    @Nullable
+    @Override
+    public String uploadFile(@Nonnull Flux<ByteBuffer> content, long length, String path, @Nullable String etag) {
+        final String fixedPath = StringUtils.removeStart(path, HOME_PREFIX);
+        final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("kudu.file", AzureMetrics.UPLOAD);
+        try {
+            final Response<Void> response = VfsUtils.write(fixedPath, () ->
+                this.kuduService.saveFile(host, fixedPath, content, length, StringUtils.defaultIfBlank(etag, "*")).block());
+            transfer.stop(length);
+            return Optional.ofNullable(response).map(r -> r.getHeaders().getValue("ETag")).orElse(null);
+        } finally {
+            this.listings.invalidateAll();
+        }
     }
 
     public void createDirectory(String path) {
         this.kuduService.createDirectory(host, path).block();
+        this.listings.invalidateAll();
     }
 
     public void deleteFile(String path) {
         this.kuduService.deleteFile(host, path).block();
+        this.listings.invalidateAll();
     }
 
     public List<ProcessInfo> listProcess() {
@@ -141,7 +196,11 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
             final String product = Azure.az().config().getProduct();
             final String version = Azure.az().config().getVersion();
             final String tool = StringUtils.isAllBlank(product, version) ? DEFAULT_TOOL_NAME : String.format("%s/%s", product, version);
+            final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("kudu.flex_zip_deploy", AzureMetrics.UPLOAD);
             kuduService.flexZipDeploy(host, byteBuffer, fileChannel.size(), tool).block();
+            transfer.stop(fileChannel.size());
+        } finally {
+            this.listings.invalidateAll();
         }
     }
 
@@ -153,7 +212,7 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
         final AtomicBoolean hasResponse = new AtomicBoolean(false);
         final Integer finalStatus = Mono.fromCallable(() -> getLatestDeploymentStatus(hasResponse))
             .delayElement(duration)
-            .subscribeOn(Schedulers.boundedElastic())
+            .subscribeOn(AzureSchedulers.polling())
             .repeat(repeatTimes)
             .takeUntil(AppServiceKuduClient::isSuccessStatusCode)
             .blockLast();
@@ -218,13 +277,24 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
 
     @Host("{$host}")
     @ServiceInterface(name = "KuduService")
-    private interface KuduService {
+    interface KuduService {
         @Headers({
             "Content-Type: application/json; charset=utf-8"
         })
         @Get("api/vfs/{path}")
         Mono<StreamResponse> getFileContent(@HostParam("$host") String host, @PathParam("path") String path);
 
+        @Headers({
+            "x-ms-body-logging: false"
+        })
+        @Get("api/vfs/{path}")
+        @ExpectedResponses({200, 206})
+        Mono<StreamResponse> getFileContent(@HostParam("$host") String host, @PathParam("path") String path, @HeaderParam("Range") String range);
+
+        @Head("api/vfs/{path}")
+        @ExpectedResponses({200, 301, 302, 307, 404})
+        Mono<Response<Void>> getFileProperties(@HostParam("$host") String host, @PathParam("path") String path);
+
         @Headers({
             "Content-Type: application/json; charset=utf-8"
         })
@@ -238,6 +308,14 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
         @Put("api/vfs/{path}")
         Mono<Void> saveFile(@HostParam("$host") String host, @PathParam("path") String path, @BodyParam("application/octet-stream") String content);
 
+        @Headers({
+            "Content-Type: application/octet-stream",
+            "x-ms-body-logging: false"
+        })
+        @Put("api/vfs/{path}")
+        Mono<Response<Void>> saveFile(@HostParam("$host") String host, @PathParam("path") String path, @BodyParam("application/octet-stream") Flux<ByteBuffer> content,
+                                      @HeaderParam("content-length") long length, @HeaderParam("If-Match") String etag);
+
         @Headers({
             "Content-Type: application/json; charset=utf-8"
         })
@@ -7,7 +7,10 @@ package com.microsoft.azure.toolkit.lib.appservice.file;
 
 import com.azure.core.annotation.BodyParam;
 import com.azure.core.annotation.Delete;
+import com.azure.core.annotation.ExpectedResponses;
 import com.azure.core.annotation.Get;
+import com.azure.core.annotation.Head;
+import com.azure.core.annotation.HeaderParam;
 import com.azure.core.annotation.Headers;
 import com.azure.core.annotation.Host;
 import com.azure.core.annotation.HostParam;
@@ -35,13 +38,15 @@ import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
 import com.microsoft.azure.toolkit.lib.appservice.model.OperatingSystem;
 import com.microsoft.azure.toolkit.lib.appservice.utils.Utils;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
+import com.microsoft.azure.toolkit.lib.common.task.AzureSchedulers;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.File;
 import java.nio.ByteBuffer;
 import java.nio.file.Paths;
@@ -85,7 +90,23 @@ public class AzureFunctionsAdminClient implements IFileClient {
     }
 
     public Flux<ByteBuffer> getFileContent(final String path) {
-        return this.functionsService.getFileContent(host, getFixedPath(path)).flatMapMany(StreamResponse::getValue);
+        return AzureMetrics.track(this.functionsService.getFileContent(host, getFixedPath(path)).flatMapMany(StreamResponse::getValue),
+            "functions_admin.file", AzureMetrics.DOWNLOAD);
+    }
+
+    @Override
+    public Flux<ByteBuffer> getFileContent(final String path, long offset, @Nullable Long count) {
+        return AzureMetrics.track(this.functionsService.getFileContent(host, getFixedPath(path), VfsUtils.toRange(offset, count)).flatMapMany(StreamResponse::getValue),
+            "functions_admin.file", AzureMetrics.DOWNLOAD);
+    }
+
+    @Nullable
+    @Override
+    public AppServiceFile getFileProperties(String path) {
+        final String fixedPath = getFixedPath(path);
+        return Optional.ofNullable(VfsUtils.toFile(this.functionsService.getFileProperties(host, fixedPath).block(), path))
+            .map(file -> file.withApp(app))
+            .orElse(null);
     }
 
     public List<? extends AppServiceFile> getFilesInDirectory(String dir) {
@@ -98,6 +119,11 @@ public class AzureFunctionsAdminClient implements IFileClient {
     }
 
     public AppServiceFile getFileByPath(String path) {
+        try {
+            return this.getFileProperties(path);
+        } catch (final RuntimeException e) {
+            // e.g. `HEAD` is blocked by a proxy, find it in the listing of the parent directory instead.
+        }
         final File file = new File(path);
         final List<? extends AppServiceFile> result = getFilesInDirectory(getFixedPath(file.getParent()));
         return result.stream()
@@ -110,6 +136,16 @@ public class AzureFunctionsAdminClient implements IFileClient {
         this.functionsService.saveFile(host, getFixedPath(path), content).block();
     }
 
+    @Nullable
+    @Override
+    public String uploadFile(@Nonnull Flux<ByteBuffer> content, long length, String path, @Nullable String etag) {
+        final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("functions_admin.file", AzureMetrics.UPLOAD);
+        final Response<Void> response = VfsUtils.write(path, () ->
+            this.functionsService.saveFile(host, getFixedPath(path), content, length, StringUtils.defaultIfBlank(etag, "*")).block());
+        transfer.stop(length);
+        return Optional.ofNullable(response).map(r -> r.getHeaders().getValue("ETag")).orElse(null);
+    }
+
     public void createDirectory(String path) {
         this.functionsService.createDirectory(host, getFixedPath(path)).block();
     }
@@ -133,7 +169,7 @@ public class AzureFunctionsAdminClient implements IFileClient {
                 }
             })
             .delayElement(delay)
-            .subscribeOn(Schedulers.boundedElastic())
+            .subscribeOn(AzureSchedulers.polling())
             .repeat(repeatTimes)
             .takeUntil(BooleanUtils::isTrue)
             .blockLast();
@@ -158,6 +194,17 @@ public class AzureFunctionsAdminClient implements IFileClient {
         @Get("admin/vfs/{path}")
         Mono<StreamResponse> getFileContent(@HostParam("$host") String host, @PathParam("path") String path);
 
+        @Headers({
+            "x-ms-body-logging: false"
+        })
+        @Get("admin/vfs/{path}")
+        @ExpectedResponses({200, 206})
+        Mono<StreamResponse> getFileContent(@HostParam("$host") String host, @PathParam("path") String path, @HeaderParam("Range") String range);
+
+        @Head("admin/vfs/{path}")
+        @ExpectedResponses({200, 301, 302, 307, 404})
+        Mono<Response<Void>> getFileProperties(@HostParam("$host") String host, @PathParam("path") String path);
+
         @Headers({
             "Content-Type: application/json; charset=utf-8"
         })
@@ -171,6 +218,14 @@ public class AzureFunctionsAdminClient implements IFileClient {
         @Put("admin/vfs/{path}")
         Mono<Void> saveFile(@HostParam("$host") String host, @PathParam("path") String path, @BodyParam("application/octet-stream") String content);
 
+        @Headers({
+            "Content-Type: application/octet-stream",
+            "x-ms-body-logging: false"
+        })
+        @Put("admin/vfs/{path}")
+        Mono<Response<Void>> saveFile(@HostParam("$host") String host, @PathParam("path") String path, @BodyParam("application/octet-stream") Flux<ByteBuffer> content,
+                                      @HeaderParam("content-length") long length, @HeaderParam("If-Match") String etag);
+
         @Headers({
             "Content-Type: application/json; charset=utf-8"
         })
@@ -5,21 +5,60 @@
 
 package com.microsoft.azure.toolkit.lib.appservice.file;
 
+import com.azure.core.util.FluxUtil;
 import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
 import reactor.core.publisher.Flux;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 public interface IFileClient {
     Flux<ByteBuffer> getFileContent(final String path);
 
+    /**
+     * reads part of the file with HTTP range request, e.g. to tail logs or page through large files.
+     *
+     * @param offset bytes from the start of the file, or if negative, bytes before the end of the file.
+     * @param count  bytes to read, to the end of the file if null.
+     */
+    Flux<ByteBuffer> getFileContent(final String path, long offset, @Nullable Long count);
+
+    /**
+     * gets size, last modified time, content type and ETag of a file with a single {@code HEAD} request.
+     *
+     * @return null if the file doesn't exist.
+     */
+    @Nullable
+    AppServiceFile getFileProperties(String path);
+
     List<? extends AppServiceFile> getFilesInDirectory(String dir);
 
     AppServiceFile getFileByPath(String path);
 
     void uploadFileToPath(String content, String path);
 
+    /**
+     * streams {@code content} of {@code length} bytes into the file at {@code path}.
+     *
+     * @param etag overwrite the file only if its ETag still matches, null to overwrite unconditionally.
+     * @return ETag of the saved file if returned by the server.
+     */
+    @Nullable
+    String uploadFile(@Nonnull Flux<ByteBuffer> content, long length, String path, @Nullable String etag);
+
+    @Nullable
+    default String uploadFile(@Nonnull Path source, String path, @Nullable String etag) throws IOException {
+        try (final AsynchronousFileChannel channel = AsynchronousFileChannel.open(source, StandardOpenOption.READ)) {
+            return this.uploadFile(FluxUtil.readFile(channel), channel.size(), path, etag);
+        }
+    }
+
     void createDirectory(String path);
 
     void deleteFile(String path);
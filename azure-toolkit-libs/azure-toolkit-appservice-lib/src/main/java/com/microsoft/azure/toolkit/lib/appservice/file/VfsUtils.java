@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.file;
+
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.rest.Response;
+import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.file.Paths;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * helpers shared by clients of Kudu virtual file system (vfs) API.
+ */
+final class VfsUtils {
+    static final String DIRECTORY_MIME = "inode/directory";
+    private static final int PRECONDITION_FAILED = 412;
+
+    private VfsUtils() {
+    }
+
+    /**
+     * @param offset bytes from the start of the file, or if negative, bytes before the end of the file (e.g. for tailing).
+     * @param count  bytes to read, to the end of the file if null, ignored if {@code offset} is negative.
+     * @return value of HTTP {@code Range} header.
+     */
+    @Nonnull
+    static String toRange(long offset, @Nullable Long count) {
+        if (offset < 0) {
+            return "bytes=" + offset;
+        }
+        return Objects.isNull(count) ? String.format("bytes=%d-", offset) : String.format("bytes=%d-%d", offset, offset + count - 1);
+    }
+
+    /**
+     * converts response of {@code HEAD vfs/{path}} into a file, Kudu redirects requests of a directory to path with a
+     * trailing slash.
+     *
+     * @return null if the file doesn't exist.
+     */
+    @Nullable
+    static AppServiceFile toFile(@Nullable Response<?> response, @Nonnull String path) {
+        if (Objects.isNull(response) || response.getStatusCode() == 404) {
+            return null;
+        }
+        final String name = Optional.ofNullable(Paths.get(path).getFileName()).map(Object::toString).orElse("");
+        final AppServiceFile file = new AppServiceFile().withName(name).withPath(path);
+        final int status = response.getStatusCode();
+        if (status / 100 == 3 || StringUtils.endsWith(path, "/")) {
+            return file.withMime(DIRECTORY_MIME);
+        }
+        final HttpHeaders headers = response.getHeaders();
+        return file.withSize(NumberUtils.toLong(headers.getValue("Content-Length"), 0))
+            .withMtime(toIsoTime(headers.getValue("Last-Modified")))
+            .withMime(headers.getValue("Content-Type"))
+            .withEtag(headers.getValue("ETag"));
+    }
+
+    /**
+     * translates precondition failure of ETag-conditional writes.
+     */
+    @Nullable
+    static <T> T write(@Nonnull String path, @Nonnull Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (final HttpResponseException e) {
+            if (Objects.nonNull(e.getResponse()) && e.getResponse().getStatusCode() == PRECONDITION_FAILED) {
+                throw new AzureToolkitRuntimeException(String.format("File '%s' has been changed since it was read, please reload it and try again.", path), e);
+            }
+            throw e;
+        }
+    }
+
+    @Nullable
+    private static String toIsoTime(@Nullable String httpDate) {
+        if (StringUtils.isBlank(httpDate)) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(httpDate, DateTimeFormatter.RFC_1123_DATE_TIME).toString();
+        } catch (final DateTimeParseException e) {
+            return httpDate;
+        }
+    }
+}
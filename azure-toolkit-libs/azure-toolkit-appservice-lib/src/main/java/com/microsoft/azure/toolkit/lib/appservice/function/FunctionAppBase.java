@@ -30,6 +30,7 @@ import com.microsoft.azure.toolkit.lib.appservice.model.PricingTier;
 import com.microsoft.azure.toolkit.lib.appservice.model.Runtime;
 import com.microsoft.azure.toolkit.lib.appservice.plan.AppServicePlan;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
@@ -79,7 +80,9 @@ public abstract class FunctionAppBase<T extends FunctionAppBase<T, P, F>, P exte
 
     public void deploy(File targetFile, FunctionDeployType functionDeployType) {
         OperationContext.action().setTelemetryProperty(FUNCTION_DEPLOY_TYPE, functionDeployType.name());
+        final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("function_app.deploy." + StringUtils.lowerCase(functionDeployType.name()), AzureMetrics.UPLOAD);
         getDeployHandlerByType(functionDeployType).deploy(targetFile, this);
+        transfer.stop(targetFile.length());
     }
 
     public AzureFunctionsAdminClient getAdminClient() {
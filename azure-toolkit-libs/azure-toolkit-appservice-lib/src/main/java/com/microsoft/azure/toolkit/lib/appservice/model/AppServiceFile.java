@@ -24,6 +24,7 @@ public class AppServiceFile {
     private String crtime;
     private String mime;
     private String href;
+    private String etag;
     private String path;
     private AppServiceAppBase<?, ?, ?> app;
 
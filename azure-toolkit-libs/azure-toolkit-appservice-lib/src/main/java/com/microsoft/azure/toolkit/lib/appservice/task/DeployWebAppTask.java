@@ -22,6 +22,7 @@ import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessager;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
+import com.microsoft.azure.toolkit.lib.common.task.AzureSchedulers;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -29,7 +30,6 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.io.PrintStream;
 import java.time.Duration;
@@ -144,7 +144,7 @@ public class DeployWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
                 return deploymentStatus;
             })
             .delayElement(Duration.ofSeconds(deploymentStatusRefreshInterval))
-            .subscribeOn(Schedulers.boundedElastic())
+            .subscribeOn(AzureSchedulers.polling())
             .repeat(deploymentStatusMaxRefreshTimes)
             .takeUntil(csmDeploymentStatus -> !csmDeploymentStatus.getStatus().isRunning())
             .blockLast();
@@ -15,6 +15,7 @@ import com.microsoft.azure.toolkit.lib.appservice.model.*;
 import com.microsoft.azure.toolkit.lib.appservice.utils.AppServiceUtils;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import org.apache.commons.lang3.StringUtils;
@@ -51,7 +52,9 @@ public abstract class WebAppBase<T extends WebAppBase<T, P, F>, P extends Abstra
                     (deployType.toString()), StringUtils.isBlank(deployOptions.getPath()) ? "" : (" to " + (deployOptions.getPath()))));
             final com.azure.resourcemanager.appservice.models.DeployType type =
                     com.azure.resourcemanager.appservice.models.DeployType.fromString(deployType.getValue());
+            final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("webapp.deploy", AzureMetrics.UPLOAD);
             this.doModify(() -> Objects.requireNonNull(((SupportsOneDeploy) remote)).deploy(type, targetFile, options), Status.DEPLOYING);
+            transfer.stop(targetFile.length());
         }
     }
 
@@ -67,7 +70,10 @@ public abstract class WebAppBase<T extends WebAppBase<T, P, F>, P extends Abstra
                     (deployType.toString()), StringUtils.isBlank(deployOptions.getPath()) ? "" : (" to " + (deployOptions.getPath()))));
             final com.azure.resourcemanager.appservice.models.DeployType type =
                     com.azure.resourcemanager.appservice.models.DeployType.fromString(deployType.getValue());
-            return AppServiceUtils.fromKuduDeploymentResult(((SupportsOneDeploy) remote).pushDeploy(type, targetFile, options));
+            final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("webapp.push_deploy", AzureMetrics.UPLOAD);
+            final KuduDeploymentResult result = AppServiceUtils.fromKuduDeploymentResult(((SupportsOneDeploy) remote).pushDeploy(type, targetFile, options));
+            transfer.stop(targetFile.length());
+            return result;
         } else {
             return null;
         }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.file;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.rest.SimpleResponse;
+import com.microsoft.azure.toolkit.lib.appservice.AppServiceAppBase;
+import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AppServiceKuduClientTest {
+    private static final String HOST = "https://app.scm.azurewebsites.net";
+    private static final HttpRequest REQUEST = new HttpRequest(HttpMethod.GET, HOST + "/api/vfs/site/wwwroot/");
+
+    private AppServiceKuduClient.KuduService kudu;
+    private AppServiceKuduClient client;
+
+    @Before
+    public void setUp() {
+        this.kudu = mock(AppServiceKuduClient.KuduService.class);
+        this.client = new AppServiceKuduClient(HOST, this.kudu, mock(AppServiceAppBase.class));
+        // e.g. `HEAD` is blocked by a proxy.
+        when(this.kudu.getFileProperties(eq(HOST), anyString())).thenReturn(Mono.error(new IllegalStateException("blocked")));
+        when(this.kudu.getFilesInDirectory(HOST, "/site/wwwroot")).thenReturn(Mono.just(new SimpleResponse<>(REQUEST, 200, new HttpHeaders(),
+            Arrays.asList(new AppServiceFile().withName("app.jar").withSize(3), new AppServiceFile().withName("web.config")))));
+    }
+
+    @Test
+    public void testGetFileByPathFallsBackToListing() {
+        final AppServiceFile file = this.client.getFileByPath("/home/site/wwwroot/app.jar");
+        assertEquals("app.jar", file.getName());
+        assertEquals(3, file.getSize());
+        // the listing is cached, with no recursive update of the cache.
+        assertEquals("web.config", this.client.getFileByPath("/home/site/wwwroot/web.config").getName());
+        assertNull(this.client.getFileByPath("/home/site/wwwroot/missing"));
+        verify(this.kudu, times(1)).getFilesInDirectory(HOST, "/site/wwwroot");
+    }
+
+    @Test
+    public void testListingIsInvalidatedByWrites() {
+        this.client.getFileByPath("/home/site/wwwroot/app.jar");
+        when(this.kudu.deleteFile(HOST, "/site/wwwroot/app.jar")).thenReturn(Mono.empty());
+        this.client.deleteFile("/site/wwwroot/app.jar");
+        this.client.getFileByPath("/home/site/wwwroot/app.jar");
+        verify(this.kudu, times(2)).getFilesInDirectory(HOST, "/site/wwwroot");
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.file;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.rest.SimpleResponse;
+import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class VfsUtilsTest {
+    private static final HttpRequest REQUEST = new HttpRequest(HttpMethod.HEAD, "https://app.scm.azurewebsites.net/api/vfs/site/wwwroot/app.jar");
+
+    @Test
+    public void testToRange() {
+        assertEquals("bytes=0-", VfsUtils.toRange(0, null));
+        assertEquals("bytes=100-199", VfsUtils.toRange(100, 100L));
+        assertEquals("bytes=-4096", VfsUtils.toRange(-4096, null));
+    }
+
+    @Test
+    public void testToFile() {
+        final HttpHeaders headers = new HttpHeaders()
+            .set("Content-Length", "3221225472")
+            .set("Last-Modified", "Tue, 15 Nov 1994 08:12:31 GMT")
+            .set("Content-Type", "application/java-archive")
+            .set("ETag", "\"1d9f0c2b3a4e5f6\"");
+        final AppServiceFile file = VfsUtils.toFile(new SimpleResponse<>(REQUEST, 200, headers, null), "/site/wwwroot/app.jar");
+        assertEquals("app.jar", file.getName());
+        assertEquals(3221225472L, file.getSize());
+        assertEquals("1994-11-15T08:12:31Z", file.getMtime());
+        assertEquals("\"1d9f0c2b3a4e5f6\"", file.getEtag());
+        assertEquals(AppServiceFile.Type.FILE, file.getType());
+    }
+
+    @Test
+    public void testToDirectoryAndMissingFile() {
+        final AppServiceFile dir = VfsUtils.toFile(new SimpleResponse<>(REQUEST, 307, new HttpHeaders(), null), "/site/wwwroot");
+        assertEquals("wwwroot", dir.getName());
+        assertEquals(AppServiceFile.Type.DIRECTORY, dir.getType());
+        assertNull(VfsUtils.toFile(new SimpleResponse<>(REQUEST, 404, new HttpHeaders(), null), "/site/wwwroot/missing"));
+    }
+}
@@ -19,6 +19,7 @@ import com.microsoft.azure.toolkit.lib.common.action.Action;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.model.DataPlaneClients;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
 import com.microsoft.azure.toolkit.lib.common.model.Region;
 import org.apache.commons.collections4.CollectionUtils;
@@ -98,11 +99,14 @@ public class CognitiveAccount extends AbstractAzResource<CognitiveAccount, Cogni
 
     @Nonnull
     public OpenAIClient getOpenAIClient() {
-        return new OpenAIClientBuilder()
+        final String key = Objects.requireNonNull(this.getPrimaryKey(), String.format("Failed to get primary key for account %s", getName()));
+        final String endpoint = Objects.requireNonNull(this.getEndpoint(), String.format("Failed to get endpoint of account %s", getName()));
+        return DataPlaneClients.get(OpenAIClient.class, endpoint, key, http -> new OpenAIClientBuilder()
+            .httpClient(http)
             .addPolicy(AbstractAzServiceSubscription.getUserAgentPolicy())
-            .credential(new AzureKeyCredential(Objects.requireNonNull(this.getPrimaryKey(), String.format("Failed to get primary key for account %s", getName()))))
-            .endpoint(getEndpoint())
-            .buildClient();
+            .credential(new AzureKeyCredential(key))
+            .endpoint(endpoint)
+            .buildClient());
     }
 
     @Nullable
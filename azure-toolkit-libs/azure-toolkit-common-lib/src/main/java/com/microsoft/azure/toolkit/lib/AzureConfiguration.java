@@ -14,7 +14,9 @@ import javax.annotation.Nullable;
 import javax.net.ssl.SSLContext;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -55,6 +57,36 @@ public class AzureConfiguration {
     private Boolean enableLeaseMode = false;
 
     private Boolean enablePreloading = false;
+    // how long a resource fetched individually (not by listing) is cached, non-positive means until refreshed.
+    private int resourceCacheTtlInSeconds = 300;
+    // how long a resource not found is cached, non-positive means until refreshed.
+    private int resourceNotFoundCacheTtlInSeconds = 30;
+    // max connections per host of the http connection pool shared by all clients.
+    private int httpMaxConnections = 64;
+    // how long an idle connection is kept in the shared pool, non-positive means until closed by server.
+    private int httpMaxIdleTimeInSeconds = 60;
+    // whether to negotiate HTTP/2 with hosts supporting it.
+    private boolean http2Enabled = false;
+    // max in-flight requests (until response bodies are consumed) per subscription (or per host for data plane requests).
+    private int httpMaxConcurrentRequests = 32;
+    // whether to hedge slow ARM reads (GET/HEAD) with a second request, data plane reads are never hedged.
+    private boolean httpHedgingEnabled = true;
+    // how long a response of ARM GET is reused without revalidation, non-positive means not to cache.
+    private int httpResponseCacheTtlInMillis = 1000;
+    // max threads of named schedulers (events, refresh, io, polling, streaming), defaults are used for absent ones.
+    private Map<String, Integer> schedulerMaxThreads = new HashMap<>();
+    // where ended spans of operations are exported: "otlp", "json" or "chrome", null means tracing is disabled.
+    @Nullable
+    private String tracingExporter;
+    // endpoint of OTLP/HTTP collector (e.g. http://localhost:4318) or path of the json/chrome trace file.
+    @Nullable
+    private String tracingTarget;
+    // where metrics are exported at the end (e.g. of a maven goal): "log" or "json", null means metrics are disabled.
+    @Nullable
+    private String metricsExporter;
+    // path of the json file metrics are exported to.
+    @Nullable
+    private String metricsTarget;
 
     public void setProxyInfo(ProxyInfo proxy) {
         this.setProxySource(proxy.getSource());
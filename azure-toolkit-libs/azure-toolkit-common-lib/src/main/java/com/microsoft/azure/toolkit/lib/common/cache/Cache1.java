@@ -8,6 +8,7 @@ package com.microsoft.azure.toolkit.lib.common.cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -47,7 +48,8 @@ public class Cache1<T> {
 
     public Cache1(@Nonnull Supplier<T> supplier) {
         this.supplier = supplier;
-        this.cache = Caffeine.newBuilder().build(key -> Cache1.this.load());
+        // holds only one key, the default capacity (16) costs ~120 bytes more per instance, i.e. per resource.
+        this.cache = Caffeine.newBuilder().initialCapacity(1).build(key -> Cache1.this.load());
     }
 
     public Cache1<T> onValueChanged(BiConsumer<T, T> onNewValue) {
@@ -176,6 +178,9 @@ public class Cache1<T> {
         if (caching.get().contains(this)) {
             return this.latest;
         }
+        if (AzureMetrics.isEnabled()) {
+            AzureMetrics.recordCacheAccess("cache1", Objects.nonNull(this.cache.getIfPresent(KEY)));
+        }
         try {
             final Optional<T> value = this.cache.get(KEY);
             // noinspection OptionalAssignedToNull
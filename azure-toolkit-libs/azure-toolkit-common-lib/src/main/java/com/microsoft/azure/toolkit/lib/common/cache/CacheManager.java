@@ -9,6 +9,7 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
 import com.microsoft.azure.toolkit.lib.common.utils.aspect.ExpressionUtils;
 import com.microsoft.azure.toolkit.lib.common.utils.aspect.MethodInvocation;
 import lombok.extern.slf4j.Slf4j;
@@ -74,7 +75,7 @@ public class CacheManager {
         final Cache<Object, Object> cache = caches.get(name);
         if (toUseCache) {
             log.debug(String.format("loading data from cache[%s.%s] on method[%s]", name, key, signature.getName()));
-            return readCache(cache, key, point);
+            return readCache(cache, cacheName, key, point);
         }
         log.debug(String.format("skipping cache[%s.%s] on method[%s]", name, key, signature.getName()));
         final Object result = point.proceed();
@@ -122,8 +123,10 @@ public class CacheManager {
         }
     }
 
-    private Object readCache(Cache<Object, Object> cache, String key, ProceedingJoinPoint point) throws Throwable {
+    private Object readCache(Cache<Object, Object> cache, String cacheName, String key, ProceedingJoinPoint point) throws Throwable {
+        final boolean[] miss = {false};
         final Optional<?> result = (Optional<?>) cache.get(key, () -> {
+            miss[0] = true;
             try {
                 log.debug(String.format("cache[%s] miss on method[%s]", key, point.getSignature().getName()));
                 return Optional.ofNullable(point.proceed());
@@ -132,6 +135,9 @@ public class CacheManager {
                 return Optional.of(throwable);
             }
         });
+        if (AzureMetrics.isEnabled()) { // tagged by the name template, rendered names contain ids.
+            AzureMetrics.recordCacheAccess(cacheName, !miss[0]);
+        }
         if (result.isPresent() && result.get() instanceof Throwable) {
             cache.invalidate(key);
             throw (Throwable) result.get();
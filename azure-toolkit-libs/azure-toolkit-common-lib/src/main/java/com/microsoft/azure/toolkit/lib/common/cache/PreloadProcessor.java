@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.cache;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * indexes {@link Preload @Preload} annotated methods at compile time into {@value Preloader#INDEX}, one
+ * {@code <binary class name>#<method name>} per line, so that {@link Preloader} needn't scan the classpath at runtime.
+ * registered through {@code META-INF/services/javax.annotation.processing.Processor}, so that it's applied to all
+ * modules depending on this library.
+ */
+@SupportedAnnotationTypes("com.microsoft.azure.toolkit.lib.common.cache.Preload")
+public class PreloadProcessor extends AbstractProcessor {
+    private final Set<String> targets = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+        if (env.processingOver()) {
+            this.writeIndex();
+            return false;
+        }
+        for (final Element element : env.getElementsAnnotatedWith(Preload.class)) {
+            if (element.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+            final TypeElement clazz = (TypeElement) element.getEnclosingElement();
+            final String className = this.processingEnv.getElementUtils().getBinaryName(clazz).toString();
+            this.targets.add(className + Preloader.SEPARATOR + element.getSimpleName());
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        if (this.targets.isEmpty()) {
+            return;
+        }
+        try {
+            final FileObject index = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", Preloader.INDEX);
+            try (Writer writer = index.openWriter()) {
+                for (final String target : this.targets) {
+                    writer.write(target);
+                    writer.write('\n');
+                }
+            }
+        } catch (final IOException e) {
+            final String message = String.format("failed to write %s: %s", Preloader.INDEX, e.getMessage());
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message);
+        }
+    }
+}
@@ -7,45 +7,82 @@ package com.microsoft.azure.toolkit.lib.common.cache;
 
 import com.microsoft.azure.toolkit.lib.AzService;
 import com.microsoft.azure.toolkit.lib.Azure;
+import com.microsoft.azure.toolkit.lib.common.task.AzureSchedulers;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
 import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+import reactor.core.publisher.Flux;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class Preloader {
+    /**
+     * index of {@link Preload} annotated methods generated by {@link PreloadProcessor} at compile time.
+     */
+    public static final String INDEX = "META-INF/azure-toolkit/preload.idx";
+    public static final String SEPARATOR = "#";
+    /**
+     * set to {@code true} to scan the classpath for {@link Preload} annotated methods even if indexes are available.
+     */
+    public static final String SCAN_PROPERTY = "azure.toolkit.preload.scan";
+    private static final List<String> PACKAGES = Arrays.asList("com.microsoft.azure.toolkit", "com.microsoft.azuretools");
 
     private static final String INVALID_PRELOAD_METHOD = "@Preload annotated method(%s.%s) should have (no args or only varargs) " +
             "and must be (static or in a singleton class)";
 
     public static Collection<Method> load() {
-        log.debug("Start Scanning for @Preload");
+        final long start = System.currentTimeMillis();
         final Set<Method> methods = getPreloadingMethods();
-        log.debug(String.format("Found %d @Preload annotated methods.", methods.size()));
-        log.debug("End Scanning for @Preload");
+        log.debug(String.format("Found %d @Preload annotated methods in %d ms.", methods.size(), System.currentTimeMillis() - start));
         log.debug("Start Preloading");
-        methods.forEach((m) -> {
-            Object instance = null;
-            // TODO: maybe support prededebugd variables, e.g. selected subscriptions
-            if ((m.getParameterCount() == 0 || m.isVarArgs()) && (Modifier.isStatic(m.getModifiers()) || Objects.nonNull(instance = getSingleton(m)))) {
-                log.debug(String.format("preloading [%s]", m.getName()));
+        // preloading targets are independent of each other
+        Flux.fromIterable(methods).parallel().runOn(AzureSchedulers.refresh())
+            .doOnNext(Preloader::preload)
+            .sequential().blockLast();
+        log.debug(String.format("End Preloading in %d ms", System.currentTimeMillis() - start));
+        return methods;
+    }
+
+    private static void preload(final Method m) {
+        Object instance = null;
+        // TODO: maybe support prededebugd variables, e.g. selected subscriptions
+        if ((m.getParameterCount() == 0 || m.isVarArgs()) && (Modifier.isStatic(m.getModifiers()) || Objects.nonNull(instance = getSingleton(m)))) {
+            final long start = System.currentTimeMillis();
+            log.debug(String.format("preloading [%s]", m.getName()));
+            try {
                 invoke(m, instance);
-                log.debug(String.format("preloaded [%s]", m.getName()));
-            } else {
-                log.warn(String.format(INVALID_PRELOAD_METHOD, m.getDeclaringClass().getSimpleName(), m.getName()));
+            } catch (final RuntimeException e) {
+                log.debug(String.format("failed to preload [%s]", m.getName()), e);
             }
-        });
-        log.debug("End Preloading");
-        return methods;
+            log.debug(String.format("preloaded [%s.%s] in %d ms", m.getDeclaringClass().getSimpleName(), m.getName(), System.currentTimeMillis() - start));
+        } else {
+            log.warn(String.format(INVALID_PRELOAD_METHOD, m.getDeclaringClass().getSimpleName(), m.getName()));
+        }
     }
 
     private static void invoke(final Method m, final Object instance) {
@@ -88,9 +125,98 @@ public class Preloader {
         return null;
     }
 
-    private static Set<Method> getPreloadingMethods() {
+    /**
+     * methods are read from the index of class path entries (jars or directories) that have one, entries without an
+     * index (e.g. built without {@link PreloadProcessor}) are scanned.
+     */
+    static Set<Method> getPreloadingMethods() {
+        final Set<ClassLoader> loaders = getClassLoaders();
+        final Map<String, URL> roots = new LinkedHashMap<>();
+        for (final String pkg : PACKAGES) {
+            roots.putAll(getResources(pkg.replace('.', '/'), loaders));
+        }
+        final Map<String, URL> indexes = Boolean.getBoolean(SCAN_PROPERTY) ? Collections.emptyMap() : getResources(INDEX, loaders);
+        final Set<Method> methods = getIndexedPreloadingMethods(indexes.values());
+        final List<URL> unindexed = roots.entrySet().stream().filter(e -> !indexes.containsKey(e.getKey()))
+            .map(Map.Entry::getValue).collect(Collectors.toList());
+        if (!unindexed.isEmpty()) {
+            log.debug(String.format("No @Preload index is found in %s, scanning them for @Preload", unindexed));
+            methods.addAll(scanPreloadingMethods(unindexed, loaders));
+        }
+        return methods;
+    }
+
+    /**
+     * @return url of {@code resource} in each class path entry, keyed by the url of the entry.
+     */
+    private static Map<String, URL> getResources(final String resource, final Set<ClassLoader> loaders) {
+        final Map<String, URL> result = new LinkedHashMap<>();
+        for (final ClassLoader loader : loaders) {
+            try {
+                final Enumeration<URL> urls = loader.getResources(resource);
+                while (urls.hasMoreElements()) {
+                    final URL url = urls.nextElement();
+                    final String root = StringUtils.substringBeforeLast(url.toExternalForm(), resource);
+                    result.putIfAbsent(root, resource.equals(INDEX) ? url : new URL(url, root));
+                }
+            } catch (final IOException e) {
+                log.debug(String.format("failed to find [%s] in class path", resource), e);
+            }
+        }
+        return result;
+    }
+
+    private static Set<Method> getIndexedPreloadingMethods(final Collection<URL> indexes) {
+        final Set<Method> methods = new LinkedHashSet<>();
+        final Set<String> targets = new LinkedHashSet<>();
+        for (final URL index : indexes) {
+            try (InputStream is = index.openStream()) {
+                IOUtils.readLines(is, StandardCharsets.UTF_8).stream().map(StringUtils::trim)
+                    .filter(l -> StringUtils.isNotBlank(l) && l.contains(SEPARATOR)).forEach(targets::add);
+            } catch (final IOException e) {
+                log.debug(String.format("failed to read @Preload index [%s]", index), e);
+            }
+        }
+        for (final String target : targets) {
+            final String className = StringUtils.substringBefore(target, SEPARATOR);
+            final String methodName = StringUtils.substringAfter(target, SEPARATOR);
+            final Class<?> clazz = loadClass(className);
+            if (Objects.nonNull(clazz)) {
+                Arrays.stream(clazz.getDeclaredMethods())
+                    .filter(m -> m.getName().equals(methodName) && m.isAnnotationPresent(Preload.class))
+                    .forEach(methods::add);
+            }
+        }
+        return methods;
+    }
+
+    @Nullable
+    private static Class<?> loadClass(final String className) {
+        for (final ClassLoader loader : getClassLoaders()) {
+            try {
+                return Class.forName(className, false, loader);
+            } catch (final ClassNotFoundException | LinkageError ignored) {
+                // try next class loader
+            }
+        }
+        log.debug(String.format("indexed @Preload class [%s] is not found", className));
+        return null;
+    }
+
+    private static Set<ClassLoader> getClassLoaders() {
+        final Set<ClassLoader> loaders = new LinkedHashSet<>();
+        Optional.ofNullable(Thread.currentThread().getContextClassLoader()).ifPresent(loaders::add);
+        loaders.add(Preloader.class.getClassLoader());
+        return loaders;
+    }
+
+    private static Set<Method> scanPreloadingMethods(final Collection<URL> urls, final Set<ClassLoader> loaders) {
+        final FilterBuilder filter = new FilterBuilder();
+        PACKAGES.forEach(filter::includePackage);
         final ConfigurationBuilder configuration = new ConfigurationBuilder()
-                .forPackages("com.microsoft.azure.toolkit", "com.microsoft.azuretools")
+                .setUrls(urls)
+                .setClassLoaders(loaders.toArray(new ClassLoader[0]))
+                .filterInputsBy(filter)
                 .setScanners(Scanners.MethodsAnnotated);
         final Reflections reflections = new Reflections(configuration);
         return reflections.getMethodsAnnotatedWith(Preload.class);
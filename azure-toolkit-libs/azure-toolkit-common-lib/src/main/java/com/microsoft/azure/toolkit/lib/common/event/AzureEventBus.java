@@ -5,47 +5,106 @@
 
 package com.microsoft.azure.toolkit.lib.common.event;
 
-import com.google.common.eventbus.AsyncEventBus;
-import com.google.common.eventbus.EventBus;
-import com.google.common.eventbus.Subscribe;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NonNls;
-import reactor.core.scheduler.Schedulers;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
-@SuppressWarnings("UnstableApiUsage")
 public class AzureEventBus {
+    /**
+     * high frequency notifications of state changes, listeners only care about the latest state of the source, so
+     * events of the same source emitted in a frame are coalesced.
+     */
+    private static final Set<String> COALESCED_TYPES = new HashSet<>(Arrays.asList(
+        "resource.status_changed.resource",
+        "resource.refreshed.resource",
+        "resource.children_changed.resource",
+        "module.refreshed.module",
+        "module.children_changed.module",
+        "service.children_changed.service"
+    ));
+    private static final Duration DEFAULT_FRAME = Duration.ofMillis(20);
+    private static final int DEFAULT_CAPACITY = 10_000;
     @NonNls
-    private static final Map<String, EventBus> buses = new ConcurrentHashMap<>();
+    private static final Map<String, EventChannel> channels = new ConcurrentHashMap<>();
 
     public static void on(@Nonnull final String type, @Nonnull EventListener listener) {
-        getBus(type).register(listener);
+        getChannel(type).subscribe(listener);
+    }
+
+    /**
+     * @param sourceType events of other source types are ignored.
+     * @return the listener, to {@link #off(String, EventListener) unsubscribe}.
+     */
+    @Nonnull
+    public static <S> EventListener on(@Nonnull final String type, @Nonnull Class<S> sourceType, @Nonnull BiConsumer<S, Object> listener) {
+        final EventListener l = new EventListener(e -> {
+            if (sourceType.isInstance(e.getSource())) {
+                listener.accept(sourceType.cast(e.getSource()), e.getPayload());
+            }
+        });
+        getChannel(type).subscribe(l);
+        return l;
+    }
+
+    /**
+     * receives events emitted in a frame (or pending in queue) as a batch.
+     *
+     * @return the listener, to {@link #off(String, EventListener) unsubscribe}.
+     */
+    @Nonnull
+    public static EventListener onBatch(@Nonnull final String type, @Nonnull Consumer<List<AzureEvent>> listener) {
+        final EventListener l = new EventListener(e -> listener.accept(Collections.singletonList(e))) {
+            @Override
+            public void onEvents(@Nonnull List<AzureEvent> events) {
+                listener.accept(events);
+            }
+        };
+        getChannel(type).subscribe(l);
+        return l;
     }
 
     public static void off(@Nonnull final String type, @Nonnull EventListener listener) {
-        try {
-            getBus(type).unregister(listener);
-        } catch (final IllegalArgumentException e) {
-            // swallow exception during unregistering a listener which is not registered
-        }
+        getChannel(type).unsubscribe(listener);
     }
 
     public static void once(@Nonnull final String type, @Nonnull BiConsumer<Object, Object> listener) {
-        final EventBus bus = getBus(type);
+        final EventChannel channel = getChannel(type);
+        final AtomicBoolean handled = new AtomicBoolean();
         final EventListener[] listeners = new EventListener[1];
         listeners[0] = new EventListener((e) -> {
-            listener.accept(e.getSource(), e.getPayload());
-            bus.unregister(listeners[0]);
+            if (handled.compareAndSet(false, true)) {
+                channel.unsubscribe(listeners[0]);
+                listener.accept(e.getSource(), e.getPayload());
+            }
         });
-        bus.register(listeners[0]);
+        channel.subscribe(listeners[0]);
+    }
+
+    /**
+     * coalesces events of {@code type} of the same source emitted in {@code frame}, {@link Duration#ZERO} to disable.
+     */
+    public static void coalesce(@Nonnull final String type, @Nonnull Duration frame) {
+        getChannel(type).setFrame(frame);
+    }
+
+    @Nonnull
+    public static Metrics getMetrics(@Nonnull final String type) {
+        return getChannel(type).getMetrics();
     }
 
     public static void emit(@Nonnull final String type) {
@@ -61,11 +120,11 @@ public class AzureEventBus {
     }
 
     public static <T> void emit(@Nonnull final String type, @Nonnull AzureEvent event) {
-        getBus(type).post(event);
+        getChannel(type).post(event);
     }
 
-    private static EventBus getBus(String eventType) {
-        return buses.computeIfAbsent(eventType, (e) -> new AsyncEventBus(command -> Schedulers.boundedElastic().schedule(command)));
+    private static EventChannel getChannel(String eventType) {
+        return channels.computeIfAbsent(eventType, (e) -> new EventChannel(e, COALESCED_TYPES.contains(e) ? DEFAULT_FRAME : Duration.ZERO, DEFAULT_CAPACITY));
     }
 
     @RequiredArgsConstructor
@@ -74,10 +133,37 @@ public class AzureEventBus {
         @Nonnull
         private final Consumer<AzureEvent> listener;
 
-        @Subscribe
         public void onEvent(@Nonnull AzureEvent event) {
             this.listener.accept(event);
         }
+
+        public void onEvents(@Nonnull List<AzureEvent> events) {
+            events.forEach(this::onEvent);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Metrics {
+        private final long emitted;
+        /**
+         * events delivered to listeners, an event delivered to n listeners is counted n times.
+         */
+        private final long delivered;
+        /**
+         * events replaced by later ones of the same source.
+         */
+        private final long coalesced;
+        /**
+         * events dropped because the queue was full.
+         */
+        private final long dropped;
+        private final int queueDepth;
+        /**
+         * average latency between emitting and delivering.
+         */
+        private final Duration averageLatency;
+        private final Duration maxLatency;
     }
 
     @Getter
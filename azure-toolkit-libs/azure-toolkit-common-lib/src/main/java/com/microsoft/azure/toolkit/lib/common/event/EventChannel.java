@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.event;
+
+import com.microsoft.azure.toolkit.lib.common.task.AzureSchedulers;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * dispatches events of a type to its listeners in batches. events are queued and drained by a single dispatch task,
+ * which hands the batch to every listener on {@link AzureSchedulers#events()}. batches of a listener are handled one by
+ * one, so that a slow listener doesn't hold up others while batches still arrive in order. if coalescing, events pending
+ * in the same frame are merged by source, only the latest one of a source is delivered.
+ * <p>
+ * only coalesced (state) events are bounded, the oldest source is dropped when full, since listeners only care about
+ * the latest state. other events are never dropped, e.g. a dropped {@code created} event can't be recovered by a later one.
+ */
+@Slf4j
+class EventChannel {
+    private static final Object NULL_SOURCE = new Object();
+
+    @Nonnull
+    private final String type;
+    /**
+     * max number of pending sources if coalescing.
+     */
+    private final int capacity;
+    /**
+     * frame window in milliseconds, 0 means not coalescing.
+     */
+    private volatile long frame;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Queue<Pending> queue = new ArrayDeque<>();
+    private final Map<Object, Pending> merged = new LinkedHashMap<>();
+    private boolean scheduled;
+
+    private final AtomicLong emitted = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong latencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    EventChannel(@Nonnull String type, @Nonnull Duration frame, int capacity) {
+        this.type = type;
+        this.frame = frame.toMillis();
+        this.capacity = Math.max(1, capacity);
+    }
+
+    void setFrame(@Nonnull Duration frame) {
+        this.frame = frame.toMillis();
+    }
+
+    void subscribe(@Nonnull AzureEventBus.EventListener listener) {
+        this.subscribers.add(new Subscriber(listener));
+    }
+
+    void unsubscribe(@Nonnull AzureEventBus.EventListener listener) {
+        this.subscribers.removeIf(s -> s.listener == listener);
+    }
+
+    void post(@Nonnull AzureEvent event) {
+        this.emitted.incrementAndGet();
+        if (this.subscribers.isEmpty()) {
+            return;
+        }
+        final boolean schedule;
+        synchronized (this) {
+            if (this.frame > 0) {
+                final Object key = Optional.ofNullable(event.getSource()).orElse(NULL_SOURCE);
+                final Pending old = this.merged.get(key);
+                if (Objects.nonNull(old)) { // keeps position and emitting time of the first pending one.
+                    this.merged.put(key, new Pending(event, old.emittedAt));
+                    this.coalesced.incrementAndGet();
+                } else {
+                    if (this.merged.size() >= this.capacity) {
+                        final Iterator<Pending> oldest = this.merged.values().iterator();
+                        oldest.next();
+                        oldest.remove();
+                        this.dropped.incrementAndGet();
+                    }
+                    this.merged.put(key, new Pending(event, System.nanoTime()));
+                }
+            } else {
+                this.queue.add(new Pending(event, System.nanoTime()));
+            }
+            schedule = !this.scheduled;
+            this.scheduled = true;
+        }
+        if (schedule) {
+            this.schedule();
+        }
+    }
+
+    private void schedule() {
+        AzureSchedulers.events().schedule(this::drain, this.frame, TimeUnit.MILLISECONDS);
+    }
+
+    private void drain() {
+        final List<Pending> batch = new ArrayList<>();
+        synchronized (this) {
+            batch.addAll(this.queue);
+            batch.addAll(this.merged.values());
+            this.queue.clear();
+            this.merged.clear();
+        }
+        try {
+            if (!batch.isEmpty()) {
+                this.deliver(batch);
+            }
+        } finally {
+            final boolean reschedule;
+            synchronized (this) {
+                reschedule = !this.queue.isEmpty() || !this.merged.isEmpty();
+                this.scheduled = reschedule;
+            }
+            if (reschedule) {
+                this.schedule();
+            }
+        }
+    }
+
+    private void deliver(@Nonnull List<Pending> batch) {
+        final List<AzureEvent> events = Collections.unmodifiableList(batch.stream().map(p -> p.event).collect(Collectors.toList()));
+        for (final Subscriber subscriber : this.subscribers) {
+            subscriber.execute(() -> {
+                final long now = System.nanoTime();
+                batch.forEach(p -> {
+                    this.latencyNanos.addAndGet(now - p.emittedAt);
+                    this.maxLatencyNanos.accumulateAndGet(now - p.emittedAt, Math::max);
+                });
+                this.delivered.addAndGet(events.size());
+                try {
+                    subscriber.listener.onEvents(events);
+                } catch (final Throwable t) {
+                    log.warn("error occurs when handling events of type '{}'.", this.type, t);
+                }
+            });
+        }
+    }
+
+    @Nonnull
+    synchronized AzureEventBus.Metrics getMetrics() {
+        final long delivered = this.delivered.get();
+        final Duration average = Duration.ofNanos(delivered == 0 ? 0 : this.latencyNanos.get() / delivered);
+        return new AzureEventBus.Metrics(this.emitted.get(), delivered, this.coalesced.get(), this.dropped.get(),
+            this.queue.size() + this.merged.size(), average, Duration.ofNanos(this.maxLatencyNanos.get()));
+    }
+
+    /**
+     * runs tasks of a listener one by one in submission order.
+     */
+    @RequiredArgsConstructor
+    private static class Subscriber {
+        private final AzureEventBus.EventListener listener;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        void execute(@Nonnull Runnable task) {
+            this.tasks.add(task);
+            if (this.running.compareAndSet(false, true)) {
+                AzureSchedulers.events().schedule(this::run);
+            }
+        }
+
+        private void run() {
+            Runnable task;
+            while ((task = this.tasks.poll()) != null) {
+                task.run();
+            }
+            this.running.set(false);
+            if (!this.tasks.isEmpty() && this.running.compareAndSet(false, true)) {
+                AzureSchedulers.events().schedule(this::run);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Pending {
+        private final AzureEvent event;
+        private final long emittedAt;
+    }
+}
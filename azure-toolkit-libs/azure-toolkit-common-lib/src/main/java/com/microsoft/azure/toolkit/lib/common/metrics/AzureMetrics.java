@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.metrics;
+
+import com.microsoft.azure.toolkit.lib.Azure;
+import com.microsoft.azure.toolkit.lib.AzureConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import reactor.core.publisher.Flux;
+
+import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * registry of counters, gauges and histograms, e.g. of ARM requests, cache hits and upload throughput. metrics are
+ * disabled by default: meters returned then are no-ops (not registered), so instrumented code costs a volatile read.
+ * metrics are enabled by {@link #setEnabled(boolean)}, adding an exporter, or
+ * {@link AzureConfiguration#getMetricsExporter()}.
+ */
+@Slf4j
+public final class AzureMetrics {
+    public static final String EXPORTER_LOG = "log";
+    public static final String EXPORTER_JSON = "json";
+
+    public static final String HTTP_REQUESTS = "http.requests";
+    public static final String HTTP_DURATION = "http.duration.ms";
+    public static final String CACHE_REQUESTS = "cache.requests";
+    public static final String TRANSFER_BYTES = "transfer.bytes";
+    public static final String TRANSFER_DURATION = "transfer.duration.ms";
+    public static final String TRANSFER_THROUGHPUT = "transfer.throughput.bytes_per_second";
+
+    public static final String UPLOAD = "upload";
+    public static final String DOWNLOAD = "download";
+
+    private static final Map<Meter.Id, Meter> meters = new ConcurrentHashMap<>();
+    private static final List<MetricsExporter> exporters = new CopyOnWriteArrayList<>();
+    private static final AtomicBoolean configured = new AtomicBoolean();
+    private static volatile boolean enabled;
+
+    private AzureMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        if (!configured.get()) {
+            configure();
+        }
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        configured.set(true);
+        AzureMetrics.enabled = enabled;
+    }
+
+    /**
+     * adds an exporter and enables metrics, call {@link #export()} to export, e.g. at the end of a maven goal.
+     */
+    public static void addExporter(@Nonnull MetricsExporter exporter) {
+        exporters.add(exporter);
+        setEnabled(true);
+    }
+
+    public static void removeExporter(@Nonnull MetricsExporter exporter) {
+        exporters.remove(exporter);
+    }
+
+    /**
+     * @param tags key value pairs
+     */
+    @Nonnull
+    public static Counter counter(@Nonnull String name, @Nonnull String... tags) {
+        if (!isEnabled()) {
+            return Counter.NOOP;
+        }
+        return (Counter) meters.computeIfAbsent(new Meter.Id(name, tags), Counter::new);
+    }
+
+    /**
+     * @param tags key value pairs
+     */
+    @Nonnull
+    public static Histogram histogram(@Nonnull String name, @Nonnull String... tags) {
+        if (!isEnabled()) {
+            return Histogram.NOOP;
+        }
+        return (Histogram) meters.computeIfAbsent(new Meter.Id(name, tags), Histogram::new);
+    }
+
+    /**
+     * registers a gauge sampling {@code value} when exported, replacing the one of the same name and tags if any.
+     *
+     * @param tags key value pairs
+     */
+    public static void gauge(@Nonnull String name, @Nonnull Supplier<? extends Number> value, @Nonnull String... tags) {
+        if (isEnabled()) {
+            final Meter.Id id = new Meter.Id(name, tags);
+            meters.put(id, new Gauge(id, value));
+        }
+    }
+
+    /**
+     * records a lookup of a cache, {@code cache} should be of low cardinality, e.g. type but not id of resources.
+     */
+    public static void recordCacheAccess(@Nonnull String cache, boolean hit) {
+        if (isEnabled()) {
+            counter(CACHE_REQUESTS, "cache", cache, "result", hit ? "hit" : "miss").increment();
+        }
+    }
+
+    /**
+     * starts timing a transfer, call {@link Transfer#stop(long)} with bytes transferred when it's done.
+     *
+     * @param path       e.g. {@code kudu.zip_deploy}
+     * @param direction  {@link #UPLOAD} or {@link #DOWNLOAD}
+     */
+    @Nonnull
+    public static Transfer startTransfer(@Nonnull String path, @Nonnull String direction) {
+        return isEnabled() ? new Transfer(path, direction) : Transfer.NOOP;
+    }
+
+    /**
+     * records bytes and time of streaming {@code content}, from subscribed to terminated.
+     */
+    @Nonnull
+    public static Flux<ByteBuffer> track(@Nonnull Flux<ByteBuffer> content, @Nonnull String path, @Nonnull String direction) {
+        if (!isEnabled()) {
+            return content;
+        }
+        return Flux.defer(() -> {
+            final Transfer transfer = new Transfer(path, direction);
+            final AtomicLong bytes = new AtomicLong();
+            return content.doOnNext(b -> bytes.addAndGet(b.remaining())).doFinally(s -> transfer.stop(bytes.get()));
+        });
+    }
+
+    /**
+     * @return all registered meters, sorted by name and tags.
+     */
+    @Nonnull
+    public static List<Meter> getMeters() {
+        final List<Meter> result = new ArrayList<>(meters.values());
+        result.sort((a, b) -> a.getId().compareTo(b.getId()));
+        return result;
+    }
+
+    /**
+     * @return frozen copies of all meters, to get values recorded since now by {@link #getMetersSince(List)}.
+     */
+    @Nonnull
+    public static List<Meter> snapshot() {
+        return getMeters().stream().map(m -> m.since(null)).collect(Collectors.toList());
+    }
+
+    /**
+     * @param snapshot taken by {@link #snapshot()}, e.g. when a maven goal starts.
+     * @return values recorded since {@code snapshot} (by anyone, including concurrent goals of a parallel build),
+     * meters unchanged since then are left out. unlike {@link #reset()}, meters of others are kept.
+     */
+    @Nonnull
+    public static List<Meter> getMetersSince(@Nonnull List<Meter> snapshot) {
+        final Map<Meter.Id, Meter> base = snapshot.stream().collect(Collectors.toMap(Meter::getId, Function.identity(), (a, b) -> b));
+        return getMeters().stream().map(m -> m.since(base.get(m.getId()))).filter(m -> !m.isEmpty()).collect(Collectors.toList());
+    }
+
+    /**
+     * exports all meters to all exporters.
+     */
+    public static void export() {
+        final List<Meter> meters = getMeters();
+        for (final MetricsExporter exporter : exporters) {
+            try {
+                exporter.export(meters);
+            } catch (final Throwable t) {
+                log.warn("failed to export metrics by {}: {}", exporter.getClass().getSimpleName(), t.getMessage());
+            }
+        }
+    }
+
+    /**
+     * removes all meters.
+     */
+    public static void reset() {
+        meters.clear();
+    }
+
+    private static void configure() {
+        if (!configured.compareAndSet(false, true)) {
+            return;
+        }
+        final AzureConfiguration config = Azure.az().config();
+        final String type = StringUtils.lowerCase(StringUtils.trim(config.getMetricsExporter()));
+        if (StringUtils.isBlank(type)) {
+            return;
+        }
+        if (EXPORTER_LOG.equals(type)) {
+            addExporter(new LogMetricsExporter());
+        } else if (EXPORTER_JSON.equals(type)) {
+            addExporter(new JsonFileMetricsExporter(Paths.get(StringUtils.defaultIfBlank(config.getMetricsTarget(), "azure-toolkit-metrics.json"))));
+        } else {
+            log.warn("unknown metrics exporter '{}', metrics are disabled.", type);
+            return;
+        }
+        // nobody else knows the configured exporter, export when exiting.
+        Runtime.getRuntime().addShutdownHook(new Thread(AzureMetrics::export, "azure-metrics-shutdown"));
+    }
+
+    /**
+     * bytes and time of an upload/download.
+     */
+    public static class Transfer {
+        private static final Transfer NOOP = new Transfer("noop", "noop") {
+            @Override
+            public void stop(long bytes) {
+            }
+        };
+
+        private final String path;
+        private final String direction;
+        private final long start = System.nanoTime();
+
+        private Transfer(@Nonnull String path, @Nonnull String direction) {
+            this.path = path;
+            this.direction = direction;
+        }
+
+        public void stop(long bytes) {
+            final long nanos = System.nanoTime() - this.start;
+            counter(TRANSFER_BYTES, "path", this.path, "direction", this.direction).increment(bytes);
+            histogram(TRANSFER_DURATION, "path", this.path, "direction", this.direction).record(TimeUnit.NANOSECONDS.toMillis(nanos));
+            if (nanos > 0 && bytes > 0) {
+                final long throughput = (long) (bytes / (nanos / (double) TimeUnit.SECONDS.toNanos(1)));
+                histogram(TRANSFER_THROUGHPUT, "path", this.path, "direction", this.direction).record(throughput);
+            }
+        }
+    }
+}
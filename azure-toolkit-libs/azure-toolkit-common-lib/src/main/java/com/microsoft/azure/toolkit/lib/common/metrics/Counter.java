@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.metrics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * a monotonically increasing count, e.g. of requests or bytes.
+ */
+public class Counter extends Meter {
+    /**
+     * returned by {@link AzureMetrics} when metrics are disabled.
+     */
+    static final Counter NOOP = new Counter(new Id("noop")) {
+        @Override
+        public void increment(long amount) {
+        }
+    };
+
+    private final LongAdder count = new LongAdder();
+
+    Counter(@Nonnull Id id) {
+        super(id);
+    }
+
+    public void increment() {
+        this.increment(1);
+    }
+
+    public void increment(long amount) {
+        this.count.add(amount);
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    @Nonnull
+    @Override
+    Counter since(@Nullable Meter base) {
+        final Counter delta = new Counter(this.getId());
+        delta.increment(this.getCount() - (base instanceof Counter ? ((Counter) base).getCount() : 0));
+        return delta;
+    }
+
+    @Override
+    boolean isEmpty() {
+        return this.getCount() == 0;
+    }
+
+    @Nonnull
+    @Override
+    public Map<String, Object> measure() {
+        return Collections.singletonMap("count", this.getCount());
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.metrics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * a value sampled when measured, e.g. size of a pool.
+ */
+public class Gauge extends Meter {
+    private final Supplier<? extends Number> value;
+
+    Gauge(@Nonnull Id id, @Nonnull Supplier<? extends Number> value) {
+        super(id);
+        this.value = value;
+    }
+
+    @Nullable
+    public Number getValue() {
+        try {
+            return this.value.get();
+        } catch (final RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * gauges are sampled when measured, there is nothing to subtract.
+     */
+    @Nonnull
+    @Override
+    Gauge since(@Nullable Meter base) {
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public Map<String, Object> measure() {
+        return Collections.singletonMap("value", this.getValue());
+    }
+}
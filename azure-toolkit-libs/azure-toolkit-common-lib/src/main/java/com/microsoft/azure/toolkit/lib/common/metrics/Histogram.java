@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.metrics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * distribution of non-negative values, e.g. durations in milliseconds or throughput. values are counted in buckets of
+ * powers of 2, so percentiles are approximate (the upper bound of the bucket, at most 2x of the actual value) but
+ * recording is lock-free and takes constant memory.
+ */
+public class Histogram extends Meter {
+    /**
+     * returned by {@link AzureMetrics} when metrics are disabled.
+     */
+    static final Histogram NOOP = new Histogram(new Id("noop")) {
+        @Override
+        public void record(long value) {
+        }
+    };
+
+    /**
+     * bucket {@code i} counts values in {@code [2^(i-1), 2^i)}, bucket 0 counts 0.
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram(@Nonnull Id id) {
+        super(id);
+    }
+
+    public void record(long value) {
+        final long v = Math.max(0, value);
+        this.buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(v));
+        this.count.increment();
+        this.sum.add(v);
+        this.max.accumulateAndGet(v, Math::max);
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getSum() {
+        return this.sum.sum();
+    }
+
+    public long getMax() {
+        return this.max.get();
+    }
+
+    public double getMean() {
+        final long count = this.getCount();
+        return count == 0 ? 0 : (double) this.getSum() / count;
+    }
+
+    /**
+     * @param quantile e.g. 0.95
+     * @return approximate value at the quantile, 0 if nothing is recorded.
+     */
+    public long getPercentile(double quantile) {
+        long total = 0;
+        for (int i = 0; i < this.buckets.length(); i++) {
+            total += this.buckets.get(i);
+        }
+        final long rank = (long) Math.ceil(Math.min(1, Math.max(0, quantile)) * total);
+        long seen = 0;
+        for (int i = 0; i < this.buckets.length(); i++) {
+            seen += this.buckets.get(i);
+            if (seen >= rank && seen > 0) {
+                return i == 0 ? 0 : Math.min(this.getMax(), i == Long.SIZE ? Long.MAX_VALUE : (1L << i) - 1);
+            }
+        }
+        return 0;
+    }
+
+    @Nonnull
+    @Override
+    Histogram since(@Nullable Meter base) {
+        final Histogram b = base instanceof Histogram ? (Histogram) base : null;
+        final Histogram delta = new Histogram(this.getId());
+        int top = -1;
+        for (int i = 0; i < this.buckets.length(); i++) {
+            final long count = this.buckets.get(i) - (b == null ? 0 : b.buckets.get(i));
+            delta.buckets.set(i, count);
+            top = count > 0 ? i : top;
+        }
+        delta.count.add(this.getCount() - (b == null ? 0 : b.getCount()));
+        delta.sum.add(this.getSum() - (b == null ? 0 : b.getSum()));
+        // exact if the max is raised since base, otherwise bounded by the highest bucket recorded since then.
+        long max = this.getMax();
+        if (b != null && max <= b.getMax()) {
+            max = top <= 0 ? 0 : Math.min(max, top == Long.SIZE ? Long.MAX_VALUE : (1L << top) - 1);
+        }
+        delta.max.set(max);
+        return delta;
+    }
+
+    @Override
+    boolean isEmpty() {
+        return this.getCount() == 0;
+    }
+
+    @Nonnull
+    @Override
+    public Map<String, Object> measure() {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", this.getCount());
+        result.put("sum", this.getSum());
+        result.put("mean", Math.round(this.getMean() * 100) / 100.0);
+        result.put("p50", this.getPercentile(0.5));
+        result.put("p95", this.getPercentile(0.95));
+        result.put("max", this.getMax());
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.metrics;
+
+import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * writes all meters into a local JSON file (overwritten on each export), e.g.
+ * {@code [{"name": "http.requests", "tags": {"status": "200"}, "count": 12}]}
+ */
+public class JsonFileMetricsExporter implements MetricsExporter {
+    private final Path file;
+
+    public JsonFileMetricsExporter(@Nonnull Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public void export(@Nonnull List<Meter> meters) throws IOException {
+        final List<Map<String, Object>> json = meters.stream().map(m -> {
+            final Map<String, Object> meter = new LinkedHashMap<>();
+            meter.put("name", m.getName());
+            meter.put("tags", m.getTags());
+            meter.putAll(m.measure());
+            return meter;
+        }).collect(Collectors.toList());
+        JsonUtils.writeToJsonFile(this.file.toFile(), json);
+    }
+}
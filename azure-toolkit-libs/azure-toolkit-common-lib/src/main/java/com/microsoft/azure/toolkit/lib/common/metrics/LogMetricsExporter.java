@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * logs a summary of all meters, one line per meter.
+ */
+@Slf4j
+public class LogMetricsExporter implements MetricsExporter {
+    @Override
+    public void export(@Nonnull List<Meter> meters) {
+        if (meters.isEmpty()) {
+            return;
+        }
+        final StringBuilder summary = new StringBuilder("metrics:");
+        meters.forEach(m -> summary.append("\n\t").append(m));
+        log.info(summary.toString());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.metrics;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * a named and tagged measurement registered in {@link AzureMetrics}.
+ */
+@Getter
+public abstract class Meter {
+    @Nonnull
+    private final Id id;
+
+    Meter(@Nonnull Id id) {
+        this.id = id;
+    }
+
+    @Nonnull
+    public String getName() {
+        return this.id.name;
+    }
+
+    @Nonnull
+    public Map<String, String> getTags() {
+        return this.id.tags;
+    }
+
+    /**
+     * @return current values of this meter, e.g. {@code count}, {@code sum} and {@code max} of a histogram.
+     */
+    @Nonnull
+    public abstract Map<String, Object> measure();
+
+    /**
+     * @param base a frozen copy of this meter taken earlier, null to take one now.
+     * @return a frozen meter of values recorded since {@code base}.
+     */
+    @Nonnull
+    abstract Meter since(@Nullable Meter base);
+
+    /**
+     * @return if nothing is recorded, e.g. of a meter returned by {@link #since(Meter)}.
+     */
+    boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return this.id + " " + this.measure().entrySet().stream().map(e -> e.getKey() + "=" + e.getValue()).collect(Collectors.joining(" "));
+    }
+
+    @EqualsAndHashCode
+    public static final class Id implements Comparable<Id> {
+        @Nonnull
+        private final String name;
+        @Nonnull
+        private final Map<String, String> tags;
+
+        /**
+         * @param tags key value pairs, e.g. {@code "status", "200", "resource_type", "microsoft.web/sites"}
+         */
+        Id(@Nonnull String name, @Nonnull String... tags) {
+            if (tags.length % 2 != 0) {
+                throw new IllegalArgumentException(String.format("tags of meter '%s' must be key value pairs.", name));
+            }
+            final Map<String, String> map = new TreeMap<>();
+            for (int i = 0; i < tags.length; i += 2) {
+                map.put(tags[i], String.valueOf(tags[i + 1]));
+            }
+            this.name = name;
+            this.tags = Collections.unmodifiableMap(map);
+        }
+
+        @Override
+        public int compareTo(@Nonnull Id o) {
+            return this.toString().compareTo(o.toString());
+        }
+
+        @Override
+        public String toString() {
+            return this.tags.isEmpty() ? this.name : this.name + this.tags;
+        }
+    }
+}
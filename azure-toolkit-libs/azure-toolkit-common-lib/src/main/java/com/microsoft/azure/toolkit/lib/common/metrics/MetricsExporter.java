@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.metrics;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * receives all meters of {@link AzureMetrics} when exported, e.g. at the end of a maven goal. bridges to other
+ * metrics libraries (e.g. Micrometer) can be implemented as exporters reading {@link Meter#measure()}.
+ */
+public interface MetricsExporter {
+    void export(@Nonnull List<Meter> meters) throws IOException;
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.metrics;
+
+import com.azure.core.http.HttpPipelineCallContext;
+import com.azure.core.http.HttpPipelineNextPolicy;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.policy.HttpPipelinePolicy;
+import org.apache.commons.lang3.StringUtils;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * counts HTTP calls by resource type (e.g. {@code microsoft.web/sites}, or host of data plane requests) and status
+ * code, and records their durations.
+ */
+public class MetricsHttpPolicy implements HttpPipelinePolicy {
+    private static final Pattern PROVIDER = Pattern.compile("/providers/([^/?]+)/([^/?]+)", Pattern.CASE_INSENSITIVE);
+
+    @Override
+    public Mono<HttpResponse> process(@Nonnull HttpPipelineCallContext context, @Nonnull HttpPipelineNextPolicy next) {
+        if (!AzureMetrics.isEnabled()) {
+            return next.process();
+        }
+        final String resourceType = getResourceType(context.getHttpRequest());
+        final long start = System.nanoTime();
+        return next.process()
+            .doOnNext(response -> record(resourceType, String.valueOf(response.getStatusCode()), start))
+            .doOnError(e -> record(resourceType, "error", start));
+    }
+
+    private static void record(@Nonnull String resourceType, @Nonnull String status, long start) {
+        AzureMetrics.counter(AzureMetrics.HTTP_REQUESTS, "resource_type", resourceType, "status", status).increment();
+        AzureMetrics.histogram(AzureMetrics.HTTP_DURATION, "resource_type", resourceType).record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Nonnull
+    static String getResourceType(@Nonnull HttpRequest request) {
+        final Matcher matcher = PROVIDER.matcher(request.getUrl().getPath());
+        if (matcher.find()) {
+            return StringUtils.lowerCase(matcher.group(1) + "/" + matcher.group(2));
+        }
+        return StringUtils.defaultString(StringUtils.lowerCase(request.getUrl().getHost()));
+    }
+}
@@ -7,14 +7,11 @@ package com.microsoft.azure.toolkit.lib.common.model;
 
 import com.azure.core.exception.HttpResponseException;
 import com.azure.core.http.HttpResponse;
-import com.azure.resourcemanager.resources.fluentcore.arm.ResourceId;
 import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.account.IAzureAccount;
 import com.microsoft.azure.toolkit.lib.common.cache.Cache1;
 import com.microsoft.azure.toolkit.lib.common.event.AzureEventBus;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
-import com.microsoft.azure.toolkit.lib.common.utils.Debouncer;
-import com.microsoft.azure.toolkit.lib.common.utils.TailingDebouncer;
 import com.microsoft.azure.toolkit.lib.resource.AzureResources;
 import com.microsoft.azure.toolkit.lib.resource.GenericResourceModule;
 import com.microsoft.azure.toolkit.lib.resource.ResourceGroup;
@@ -33,12 +30,17 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Predicate;
 
 @Slf4j
 @ToString(onlyExplicitlyIncluded = true)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>, P extends AzResource, R> implements AzResource {
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<AbstractAzResource, Cache1> CACHE =
+        AtomicReferenceFieldUpdater.newUpdater(AbstractAzResource.class, Cache1.class, "cache");
+
     @Nonnull
     @Getter
     @ToString.Include
@@ -53,21 +55,21 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
     @Getter
     @EqualsAndHashCode.Include
     private final AbstractAzResourceModule<T, P, R> module;
-    @Nonnull
-    private final Cache1<R> cache;
+    /**
+     * created at first use, most leaves (e.g. blobs, tags) listed in bulk are never loaded or modified individually.
+     */
+    @Nullable
+    private volatile Cache1<R> cache;
     @Nonnull
     @ToString.Include
     private final AtomicReference<String> status;
-    @Nonnull
-    private final Debouncer fireEvents = new TailingDebouncer(this::fireStatusChangedEvent, 300);
+    @Nullable
+    private volatile AzResourceId id; // name, resource group and module of a non-draft resource never change.
 
     protected AbstractAzResource(@Nonnull String name, @Nonnull String resourceGroupName, @Nonnull AbstractAzResourceModule<T, P, R> module) {
         this.name = name;
         this.resourceGroupName = resourceGroupName;
         this.module = module;
-        this.cache = new Cache1<>(this::loadRemoteFromAzure)
-            .onValueChanged(this::onRemoteUpdated)
-            .onStatusChanged(s -> fireEvents.debounce());
         this.status = new AtomicReference<>(Status.UNKNOWN);
     }
 
@@ -87,10 +89,23 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
         this.name = origin.getName();
         this.resourceGroupName = origin.getResourceGroupName();
         this.module = origin.getModule();
-        this.cache = origin.cache;
+        this.cache = origin.cache();
         this.status = origin.status;
     }
 
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private Cache1<R> cache() {
+        final Cache1<R> cache = this.cache;
+        if (Objects.nonNull(cache)) {
+            return cache;
+        }
+        final Cache1<R> created = new Cache1<>(this::loadRemoteFromAzure)
+            .onValueChanged(this::onRemoteUpdated)
+            .onStatusChanged(s -> this.module.onResourceStatusChanged(this));
+        return CACHE.compareAndSet(this, null, created) ? created : (Cache1<R>) CACHE.get(this);
+    }
+
     public boolean exists() {
         final P parent = this.getParent();
         if (StringUtils.equals(this.status.get(), Status.DELETED)) {
@@ -114,7 +129,7 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
         log.debug("[{}:{}]:invalidateCache->subModules.invalidateCache()", this.module.getName(), this.getName());
         this.getCachedSubModules().forEach(AbstractAzResourceModule::invalidateCache);
         log.debug("[{}]:invalidateCache()", this.name);
-        this.cache.invalidate();
+        Optional.ofNullable(this.cache).ifPresent(Cache1::invalidate);
     }
 
     @Nullable
@@ -141,11 +156,11 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
             log.debug("[{}:{}]:getRemote->this.isDraftForCreating()=true", this.module.getName(), this.getName());
             return null;
         }
-        return this.cache.get();
+        return this.cache().get();
     }
 
     protected void setRemote(R remote) {
-        this.cache.update(() -> remote, Status.UPDATING);
+        this.cache().update(() -> remote, Status.UPDATING);
     }
 
     @Nonnull
@@ -183,10 +198,11 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
         if (this.isDraftForCreating()) {
             return Status.CREATING;
         }
-        String cacheStatus = this.cache.getStatus();
+        final Cache1<R> cache = this.cache();
+        String cacheStatus = cache.getStatus();
         if (StringUtils.isBlank(cacheStatus)) {
-            final R remote = this.cache.getIfPresent(true);
-            cacheStatus = Optional.ofNullable(this.cache.getStatus()).orElse(Cache1.Status.LOADING);
+            final R remote = cache.getIfPresent(true);
+            cacheStatus = Optional.ofNullable(cache.getStatus()).orElse(Cache1.Status.LOADING);
         }
         return Cache1.Status.OK.equalsIgnoreCase(cacheStatus) ?
             Optional.ofNullable(this.status.get()).orElse(Cache1.Status.LOADING) : cacheStatus;
@@ -199,7 +215,7 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
             final String oldStatus = this.status.get();
             if (!Objects.equals(oldStatus, status)) {
                 this.status.set(status);
-                fireEvents.debounce();
+                this.module.onResourceStatusChanged(this);
                 if (StringUtils.equalsAny(status, Status.DELETING, Status.DELETED)) {
                     this.getCachedSubModules().stream().flatMap(m -> m.listCachedResources().stream()).forEach(r -> r.setStatus(status));
                 }
@@ -210,11 +226,6 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
     @Nonnull
     protected abstract String loadStatus(@Nonnull R remote);
 
-    private void fireStatusChangedEvent() {
-        log.debug("[{}]:fireStatusChangedEvent()", this.getName());
-        AzureEventBus.emit("resource.status_changed.resource", this);
-    }
-
     @Override
     public void delete() {
         log.debug("[{}:{}]:delete()", this.module.getName(), this.getName());
@@ -247,7 +258,7 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
         this.setStatus(Status.DELETED);
         log.debug("[{}:{}]:delete->module.deleteResourceFromLocal({})", this.module.getName(), this.getName(), this.getName());
         this.getModule().deleteResourceFromLocal(this.getId());
-        final ResourceId id = ResourceId.fromString(this.getId());
+        final AzResourceId id = this.getAzResourceId();
         final ResourceGroup resourceGroup = this.getResourceGroup();
         if (Objects.isNull(id.parent()) && Objects.nonNull(resourceGroup)) { // resource group manages top resources only
             final GenericResourceModule genericResourceModule = resourceGroup.genericResources();
@@ -264,12 +275,12 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
     }
 
     protected void doModify(@Nonnull Runnable body, @Nullable String status) {
-        this.cache.update(body, status);
+        this.cache().update(body, status);
     }
 
     @Nullable
     protected R doModify(@Nonnull Callable<R> body, @Nullable String status) {
-        return this.cache.update(body, status);
+        return this.cache().update(body, status);
     }
 
     @Nonnull
@@ -280,7 +291,20 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
 
     @Nonnull
     public String getId() {
-        return this.getModule().toResourceId(this.getName(), this.getResourceGroupName());
+        return this.getAzResourceId().toString();
+    }
+
+    @Nonnull
+    public AzResourceId getAzResourceId() {
+        if (this instanceof Draft) { // name/resource group of drafts are editable.
+            return AzResourceId.fromString(this.getModule().toResourceId(this.getName(), this.getResourceGroupName()));
+        }
+        AzResourceId id = this.id;
+        if (Objects.isNull(id)) {
+            id = AzResourceId.interned(this.getModule().toResourceId(this.getName(), this.getResourceGroupName()));
+            this.id = id;
+        }
+        return id;
     }
 
     @Nonnull
@@ -321,7 +345,7 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
 
     public boolean isDraftForCreating() {
         return this instanceof Draft && Objects.isNull(((Draft<?, ?>) this).getOrigin())
-            && Objects.isNull(this.cache.getIfPresent())
+            && (Objects.isNull(this.cache) || Objects.isNull(this.cache.getIfPresent()))
             && !StringUtils.equalsIgnoreCase(this.status.get(), Status.DELETED)
             && !StringUtils.equalsIgnoreCase(this.status.get(), Status.ERROR);
     }
@@ -19,6 +19,7 @@ import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.account.IAzureAccount;
 import com.microsoft.azure.toolkit.lib.common.event.AzureEventBus;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
 import com.microsoft.azure.toolkit.lib.common.model.page.ItemPage;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.operation.Operation;
@@ -58,9 +59,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource.is400;
@@ -77,6 +81,7 @@ import static com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter.SE
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P, R>, P extends AzResource, R>
     implements AzResourceModule<T> {
+    protected static final long LISTING_TTL = TimeUnit.SECONDS.toMillis(10);
     @Getter
     @Nonnull
     @ToString.Include
@@ -89,13 +94,26 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     @ToString.Include
     protected final AtomicLong syncTimeRef = new AtomicLong(-1);
     @Nonnull
-    protected final Map<String, Optional<T>> resources = Collections.synchronizedMap(new LinkedHashMap<>());
-    private final Map<String, T> tempResources = Collections.synchronizedMap(new LinkedHashMap<>());
+    protected final Map<AzResourceId, Optional<T>> resources = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<AzResourceId, T> tempResources = Collections.synchronizedMap(new LinkedHashMap<>());
+    @Nonnull
+    private final ResourceLoader loader = new ResourceLoader(
+        () -> TimeUnit.SECONDS.toMillis(Azure.az().config().getResourceNotFoundCacheTtlInSeconds()),
+        () -> TimeUnit.SECONDS.toMillis(Azure.az().config().getResourceCacheTtlInSeconds()));
 
     @Nonnull
     private final Debouncer fireEvents = new TailingDebouncer(this::fireChildrenChangedEvent, 300);
+    /**
+     * resources whose status changed, their events are fired in batch by the module 300ms after the last change, so
+     * that (leaf) resources don't need their own timers. events of the same resource are further coalesced by
+     * {@link AzureEventBus}.
+     */
+    private final Set<AbstractAzResource<?, ?, ?>> statusChangedResources = ConcurrentHashMap.newKeySet();
+    private final Debouncer fireStatusChangedEvents = new TailingDebouncer(this::fireStatusChangedEvents, 300);
     private final Lock lock = new ReentrantLock();
     private Iterator<? extends ContinuablePage<String, R>> pages;
+    @Nullable
+    private volatile Pair<Long, Map<String, R>> listing; // (expires at, lowercase name -> remote), see loadResourceFromListing
 
     @Override
     public void refresh() {
@@ -111,6 +129,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
             try {
                 this.resources.entrySet().removeIf(e -> !e.getValue().isPresent());
                 this.syncTimeRef.set(-1);
+                this.listing = null;
             } finally {
                 this.lock.unlock();
             }
@@ -131,17 +150,22 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
             log.debug("[{}]:list->parent.isDraftForCreating()=true", this.name);
             return Collections.emptyList();
         }
+        boolean reloaded = false;
         if (this.syncTimeRef.get() < 1) { // 0, -1 or too old.
             try {
                 this.lock.lock();
                 if (this.syncTimeRef.get() == -1) { // -1 or too old.
                     log.debug("[{}]:list->this.reload()", this.name);
+                    reloaded = true;
                     this.reloadResources();
                 }
             } finally {
                 this.lock.unlock();
             }
         }
+        if (AzureMetrics.isEnabled()) {
+            AzureMetrics.recordCacheAccess("module.list:" + this.getFullResourceType(), !reloaded);
+        }
         log.debug("[{}]:list->this.resources.values()", this.name);
         return this.resources.values().stream().filter(Optional::isPresent).map(Optional::get).collect(Collectors.toList());
     }
@@ -213,6 +237,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     }
 
     private void setResources(Map<String, R> loadedResources) {
+        loadedResources.keySet().forEach(this.loader::forget);
         final Set<String> localResources = this.resources.values().stream().filter(Optional::isPresent).map(Optional::get)
             .map(AbstractAzResource::getId).map(String::toLowerCase).collect(Collectors.toSet());
         final Set<String> creating = this.resources.values().stream().filter(Optional::isPresent).map(Optional::get)
@@ -226,14 +251,14 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         final Sets.SetView<String> added = Sets.difference(loadedResources.keySet(), localResources);
         log.debug("[{}]:reload().added={}", this.name, added);
         log.debug("[{}]:reload.deleted->deleteResourceFromLocal", this.name);
-        deleted.forEach(id -> this.resources.getOrDefault(id, Optional.empty()).ifPresent(r -> {
+        deleted.forEach(id -> this.resources.getOrDefault(AzResourceId.fromString(id), Optional.empty()).ifPresent(r -> {
             r.deleteFromCache();
             r.setRemote(null);
         }));
 
         final AzureTaskManager m = AzureTaskManager.getInstance();
         log.debug("[{}]:reload.refreshed->resource.setRemote", this.name);
-        refreshed.forEach(id -> this.resources.getOrDefault(id, Optional.empty()).ifPresent(r -> m.runOnPooledThread(() -> r.setRemote(loadedResources.get(id)))));
+        refreshed.forEach(id -> this.resources.getOrDefault(AzResourceId.fromString(id), Optional.empty()).ifPresent(r -> m.runOnPooledThread(() -> r.setRemote(loadedResources.get(id)))));
         log.debug("[{}]:reload.added->addResourceToLocal", this.name);
         final Map<String, R> newResources = new HashMap<>();
         added.forEach(id -> newResources.put(id, loadedResources.get(id)));
@@ -244,6 +269,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     protected void addResources(Map<String, R> loadedResources) {
         final Set<String> added = loadedResources.keySet();
         log.debug("[{}]:reload().added={}", this.name, added);
+        added.forEach(this.loader::forget);
         loadedResources.values().stream().map(r -> Pair.of(r, this.newResource(r)))
             .sorted(Comparator.comparing(p -> p.getValue().getName())) // sort by name when adding into cache
             .forEach(p -> {
@@ -260,6 +286,8 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         try {
             this.lock.lock();
             this.resources.clear();
+            this.loader.forgetAll();
+            this.listing = null;
             this.syncTimeRef.set(-1);
         } finally {
             this.lock.unlock();
@@ -279,31 +307,69 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         if (isAuthRequiredForResource(id)) {
             Azure.az(IAzureAccount.class).account();
         }
-        if (!this.resources.containsKey(id)) {
-            R remote = null;
-            try {
-                log.debug("[{}]:get({}, {})->loadResourceFromAzure()", this.name, name, resourceGroup);
-                remote = loadResourceFromAzure(name, resourceGroup);
-            } catch (final Exception e) {
-                log.debug("[{}]:get({}, {})->loadResourceFromAzure()=EXCEPTION", this.name, name, resourceGroup, e);
-                final Throwable cause = e instanceof HttpResponseException ? e : ExceptionUtils.getRootCause(e);
-                if (cause instanceof HttpResponseException && !is404(e) && !is400(e)) {
-                    log.debug("[{}]:get({}, {})->loadResourceFromAzure()=SC_NOT_FOUND", this.name, name, resourceGroup, e);
-                    throw e;
-                }
+        final AzResourceId key = AzResourceId.fromString(id);
+        final Optional<T> cached = this.resources.get(key);
+        final boolean miss = Objects.isNull(cached) || (!cached.isPresent() && this.loader.isExpired(id, false));
+        if (AzureMetrics.isEnabled()) {
+            AzureMetrics.recordCacheAccess("module.get:" + this.getFullResourceType(), !miss);
+        }
+        if (miss) {
+            // concurrent callers share one request to Azure.
+            this.loader.load(id, () -> this.loadResourceToLocal(id, name, resourceGroup));
+        } else if (cached.isPresent() && this.loader.isExpired(id, true)) {
+            log.debug("[{}]:get({}, {})->refreshResourceInLocal()", this.name, name, resourceGroup);
+            this.loader.forget(id);
+            final T resource = cached.get();
+            AzureTaskManager.getInstance().runOnPooledThread(() -> this.loader.load(id, () -> this.refreshResourceInLocal(id, resource)));
+        }
+        log.debug("[{}]:get({}, {})->this.resources.get({})", this.name, id, resourceGroup, name);
+        return this.resources.getOrDefault(key, Optional.empty()).orElse(null);
+    }
+
+    private void loadResourceToLocal(@Nonnull String id, @Nonnull String name, @Nullable String resourceGroup) {
+        final Optional<T> cached = this.resources.get(AzResourceId.fromString(id));
+        if (Objects.nonNull(cached) && (cached.isPresent() || !this.loader.isExpired(id, false))) {
+            return; // loaded by others in the meantime.
+        }
+        R remote = null;
+        try {
+            log.debug("[{}]:get({}, {})->loadResourceFromAzure()", this.name, name, resourceGroup);
+            remote = loadResourceFromAzure(name, resourceGroup);
+        } catch (final Exception e) {
+            log.debug("[{}]:get({}, {})->loadResourceFromAzure()=EXCEPTION", this.name, name, resourceGroup, e);
+            final Throwable cause = e instanceof HttpResponseException ? e : ExceptionUtils.getRootCause(e);
+            if (cause instanceof HttpResponseException && !is404(e) && !is400(e)) {
+                log.debug("[{}]:get({}, {})->loadResourceFromAzure()=SC_NOT_FOUND", this.name, name, resourceGroup, e);
+                throw e;
             }
+        }
+        if (Objects.isNull(remote)) {
+            log.debug("[{}]:get({}, {})->addResourceToLocal({}, null)", this.name, name, resourceGroup, name);
+            this.addResourceToLocal(id, null, true);
+        } else {
+            final T resource = newResource(remote);
+            resource.setRemote(remote);
+            log.debug("[{}]:get({}, {})->addResourceToLocal({}, resource)", this.name, name, resourceGroup, name);
+            this.addResourceToLocal(resource.getId(), resource, true);
+        }
+        this.loader.loaded(id);
+    }
+
+    private void refreshResourceInLocal(@Nonnull String id, @Nonnull T resource) {
+        try {
+            final R remote = resource.loadRemoteFromAzure();
             if (Objects.isNull(remote)) {
-                log.debug("[{}]:get({}, {})->addResourceToLocal({}, null)", this.name, name, resourceGroup, name);
-                this.addResourceToLocal(id, null, true);
+                log.debug("[{}]:refreshResourceInLocal({})->deleteFromCache()", this.name, id);
+                resource.deleteFromCache();
+                resource.setRemote(null);
             } else {
-                final T resource = newResource(remote);
                 resource.setRemote(remote);
-                log.debug("[{}]:get({}, {})->addResourceToLocal({}, resource)", this.name, name, resourceGroup, name);
-                this.addResourceToLocal(resource.getId(), resource, true);
+                this.loader.loaded(id);
             }
+        } catch (final Exception e) {
+            log.debug("[{}]:refreshResourceInLocal({})=EXCEPTION", this.name, id, e);
+            this.loader.loaded(id); // retry after another ttl.
         }
-        log.debug("[{}]:get({}, {})->this.resources.get({})", this.name, id, resourceGroup, name);
-        return this.resources.getOrDefault(id, Optional.empty()).orElse(null);
     }
 
     @Nullable
@@ -339,7 +405,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     public T getOrDraft(@Nonnull String name, @Nullable String rgName) {
         final String resourceGroup = normalizeResourceGroupName(name, rgName);
         log.debug("[{}]:getOrDraft({}, {})", this.name, name, resourceGroup);
-        final String id = this.toResourceId(name, resourceGroup).toLowerCase();
+        final AzResourceId id = AzResourceId.fromString(this.toResourceId(name, resourceGroup));
         return Optional.ofNullable(this.get(name, resourceGroup))
             .orElseGet(() -> this.tempResources.computeIfAbsent(id, (i) -> this.cast(this.newDraftForCreate(name, resourceGroup))));
     }
@@ -348,7 +414,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     public T getOrTemp(@Nonnull String name, @Nullable String rgName) {
         final String resourceGroup = normalizeResourceGroupName(name, rgName);
         log.debug("[{}]:getOrTemp({}, {})", this.name, name, rgName);
-        final String id = this.toResourceId(name, resourceGroup).toLowerCase();
+        final AzResourceId id = AzResourceId.fromString(this.toResourceId(name, resourceGroup));
         return Optional.ofNullable(this.get(name, resourceGroup))
             .orElseGet(() -> this.tempResources.computeIfAbsent(id, (i) -> this.newResource(name, resourceGroup)));
     }
@@ -395,7 +461,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         log.debug("[{}]:create({}, {})", this.name, name, resourceGroup);
         // TODO: use generics to avoid class casting
         log.debug("[{}]:create->newDraftForCreate({}, {})", this.name, name, resourceGroup);
-        final String id = this.toResourceId(name, resourceGroup).toLowerCase();
+        final AzResourceId id = AzResourceId.fromString(this.toResourceId(name, resourceGroup));
         T resource = this.tempResources.get(id);
         if (!Objects.nonNull(resource) || !resource.isDraftForCreating()) {
             resource = this.cast(this.newDraftForCreate(name, resourceGroup));
@@ -465,17 +531,36 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     @Nonnull
     @SneakyThrows(UnsupportedEncodingException.class)
     public String toResourceId(@Nonnull String resourceName, @Nullable String resourceGroup) {
-        resourceGroup = StringUtils.firstNonBlank(resourceGroup, this.getParent().getResourceGroupName(), RESOURCE_GROUP_PLACEHOLDER);
         // resource (ACR repository) name may contain "/".
-        final String encoded = URLEncoder.encode(resourceName, "UTF-8");
-        return String.format("%s/%s/%s", this.parent.getId(), this.getName(), encoded).replace(RESOURCE_GROUP_PLACEHOLDER, resourceGroup);
+        final String encoded = isUrlSafe(resourceName) ? resourceName : URLEncoder.encode(resourceName, "UTF-8");
+        final String id = this.parent.getId() + "/" + this.getName() + "/" + encoded;
+        if (!id.contains(RESOURCE_GROUP_PLACEHOLDER)) {
+            return id;
+        }
+        resourceGroup = StringUtils.firstNonBlank(resourceGroup, this.getParent().getResourceGroupName(), RESOURCE_GROUP_PLACEHOLDER);
+        return StringUtils.replace(id, RESOURCE_GROUP_PLACEHOLDER, resourceGroup);
+    }
+
+    /**
+     * @return true if {@link URLEncoder#encode(String, String)} would return {@code str} as is.
+     */
+    private static boolean isUrlSafe(@Nonnull String str) {
+        for (int i = 0; i < str.length(); i++) {
+            final char c = str.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '_' || c == '.' || c == '*')) {
+                return false;
+            }
+        }
+        return true;
     }
 
     protected void deleteResourceFromLocal(@Nonnull String id, boolean... silent) {
         log.debug("[{}]:deleteResourceFromLocal({})", this.name, id);
         log.debug("[{}]:deleteResourceFromLocal->this.resources.remove({})", this.name, id);
         id = id.toLowerCase();
-        final Optional<T> removed = this.resources.remove(id);
+        this.loader.forget(id);
+        this.listing = null;
+        final Optional<T> removed = this.resources.remove(AzResourceId.fromString(id));
         if (Objects.nonNull(removed) && removed.isPresent()) {
             this.deleteResourceFromLocalResourceGroup(removed.get(), silent);
             if ((silent.length == 0 || !silent[0])) {
@@ -486,7 +571,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     }
 
     protected void deleteResourceFromLocalResourceGroup(@Nonnull T resource, boolean... silent) {
-        final ResourceId rId = ResourceId.fromString(resource.getId());
+        final AzResourceId rId = resource.getAzResourceId();
         final ResourceGroup resourceGroup = resource.getResourceGroup();
         if (Objects.isNull(rId.parent()) && Objects.nonNull(resourceGroup) &&
             !(resource instanceof ResourceGroup) && !(resource instanceof ResourceDeployment)) {
@@ -498,11 +583,16 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     protected void addResourceToLocal(@Nonnull String id, @Nullable T resource, boolean... silent) {
         log.debug("[{}]:addResourceToLocal({}, {})", this.name, id, resource);
         id = id.toLowerCase();
-        final Optional<T> oldResource = this.resources.getOrDefault(id, Optional.empty());
+        // key by the (interned) id the resource holds anyway rather than a lower-cased copy.
+        final AzResourceId key = Objects.nonNull(resource) ? resource.getAzResourceId() : AzResourceId.fromString(id);
+        final Optional<T> oldResource = this.resources.getOrDefault(key, Optional.empty());
         final Optional<T> newResource = Optional.ofNullable(resource);
         if (!oldResource.isPresent()) {
             log.debug("[{}]:addResourceToLocal->this.resources.put({}, {})", this.name, id, resource);
-            this.resources.put(id, newResource);
+            this.loader.forget(id);
+            this.listing = null;
+            this.resources.remove(key); // replace the key of a cached absence as well.
+            this.resources.put(key, newResource);
             if (newResource.isPresent()) {
                 this.addResourceToLocalResourceGroup(id, resource, silent);
                 if (silent.length == 0 || !silent[0]) {
@@ -514,7 +604,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     }
 
     protected void addResourceToLocalResourceGroup(@Nonnull String id, @Nonnull T resource, boolean... silent) {
-        final ResourceId rId = ResourceId.fromString(id);
+        final AzResourceId rId = resource.getAzResourceId();
         final ResourceGroup resourceGroup = resource.getResourceGroup();
         if (Objects.isNull(rId.parent()) && Objects.nonNull(resourceGroup) && !this.isMocked() &&
             !(resource instanceof ResourceGroup) && !(resource instanceof ResourceDeployment)) {
@@ -524,6 +614,20 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         }
     }
 
+    void onResourceStatusChanged(@Nonnull AbstractAzResource<?, ?, ?> resource) {
+        this.statusChangedResources.add(resource);
+        this.fireStatusChangedEvents.debounce();
+    }
+
+    private void fireStatusChangedEvents() {
+        for (final Iterator<AbstractAzResource<?, ?, ?>> it = this.statusChangedResources.iterator(); it.hasNext(); ) {
+            final AbstractAzResource<?, ?, ?> resource = it.next();
+            it.remove();
+            log.debug("[{}]:fireStatusChangedEvent()", resource.getName());
+            AzureEventBus.emit("resource.status_changed.resource", resource);
+        }
+    }
+
     private void fireChildrenChangedEvent() {
         log.debug("[{}]:fireChildrenChangedEvent()", this.name);
         if (this.getParent() instanceof AbstractAzServiceSubscription) {
@@ -575,6 +679,25 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         }
     }
 
+    /**
+     * fallback of {@link #loadResourceFromAzure point lookup} for modules whose service can't get a single resource
+     * directly (or where the direct request is not permitted): finds the resource named {@code name} (ignoring case) in a
+     * full listing loaded by {@link #loadResourcePagesFromAzure()}. The listing is kept for {@link #LISTING_TTL} so that
+     * consecutive lookups cost one listing instead of one each.
+     */
+    @Nullable
+    protected R loadResourceFromListing(@Nonnull String name, @Nonnull Function<R, String> getName) {
+        Pair<Long, Map<String, R>> current = this.listing;
+        if (Objects.isNull(current) || current.getLeft() < System.currentTimeMillis()) {
+            log.debug("[{}]:loadResourceFromListing({})->loadResourcePagesFromAzure()", this.name, name);
+            final Map<String, R> remotes = new HashMap<>();
+            this.loadResourcePagesFromAzure().forEachRemaining(page -> page.getElements().forEach(r -> remotes.put(getName.apply(r).toLowerCase(), r)));
+            current = Pair.of(System.currentTimeMillis() + LISTING_TTL, remotes);
+            this.listing = current;
+        }
+        return current.getRight().get(name.toLowerCase());
+    }
+
     @AzureOperation(name = "azure/$resource.delete_resource.resource|type", params = {"nameFromResourceId(resourceId)", "this.getResourceTypeName()"})
     protected void deleteResourceFromAzure(@Nonnull String resourceId) {
         log.debug("[{}]:deleteResourceFromAzure({})", this.getName(), resourceId);
@@ -6,12 +6,17 @@
 package com.microsoft.azure.toolkit.lib.common.model;
 
 import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
 import com.azure.core.http.ProxyOptions;
 import com.azure.core.http.netty.NettyAsyncHttpClientBuilder;
 import com.azure.core.http.policy.HttpLogDetailLevel;
 import com.azure.core.http.policy.HttpPipelinePolicy;
 import com.azure.core.http.policy.UserAgentPolicy;
 import com.azure.core.management.profile.AzureProfile;
+import com.azure.core.util.Context;
 import com.azure.resourcemanager.resources.ResourceManager;
 import com.azure.resourcemanager.resources.fluentcore.policy.ProviderRegistrationPolicy;
 import com.azure.resourcemanager.resources.models.ProviderResourceType;
@@ -21,16 +26,20 @@ import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.AzureConfiguration;
 import com.microsoft.azure.toolkit.lib.account.IAccount;
 import com.microsoft.azure.toolkit.lib.account.IAzureAccount;
+import com.microsoft.azure.toolkit.lib.common.metrics.MetricsHttpPolicy;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
+import com.microsoft.azure.toolkit.lib.common.tracing.TracingHttpPolicy;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.JdkSslContext;
 import io.netty.resolver.AddressResolverGroup;
 import io.netty.resolver.DefaultAddressResolverGroup;
 import io.netty.resolver.NoopAddressResolverGroup;
 import org.apache.commons.lang3.StringUtils;
+import reactor.core.publisher.Mono;
 
 import javax.annotation.Nonnull;
 import java.net.InetSocketAddress;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -118,6 +127,7 @@ public abstract class AbstractAzServiceSubscription<T extends AbstractAzResource
 
     public static class HttpClientHolder {
         private static HttpClient defaultHttpClient = null;
+        private static HttpConnectionPool defaultPool = null;
 
         @Nonnull
         private static synchronized HttpClient getHttpClient() {
@@ -137,21 +147,72 @@ public abstract class AbstractAzServiceSubscription<T extends AbstractAzResource
             } else {
                 resolverGroup = DefaultAddressResolverGroup.INSTANCE;
             }
-            reactor.netty.http.client.HttpClient nettyHttpClient =
-                reactor.netty.http.client.HttpClient.create()
+            defaultPool = new HttpConnectionPool(config);
+            reactor.netty.http.client.HttpClient nettyHttpClient = defaultPool.newHttpClient()
                         .resolver(resolverGroup);
             if (Objects.nonNull(config.getSslContext())) {
                 nettyHttpClient = nettyHttpClient.secure(sslConfig -> sslConfig.sslContext(new JdkSslContext(config.getSslContext(), true, ClientAuth.NONE)));
             }
             NettyAsyncHttpClientBuilder builder = new NettyAsyncHttpClientBuilder(nettyHttpClient);
             Optional.ofNullable(proxyOptions).map(builder::proxy);
-            defaultHttpClient = builder.build();
+            final List<HttpPipelinePolicy> policies = new ArrayList<>();
+            if (config.getHttpResponseCacheTtlInMillis() > 0) {
+                policies.add(new ConditionalGetPolicy(Duration.ofMillis(config.getHttpResponseCacheTtlInMillis())));
+            }
+            policies.add(new TracingHttpPolicy());
+            policies.add(new MetricsHttpPolicy());
+            policies.add(new ResilientHttpPolicy(config.getHttpMaxConcurrentRequests(), config.isHttpHedgingEnabled()));
+            defaultHttpClient = new TransportHttpClient(builder.build(), policies);
             return defaultHttpClient;
         }
+
+        @Nonnull
+        private static synchronized HttpConnectionPool getPool() {
+            getHttpClient();
+            return defaultPool;
+        }
+
+        /**
+         * drops the default http client, the next one is created with the latest configuration, e.g. ssl context.
+         */
+        static synchronized void reset() {
+            defaultHttpClient = null;
+            defaultPool = null;
+        }
+    }
+
+    /**
+     * applies policies (e.g. {@link ResilientHttpPolicy}) right above the transport, so that they take effect in all
+     * pipelines sharing the default http client.
+     */
+    private static class TransportHttpClient implements HttpClient {
+        private final HttpPipeline pipeline;
+
+        TransportHttpClient(@Nonnull HttpClient client, @Nonnull List<HttpPipelinePolicy> policies) {
+            this.pipeline = new HttpPipelineBuilder().httpClient(client).policies(policies.toArray(new HttpPipelinePolicy[0])).build();
+        }
+
+        @Override
+        public Mono<HttpResponse> send(HttpRequest request) {
+            return this.pipeline.send(request);
+        }
+
+        @Override
+        public Mono<HttpResponse> send(HttpRequest request, Context context) {
+            return this.pipeline.send(request, context);
+        }
     }
 
     @Nonnull
     public static HttpClient getDefaultHttpClient() {
         return HttpClientHolder.getHttpClient();
     }
+
+    /**
+     * @return metrics of the connection pool of {@link #getDefaultHttpClient()}
+     */
+    @Nonnull
+    public static HttpConnectionPool.Metrics getDefaultHttpPoolMetrics() {
+        return HttpClientHolder.getPool().getMetrics();
+    }
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Objects;
+
+/**
+ * id of a resource, e.g. {@code /subscriptions/<sid>/resourceGroups/<rg>/providers/<namespace>/<type>/<name>}.
+ * ids are compared case-insensitively (as Azure does) against a hash computed once, so that it's cheap as a map key,
+ * and split into segments (without regex) only when a segment is asked for.
+ */
+public final class AzResourceId {
+    private static final String PROVIDERS = "providers";
+    @Nonnull
+    private final String id;
+    private final int hash;
+    /**
+     * start offsets of the segments, parsed at first use.
+     */
+    @Nullable
+    private volatile int[] segments;
+
+    private AzResourceId(@Nonnull String id) {
+        this.id = id;
+        this.hash = hash(id);
+    }
+
+    @Nonnull
+    public static AzResourceId fromString(@Nonnull String id) {
+        return new AzResourceId(id);
+    }
+
+    /**
+     * @return id whose string is interned, for ids held by long-lived objects, e.g. resources.
+     */
+    @Nonnull
+    public static AzResourceId interned(@Nonnull String id) {
+        return new AzResourceId(id.intern());
+    }
+
+    public int getSegmentCount() {
+        return this.segments().length;
+    }
+
+    @Nonnull
+    public String getSegment(int index) {
+        final int start = this.segments()[index];
+        return this.id.substring(start, this.end(start));
+    }
+
+    @Nullable
+    public String getSubscriptionId() {
+        return this.valueOf("subscriptions");
+    }
+
+    @Nullable
+    public String getResourceGroupName() {
+        return this.valueOf("resourceGroups");
+    }
+
+    @Nonnull
+    public String getName() {
+        final int count = this.getSegmentCount();
+        return count > 0 ? this.getSegment(count - 1) : "";
+    }
+
+    /**
+     * @return id of the parent of a child resource (e.g. a web app slot), {@code null} for a top resource
+     * (e.g. a web app) or an id without provider (e.g. a resource group).
+     */
+    @Nullable
+    public AzResourceId parent() {
+        final int[] segments = this.segments();
+        final int providers = this.indexOf(PROVIDERS);
+        // providers/<namespace>/<type>/<name>[/<child type>/<child name>]...
+        if (providers < 0 || segments.length - providers < 6) {
+            return null;
+        }
+        return new AzResourceId(this.id.substring(0, segments[segments.length - 2] - 1));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AzResourceId)) {
+            return false;
+        }
+        final AzResourceId that = (AzResourceId) o;
+        return this.hash == that.hash && this.id.equalsIgnoreCase(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+        return this.id;
+    }
+
+    @Nullable
+    private String valueOf(@Nonnull String key) {
+        final int index = this.indexOf(key);
+        return index >= 0 && index + 1 < this.getSegmentCount() ? this.getSegment(index + 1) : null;
+    }
+
+    private int indexOf(@Nonnull String segment) {
+        final int[] segments = this.segments();
+        for (int i = 0; i < segments.length; i++) {
+            if (this.end(segments[i]) - segments[i] == segment.length() && this.id.regionMatches(true, segments[i], segment, 0, segment.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int end(int start) {
+        final int end = this.id.indexOf('/', start);
+        return end < 0 ? this.id.length() : end;
+    }
+
+    @Nonnull
+    private int[] segments() {
+        int[] segments = this.segments;
+        if (Objects.isNull(segments)) {
+            final String id = this.id;
+            int count = 0;
+            for (int i = 0; i < id.length(); i++) {
+                if (id.charAt(i) != '/' && (i == 0 || id.charAt(i - 1) == '/')) {
+                    count++;
+                }
+            }
+            segments = new int[count];
+            for (int i = 0, j = 0; i < id.length(); i++) {
+                if (id.charAt(i) != '/' && (i == 0 || id.charAt(i - 1) == '/')) {
+                    segments[j++] = i;
+                }
+            }
+            this.segments = segments;
+        }
+        return segments;
+    }
+
+    /**
+     * consistent with {@link String#equalsIgnoreCase(String)}.
+     */
+    private static int hash(@Nonnull String id) {
+        int h = 0;
+        for (int i = 0; i < id.length(); i++) {
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(id.charAt(i)));
+        }
+        return h;
+    }
+}
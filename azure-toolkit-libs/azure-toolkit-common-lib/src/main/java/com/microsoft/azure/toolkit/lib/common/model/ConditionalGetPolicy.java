@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipelineCallContext;
+import com.azure.core.http.HttpPipelineNextPolicy;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.policy.HttpPipelinePolicy;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * collapses concurrent identical ARM GETs into one request and caches responses (keyed by url and credential) for a
+ * short while, e.g. for {@code exists()} checks of a resource and its parents, or status refreshing right after
+ * listing. expired responses are kept for revalidation with {@code If-None-Match}, so that unchanged resources come
+ * back as 304 without body. an ARM write drops cached and in-flight responses of its subscription (including listings
+ * of parents, which may contain the written resource) both when it's sent and when it completes, so that reads racing
+ * with it are neither joined nor cached. writes to data plane endpoints don't affect cached responses.
+ */
+@Slf4j
+public class ConditionalGetPolicy implements HttpPipelinePolicy {
+    private static final Duration RETENTION = Duration.ofMinutes(5);
+    private static final long MAX_CACHED_BYTES = 32 * 1024 * 1024;
+    private static final int NOT_MODIFIED = 304;
+    private static final Pattern SUBSCRIPTION = Pattern.compile("^/subscriptions/[^/]+", Pattern.CASE_INSENSITIVE);
+
+    private final long ttl;
+    /**
+     * responses are kept after {@link #ttl} until {@link #RETENTION} for revalidation.
+     */
+    private final Cache<String, Entry> responses = Caffeine.newBuilder()
+        .expireAfterWrite(RETENTION)
+        .maximumWeight(MAX_CACHED_BYTES)
+        .<String, Entry>weigher((k, v) -> v.body.length + k.length())
+        .build();
+    private final Map<String, Mono<Entry>> inflight = new ConcurrentHashMap<>();
+    /**
+     * increased by every ARM write when it's sent and completes, responses of GETs started before are not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param ttl how long a response is served from cache without revalidation.
+     */
+    public ConditionalGetPolicy(@Nonnull Duration ttl) {
+        this.ttl = ttl.toMillis();
+    }
+
+    @Override
+    public Mono<HttpResponse> process(@Nonnull HttpPipelineCallContext context, @Nonnull HttpPipelineNextPolicy next) {
+        final HttpRequest request = context.getHttpRequest();
+        if (request.getHttpMethod() != HttpMethod.GET) {
+            if (request.getHttpMethod() != HttpMethod.HEAD && request.getHttpMethod() != HttpMethod.OPTIONS && isArm(request)) {
+                final String scope = getScope(request);
+                this.invalidate(scope);
+                return next.process().doFinally(s -> this.invalidate(scope));
+            }
+            return next.process();
+        }
+        if (!isCacheable(request)) {
+            return next.process();
+        }
+        final String key = request.getUrl() + "\n" + StringUtils.defaultString(request.getHeaders().getValue("Authorization"));
+        final Entry cached = this.responses.getIfPresent(key);
+        if (Objects.nonNull(cached) && cached.isFresh(this.ttl)) {
+            return Mono.just(cached.toResponse(request));
+        }
+        final Mono<Entry> shared = this.inflight.computeIfAbsent(key, k -> {
+            final long gen = this.generation.get();
+            final AtomicReference<Mono<Entry>> self = new AtomicReference<>();
+            self.set(this.fetch(context, next, cached)
+                .doOnNext(entry -> {
+                    if (entry.isCacheable() && this.generation.get() == gen) {
+                        this.responses.put(k, entry);
+                    }
+                })
+                // may have been invalidated and replaced by a newer one.
+                .doFinally(s -> this.inflight.remove(k, self.get()))
+                .cache());
+            return self.get();
+        });
+        return shared.map(entry -> entry.toResponse(request));
+    }
+
+    @Nonnull
+    private Mono<Entry> fetch(@Nonnull HttpPipelineCallContext context, @Nonnull HttpPipelineNextPolicy next, @Nullable Entry stale) {
+        final String etag = Objects.isNull(stale) ? null : stale.headers.getValue("ETag");
+        if (StringUtils.isNotBlank(etag)) {
+            // don't touch the request of caller, which may be retried by the pipeline.
+            context.setHttpRequest(context.getHttpRequest().copy().setHeader("If-None-Match", etag));
+        }
+        return next.process().flatMap(response -> {
+            if (response.getStatusCode() == NOT_MODIFIED && Objects.nonNull(stale)) {
+                response.close();
+                log.debug("{} is not modified.", response.getRequest().getUrl().getPath());
+                return Mono.just(stale.revalidated());
+            }
+            return response.getBodyAsByteArray().defaultIfEmpty(new byte[0])
+                .map(body -> new Entry(response.getStatusCode(), response.getHeaders(), body));
+        });
+    }
+
+    /**
+     * drops cached and in-flight responses whose url starts with {@code scope}, in any case. callers arriving later
+     * send a new request instead of joining an in-flight one, which may be sent before the write.
+     */
+    private void invalidate(@Nonnull String scope) {
+        this.generation.incrementAndGet();
+        this.responses.asMap().keySet().removeIf(key -> isInScope(key, scope));
+        this.inflight.keySet().removeIf(key -> isInScope(key, scope));
+    }
+
+    private static boolean isInScope(@Nonnull String key, @Nonnull String scope) {
+        if (!StringUtils.startsWithIgnoreCase(key, scope)) {
+            return false;
+        }
+        final char next = key.length() > scope.length() ? key.charAt(scope.length()) : '\n';
+        return scope.endsWith("/") || next == '/' || next == '?' || next == '\n';
+    }
+
+    /**
+     * @return url prefix of responses affected by the ARM write {@code request}: its subscription, or the whole ARM
+     * endpoint if it's not scoped to a subscription.
+     */
+    @Nonnull
+    private static String getScope(@Nonnull HttpRequest request) {
+        final String endpoint = request.getUrl().getProtocol() + "://" + request.getUrl().getAuthority();
+        final Matcher matcher = SUBSCRIPTION.matcher(StringUtils.defaultString(request.getUrl().getPath()));
+        return matcher.find() ? endpoint + matcher.group() : endpoint + "/";
+    }
+
+    /**
+     * only ARM reads are cached, whose responses are small json documents. status of long-running operations changes
+     * frequently and are polled on purpose.
+     */
+    private static boolean isCacheable(@Nonnull HttpRequest request) {
+        return isArm(request) && !StringUtils.containsIgnoreCase(request.getUrl().getPath(), "operation");
+    }
+
+    static boolean isArm(@Nonnull HttpRequest request) {
+        final String path = StringUtils.defaultString(request.getUrl().getPath()).toLowerCase();
+        final String query = StringUtils.defaultString(request.getUrl().getQuery());
+        return query.contains("api-version=")
+            && (path.startsWith("/subscriptions") || path.startsWith("/providers") || path.startsWith("/tenants"));
+    }
+
+    private static class Entry {
+        private final int status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final long timestamp;
+
+        Entry(int status, @Nonnull HttpHeaders headers, @Nonnull byte[] body) {
+            this.status = status;
+            this.headers = new HttpHeaders(headers);
+            this.body = body;
+            this.timestamp = System.currentTimeMillis();
+        }
+
+        boolean isFresh(long ttl) {
+            return System.currentTimeMillis() - this.timestamp < ttl;
+        }
+
+        /**
+         * successful responses and not found ones (e.g. of {@code exists()}) are cached.
+         */
+        boolean isCacheable() {
+            return this.status == 200 || this.status == 404;
+        }
+
+        @Nonnull
+        Entry revalidated() {
+            return new Entry(this.status, this.headers, this.body);
+        }
+
+        @Nonnull
+        HttpResponse toResponse(@Nonnull HttpRequest request) {
+            return new CachedResponse(request, this);
+        }
+    }
+
+    private static class CachedResponse extends HttpResponse {
+        private final Entry entry;
+        private final HttpHeaders headers;
+
+        CachedResponse(@Nonnull HttpRequest request, @Nonnull Entry entry) {
+            super(request);
+            this.entry = entry;
+            this.headers = new HttpHeaders(entry.headers);
+        }
+
+        @Override
+        public int getStatusCode() {
+            return this.entry.status;
+        }
+
+        @Override
+        @Deprecated
+        public String getHeaderValue(String name) {
+            return this.headers.getValue(name);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return this.headers;
+        }
+
+        @Override
+        public Flux<ByteBuffer> getBody() {
+            return Flux.defer(() -> Flux.just(ByteBuffer.wrap(this.entry.body).asReadOnlyBuffer()));
+        }
+
+        @Override
+        public Mono<byte[]> getBodyAsByteArray() {
+            return Mono.fromSupplier(() -> this.entry.body.clone());
+        }
+
+        @Override
+        public Mono<String> getBodyAsString() {
+            return this.getBodyAsString(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Mono<String> getBodyAsString(Charset charset) {
+            return Mono.fromSupplier(() -> new String(this.entry.body, charset));
+        }
+    }
+}
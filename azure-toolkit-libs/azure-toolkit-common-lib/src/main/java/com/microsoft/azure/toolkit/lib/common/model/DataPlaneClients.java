@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.azure.core.http.HttpClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * registry of data plane clients (e.g. storage, container registry, key vault clients), clients are cached by endpoint
+ * and credential and are all created on {@link AbstractAzServiceSubscription#getDefaultHttpClient() the shared http
+ * client}, so that they reuse pooled connections instead of building a new pipeline (and TLS handshaking) per call.
+ */
+public final class DataPlaneClients {
+    private static final Cache<Key, Object> clients = Caffeine.newBuilder()
+        .expireAfterAccess(Duration.ofMinutes(30))
+        .maximumSize(256)
+        .build();
+
+    private DataPlaneClients() {
+    }
+
+    /**
+     * @param credential credential of the client, e.g. a {@code TokenCredential} or a key, compared by {@code equals}.
+     * @param factory    creates the client on the given (shared) http client if it's not cached.
+     */
+    @Nonnull
+    public static <T> T get(@Nonnull Class<T> type, @Nonnull String endpoint, @Nonnull Object credential, @Nonnull Function<HttpClient, T> factory) {
+        final Key key = new Key(type, endpoint.toLowerCase(), credential);
+        return type.cast(clients.get(key, k -> factory.apply(AbstractAzServiceSubscription.getDefaultHttpClient())));
+    }
+
+    /**
+     * gets client created from a connection string, which contains both endpoint and credential.
+     */
+    @Nonnull
+    public static <T> T get(@Nonnull Class<T> type, @Nonnull String connectionString, @Nonnull Function<HttpClient, T> factory) {
+        return get(type, "", connectionString, factory);
+    }
+
+    /**
+     * removes cached clients of {@code endpoint}, e.g. after its keys are regenerated.
+     */
+    public static void invalidate(@Nonnull String endpoint) {
+        clients.asMap().keySet().removeIf(k -> k.endpoint.equals(endpoint.toLowerCase()));
+    }
+
+    public static void invalidateAll() {
+        clients.invalidateAll();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final Class<?> type;
+        private final String endpoint;
+        private final Object credential;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.microsoft.azure.toolkit.lib.AzureConfiguration;
+import io.netty.handler.ssl.SslHandler;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.Connection;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.annotation.Nonnull;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * the netty connection pool shared by all management and data plane clients of the toolkit, it also collects metrics
+ * of the pool, e.g. to tell whether clients are reusing connections or opening (and TLS handshaking) new ones.
+ */
+@Slf4j
+public class HttpConnectionPool implements ConnectionProvider.MeterRegistrar {
+    private static final String NAME = "azure-toolkit";
+
+    @Getter
+    @Nonnull
+    private final ConnectionProvider provider;
+    private final boolean http2Enabled;
+    /**
+     * pool id -> metrics, netty keeps a pool per remote address.
+     */
+    private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+    private final AtomicLong connections = new AtomicLong();
+    private final AtomicLong handshakes = new AtomicLong();
+
+    public HttpConnectionPool(@Nonnull AzureConfiguration config) {
+        final ConnectionProvider.Builder builder = ConnectionProvider.builder(NAME)
+            .maxConnections(Math.max(1, config.getHttpMaxConnections()))
+            .metrics(true, () -> this);
+        if (config.getHttpMaxIdleTimeInSeconds() > 0) {
+            final Duration maxIdleTime = Duration.ofSeconds(config.getHttpMaxIdleTimeInSeconds());
+            builder.maxIdleTime(maxIdleTime).evictInBackground(maxIdleTime);
+        }
+        this.provider = builder.build();
+        this.http2Enabled = config.isHttp2Enabled();
+    }
+
+    /**
+     * @return a new netty http client on this pool, HTTP/2 is negotiated (through ALPN) with hosts supporting it if enabled.
+     */
+    @Nonnull
+    public HttpClient newHttpClient() {
+        final HttpClient client = HttpClient.create(this.provider).doOnConnected(this::onConnected);
+        return this.http2Enabled ? client.protocol(HttpProtocol.H2, HttpProtocol.HTTP11) : client;
+    }
+
+    @Nonnull
+    public Metrics getMetrics() {
+        int active = 0;
+        int idle = 0;
+        int pending = 0;
+        for (final ConnectionPoolMetrics metrics : this.pools.values()) {
+            active += metrics.acquiredSize();
+            idle += metrics.idleSize();
+            pending += metrics.pendingAcquireSize();
+        }
+        return new Metrics(active, idle, pending, this.connections.get(), this.handshakes.get());
+    }
+
+    @Override
+    public void registerMetrics(@Nonnull String poolName, @Nonnull String id, @Nonnull SocketAddress remoteAddress, @Nonnull ConnectionPoolMetrics metrics) {
+        log.debug("connection pool of {} is created.", remoteAddress);
+        this.pools.put(id, metrics);
+    }
+
+    @Override
+    public void deRegisterMetrics(@Nonnull String poolName, @Nonnull String id, @Nonnull SocketAddress remoteAddress) {
+        this.pools.remove(id);
+    }
+
+    private void onConnected(@Nonnull Connection connection) {
+        // connections are "connected" only once (after TLS handshake if secured), reused ones are "acquired".
+        this.connections.incrementAndGet();
+        if (connection.channel().pipeline().get(SslHandler.class) != null) {
+            this.handshakes.incrementAndGet();
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Metrics {
+        /**
+         * connections currently acquired by requests.
+         */
+        private final int activeConnections;
+        private final int idleConnections;
+        /**
+         * requests waiting for a connection because the pool is exhausted.
+         */
+        private final int pendingAcquires;
+        /**
+         * connections opened since the pool was created.
+         */
+        private final long openedConnections;
+        /**
+         * TLS handshakes completed since the pool was created.
+         */
+        private final long tlsHandshakes;
+    }
+}
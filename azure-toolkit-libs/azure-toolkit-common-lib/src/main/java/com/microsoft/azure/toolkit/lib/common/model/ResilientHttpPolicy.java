@@ -0,0 +1,471 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.azure.core.http.HttpHeader;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipelineCallContext;
+import com.azure.core.http.HttpPipelineNextPolicy;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.policy.HttpPipelinePolicy;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * resilience of requests sent through the shared http client, it sits right above the transport (below the retry
+ * policies of pipelines, which already retry with jittered exponential backoff) and
+ * <ul>
+ *     <li>hedges ARM reads: sends a second copy of a GET/HEAD if no response is received after the p95 latency of the
+ *     host, and takes whichever responds first (the other one is closed); it fails only if both copies fail. data plane
+ *     reads (e.g. blob downloads) may be large and are never hedged.</li>
+ *     <li>paces requests of a subscription (or a host for data plane) after being throttled (429/503 with
+ *     {@code Retry-After}) or when ARM {@code x-ms-ratelimit-remaining-*} headers are running low, so that concurrent
+ *     requests don't keep hitting the throttled subscription.</li>
+ *     <li>bounds concurrent in-flight requests per subscription (or host), a request holds its permit until the body
+ *     of its response is consumed or the response is closed.</li>
+ *     <li>fails fast with a per-host circuit breaker after continuous server errors/failures.</li>
+ * </ul>
+ */
+@Slf4j
+public class ResilientHttpPolicy implements HttpPipelinePolicy {
+    private static final Pattern SUBSCRIPTION = Pattern.compile("/subscriptions/([^/?]+)", Pattern.CASE_INSENSITIVE);
+    private static final String RATELIMIT_REMAINING_PREFIX = "x-ms-ratelimit-remaining-";
+    private static final int RATELIMIT_LOW_WATERMARK = 10;
+    private static final Duration RATELIMIT_MAX_PAUSE = Duration.ofSeconds(10);
+    private static final int HEDGE_MIN_SAMPLES = 20;
+    private static final Duration HEDGE_MIN_DELAY = Duration.ofMillis(200);
+    private static final int BREAKER_FAILURE_THRESHOLD = 10;
+    private static final Duration BREAKER_OPEN_DURATION = Duration.ofSeconds(10);
+
+    private final int maxConcurrentRequests;
+    private final boolean hedgingEnabled;
+    /**
+     * subscription id (or host for requests not scoped to a subscription) -> partition
+     */
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+
+    public ResilientHttpPolicy(int maxConcurrentRequests, boolean hedgingEnabled) {
+        this.maxConcurrentRequests = Math.max(1, maxConcurrentRequests);
+        this.hedgingEnabled = hedgingEnabled;
+    }
+
+    @Override
+    public Mono<HttpResponse> process(@Nonnull HttpPipelineCallContext context, @Nonnull HttpPipelineNextPolicy next) {
+        final HttpRequest request = context.getHttpRequest();
+        final String hostName = StringUtils.lowerCase(request.getUrl().getHost());
+        final Host host = this.hosts.computeIfAbsent(hostName, Host::new);
+        if (!host.allowRequest()) {
+            final String message = String.format("Requests to '%s' are suspended for %d seconds because of continuous failures.", hostName, BREAKER_OPEN_DURATION.getSeconds());
+            return Mono.error(new AzureToolkitRuntimeException(message));
+        }
+        final Partition partition = this.partitions.computeIfAbsent(getPartitionKey(request, hostName), k -> new Partition(this.maxConcurrentRequests));
+        return partition.acquire().flatMap(p -> {
+                final Permit permit = new Permit(p);
+                return this.send(request, next, host)
+                    .map(response -> permit.holdUntilConsumed(request, response))
+                    .doFinally(s -> permit.releaseIfNotHeld());
+            })
+            .doOnNext(response -> {
+                partition.onResponse(response);
+                host.onResponse(response.getStatusCode());
+            })
+            .doOnError(host::onFailure)
+            .doOnCancel(host::onCancel);
+    }
+
+    @Nonnull
+    private Mono<HttpResponse> send(@Nonnull HttpRequest request, @Nonnull HttpPipelineNextPolicy next, @Nonnull Host host) {
+        final long start = System.nanoTime();
+        // error of the copy failed first, rather than the composite error of `firstWithValue`.
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final Mono<HttpResponse> primary = next.clone().process()
+            .doOnNext(r -> host.onLatency(r.getStatusCode(), Duration.ofNanos(System.nanoTime() - start)))
+            .doOnError(e -> error.compareAndSet(null, e));
+        final Duration delay = this.hedgingEnabled && isHedgeable(request) ? host.getHedgingDelay() : null;
+        if (Objects.isNull(delay)) {
+            return primary;
+        }
+        final Mono<HttpResponse> hedged = Mono.delay(delay)
+            .doOnNext(ignored -> log.debug("no response from {} in {}ms, hedging request {}.", host.name, delay.toMillis(), request.getUrl().getPath()))
+            .then(Mono.defer(() -> next.clone().process()))
+            .doOnError(e -> error.compareAndSet(null, e));
+        // the copy responding later (or responded to a cancelled subscriber) is closed to release its connection.
+        final AtomicBoolean taken = new AtomicBoolean();
+        final Function<HttpResponse, Mono<HttpResponse>> take = r -> {
+            if (taken.compareAndSet(false, true)) {
+                return Mono.just(r);
+            }
+            r.close();
+            return Mono.empty();
+        };
+        // a copy failing fast (e.g. connection reset) doesn't fail the request while the other one may still succeed.
+        return Mono.firstWithValue(primary.flatMap(take), hedged.flatMap(take))
+            .doOnDiscard(HttpResponse.class, HttpResponse::close)
+            .onErrorMap(e -> Optional.ofNullable(error.get()).orElse(e));
+    }
+
+    /**
+     * only idempotent ARM reads are hedged, whose responses are small json documents.
+     */
+    private static boolean isHedgeable(@Nonnull HttpRequest request) {
+        return (request.getHttpMethod() == HttpMethod.GET || request.getHttpMethod() == HttpMethod.HEAD) && ConditionalGetPolicy.isArm(request);
+    }
+
+    @Nonnull
+    private static String getPartitionKey(@Nonnull HttpRequest request, @Nonnull String host) {
+        final Matcher matcher = SUBSCRIPTION.matcher(StringUtils.defaultString(request.getUrl().getPath()));
+        return matcher.find() ? matcher.group(1).toLowerCase() : host;
+    }
+
+    /**
+     * @return how long to wait before sending requests according to {@code retry-after-ms}, {@code x-ms-retry-after-ms}
+     * or {@code Retry-After} (seconds or http date) header.
+     */
+    @Nullable
+    static Duration getRetryAfter(@Nonnull HttpHeaders headers) {
+        for (final String name : Arrays.asList("retry-after-ms", "x-ms-retry-after-ms")) {
+            final long millis = NumberUtils.toLong(headers.getValue(name), -1);
+            if (millis >= 0) {
+                return Duration.ofMillis(millis);
+            }
+        }
+        final String value = headers.getValue("Retry-After");
+        if (StringUtils.isBlank(value)) {
+            return null;
+        }
+        if (NumberUtils.isDigits(value.trim())) {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        }
+        try {
+            final Duration duration = Duration.between(OffsetDateTime.now(), OffsetDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME));
+            return duration.isNegative() ? Duration.ZERO : duration;
+        } catch (final DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the least remaining quota in ARM {@code x-ms-ratelimit-remaining-*} headers, e.g.
+     * {@code x-ms-ratelimit-remaining-subscription-reads: 11999} or
+     * {@code x-ms-ratelimit-remaining-resource: Microsoft.Compute/HighCostGet3Min;107}, -1 if there is none.
+     */
+    static int getRemainingQuota(@Nonnull HttpHeaders headers) {
+        int remaining = -1;
+        for (final HttpHeader header : headers) {
+            if (StringUtils.startsWithIgnoreCase(header.getName(), RATELIMIT_REMAINING_PREFIX)) {
+                for (final String value : header.getValues()) {
+                    final int quota = NumberUtils.toInt(StringUtils.substringAfterLast(";" + value, ";").trim(), -1);
+                    remaining = quota < 0 ? remaining : (remaining < 0 ? quota : Math.min(remaining, quota));
+                }
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * requests to a subscription (or a data plane host): limits concurrent requests and pauses requests when throttled.
+     */
+    private static class Partition {
+        private final int maxConcurrentRequests;
+        private final Queue<Waiter> waiters = new ArrayDeque<>();
+        private int active;
+        private volatile long pausedUntil;
+
+        Partition(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+        }
+
+        /**
+         * the permit is released by {@link #releasePermit()} once acquired, it's given back right away instead if the
+         * acquisition is cancelled before or while the permit is handed over.
+         */
+        @Nonnull
+        Mono<Partition> acquire() {
+            final Mono<Partition> acquire = Mono.<Partition>create(sink -> {
+                final Waiter waiter = new Waiter(sink);
+                sink.onCancel(() -> {
+                    if (waiter.done.compareAndSet(false, true)) {
+                        synchronized (this) {
+                            this.waiters.remove(waiter);
+                        }
+                    }
+                });
+                final boolean acquired;
+                synchronized (this) {
+                    acquired = this.active < this.maxConcurrentRequests;
+                    if (acquired) {
+                        this.active++;
+                    } else {
+                        this.waiters.add(waiter);
+                    }
+                }
+                if (acquired) {
+                    this.grant(waiter);
+                }
+            }).doOnDiscard(Partition.class, Partition::releasePermit); // emitted to a cancelled subscriber.
+            final long pause = this.pausedUntil - System.currentTimeMillis();
+            return pause > 0 ? Mono.delay(Duration.ofMillis(pause)).then(acquire) : acquire;
+        }
+
+        void releasePermit() {
+            while (true) {
+                final Waiter next;
+                synchronized (this) {
+                    next = this.waiters.poll();
+                    if (Objects.isNull(next)) {
+                        this.active--;
+                        return;
+                    }
+                }
+                // hand over the permit to the next waiter unless it's cancelled.
+                if (next.done.compareAndSet(false, true)) {
+                    next.sink.success(this);
+                    return;
+                }
+            }
+        }
+
+        private void grant(@Nonnull Waiter waiter) {
+            if (waiter.done.compareAndSet(false, true)) {
+                waiter.sink.success(this);
+            } else { // cancelled between the permit is taken and handed over.
+                this.releasePermit();
+            }
+        }
+
+        void onResponse(@Nonnull HttpResponse response) {
+            Duration pause = null;
+            final int status = response.getStatusCode();
+            if (status == 429 || status == 503) {
+                pause = getRetryAfter(response.getHeaders());
+            } else {
+                final int remaining = getRemainingQuota(response.getHeaders());
+                if (remaining >= 0 && remaining < RATELIMIT_LOW_WATERMARK) {
+                    // slow down gradually as the quota runs out, the quota of ARM is refilled continuously.
+                    pause = RATELIMIT_MAX_PAUSE.dividedBy(remaining + 1);
+                }
+            }
+            if (Objects.nonNull(pause) && !pause.isZero()) {
+                final long until = System.currentTimeMillis() + Math.min(pause.toMillis(), RATELIMIT_MAX_PAUSE.toMillis());
+                this.pausedUntil = Math.max(this.pausedUntil, until);
+            }
+        }
+    }
+
+    /**
+     * permit of a request, released once: when the body of its response is consumed or the response is closed, or
+     * right away if there is no response or the response has no body.
+     */
+    private static class Permit {
+        private final Partition partition;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean held;
+
+        Permit(@Nonnull Partition partition) {
+            this.partition = partition;
+        }
+
+        @Nonnull
+        HttpResponse holdUntilConsumed(@Nonnull HttpRequest request, @Nonnull HttpResponse response) {
+            if (!hasBody(request, response)) {
+                return response;
+            }
+            this.held = true;
+            return new PermitHoldingResponse(response, this::release);
+        }
+
+        void releaseIfNotHeld() {
+            if (!this.held) {
+                this.release();
+            }
+        }
+
+        void release() {
+            if (this.released.compareAndSet(false, true)) {
+                this.partition.releasePermit();
+            }
+        }
+
+        private static boolean hasBody(@Nonnull HttpRequest request, @Nonnull HttpResponse response) {
+            final HttpHeaders headers = response.getHeaders();
+            return request.getHttpMethod() != HttpMethod.HEAD && response.getStatusCode() != 204 && response.getStatusCode() != 304
+                && (NumberUtils.toLong(headers.getValue("Content-Length"), 0) > 0 || StringUtils.isNotBlank(headers.getValue("Transfer-Encoding")));
+        }
+    }
+
+    /**
+     * response whose body is streamed under the permit of its request, e.g. large downloads.
+     */
+    private static class PermitHoldingResponse extends HttpResponse {
+        private final HttpResponse response;
+        private final Runnable release;
+
+        PermitHoldingResponse(@Nonnull HttpResponse response, @Nonnull Runnable release) {
+            super(response.getRequest());
+            this.response = response;
+            this.release = release;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return this.response.getStatusCode();
+        }
+
+        @Override
+        @Deprecated
+        public String getHeaderValue(String name) {
+            return this.response.getHeaderValue(name);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return this.response.getHeaders();
+        }
+
+        @Override
+        public Flux<ByteBuffer> getBody() {
+            return this.response.getBody().doFinally(s -> this.release.run());
+        }
+
+        @Override
+        public Mono<byte[]> getBodyAsByteArray() {
+            return this.response.getBodyAsByteArray().doFinally(s -> this.release.run());
+        }
+
+        @Override
+        public Mono<String> getBodyAsString() {
+            return this.response.getBodyAsString().doFinally(s -> this.release.run());
+        }
+
+        @Override
+        public Mono<String> getBodyAsString(Charset charset) {
+            return this.response.getBodyAsString(charset).doFinally(s -> this.release.run());
+        }
+
+        @Override
+        public void close() {
+            try {
+                this.response.close();
+            } finally {
+                this.release.run();
+            }
+        }
+    }
+
+    private static class Waiter {
+        private final MonoSink<Partition> sink;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        Waiter(@Nonnull MonoSink<Partition> sink) {
+            this.sink = sink;
+        }
+    }
+
+    /**
+     * latency statistics and circuit breaker of a host.
+     */
+    private static class Host {
+        private static final int WINDOW = 128;
+        private final String name;
+        private final long[] latencies = new long[WINDOW];
+        private int samples;
+        private int failures;
+        private long openedAt = -1;
+        private boolean probing;
+
+        Host(@Nonnull String name) {
+            this.name = name;
+        }
+
+        synchronized void onLatency(int status, @Nonnull Duration latency) {
+            if (status < 500) {
+                this.latencies[this.samples++ % WINDOW] = latency.toMillis();
+            }
+        }
+
+        /**
+         * @return p95 latency of recent requests, null if there are not enough samples.
+         */
+        @Nullable
+        synchronized Duration getHedgingDelay() {
+            final int count = Math.min(this.samples, WINDOW);
+            if (count < HEDGE_MIN_SAMPLES) {
+                return null;
+            }
+            final long[] sorted = Arrays.copyOf(this.latencies, count);
+            Arrays.sort(sorted);
+            final Duration p95 = Duration.ofMillis(sorted[(int) Math.ceil(count * 0.95) - 1]);
+            return p95.compareTo(HEDGE_MIN_DELAY) > 0 ? p95 : HEDGE_MIN_DELAY;
+        }
+
+        /**
+         * closed: all requests are allowed; open: no requests are allowed for {@link #BREAKER_OPEN_DURATION}; then
+         * half-open: a single probing request is allowed, which closes the breaker if succeeded or opens it again.
+         */
+        synchronized boolean allowRequest() {
+            if (this.openedAt < 0) {
+                return true;
+            }
+            if (System.currentTimeMillis() - this.openedAt < BREAKER_OPEN_DURATION.toMillis() || this.probing) {
+                return false;
+            }
+            this.probing = true;
+            return true;
+        }
+
+        synchronized void onResponse(int status) {
+            if (status == 500 || status == 502 || status == 503 || status == 504) {
+                this.onFailure(null);
+            } else {
+                this.failures = 0;
+                this.openedAt = -1;
+                this.probing = false;
+            }
+        }
+
+        synchronized void onFailure(@Nullable Throwable error) {
+            this.failures++;
+            if (this.probing || (this.openedAt < 0 && this.failures >= BREAKER_FAILURE_THRESHOLD)) {
+                log.warn("suspend requests to {} for {}s after {} continuous failures.", this.name, BREAKER_OPEN_DURATION.getSeconds(), this.failures);
+                this.openedAt = System.currentTimeMillis();
+                this.probing = false;
+            }
+        }
+
+        synchronized void onCancel() {
+            this.probing = false;
+        }
+    }
+}
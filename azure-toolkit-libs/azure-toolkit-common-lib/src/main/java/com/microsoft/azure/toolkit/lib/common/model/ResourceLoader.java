@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * loads resources individually (by id) for {@link AbstractAzResourceModule}:
+ * <ul>
+ *     <li>concurrent loads of the same id are coalesced, only the first caller loads, the others wait for and share
+ *     its result (or failure).</li>
+ *     <li>records when a result was loaded, so that a not-found result expires after {@code negativeTtl} and a found
+ *     one after {@code positiveTtl} (milliseconds, non-positive means never expire).</li>
+ * </ul>
+ * results loaded otherwise (e.g. by listing) are not tracked and never expire here.
+ */
+@Slf4j
+public class ResourceLoader {
+    private final Map<String, CompletableFuture<Void>> loading = new ConcurrentHashMap<>();
+    private final Map<String, Long> loadedTimes = new ConcurrentHashMap<>();
+    @Nonnull
+    private final LongSupplier negativeTtl;
+    @Nonnull
+    private final LongSupplier positiveTtl;
+
+    public ResourceLoader(@Nonnull LongSupplier negativeTtl, @Nonnull LongSupplier positiveTtl) {
+        this.negativeTtl = negativeTtl;
+        this.positiveTtl = positiveTtl;
+    }
+
+    /**
+     * runs {@code load} for {@code id} unless it's being run by another thread, in which case waits for that run to
+     * complete and rethrows its failure if any.
+     */
+    public void load(@Nonnull String id, @Nonnull Runnable load) {
+        final CompletableFuture<Void> created = new CompletableFuture<>();
+        final CompletableFuture<Void> existing = this.loading.putIfAbsent(id, created);
+        if (Objects.nonNull(existing)) {
+            log.debug("load({})->waiting for in-flight loading", id);
+            join(existing);
+            return;
+        }
+        try {
+            load.run();
+            created.complete(null);
+        } catch (final RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.loading.remove(id, created);
+        }
+    }
+
+    /**
+     * marks {@code id} as loaded individually just now.
+     */
+    public void loaded(@Nonnull String id) {
+        this.loadedTimes.put(id, System.currentTimeMillis());
+    }
+
+    /**
+     * stops tracking {@code id}, e.g. it's (re)loaded by listing or added/removed locally.
+     */
+    public void forget(@Nonnull String id) {
+        this.loadedTimes.remove(id);
+    }
+
+    public void forgetAll() {
+        this.loadedTimes.clear();
+    }
+
+    /**
+     * @param found if the cached result of {@code id} is a found resource.
+     * @return true if the cached result was loaded individually and has expired.
+     */
+    public boolean isExpired(@Nonnull String id, boolean found) {
+        final Long loadedTime = this.loadedTimes.get(id);
+        final long ttl = found ? this.positiveTtl.getAsLong() : this.negativeTtl.getAsLong();
+        return Objects.nonNull(loadedTime) && ttl > 0 && System.currentTimeMillis() - loadedTime > ttl;
+    }
+
+    private static void join(@Nonnull CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (final CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
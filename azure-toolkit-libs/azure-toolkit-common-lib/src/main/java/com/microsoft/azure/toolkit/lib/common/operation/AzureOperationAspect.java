@@ -8,6 +8,7 @@ package com.microsoft.azure.toolkit.lib.common.operation;
 import com.microsoft.azure.toolkit.lib.common.model.AzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter;
+import com.microsoft.azure.toolkit.lib.common.tracing.AzureTracer;
 import com.microsoft.azure.toolkit.lib.common.utils.aspect.MethodInvocation;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
@@ -60,6 +61,7 @@ public final class AzureOperationAspect {
         AzureTelemeter.beforeEnter(operation);
         OperationManager.getInstance().fireBeforeEnter(operation);
         OperationThreadContext.current().pushOperation(operation);
+        AzureTracer.beforeEnter(operation); // after pushed, so that parent is set.
     }
 
     public static void afterReturning(Operation current) {
@@ -72,6 +74,7 @@ public final class AzureOperationAspect {
             String.format("popped operation[%s] is not the exiting operation[%s]", current, operation);
         OperationManager.getInstance().fireAfterReturning(operation);
         AzureTelemeter.afterExit(operation);
+        AzureTracer.afterReturning(operation);
     }
 
     public static void afterThrowing(Throwable e, Operation current) throws Throwable {
@@ -82,6 +85,7 @@ public final class AzureOperationAspect {
         // TODO: this cannot ensure same operation actually, considering recursive call
         assert Objects.equals(current, operation) :
             String.format("popped operation[%s] is not the operation[%s] throwing exception", current, operation);
+        AzureTracer.afterThrowing(e, operation);
         if (e instanceof OperationException || e.getClass().getName().contains("com.intellij.openapi.progress.ProcessCanceledException")) {
             throw e;
         } else {
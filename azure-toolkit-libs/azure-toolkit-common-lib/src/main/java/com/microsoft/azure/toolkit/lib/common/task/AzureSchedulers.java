@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.task;
+
+import com.microsoft.azure.toolkit.lib.Azure;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * registry of named schedulers, which isolates unrelated workloads from each other, e.g. a burst of log streaming
+ * doesn't starve status loading or deployment. caps (max threads) can be overridden by
+ * {@link com.microsoft.azure.toolkit.lib.AzureConfiguration#getSchedulerMaxThreads()}.
+ */
+@Slf4j
+public final class AzureSchedulers {
+    /**
+     * dispatching events and firing debounced callbacks. listeners (e.g. of IDE) may block, so it keeps the cap of
+     * {@code boundedElastic} (10x cores) it was dispatched on before.
+     */
+    public static final String EVENTS = "events";
+    /**
+     * pooled tasks of the resource model, e.g. loading status and refreshing resources, which block on ARM calls.
+     * it keeps the cap of {@code boundedElastic} (10x cores), a smaller pool makes refreshing large trees slower.
+     */
+    public static final String REFRESH = "refresh";
+    /**
+     * blocking data plane calls, e.g. uploading/deleting blobs and querying logs.
+     */
+    public static final String IO = "io";
+    /**
+     * polling loops, e.g. status of deployment.
+     */
+    public static final String POLLING = "polling";
+    /**
+     * long-running subscriptions, e.g. streaming logs and receiving messages.
+     */
+    public static final String STREAMING = "streaming";
+
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+    private static final Map<String, Integer> DEFAULT_MAX_THREADS = new HashMap<>();
+    /**
+     * a diagnostic dump is logged if a task waits longer than this for a thread, at most once per interval.
+     */
+    private static final Duration DUMP_WAIT_THRESHOLD = Duration.ofSeconds(10);
+    private static final long DUMP_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    static {
+        DEFAULT_MAX_THREADS.put(EVENTS, 10 * CORES);
+        DEFAULT_MAX_THREADS.put(REFRESH, 10 * CORES);
+        DEFAULT_MAX_THREADS.put(IO, 8 * CORES);
+        DEFAULT_MAX_THREADS.put(POLLING, 2 * CORES);
+        DEFAULT_MAX_THREADS.put(STREAMING, 4 * CORES);
+    }
+
+    private static final Map<String, BoundedScheduler> schedulers = new ConcurrentHashMap<>();
+    private static final AtomicLong lastDump = new AtomicLong(System.nanoTime() - DUMP_INTERVAL);
+
+    private AzureSchedulers() {
+    }
+
+    @Nonnull
+    public static BoundedScheduler events() {
+        return get(EVENTS);
+    }
+
+    @Nonnull
+    public static BoundedScheduler refresh() {
+        return get(REFRESH);
+    }
+
+    @Nonnull
+    public static BoundedScheduler io() {
+        return get(IO);
+    }
+
+    @Nonnull
+    public static BoundedScheduler polling() {
+        return get(POLLING);
+    }
+
+    @Nonnull
+    public static BoundedScheduler streaming() {
+        return get(STREAMING);
+    }
+
+    /**
+     * @return the scheduler of the given subsystem, created at first use.
+     */
+    @Nonnull
+    public static BoundedScheduler get(@Nonnull String name) {
+        return schedulers.computeIfAbsent(name, n -> new BoundedScheduler(n, getMaxThreads(n), DUMP_WAIT_THRESHOLD, AzureSchedulers::onSlowTask));
+    }
+
+    @Nonnull
+    public static Map<String, BoundedScheduler.Metrics> getMetrics() {
+        final Map<String, BoundedScheduler.Metrics> result = new LinkedHashMap<>();
+        schedulers.forEach((name, scheduler) -> result.put(name, scheduler.getMetrics()));
+        return result;
+    }
+
+    /**
+     * @return metrics of all schedulers and stack traces of threads of saturated ones.
+     */
+    @Nonnull
+    public static String dump() {
+        final StringBuilder dump = new StringBuilder();
+        schedulers.values().forEach(s -> dump.append(s.getMetrics()).append('\n'));
+        schedulers.values().stream().filter(BoundedScheduler::isSaturated).forEach(s -> dump.append(s.dumpThreads()));
+        return dump.toString();
+    }
+
+    private static int getMaxThreads(@Nonnull String name) {
+        final Integer configured = Optional.ofNullable(Azure.az().config().getSchedulerMaxThreads()).map(m -> m.get(name)).orElse(null);
+        if (configured != null && configured > 0) {
+            return configured;
+        }
+        return DEFAULT_MAX_THREADS.getOrDefault(name, 2 * CORES);
+    }
+
+    private static void onSlowTask(@Nonnull BoundedScheduler scheduler, @Nonnull Duration waited) {
+        final long now = System.nanoTime();
+        final long last = lastDump.get();
+        if (now - last >= DUMP_INTERVAL && lastDump.compareAndSet(last, now)) {
+            log.warn("task waited {}ms for a thread of scheduler '{}', schedulers:\n{}", waited.toMillis(), scheduler.getName(), dump());
+        }
+    }
+}
@@ -11,10 +11,10 @@ import com.microsoft.azure.toolkit.lib.common.operation.OperationThreadContext;
 import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemeter;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import javax.annotation.Nonnull;
 import java.util.Iterator;
+import java.util.Objects;
 import java.util.ServiceLoader;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
@@ -265,6 +265,10 @@ public abstract class AzureTaskManager {
         final OperationThreadContext context = OperationThreadContext.current().derive();
         final CompletableFuture<T> future = new CompletableFuture<>();
         final Runnable t = () -> context.run(() -> {
+            if (Objects.nonNull(task.getMonitor()) && task.getMonitor().isCancelled()) {
+                future.cancel(false); // cancelled before started.
+                return;
+            }
             try {
                 if (task.getId().equalsIgnoreCase(UNKNOWN_NAME)) {
                     final T result = task.getBody().call();
@@ -327,7 +331,7 @@ public abstract class AzureTaskManager {
 
         @Override
         protected void doRunOnPooledThread(Runnable runnable, AzureTask<?> task) {
-            Mono.fromRunnable(runnable).subscribeOn(Schedulers.boundedElastic()).subscribe();
+            Mono.fromRunnable(runnable).subscribeOn(AzureSchedulers.refresh()).subscribe();
         }
 
         @Override
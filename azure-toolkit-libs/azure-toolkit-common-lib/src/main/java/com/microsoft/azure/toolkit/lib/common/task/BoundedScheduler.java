@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.task;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * a named scheduler backed by at most {@code maxThreads} daemon threads (released after idle for a minute), with
+ * metrics of saturation: busy threads, tasks waiting for a thread and how long they waited.
+ */
+@Slf4j
+public class BoundedScheduler implements Scheduler, Executor {
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    @Getter
+    private final String name;
+    private final Pool executor;
+    private final Scheduler scheduler;
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong waited = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private final long slowWaitNanos;
+    @Nullable
+    private final BiConsumer<BoundedScheduler, Duration> onSlowTask;
+
+    public BoundedScheduler(@Nonnull String name, int maxThreads) {
+        this(name, maxThreads, Duration.ZERO, null);
+    }
+
+    /**
+     * @param onSlowTask called (on the thread about to run the task) if a task waited longer than {@code slowWait}.
+     */
+    public BoundedScheduler(@Nonnull String name, int maxThreads, @Nonnull Duration slowWait, @Nullable BiConsumer<BoundedScheduler, Duration> onSlowTask) {
+        this.name = name;
+        this.slowWaitNanos = slowWait.toNanos();
+        this.onSlowTask = onSlowTask;
+        this.executor = new Pool(name, Math.max(1, maxThreads));
+        this.scheduler = Schedulers.fromExecutorService(this.executor, name);
+    }
+
+    @Nonnull
+    @Override
+    public Disposable schedule(@Nonnull Runnable task) {
+        return this.scheduler.schedule(task);
+    }
+
+    @Nonnull
+    @Override
+    public Disposable schedule(@Nonnull Runnable task, long delay, @Nonnull TimeUnit unit) {
+        return this.scheduler.schedule(task, delay, unit);
+    }
+
+    @Nonnull
+    @Override
+    public Disposable schedulePeriodically(@Nonnull Runnable task, long initialDelay, long period, @Nonnull TimeUnit unit) {
+        return this.scheduler.schedulePeriodically(task, initialDelay, period, unit);
+    }
+
+    @Nonnull
+    @Override
+    public Worker createWorker() {
+        return this.scheduler.createWorker();
+    }
+
+    @Override
+    public void execute(@Nonnull Runnable command) {
+        this.schedule(command);
+    }
+
+    @Override
+    public void dispose() {
+        this.scheduler.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return this.scheduler.isDisposed();
+    }
+
+    @Nonnull
+    public Metrics getMetrics() {
+        final long waited = this.waited.get();
+        final long queued = this.executor.getQueue().stream().filter(t -> ((Delayed) t).getDelay(TimeUnit.NANOSECONDS) <= 0).count();
+        return new Metrics(this.name, this.executor.getCorePoolSize(), this.executor.getActiveCount(), this.executor.getPoolSize(),
+            (int) queued, this.executor.getQueue().size() - (int) queued, this.completed.get(),
+            Duration.ofNanos(waited == 0 ? 0 : this.waitNanos.get() / waited), Duration.ofNanos(this.maxWaitNanos.get()));
+    }
+
+    /**
+     * @return true if all threads are busy and there are tasks waiting for a thread.
+     */
+    public boolean isSaturated() {
+        final Metrics metrics = this.getMetrics();
+        return metrics.activeThreads >= metrics.maxThreads && metrics.queueDepth > 0;
+    }
+
+    /**
+     * @return stack traces of threads of this scheduler.
+     */
+    @Nonnull
+    public String dumpThreads() {
+        final StringBuilder dump = new StringBuilder();
+        for (final Map.Entry<Thread, StackTraceElement[]> e : Thread.getAllStackTraces().entrySet()) {
+            if (e.getKey().getName().startsWith(this.executor.prefix)) {
+                dump.append('"').append(e.getKey().getName()).append("\" ").append(e.getKey().getState()).append('\n');
+                for (final StackTraceElement element : e.getValue()) {
+                    dump.append("\tat ").append(element).append('\n');
+                }
+            }
+        }
+        return dump.toString();
+    }
+
+    private class Pool extends ScheduledThreadPoolExecutor {
+        private final String prefix;
+
+        Pool(@Nonnull String name, int maxThreads) {
+            super(maxThreads, new NamedThreadFactory("azure-" + name + "-"));
+            this.prefix = "azure-" + name + "-";
+            this.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+            this.allowCoreThreadTimeOut(true);
+        }
+
+        @Override
+        protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable, RunnableScheduledFuture<V> task) {
+            return new TimedTask<>(this, task);
+        }
+
+        @Override
+        protected <V> RunnableScheduledFuture<V> decorateTask(Callable<V> callable, RunnableScheduledFuture<V> task) {
+            return new TimedTask<>(this, task);
+        }
+
+        @Override
+        protected void beforeExecute(Thread thread, Runnable task) {
+            super.beforeExecute(thread, task);
+            if (task instanceof TimedTask && !((TimedTask<?>) task).isPeriodic()) {
+                final long wait = Math.max(0, System.nanoTime() - ((TimedTask<?>) task).dueAt);
+                BoundedScheduler.this.waited.incrementAndGet();
+                BoundedScheduler.this.waitNanos.addAndGet(wait);
+                BoundedScheduler.this.maxWaitNanos.accumulateAndGet(wait, Math::max);
+                if (Objects.nonNull(BoundedScheduler.this.onSlowTask) && wait > BoundedScheduler.this.slowWaitNanos) {
+                    BoundedScheduler.this.onSlowTask.accept(BoundedScheduler.this, Duration.ofNanos(wait));
+                }
+            }
+        }
+
+        @Override
+        protected void afterExecute(Runnable task, Throwable error) {
+            super.afterExecute(task, error);
+            BoundedScheduler.this.completed.incrementAndGet();
+        }
+    }
+
+    /**
+     * remembers when the task is due, to measure how long it waits for a thread.
+     */
+    private static class TimedTask<V> implements RunnableScheduledFuture<V> {
+        private final ScheduledThreadPoolExecutor executor;
+        private final RunnableScheduledFuture<V> task;
+        private final long dueAt;
+
+        TimedTask(@Nonnull ScheduledThreadPoolExecutor executor, @Nonnull RunnableScheduledFuture<V> task) {
+            this.executor = executor;
+            this.task = task;
+            this.dueAt = System.nanoTime() + task.getDelay(TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return this.task.isPeriodic();
+        }
+
+        @Override
+        public void run() {
+            this.task.run();
+        }
+
+        @Override
+        public long getDelay(@Nonnull TimeUnit unit) {
+            return this.task.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(@Nonnull Delayed o) {
+            return this.task.compareTo(o instanceof TimedTask ? ((TimedTask<?>) o).task : o);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            final boolean cancelled = this.task.cancel(mayInterruptIfRunning);
+            if (cancelled) { // the queue holds this wrapper instead of the task.
+                this.executor.remove(this);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.task.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return this.task.isDone();
+        }
+
+        @Override
+        public V get() throws InterruptedException, ExecutionException {
+            return this.task.get();
+        }
+
+        @Override
+        public V get(long timeout, @Nonnull TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return this.task.get(timeout, unit);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@Nonnull Runnable r) {
+            final Thread thread = new Thread(r, this.prefix + this.count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Metrics {
+        private final String name;
+        private final int maxThreads;
+        /**
+         * threads running tasks.
+         */
+        private final int activeThreads;
+        /**
+         * threads alive, including idle ones.
+         */
+        private final int poolSize;
+        /**
+         * tasks due but waiting for a thread.
+         */
+        private final int queueDepth;
+        /**
+         * delayed or periodic tasks not due yet.
+         */
+        private final int scheduled;
+        private final long completed;
+        private final Duration averageWait;
+        private final Duration maxWait;
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d/%d threads busy (%d alive), %d queued, %d scheduled, %d completed, wait avg %dms max %dms",
+                this.name, this.activeThreads, this.maxThreads, this.poolSize, this.queueDepth, this.scheduled, this.completed,
+                this.averageWait.toMillis(), this.maxWait.toMillis());
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.task;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * task manager for headless environments (e.g. maven plugins), which runs every pooled task in its own virtual thread
+ * (Java 21+), so that blocking ARM calls are not limited by the cap of {@link AzureSchedulers#refresh()}. read/write
+ * tasks are run immediately since there is no UI thread. tasks are structured: cancelling a task (by its
+ * {@link AzureTask.Monitor}) interrupts it and cancels all tasks started from it.
+ */
+@Slf4j
+public class VirtualThreadTaskManager extends AzureTaskManager {
+    private static final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+    @Nullable
+    private static final ThreadFactory virtualThreadFactory = newVirtualThreadFactory();
+
+    private final ThreadFactory factory;
+    private final Scope root = new Scope(null, new AzureTask.DefaultMonitor());
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+
+    public VirtualThreadTaskManager() {
+        this(Objects.requireNonNull(virtualThreadFactory, "virtual threads are not supported by current JVM."));
+    }
+
+    VirtualThreadTaskManager(@Nonnull ThreadFactory factory) {
+        this.factory = factory;
+    }
+
+    public static boolean isSupported() {
+        return Objects.nonNull(virtualThreadFactory);
+    }
+
+    @Override
+    protected void doRead(Runnable runnable, AzureTask<?> task) {
+        runnable.run();
+    }
+
+    @Override
+    protected void doWrite(Runnable runnable, AzureTask<?> task) {
+        runnable.run();
+    }
+
+    @Override
+    protected void doRunLater(Runnable runnable, AzureTask<?> task) {
+        this.doRunOnPooledThread(runnable, task);
+    }
+
+    @Override
+    protected void doRunOnPooledThread(Runnable runnable, AzureTask<?> task) {
+        final Scope parent = Optional.ofNullable(currentScope.get()).orElse(this.root);
+        final Scope scope = new Scope(parent, task.getMonitor());
+        task.setMonitor(scope);
+        parent.children.add(scope);
+        this.submitted.incrementAndGet();
+        if (parent.isCancelled()) { // started from a cancelled task.
+            scope.cancel();
+        }
+        this.factory.newThread(() -> {
+            scope.thread = Thread.currentThread();
+            currentScope.set(scope);
+            this.peakActive.accumulateAndGet(this.active.incrementAndGet(), Math::max);
+            try {
+                runnable.run();
+            } finally {
+                this.active.decrementAndGet();
+                (scope.isCancelled() ? this.cancelled : this.completed).incrementAndGet();
+                currentScope.remove();
+                scope.thread = null;
+                parent.children.remove(scope);
+            }
+        }).start();
+    }
+
+    @Override
+    protected void doRunAndWait(Runnable runnable, AzureTask<?> task) {
+        runnable.run();
+    }
+
+    @Override
+    protected void doRunInBackground(Runnable runnable, AzureTask<?> task) {
+        this.doRunOnPooledThread(runnable, task);
+    }
+
+    @Override
+    protected void doRunInModal(Runnable runnable, AzureTask<?> task) {
+        runnable.run();
+    }
+
+    /**
+     * cancels all running and pending tasks.
+     */
+    public void cancelAll() {
+        this.root.children.forEach(Scope::cancel);
+    }
+
+    @Nonnull
+    public Metrics getMetrics() {
+        return new Metrics(this.submitted.get(), this.completed.get(), this.cancelled.get(), this.active.get(), this.peakActive.get());
+    }
+
+    @Nullable
+    private static ThreadFactory newVirtualThreadFactory() {
+        try {
+            // Thread.ofVirtual().name("azure-task-", 0).factory(), by reflection since the target is Java 8.
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builderClass.getMethod("name", String.class, long.class).invoke(builder, "azure-task-", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * a task and tasks started from it.
+     */
+    private static class Scope implements AzureTask.Monitor {
+        @Nullable
+        private final Scope parent;
+        @Nullable
+        private final AzureTask.Monitor origin;
+        private final Set<Scope> children = ConcurrentHashMap.newKeySet();
+        private volatile boolean cancelled;
+        @Nullable
+        private volatile Thread thread;
+
+        Scope(@Nullable Scope parent, @Nullable AzureTask.Monitor origin) {
+            this.parent = parent;
+            this.origin = origin;
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            Optional.ofNullable(this.origin).ifPresent(AzureTask.Monitor::cancel);
+            Optional.ofNullable(this.thread).ifPresent(Thread::interrupt);
+            this.children.forEach(Scope::cancel);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled || (Objects.nonNull(this.origin) && this.origin.isCancelled()) ||
+                (Objects.nonNull(this.parent) && this.parent.isCancelled());
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Metrics {
+        private final long submitted;
+        private final long completed;
+        private final long cancelled;
+        /**
+         * tasks running now, each occupies a (virtual) thread.
+         */
+        private final int active;
+        private final int peakActive;
+    }
+
+    public static class Provider implements AzureTaskManagerProvider {
+        @Nonnull
+        @Override
+        public AzureTaskManager getTaskManager() {
+            if (VirtualThreadTaskManager.isSupported()) {
+                return new VirtualThreadTaskManager();
+            }
+            log.debug("virtual threads are not supported, falling back to default task manager.");
+            return new DummyTaskManager();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.tracing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.microsoft.azure.toolkit.lib.Azure;
+import com.microsoft.azure.toolkit.lib.AzureConfiguration;
+import com.microsoft.azure.toolkit.lib.common.model.AzResource;
+import com.microsoft.azure.toolkit.lib.common.model.AzResourceModule;
+import com.microsoft.azure.toolkit.lib.common.operation.Operation;
+import com.microsoft.azure.toolkit.lib.common.task.AzureSchedulers;
+import com.microsoft.azure.toolkit.lib.common.telemetry.AzureTelemetry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import reactor.core.Disposable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * traces operations (the tree of {@link com.microsoft.azure.toolkit.lib.common.operation.AzureOperation} invocations)
+ * as spans, so that e.g. a slow deployment can be broken down into the ARM calls, uploads and polling it consists of.
+ * a span is started/ended by {@link com.microsoft.azure.toolkit.lib.common.operation.AzureOperationAspect} with its
+ * operation, the parent span is the span of the nearest traced ancestor operation, which may have run in another thread
+ * (e.g. before a hop by {@link com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager}). ended spans are exported
+ * in batches by the exporters configured with {@link AzureConfiguration#getTracingExporter()} or added by
+ * {@link #addExporter(SpanExporter)}, tracing costs nothing if there is no exporter.
+ */
+@Slf4j
+public final class AzureTracer {
+    public static final String OPERATION_ID = "operation.id";
+    public static final String OPERATION_TYPE = "operation.type";
+    public static final String OPERATION_SERVICE = "operation.service";
+    public static final String RESOURCE_ID = "resource.id";
+    public static final String SUBSCRIPTION_ID = "subscription.id";
+    public static final String THREAD_HOP = "thread.hop";
+    /**
+     * how long the task waited (from created to started) before hopping into current thread.
+     */
+    public static final String TASK_QUEUED_MS = "task.queued_ms";
+
+    public static final String EXPORTER_OTLP = "otlp";
+    public static final String EXPORTER_JSON = "json";
+    public static final String EXPORTER_CHROME = "chrome";
+
+    private static final Duration FLUSH_INTERVAL = Duration.ofSeconds(1);
+    private static final int FLUSH_BATCH_SIZE = 512;
+
+    private static final List<SpanExporter> exporters = new CopyOnWriteArrayList<>();
+    /**
+     * spans of running operations, operations are weakly referenced in case any of them is never ended.
+     */
+    private static final Cache<Operation, Span> spans = Caffeine.newBuilder().weakKeys().build();
+    private static final Queue<Span> ended = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger endedCount = new AtomicInteger();
+    private static final AtomicBoolean configured = new AtomicBoolean();
+    private static final AtomicBoolean started = new AtomicBoolean();
+    @Nullable
+    private static volatile Disposable flusher;
+
+    private AzureTracer() {
+    }
+
+    public static boolean isEnabled() {
+        configure();
+        return !exporters.isEmpty();
+    }
+
+    public static void addExporter(@Nonnull SpanExporter exporter) {
+        exporters.add(exporter);
+        start();
+    }
+
+    public static void removeExporter(@Nonnull SpanExporter exporter) {
+        flush();
+        exporters.remove(exporter);
+    }
+
+    /**
+     * @return span of the current operation (or its nearest traced ancestor), null if not traced.
+     */
+    @Nullable
+    public static Span current() {
+        if (exporters.isEmpty()) {
+            return null;
+        }
+        return findSpan(Operation.current());
+    }
+
+    public static void beforeEnter(@Nonnull Operation operation) {
+        if (!isEnabled()) {
+            return;
+        }
+        final Span parent = findSpan(operation.getParent());
+        final Span span = new Span(operation.getId(), parent);
+        span.setAttribute(OPERATION_ID, operation.getExecutionId());
+        span.setAttribute(OPERATION_TYPE, operation.getType());
+        span.setAttribute(OPERATION_SERVICE, operation.getServiceName());
+        final Object source = operation.getSource();
+        if (source instanceof AzResource) {
+            span.setAttribute(RESOURCE_ID, ((AzResource) source).getId());
+            span.setAttribute(SUBSCRIPTION_ID, ((AzResource) source).getSubscriptionId());
+        } else if (source instanceof AzResourceModule) {
+            span.setAttribute(SUBSCRIPTION_ID, ((AzResourceModule<?>) source).getSubscriptionId());
+        }
+        if (span.isThreadHop()) {
+            span.setAttribute(THREAD_HOP, true);
+            final String createdAt = operation.getContext().getProperty(AzureTelemetry.OP_CREATE_AT);
+            if (StringUtils.isNotBlank(createdAt)) {
+                try {
+                    final long queued = TimeUnit.NANOSECONDS.toMillis(span.getStartEpochNanos()) - Instant.parse(createdAt).toEpochMilli();
+                    span.setAttribute(TASK_QUEUED_MS, Math.max(0, queued));
+                } catch (final DateTimeParseException ignored) {
+                }
+            }
+        }
+        spans.put(operation, span);
+    }
+
+    public static void afterReturning(@Nonnull Operation operation) {
+        end(operation, null);
+    }
+
+    public static void afterThrowing(@Nonnull Throwable e, @Nonnull Operation operation) {
+        end(operation, e);
+    }
+
+    /**
+     * exports all ended spans now.
+     */
+    public static synchronized void flush() {
+        final List<Span> batch = new ArrayList<>();
+        Span span;
+        while ((span = ended.poll()) != null) {
+            batch.add(span);
+        }
+        endedCount.addAndGet(-batch.size());
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (final SpanExporter exporter : exporters) {
+            try {
+                exporter.export(batch);
+            } catch (final Throwable t) {
+                log.warn("failed to export {} spans by {}: {}", batch.size(), exporter.getClass().getSimpleName(), t.getMessage());
+            }
+        }
+    }
+
+    private static void end(@Nonnull Operation operation, @Nullable Throwable error) {
+        if (exporters.isEmpty()) {
+            return;
+        }
+        final Span span = spans.asMap().remove(operation);
+        if (Objects.isNull(span)) {
+            return;
+        }
+        span.end(error);
+        ended.add(span);
+        if (endedCount.incrementAndGet() >= FLUSH_BATCH_SIZE) {
+            AzureSchedulers.io().schedule(AzureTracer::flush);
+        }
+    }
+
+    @Nullable
+    private static Span findSpan(@Nullable Operation operation) {
+        for (Operation op = operation; Objects.nonNull(op); op = op.getParent()) {
+            final Span span = spans.getIfPresent(op);
+            if (Objects.nonNull(span)) {
+                return span;
+            }
+        }
+        return null;
+    }
+
+    private static void start() {
+        if (started.compareAndSet(false, true)) {
+            final long interval = FLUSH_INTERVAL.toMillis();
+            flusher = AzureSchedulers.io().schedulePeriodically(AzureTracer::flush, interval, interval, TimeUnit.MILLISECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(AzureTracer::shutdown, "azure-tracer-shutdown"));
+        }
+    }
+
+    private static void shutdown() {
+        Optional.ofNullable(flusher).ifPresent(Disposable::dispose);
+        flush();
+        for (final SpanExporter exporter : exporters) {
+            try {
+                exporter.close();
+            } catch (final IOException e) {
+                log.warn("failed to close span exporter {}: {}", exporter.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private static void configure() {
+        if (!configured.compareAndSet(false, true)) {
+            return;
+        }
+        final AzureConfiguration config = Azure.az().config();
+        final String type = StringUtils.lowerCase(StringUtils.trim(config.getTracingExporter()));
+        if (StringUtils.isBlank(type)) {
+            return;
+        }
+        final String target = config.getTracingTarget();
+        try {
+            if (EXPORTER_OTLP.equals(type)) {
+                addExporter(new OtlpHttpSpanExporter(StringUtils.defaultIfBlank(target, "http://localhost:4318")));
+            } else if (EXPORTER_JSON.equals(type)) {
+                addExporter(new JsonFileSpanExporter(Paths.get(StringUtils.defaultIfBlank(target, "azure-toolkit-trace.jsonl"))));
+            } else if (EXPORTER_CHROME.equals(type)) {
+                addExporter(new ChromeTraceSpanExporter(Paths.get(StringUtils.defaultIfBlank(target, "azure-toolkit-trace.json"))));
+            } else {
+                log.warn("unknown tracing exporter '{}', tracing is disabled.", type);
+            }
+        } catch (final IOException e) {
+            log.warn("failed to create tracing exporter '{}' of target '{}', tracing is disabled.", type, target, e);
+        }
+    }
+}
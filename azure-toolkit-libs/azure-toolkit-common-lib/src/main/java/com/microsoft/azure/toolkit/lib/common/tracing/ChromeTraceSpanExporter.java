@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.tracing;
+
+import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * writes spans to a local file in Chrome trace event format, which can be opened with {@code chrome://tracing} or
+ * https://ui.perfetto.dev. each thread is a track, hops from one thread to another (e.g. by
+ * {@link com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager}) are drawn as flow arrows.
+ */
+public class ChromeTraceSpanExporter implements SpanExporter {
+    private static final int PID = 1;
+
+    private final BufferedWriter writer;
+    private final Set<Long> threads = new HashSet<>();
+    private boolean empty = true;
+
+    public ChromeTraceSpanExporter(@Nonnull Path file) throws IOException {
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        this.writer.write("[");
+    }
+
+    @Override
+    public synchronized void export(@Nonnull List<Span> spans) throws IOException {
+        for (final Span span : spans) {
+            if (this.threads.add(span.getThreadId())) {
+                final Map<String, Object> meta = event("thread_name", "M", span.getThreadId());
+                meta.put("args", Collections.singletonMap("name", span.getThreadName()));
+                this.write(meta);
+            }
+            final Map<String, Object> event = event(span.getName(), "X", span.getThreadId());
+            event.put("cat", "operation");
+            event.put("ts", micros(span.getStartEpochNanos()));
+            event.put("dur", Math.max(1, micros(span.getEndEpochNanos()) - micros(span.getStartEpochNanos())));
+            final Map<String, Object> args = new LinkedHashMap<>(span.getAttributes());
+            args.put("spanId", span.getSpanId());
+            args.put("traceId", span.getTraceId());
+            args.put("status", span.getStatus().name());
+            if (Objects.nonNull(span.getStatusMessage())) {
+                args.put("error", span.getStatusMessage());
+            }
+            event.put("args", args);
+            this.write(event);
+            if (span.isThreadHop()) {
+                this.writeFlow(span, Objects.requireNonNull(span.getParentThreadId()));
+            }
+        }
+        this.writer.flush();
+    }
+
+    private void writeFlow(@Nonnull Span span, long fromThread) throws IOException {
+        final Object queuedMs = span.getAttributes().get(AzureTracer.TASK_QUEUED_MS);
+        final long queued = queuedMs instanceof Number ? TimeUnit.MILLISECONDS.toMicros(((Number) queuedMs).longValue()) : 0;
+        final Map<String, Object> start = event("thread.hop", "s", fromThread);
+        start.put("cat", "hop");
+        start.put("id", span.getSpanId());
+        start.put("ts", micros(span.getStartEpochNanos()) - queued);
+        this.write(start);
+        final Map<String, Object> end = event("thread.hop", "f", span.getThreadId());
+        end.put("cat", "hop");
+        end.put("id", span.getSpanId());
+        end.put("bp", "e");
+        end.put("ts", micros(span.getStartEpochNanos()));
+        this.write(end);
+    }
+
+    private void write(@Nonnull Map<String, Object> event) throws IOException {
+        if (!this.empty) {
+            this.writer.write(",");
+        }
+        this.writer.newLine();
+        this.writer.write(JsonUtils.toJson(event));
+        this.empty = false;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.writer.newLine();
+        this.writer.write("]");
+        this.writer.close();
+    }
+
+    @Nonnull
+    private static Map<String, Object> event(@Nonnull String name, @Nonnull String phase, long tid) {
+        final Map<String, Object> event = new LinkedHashMap<>();
+        event.put("name", name);
+        event.put("ph", phase);
+        event.put("pid", PID);
+        event.put("tid", tid);
+        return event;
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.tracing;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * keeps exported spans in memory, for inspecting traces in tests or diagnostics.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+    private final List<Span> spans = new ArrayList<>();
+
+    @Override
+    public synchronized void export(@Nonnull List<Span> spans) {
+        this.spans.addAll(spans);
+    }
+
+    @Nonnull
+    public synchronized List<Span> getSpans() {
+        return new ArrayList<>(this.spans);
+    }
+
+    @Nonnull
+    public synchronized Optional<Span> getSpan(@Nonnull String name) {
+        return this.spans.stream().filter(s -> s.getName().equals(name)).findFirst();
+    }
+
+    public synchronized void reset() {
+        this.spans.clear();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.tracing;
+
+import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * appends spans to a local file, one OTLP/JSON span per line.
+ */
+public class JsonFileSpanExporter implements SpanExporter {
+    private final BufferedWriter writer;
+
+    public JsonFileSpanExporter(@Nonnull Path file) throws IOException {
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void export(@Nonnull List<Span> spans) throws IOException {
+        for (final Span span : spans) {
+            this.writer.write(JsonUtils.toJson(OtlpJson.span(span)));
+            this.writer.newLine();
+        }
+        this.writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.writer.close();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.tracing;
+
+import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * sends spans to an OpenTelemetry collector (or any backend accepting OTLP/HTTP with JSON encoding, e.g. Jaeger).
+ */
+public class OtlpHttpSpanExporter implements SpanExporter {
+    private static final String TRACES_PATH = "/v1/traces";
+    private static final int TIMEOUT_MILLIS = 10000;
+
+    private final URL url;
+
+    /**
+     * @param endpoint e.g. {@code http://localhost:4318}, {@code /v1/traces} is appended if absent.
+     */
+    public OtlpHttpSpanExporter(@Nonnull String endpoint) throws IOException {
+        final String base = StringUtils.removeEnd(endpoint.trim(), "/");
+        this.url = new URL(base.endsWith(TRACES_PATH) ? base : base + TRACES_PATH);
+    }
+
+    @Override
+    public void export(@Nonnull List<Span> spans) throws IOException {
+        if (spans.isEmpty()) {
+            return;
+        }
+        final byte[] body = JsonUtils.toJson(OtlpJson.request(spans)).getBytes(StandardCharsets.UTF_8);
+        final HttpURLConnection connection = (HttpURLConnection) this.url.openConnection();
+        try {
+            connection.setRequestMethod("POST");
+            connection.setConnectTimeout(TIMEOUT_MILLIS);
+            connection.setReadTimeout(TIMEOUT_MILLIS);
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            connection.setFixedLengthStreamingMode(body.length);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+            final int code = connection.getResponseCode();
+            if (code / 100 != 2) {
+                throw new IOException(String.format("failed to export %d spans to %s: HTTP %d", spans.size(), this.url, code));
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.tracing;
+
+import com.microsoft.azure.toolkit.lib.Azure;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * OTLP/JSON encoding of spans, see https://opentelemetry.io/docs/specs/otlp/#json-protobuf-encoding
+ */
+final class OtlpJson {
+    private static final int SPAN_KIND_INTERNAL = 1;
+    private static final int STATUS_CODE_OK = 1;
+    private static final int STATUS_CODE_ERROR = 2;
+    private static final String SCOPE = "com.microsoft.azure.toolkit.lib";
+
+    private OtlpJson() {
+    }
+
+    /**
+     * @return an {@code ExportTraceServiceRequest}
+     */
+    @Nonnull
+    static Map<String, Object> request(@Nonnull List<Span> spans) {
+        final String product = Optional.ofNullable(Azure.az().config().getProduct()).filter(StringUtils::isNotBlank).orElse("azure-toolkit");
+        final Map<String, Object> resource = Collections.singletonMap("attributes",
+            Collections.singletonList(attribute("service.name", product)));
+        final Map<String, Object> scopeSpans = new LinkedHashMap<>();
+        scopeSpans.put("scope", Collections.singletonMap("name", SCOPE));
+        scopeSpans.put("spans", spans.stream().map(OtlpJson::span).collect(Collectors.toList()));
+        final Map<String, Object> resourceSpans = new LinkedHashMap<>();
+        resourceSpans.put("resource", resource);
+        resourceSpans.put("scopeSpans", Collections.singletonList(scopeSpans));
+        return Collections.singletonMap("resourceSpans", Collections.singletonList(resourceSpans));
+    }
+
+    @Nonnull
+    static Map<String, Object> span(@Nonnull Span span) {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("traceId", span.getTraceId());
+        result.put("spanId", span.getSpanId());
+        if (Objects.nonNull(span.getParentSpanId())) {
+            result.put("parentSpanId", span.getParentSpanId());
+        }
+        result.put("name", span.getName());
+        result.put("kind", SPAN_KIND_INTERNAL);
+        // 64-bit integers are encoded as strings in OTLP/JSON.
+        result.put("startTimeUnixNano", String.valueOf(span.getStartEpochNanos()));
+        result.put("endTimeUnixNano", String.valueOf(span.getEndEpochNanos()));
+        final List<Map<String, Object>> attributes = new ArrayList<>();
+        attributes.add(attribute("thread.id", span.getThreadId()));
+        attributes.add(attribute("thread.name", span.getThreadName()));
+        span.getAttributes().forEach((k, v) -> attributes.add(attribute(k, v)));
+        result.put("attributes", attributes);
+        if (span.getStatus() != Span.Status.UNSET) {
+            final Map<String, Object> status = new LinkedHashMap<>();
+            status.put("code", span.getStatus() == Span.Status.OK ? STATUS_CODE_OK : STATUS_CODE_ERROR);
+            Optional.ofNullable(span.getStatusMessage()).ifPresent(m -> status.put("message", m));
+            result.put("status", status);
+        }
+        return result;
+    }
+
+    @Nonnull
+    private static Map<String, Object> attribute(@Nonnull String key, @Nonnull Object value) {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("key", key);
+        if (value instanceof Boolean) {
+            result.put("value", Collections.singletonMap("boolValue", value));
+        } else if (value instanceof Integer || value instanceof Long) {
+            result.put("value", Collections.singletonMap("intValue", String.valueOf(value)));
+        } else if (value instanceof Number) {
+            result.put("value", Collections.singletonMap("doubleValue", value));
+        } else {
+            result.put("value", Collections.singletonMap("stringValue", String.valueOf(value)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.tracing;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * timing of an operation, modeled after OpenTelemetry spans (ids, timestamps and status are compatible with OTLP).
+ */
+@Getter
+public class Span {
+    /**
+     * epoch nanos at the origin of {@link System#nanoTime()}, to get precise epoch timestamps.
+     */
+    private static final long EPOCH_OFFSET_NANOS = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) - System.nanoTime();
+
+    @Nonnull
+    private final String traceId;
+    @Nonnull
+    private final String spanId;
+    @Nullable
+    private final String parentSpanId;
+    @Nonnull
+    private final String name;
+    private final long startEpochNanos;
+    private final long threadId;
+    @Nonnull
+    private final String threadName;
+    /**
+     * thread the parent was running on when this span started, to find hops even if the parent is exported later.
+     */
+    @Nullable
+    private final Long parentThreadId;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private volatile long endEpochNanos;
+    @Nonnull
+    private volatile Status status = Status.UNSET;
+    @Nullable
+    private volatile String statusMessage;
+
+    Span(@Nonnull String name, @Nullable Span parent) {
+        this.traceId = parent == null ? randomHex(16) : parent.traceId;
+        this.spanId = randomHex(8);
+        this.parentSpanId = parent == null ? null : parent.spanId;
+        this.name = name;
+        this.startEpochNanos = now();
+        this.threadId = Thread.currentThread().getId();
+        this.threadName = Thread.currentThread().getName();
+        this.parentThreadId = parent == null ? null : parent.threadId;
+    }
+
+    /**
+     * if this span started on a different thread from its parent.
+     */
+    public boolean isThreadHop() {
+        return this.parentThreadId != null && this.parentThreadId != this.threadId;
+    }
+
+    public synchronized void setAttribute(@Nonnull String key, @Nullable Object value) {
+        if (value != null) {
+            this.attributes.put(key, value);
+        }
+    }
+
+    /**
+     * adds {@code delta} to a numeric attribute, e.g. count of HTTP calls or bytes transferred.
+     */
+    public synchronized void addAttribute(@Nonnull String key, long delta) {
+        this.attributes.merge(key, delta, (a, b) -> ((Number) a).longValue() + ((Number) b).longValue());
+    }
+
+    @Nonnull
+    public synchronized Map<String, Object> getAttributes() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(this.attributes));
+    }
+
+    public boolean isEnded() {
+        return this.endEpochNanos > 0;
+    }
+
+    public long getDurationNanos() {
+        return (this.isEnded() ? this.endEpochNanos : now()) - this.startEpochNanos;
+    }
+
+    void end(@Nullable Throwable error) {
+        if (error != null) {
+            this.status = Status.ERROR;
+            this.statusMessage = error.getClass().getSimpleName() + ": " + error.getMessage();
+        } else {
+            this.status = Status.OK;
+        }
+        this.endEpochNanos = now();
+    }
+
+    static long now() {
+        return EPOCH_OFFSET_NANOS + System.nanoTime();
+    }
+
+    @Nonnull
+    private static String randomHex(int bytes) {
+        final StringBuilder hex = new StringBuilder(bytes * 2);
+        for (int i = 0; i < bytes; i++) {
+            hex.append(String.format("%02x", ThreadLocalRandom.current().nextInt(256)));
+        }
+        return hex.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%s, %dms]", this.name, this.spanId, TimeUnit.NANOSECONDS.toMillis(this.getDurationNanos()));
+    }
+
+    public enum Status {
+        UNSET, OK, ERROR
+    }
+}
@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.tracing;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * receives ended spans in batches from {@link AzureTracer}.
+ */
+public interface SpanExporter {
+    void export(@Nonnull List<Span> spans) throws IOException;
+
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.tracing;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpPipelineCallContext;
+import com.azure.core.http.HttpPipelineNextPolicy;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.policy.HttpPipelinePolicy;
+import org.apache.commons.lang3.math.NumberUtils;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+
+/**
+ * counts HTTP calls, failures and bytes transferred into the span of current operation. the span is taken when the
+ * request reaches this policy, which is still in the thread of the operation for blocking calls.
+ */
+public class TracingHttpPolicy implements HttpPipelinePolicy {
+    public static final String HTTP_CALLS = "http.calls";
+    public static final String HTTP_ERRORS = "http.errors";
+    public static final String HTTP_REQUEST_BYTES = "http.request.bytes";
+    public static final String HTTP_RESPONSE_BYTES = "http.response.bytes";
+
+    @Override
+    public Mono<HttpResponse> process(@Nonnull HttpPipelineCallContext context, @Nonnull HttpPipelineNextPolicy next) {
+        final Span span = AzureTracer.current();
+        if (Objects.isNull(span)) {
+            return next.process();
+        }
+        span.addAttribute(HTTP_CALLS, 1);
+        span.addAttribute(HTTP_REQUEST_BYTES, contentLength(context.getHttpRequest().getHeaders()));
+        return next.process()
+            .doOnNext(response -> {
+                span.addAttribute(HTTP_RESPONSE_BYTES, contentLength(response.getHeaders()));
+                if (response.getStatusCode() >= 400) {
+                    span.addAttribute(HTTP_ERRORS, 1);
+                }
+            })
+            .doOnError(e -> span.addAttribute(HTTP_ERRORS, 1));
+    }
+
+    private static long contentLength(@Nonnull HttpHeaders headers) {
+        return Math.max(0, NumberUtils.toLong(headers.getValue("Content-Length"), 0));
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import com.microsoft.azure.toolkit.lib.common.task.AzureSchedulers;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * a coarse timer for large numbers of frequently rescheduled short delays, e.g. debouncing of resources. timeouts are
+ * reusable: (re)scheduling an armed timeout only updates its deadline, the wheel thread checks the deadline when the
+ * slot comes and moves it to a later slot if necessary. timeouts due in the same tick are fired together in one task on
+ * {@link AzureSchedulers#events()}, so callbacks are expected to be short.
+ */
+@Slf4j
+public class HashedWheelTimer {
+    private static final long DISARMED = Long.MIN_VALUE;
+    private static final HashedWheelTimer shared = new HashedWheelTimer(Duration.ofMillis(10), 512);
+
+    private final long tickNanos;
+    private final int mask;
+    /**
+     * slots, only accessed by the wheel thread.
+     */
+    private final Queue<Timeout>[] wheel;
+    /**
+     * timeouts (re)armed by other threads, to be put into slots by the wheel thread.
+     */
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final long startTime = System.nanoTime();
+    private volatile Thread worker;
+    private volatile boolean idle;
+    private long tick;
+    private int size;
+
+    /**
+     * @param ticksPerWheel rounded up to power of 2.
+     */
+    @SuppressWarnings("unchecked")
+    public HashedWheelTimer(@Nonnull Duration tickDuration, int ticksPerWheel) {
+        this.tickNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), tickDuration.toNanos());
+        final int slots = Integer.highestOneBit(Math.max(2, ticksPerWheel) * 2 - 1);
+        this.mask = slots - 1;
+        this.wheel = new Queue[slots];
+        for (int i = 0; i < slots; i++) {
+            this.wheel[i] = new ArrayDeque<>();
+        }
+    }
+
+    @Nonnull
+    public static HashedWheelTimer getShared() {
+        return shared;
+    }
+
+    /**
+     * @return a disarmed timeout of {@code task}, {@link Timeout#schedule(long) schedule} it to run.
+     */
+    @Nonnull
+    public Timeout newTimeout(@Nonnull Runnable task) {
+        return new Timeout(this, task);
+    }
+
+    private void enqueue(@Nonnull Timeout timeout) {
+        this.incoming.add(timeout);
+        if (this.started.compareAndSet(false, true)) {
+            final Thread thread = new Thread(this::run, "azure-toolkit-timer");
+            thread.setDaemon(true);
+            this.worker = thread;
+            thread.start();
+        } else if (this.idle) {
+            LockSupport.unpark(this.worker);
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            if (this.size == 0 && this.incoming.isEmpty()) {
+                this.idle = true;
+                if (this.incoming.isEmpty()) {
+                    LockSupport.park(this);
+                }
+                this.idle = false;
+                // slots are all empty, skip the ticks passed while idle.
+                this.tick = Math.max(this.tick, (System.nanoTime() - this.startTime) / this.tickNanos);
+            }
+            final long deadline = this.startTime + this.tick * this.tickNanos;
+            long sleep;
+            while ((sleep = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+            try {
+                this.transferIncoming();
+                this.fire(this.expire(this.wheel[(int) (this.tick & this.mask)]));
+            } catch (final Throwable t) {
+                log.warn("error occurs in timer wheel.", t);
+            }
+            this.tick++;
+        }
+    }
+
+    private void transferIncoming() {
+        Timeout timeout;
+        while ((timeout = this.incoming.poll()) != null) {
+            this.size++;
+            this.place(timeout, timeout.deadline.get());
+        }
+    }
+
+    private void place(@Nonnull Timeout timeout, long deadline) {
+        final long ticks = Math.max(this.tick, ceilDiv(deadline - this.startTime, this.tickNanos));
+        this.wheel[(int) (ticks & this.mask)].add(timeout);
+    }
+
+    @Nonnull
+    private List<Timeout> expire(@Nonnull Queue<Timeout> slot) {
+        final List<Timeout> due = new ArrayList<>();
+        final long now = System.nanoTime();
+        // timeouts of later rounds are put back to the same slot, only visit those already there.
+        for (int i = slot.size(); i > 0; i--) {
+            final Timeout timeout = slot.poll();
+            final long deadline = timeout.deadline.get();
+            if (deadline != DISARMED && deadline - now > 0) {
+                this.place(timeout, deadline);
+            } else if (deadline != DISARMED && !timeout.deadline.compareAndSet(deadline, DISARMED)) {
+                this.place(timeout, timeout.deadline.get()); // rescheduled concurrently.
+            } else {
+                this.size--;
+                if (deadline != DISARMED) {
+                    due.add(timeout);
+                }
+                timeout.dequeued();
+            }
+        }
+        return due;
+    }
+
+    private void fire(@Nonnull List<Timeout> due) {
+        if (due.isEmpty()) {
+            return;
+        }
+        AzureSchedulers.events().schedule(() -> due.forEach(timeout -> {
+            try {
+                timeout.task.run();
+            } catch (final Throwable t) {
+                log.warn("error occurs when running timer task.", t);
+            }
+        }));
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    public static class Timeout {
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final AtomicLong deadline = new AtomicLong(DISARMED);
+        /**
+         * if it's in the wheel (or to be put in), an armed timeout not in the wheel must be enqueued.
+         */
+        private final AtomicBoolean queued = new AtomicBoolean();
+
+        private Timeout(@Nonnull HashedWheelTimer timer, @Nonnull Runnable task) {
+            this.timer = timer;
+            this.task = task;
+        }
+
+        /**
+         * (re)arms this timeout to run after {@code delayInMillis}, the previous schedule if any is replaced.
+         */
+        public void schedule(long delayInMillis) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayInMillis));
+            if (deadline == DISARMED) {
+                deadline++;
+            }
+            this.deadline.set(deadline);
+            this.enqueueIfAbsent();
+        }
+
+        public void cancel() {
+            this.deadline.set(DISARMED);
+        }
+
+        public boolean isPending() {
+            return this.deadline.get() != DISARMED;
+        }
+
+        private void dequeued() {
+            this.queued.set(false);
+            // re-armed after the wheel took it out, but before the flag is cleared.
+            if (this.isPending()) {
+                this.enqueueIfAbsent();
+            }
+        }
+
+        private void enqueueIfAbsent() {
+            if (this.queued.compareAndSet(false, true)) {
+                this.timer.enqueue(this);
+            }
+        }
+    }
+}
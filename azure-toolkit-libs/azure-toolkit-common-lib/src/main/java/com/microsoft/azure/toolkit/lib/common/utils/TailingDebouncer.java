@@ -5,53 +5,33 @@
 
 package com.microsoft.azure.toolkit.lib.common.utils;
 
-import rx.Observable;
-import rx.Subscription;
-import rx.schedulers.Schedulers;
-
-import java.util.Objects;
-import java.util.concurrent.TimeUnit;
-
 public class TailingDebouncer implements Debouncer {
-    private final Runnable debounced;
     private final int delay;
-    private Subscription timer;
+    /**
+     * debouncing only moves the deadline of the same timeout, no timer is created or cancelled.
+     */
+    private final HashedWheelTimer.Timeout timeout;
 
     public TailingDebouncer(final Runnable debounced, final int delayInMillis) {
-        this.debounced = debounced;
         this.delay = delayInMillis;
+        this.timeout = HashedWheelTimer.getShared().newTimeout(debounced);
     }
 
     @Override
-    public synchronized void debounce(int delay) {
-        if (this.isPending()) {
-            this.timer.unsubscribe();
-        }
-        delay = delay < 0 ? this.delay : delay;
-        this.timer = Observable.timer(delay, TimeUnit.MILLISECONDS)
-            .subscribeOn(Schedulers.io())
-            .subscribe(ignore -> {
-                this.debounced.run();
-                this.clearTimer();
-            }, (e) -> this.clearTimer());
+    public void debounce(int delay) {
+        this.timeout.schedule(delay < 0 ? this.delay : delay);
     }
 
     @Override
-    public synchronized void debounce() {
+    public void debounce() {
         this.debounce(this.delay);
     }
 
-    public synchronized void cancel() {
-        if (this.isPending()) {
-            this.timer.unsubscribe();
-        }
-    }
-
-    public synchronized boolean isPending() {
-        return Objects.nonNull(this.timer) && !this.timer.isUnsubscribed();
+    public void cancel() {
+        this.timeout.cancel();
     }
 
-    private synchronized void clearTimer() {
-        this.timer = null;
+    public boolean isPending() {
+        return this.timeout.isPending();
     }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.cache;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PreloadProcessorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testIndexPreloadMethods() throws Exception {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assume.assumeTrue("requires a JDK", Objects.nonNull(compiler));
+        final File src = folder.newFolder("src");
+        final File out = folder.newFolder("out");
+        final File source = new File(src, "Sample.java");
+        Files.write(source.toPath(), String.join("\n",
+            "package sample;",
+            "import com.microsoft.azure.toolkit.lib.common.cache.Preload;",
+            "public class Sample {",
+            "    @Preload public static void warmUp() {}",
+            "    public static void notPreloaded() {}",
+            "    public static class Inner {",
+            "        @Preload public static void warmUp(boolean... force) {}",
+            "    }",
+            "}").getBytes(StandardCharsets.UTF_8));
+
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            final Iterable<? extends JavaFileObject> units = files.getJavaFileObjects(source);
+            final List<String> options = Arrays.asList("-d", out.getAbsolutePath(), "-classpath", System.getProperty("java.class.path"), "-proc:only");
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, files, null, options, null, units);
+            task.setProcessors(Collections.singletonList(new PreloadProcessor()));
+            assertTrue(task.call());
+        }
+
+        final File index = new File(out, Preloader.INDEX);
+        assertTrue(index.exists());
+        final List<String> lines = Files.readAllLines(index.toPath(), StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList("sample.Sample#warmUp", "sample.Sample$Inner#warmUp"), lines);
+        assertFalse(lines.contains("sample.Sample#notPreloaded"));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.cache;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PreloaderTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * the index of a jar is authoritative, jars without an index (e.g. built without the processor) are scanned.
+     */
+    @Test
+    public void testIndexedAndUnindexedEntriesAreMerged() throws Exception {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assume.assumeTrue("requires a JDK", Objects.nonNull(compiler));
+        final File indexed = this.compile(compiler, "indexed", "Indexed",
+            "@Preload public static void warmUp() {}",
+            "@Preload public static void notIndexed() {}");
+        final File index = new File(indexed, Preloader.INDEX);
+        assertTrue(index.getParentFile().mkdirs());
+        Files.write(index.toPath(), Collections.singletonList("com.microsoft.azure.toolkit.sample.indexed.Indexed#warmUp"), StandardCharsets.UTF_8);
+        final File unindexed = this.compile(compiler, "unindexed", "Unindexed",
+            "@Preload public static void warmUp() {}");
+
+        final ClassLoader original = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{indexed.toURI().toURL(), unindexed.toURI().toURL()}, Preloader.class.getClassLoader())) {
+            Thread.currentThread().setContextClassLoader(loader);
+            final Set<String> methods = Preloader.getPreloadingMethods().stream()
+                .map(m -> m.getDeclaringClass().getName() + Preloader.SEPARATOR + m.getName()).collect(Collectors.toSet());
+            assertTrue(methods.contains("com.microsoft.azure.toolkit.sample.indexed.Indexed#warmUp"));
+            assertTrue(methods.contains("com.microsoft.azure.toolkit.sample.unindexed.Unindexed#warmUp"));
+            assertFalse(methods.contains("com.microsoft.azure.toolkit.sample.indexed.Indexed#notIndexed"));
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
+    private File compile(JavaCompiler compiler, String pkg, String className, String... methods) throws Exception {
+        final File src = folder.newFolder(pkg + "-src");
+        final File out = folder.newFolder(pkg + "-classes");
+        final File source = new File(src, className + ".java");
+        Files.write(source.toPath(), String.join("\n",
+            "package com.microsoft.azure.toolkit.sample." + pkg + ";",
+            "import com.microsoft.azure.toolkit.lib.common.cache.Preload;",
+            "public class " + className + " {",
+            String.join("\n", methods),
+            "}").getBytes(StandardCharsets.UTF_8));
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            // no processor, as if the jar was built without it.
+            final List<String> options = Arrays.asList("-d", out.getAbsolutePath(), "-classpath", System.getProperty("java.class.path"), "-proc:none");
+            assertTrue(compiler.getTask(null, files, null, options, null, files.getJavaFileObjects(source)).call());
+        }
+        return out;
+    }
+}
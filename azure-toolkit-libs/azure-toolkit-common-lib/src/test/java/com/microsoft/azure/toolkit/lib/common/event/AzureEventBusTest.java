@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.event;
+
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AzureEventBusTest {
+    private static final int EVENTS = 1_000_000;
+    private static final int SOURCES = 10_000;
+
+    /**
+     * 1M status changes of 10k resources, listeners should receive far fewer events, ending with the latest status
+     * of every resource.
+     */
+    @Test
+    public void testEventsOfSameSourceAreCoalesced() throws InterruptedException {
+        final String type = "test.status_changed.coalesced";
+        AzureEventBus.coalesce(type, Duration.ofMillis(20));
+        final Map<Integer, Object> latest = new ConcurrentHashMap<>();
+        final AtomicInteger batches = new AtomicInteger();
+        AzureEventBus.onBatch(type, events -> {
+            batches.incrementAndGet();
+            events.forEach(e -> latest.put((Integer) e.getSource(), e.getPayload()));
+        });
+        for (int i = 0; i < EVENTS; i++) {
+            AzureEventBus.emit(type, i % SOURCES, i);
+        }
+        awaitUntil(() -> latest.size() == SOURCES && latest.entrySet().stream().allMatch(e -> (int) e.getValue() >= EVENTS - SOURCES));
+        for (int s = 0; s < SOURCES; s++) {
+            assertEquals(EVENTS - SOURCES + s, latest.get(s));
+        }
+        final AzureEventBus.Metrics metrics = AzureEventBus.getMetrics(type);
+        assertEquals(EVENTS, metrics.getEmitted());
+        assertEquals(0, metrics.getDropped());
+        assertEquals(EVENTS, metrics.getDelivered() + metrics.getCoalesced());
+        assertTrue(metrics.getDelivered() < EVENTS / 2);
+        assertTrue(batches.get() < EVENTS / SOURCES);
+    }
+
+    @Test
+    public void testEventsAreDeliveredInOrderIfNotCoalesced() throws InterruptedException {
+        final String type = "test.created.ordered";
+        final List<Object> payloads = Collections.synchronizedList(new ArrayList<>());
+        AzureEventBus.on(type, new AzureEventBus.EventListener(e -> payloads.add(e.getPayload())));
+        for (int i = 0; i < 1000; i++) {
+            AzureEventBus.emit(type, "source", i);
+        }
+        awaitUntil(() -> payloads.size() == 1000);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, payloads.get(i));
+        }
+        assertEquals(0, AzureEventBus.getMetrics(type).getCoalesced());
+    }
+
+    @Test
+    public void testTypedListenerIgnoresOtherSources() throws InterruptedException {
+        final String type = "test.refreshed.typed";
+        final List<String> sources = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger all = new AtomicInteger();
+        AzureEventBus.on(type, String.class, (source, payload) -> sources.add(source));
+        AzureEventBus.on(type, new AzureEventBus.EventListener(e -> all.incrementAndGet()));
+        AzureEventBus.emit(type, "a");
+        AzureEventBus.emit(type, 1);
+        AzureEventBus.emit(type, "b");
+        awaitUntil(() -> all.get() == 3);
+        awaitUntil(() -> sources.size() == 2);
+        assertEquals("a", sources.get(0));
+        assertEquals("b", sources.get(1));
+    }
+
+    @Test
+    public void testOnceAndOff() throws InterruptedException {
+        final String type = "test.deleted.once";
+        final AtomicInteger once = new AtomicInteger();
+        final AtomicInteger removed = new AtomicInteger();
+        final AtomicInteger all = new AtomicInteger();
+        AzureEventBus.once(type, (source, payload) -> once.incrementAndGet());
+        final AzureEventBus.EventListener listener = new AzureEventBus.EventListener(e -> removed.incrementAndGet());
+        AzureEventBus.on(type, listener);
+        AzureEventBus.off(type, listener);
+        AzureEventBus.on(type, new AzureEventBus.EventListener(e -> all.incrementAndGet()));
+        for (int i = 0; i < 10; i++) {
+            AzureEventBus.emit(type, i);
+        }
+        awaitUntil(() -> all.get() == 10);
+        assertEquals(1, once.get());
+        assertEquals(0, removed.get());
+    }
+
+    @Test
+    public void testOnlyCoalescedEventsAreDroppedWhenFull() throws InterruptedException {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final List<Object> created = Collections.synchronizedList(new ArrayList<>());
+        final EventChannel plain = new EventChannel("test.created.bounded", Duration.ZERO, 2);
+        plain.subscribe(new AzureEventBus.EventListener(e -> {
+            await(blocked); // a slow listener
+            created.add(e.getPayload());
+        }));
+        final List<Object> states = Collections.synchronizedList(new ArrayList<>());
+        final EventChannel coalescing = new EventChannel("test.status_changed.bounded", Duration.ofMillis(50), 2);
+        coalescing.subscribe(new AzureEventBus.EventListener(e -> states.add(e.getSource())));
+        for (int i = 0; i < 100; i++) {
+            plain.post(event("test.created.bounded", i));
+            coalescing.post(event("test.status_changed.bounded", i));
+        }
+        blocked.countDown();
+        awaitUntil(() -> created.size() == 100);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, created.get(i));
+        }
+        assertEquals(0, plain.getMetrics().getDropped());
+        awaitUntil(() -> states.size() == 2);
+        assertEquals(Arrays.asList(98, 99), states);
+        assertEquals(98, coalescing.getMetrics().getDropped());
+    }
+
+    private static AzureEvent event(String type, int source) {
+        return new AzureEvent() {
+            @Override
+            public Object getSource() {
+                return source;
+            }
+
+            @Nonnull
+            @Override
+            public String getType() {
+                return type;
+            }
+
+            @Override
+            public Object getPayload() {
+                return source;
+            }
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("timeout", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
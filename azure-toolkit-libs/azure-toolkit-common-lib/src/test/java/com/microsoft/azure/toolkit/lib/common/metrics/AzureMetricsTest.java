@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.metrics;
+
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.azure.core.http.HttpRequest;
+import com.microsoft.azure.toolkit.lib.common.cache.Cache1;
+import com.microsoft.azure.toolkit.lib.common.model.StubHttpResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AzureMetricsTest {
+
+    @Before
+    public void setUp() {
+        AzureMetrics.reset();
+        AzureMetrics.setEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        AzureMetrics.setEnabled(false);
+        AzureMetrics.reset();
+    }
+
+    @Test
+    public void testMeters() {
+        AzureMetrics.counter("requests", "status", "200").increment();
+        AzureMetrics.counter("requests", "status", "200").increment(2);
+        AzureMetrics.counter("requests", "status", "404").increment();
+        final Histogram histogram = AzureMetrics.histogram("duration");
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        AzureMetrics.gauge("size", () -> 42);
+
+        assertEquals(3, AzureMetrics.counter("requests", "status", "200").getCount());
+        assertEquals(1, AzureMetrics.counter("requests", "status", "404").getCount());
+        assertEquals(100, histogram.getCount());
+        assertEquals(5050, histogram.getSum());
+        assertEquals(100, histogram.getMax());
+        // buckets are powers of 2, percentiles are within 2x.
+        assertTrue(histogram.getPercentile(0.5) >= 50 && histogram.getPercentile(0.5) < 100);
+        assertEquals(100, histogram.getPercentile(0.99));
+        assertEquals(4, AzureMetrics.getMeters().size());
+    }
+
+    @Test
+    public void testDisabled() {
+        AzureMetrics.setEnabled(false);
+        assertSame(Counter.NOOP, AzureMetrics.counter("requests", "status", "200"));
+        assertSame(Histogram.NOOP, AzureMetrics.histogram("duration"));
+        AzureMetrics.counter("requests").increment();
+        AzureMetrics.startTransfer("blob", AzureMetrics.UPLOAD).stop(100);
+        AzureMetrics.recordCacheAccess("cache1", true);
+        assertTrue(AzureMetrics.getMeters().isEmpty());
+    }
+
+    @Test
+    public void testHttpRequestsByResourceType() {
+        final HttpPipeline pipeline = new HttpPipelineBuilder()
+            .httpClient(request -> Mono.just(new StubHttpResponse(request, request.getUrl().getPath().endsWith("missing") ? 404 : 200)))
+            .policies(new MetricsHttpPolicy())
+            .build();
+        send(pipeline, "https://management.azure.com/subscriptions/s/resourceGroups/rg/providers/Microsoft.Web/sites/app?api-version=1");
+        send(pipeline, "https://management.azure.com/subscriptions/s/resourceGroups/rg/providers/Microsoft.Web/sites/app/config/web");
+        send(pipeline, "https://management.azure.com/subscriptions/s/resourceGroups/rg/providers/Microsoft.Web/sites/missing");
+        send(pipeline, "https://account.blob.core.windows.net/container/blob");
+
+        assertEquals(2, AzureMetrics.counter(AzureMetrics.HTTP_REQUESTS, "resource_type", "microsoft.web/sites", "status", "200").getCount());
+        assertEquals(1, AzureMetrics.counter(AzureMetrics.HTTP_REQUESTS, "resource_type", "microsoft.web/sites", "status", "404").getCount());
+        assertEquals(1, AzureMetrics.counter(AzureMetrics.HTTP_REQUESTS, "resource_type", "account.blob.core.windows.net", "status", "200").getCount());
+        assertEquals(3, AzureMetrics.histogram(AzureMetrics.HTTP_DURATION, "resource_type", "microsoft.web/sites").getCount());
+    }
+
+    @Test
+    public void testCacheAccess() {
+        final Cache1<String> cache = new Cache1<>(() -> "value");
+        cache.get();
+        cache.get();
+        cache.get();
+        assertEquals(1, AzureMetrics.counter(AzureMetrics.CACHE_REQUESTS, "cache", "cache1", "result", "miss").getCount());
+        assertEquals(2, AzureMetrics.counter(AzureMetrics.CACHE_REQUESTS, "cache", "cache1", "result", "hit").getCount());
+    }
+
+    @Test
+    public void testTransfer() {
+        final Flux<ByteBuffer> content = Flux.just(ByteBuffer.allocate(1000), ByteBuffer.allocate(24));
+        final List<ByteBuffer> received = AzureMetrics.track(content, "kudu.file", AzureMetrics.DOWNLOAD).collectList().block();
+        AzureMetrics.startTransfer("kudu.file", AzureMetrics.UPLOAD).stop(2048);
+
+        assertEquals(2, received == null ? 0 : received.size());
+        assertEquals(1024, AzureMetrics.counter(AzureMetrics.TRANSFER_BYTES, "path", "kudu.file", "direction", AzureMetrics.DOWNLOAD).getCount());
+        assertEquals(2048, AzureMetrics.counter(AzureMetrics.TRANSFER_BYTES, "path", "kudu.file", "direction", AzureMetrics.UPLOAD).getCount());
+        assertEquals(1, AzureMetrics.histogram(AzureMetrics.TRANSFER_DURATION, "path", "kudu.file", "direction", AzureMetrics.UPLOAD).getCount());
+    }
+
+    @Test
+    public void testExport() {
+        final List<List<Meter>> exported = new ArrayList<>();
+        final MetricsExporter exporter = exported::add;
+        AzureMetrics.addExporter(exporter);
+        try {
+            AzureMetrics.counter("requests").increment();
+            AzureMetrics.export();
+        } finally {
+            AzureMetrics.removeExporter(exporter);
+        }
+        assertEquals(1, exported.size());
+        assertEquals(Collections.singletonMap("count", 1L), exported.get(0).get(0).measure());
+    }
+
+    @Test
+    public void testMetersSinceSnapshot() {
+        AzureMetrics.counter("requests").increment(5);
+        AzureMetrics.counter("unchanged").increment();
+        final Histogram histogram = AzureMetrics.histogram("duration");
+        histogram.record(1000);
+        final List<Meter> snapshot = AzureMetrics.snapshot();
+        AzureMetrics.counter("requests").increment(2);
+        AzureMetrics.counter("added").increment();
+        histogram.record(10);
+        histogram.record(20);
+
+        final List<Meter> meters = AzureMetrics.getMetersSince(snapshot);
+        assertEquals(Arrays.asList("added", "duration", "requests"), meters.stream().map(Meter::getName).collect(Collectors.toList()));
+        assertEquals(1L, meters.get(0).measure().get("count"));
+        final Histogram delta = (Histogram) meters.get(1);
+        assertEquals(2, delta.getCount());
+        assertEquals(30, delta.getSum());
+        assertEquals(31, delta.getMax()); // approximated by the bucket of 20, not the 1000 recorded before.
+        assertEquals(2L, meters.get(2).measure().get("count"));
+        // meters themselves are kept.
+        assertEquals(7, AzureMetrics.counter("requests").getCount());
+        assertEquals(3, histogram.getCount());
+    }
+
+    private static void send(HttpPipeline pipeline, String url) {
+        try {
+            pipeline.send(new HttpRequest(HttpMethod.GET, new URL(url))).block();
+        } catch (final MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
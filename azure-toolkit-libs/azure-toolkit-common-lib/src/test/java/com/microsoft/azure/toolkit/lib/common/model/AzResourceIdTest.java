@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.azure.core.util.paging.ContinuablePage;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class AzResourceIdTest {
+    private static final String WEBAPP = "/subscriptions/sid/resourceGroups/rg/providers/Microsoft.Web/sites/app";
+
+    @Test
+    public void testSegments() {
+        final AzResourceId id = AzResourceId.fromString(WEBAPP + "/slots/staging");
+        assertEquals("sid", id.getSubscriptionId());
+        assertEquals("rg", id.getResourceGroupName());
+        assertEquals("staging", id.getName());
+        assertEquals(10, id.getSegmentCount());
+        assertEquals("Microsoft.Web", id.getSegment(5));
+        assertEquals(WEBAPP, String.valueOf(id.parent()));
+        assertNull(AzResourceId.fromString(WEBAPP).parent());
+        assertNull(AzResourceId.fromString("/subscriptions/sid/resourceGroups/rg").parent());
+        assertNull(AzResourceId.fromString("/subscriptions/sid").getResourceGroupName());
+    }
+
+    @Test
+    public void testEqualsIgnoreCase() {
+        final AzResourceId id = AzResourceId.fromString(WEBAPP);
+        final AzResourceId lower = AzResourceId.fromString(WEBAPP.toLowerCase());
+        assertEquals(id, lower);
+        assertEquals(id.hashCode(), lower.hashCode());
+        assertEquals(WEBAPP, id.toString());
+        assertNotEquals(id, AzResourceId.fromString(WEBAPP + "2"));
+    }
+
+    @Test
+    public void testToResourceId() {
+        final FakeModule module = new FakeModule();
+        final String prefix = AzResource.NONE.getId() + "/fakes/";
+        assertEquals(prefix + "app-1_2.3", module.toResourceId("app-1_2.3", null));
+        // resource (ACR repository) name may contain "/".
+        assertEquals(prefix + "repo%2Fimage+1", module.toResourceId("repo/image 1", null));
+    }
+
+    @Test
+    public void testIdIsCachedButNotForDrafts() {
+        final FakeModule module = new FakeModule();
+        final FakeResource resource = new FakeResource("app", module);
+        assertSame(resource.getId(), resource.getId());
+        assertSame(resource.getAzResourceId(), resource.getAzResourceId());
+
+        final FakeDraft draft = new FakeDraft("app", module);
+        assertEquals(resource.getId(), draft.getId());
+        draft.name = "renamed";
+        assertEquals(module.toResourceId("renamed", null), draft.getId());
+    }
+
+    @Test
+    public void testResourcesAreCachedByIdIgnoringCase() {
+        final FakeModule module = new FakeModule();
+        final FakeResource resource = new FakeResource("App", module);
+        module.addResourceToLocal(resource.getId(), resource, true);
+        assertSame(resource, module.resources.get(AzResourceId.fromString(resource.getId().toUpperCase())).orElse(null));
+        // the resource's own id is the key, no lower-cased copy is kept.
+        assertSame(resource.getAzResourceId(), module.resources.keySet().iterator().next());
+    }
+
+    private static class FakeModule extends AbstractAzResourceModule<FakeResource, AzResource.None, String> {
+        FakeModule() {
+            super("fakes", AzResource.NONE);
+        }
+
+        @Nonnull
+        @Override
+        protected Iterator<? extends ContinuablePage<String, String>> loadResourcePagesFromAzure() {
+            return Collections.emptyIterator();
+        }
+
+        @Nullable
+        @Override
+        protected String loadResourceFromAzure(@Nonnull String name, @Nullable String resourceGroup) {
+            return null;
+        }
+
+        @Nonnull
+        @Override
+        protected FakeResource newResource(@Nonnull String remote) {
+            return new FakeResource(remote, this);
+        }
+
+        @Nonnull
+        @Override
+        protected FakeResource newResource(@Nonnull String name, @Nullable String resourceGroupName) {
+            return new FakeResource(name, this);
+        }
+    }
+
+    private static class FakeResource extends AbstractAzResource<FakeResource, AzResource.None, String> {
+        FakeResource(@Nonnull String name, @Nonnull FakeModule module) {
+            super(name, AzResource.RESOURCE_GROUP_PLACEHOLDER, module);
+        }
+
+        @Nonnull
+        @Override
+        protected String loadStatus(@Nonnull String remote) {
+            return Status.RUNNING;
+        }
+
+        @Nonnull
+        @Override
+        public List<AbstractAzResourceModule<?, ?, ?>> getSubModules() {
+            return Collections.emptyList();
+        }
+    }
+
+    private static class FakeDraft extends FakeResource implements AzResource.Draft<FakeResource, String> {
+        private String name;
+
+        FakeDraft(@Nonnull String name, @Nonnull FakeModule module) {
+            super(name, module);
+            this.name = name;
+        }
+
+        @Nonnull
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public void reset() {
+        }
+
+        @Nonnull
+        @Override
+        public String createResourceInAzure() {
+            return this.name;
+        }
+
+        @Nonnull
+        @Override
+        public String updateResourceInAzure(@Nonnull String origin) {
+            return origin;
+        }
+
+        @Override
+        public boolean isModified() {
+            return true;
+        }
+
+        @Nullable
+        @Override
+        public FakeResource getOrigin() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ConditionalGetPolicyTest {
+    private static final String ARM = "https://management.azure.com";
+    private static final String SUBSCRIPTION = "/subscriptions/00000000-0000-0000-0000-000000000000";
+    private static final String GROUP = SUBSCRIPTION + "/resourceGroups/rg";
+    private static final String APP = GROUP + "/providers/Microsoft.Web/sites/app";
+    private static final String APPS = GROUP + "/providers/Microsoft.Web/sites";
+    private static final String OTHER_APP = "/subscriptions/00000000-0000-0000-0000-000000000001/resourceGroups/rg/providers/Microsoft.Web/sites/app";
+    private static final String VERSION = "?api-version=2022-09-01";
+
+    @Test
+    public void testConcurrentGetsAreCollapsed() {
+        final ArmStandIn arm = new ArmStandIn(Duration.ofMillis(100));
+        final HttpPipeline pipeline = pipeline(arm, Duration.ofSeconds(1));
+        final List<String> bodies = Flux.range(0, 10).flatMap(i -> get(pipeline, APP)).collectList().block();
+        assertEquals(10, Objects.requireNonNull(bodies).size());
+        assertTrue(bodies.stream().allMatch(b -> b.contains("\"name\":\"app\"")));
+        assertEquals(1, arm.requests.get());
+    }
+
+    @Test
+    public void testExpiredResponseIsRevalidated() throws InterruptedException {
+        final ArmStandIn arm = new ArmStandIn(Duration.ZERO);
+        final HttpPipeline pipeline = pipeline(arm, Duration.ofMillis(100));
+        get(pipeline, APP).block();
+        get(pipeline, APP).block();
+        assertEquals(1, arm.requests.get());
+        Thread.sleep(150);
+        assertTrue(Objects.requireNonNull(get(pipeline, APP).block()).contains("\"name\":\"app\""));
+        assertEquals(2, arm.requests.get());
+        assertEquals(1, arm.notModified.get());
+    }
+
+    @Test
+    public void testWriteInvalidatesCachedResponses() {
+        final ArmStandIn arm = new ArmStandIn(Duration.ZERO);
+        final HttpPipeline pipeline = pipeline(arm, Duration.ofSeconds(1));
+        get(pipeline, APP).block();
+        pipeline.send(new HttpRequest(HttpMethod.PUT, ARM + APP + VERSION)).block();
+        get(pipeline, APP).block();
+        assertEquals(3, arm.requests.get());
+        assertEquals(0, arm.notModified.get());
+    }
+
+    @Test
+    public void testWriteInvalidatesOnlyItsSubscription() {
+        final ArmStandIn arm = new ArmStandIn(Duration.ZERO);
+        final HttpPipeline pipeline = pipeline(arm, Duration.ofSeconds(1));
+        get(pipeline, APP).block();
+        get(pipeline, APPS).block();
+        get(pipeline, OTHER_APP).block();
+        pipeline.send(new HttpRequest(HttpMethod.PUT, ARM + APP + VERSION)).block();
+        assertEquals(4, arm.requests.get());
+        get(pipeline, APP).block();
+        get(pipeline, APPS).block(); // listing of its parent may contain the written resource.
+        get(pipeline, OTHER_APP).block();
+        assertEquals(6, arm.requests.get());
+    }
+
+    @Test
+    public void testDataPlaneWriteKeepsCachedResponses() {
+        final ArmStandIn arm = new ArmStandIn(Duration.ZERO);
+        final HttpPipeline pipeline = pipeline(arm, Duration.ofSeconds(1));
+        get(pipeline, APP).block();
+        pipeline.send(new HttpRequest(HttpMethod.PUT, "https://account.blob.core.windows.net/container/blob")).block();
+        get(pipeline, APP).block();
+        assertEquals(2, arm.requests.get());
+    }
+
+    @Test
+    public void testGetAfterWriteDoesNotJoinGetInFlight() {
+        final CreatingArm arm = new CreatingArm(Duration.ofMillis(200), Duration.ZERO);
+        final HttpPipeline pipeline = pipeline(arm, Duration.ofSeconds(1));
+        final Mono<Integer> before = status(pipeline).cache();
+        before.subscribe();
+        pipeline.send(new HttpRequest(HttpMethod.PUT, ARM + APP + VERSION)).block();
+        assertEquals(Integer.valueOf(200), status(pipeline).block());
+        assertEquals(Integer.valueOf(404), before.block());
+        assertEquals(Integer.valueOf(200), status(pipeline).block()); // the stale one isn't cached either.
+    }
+
+    @Test
+    public void testGetDuringWriteIsNotCached() {
+        final CreatingArm arm = new CreatingArm(Duration.ZERO, Duration.ofMillis(200));
+        final HttpPipeline pipeline = pipeline(arm, Duration.ofSeconds(1));
+        final Mono<HttpResponse> write = pipeline.send(new HttpRequest(HttpMethod.PUT, ARM + APP + VERSION)).cache();
+        write.subscribe();
+        assertEquals(Integer.valueOf(404), status(pipeline).block());
+        write.block();
+        assertEquals(Integer.valueOf(200), status(pipeline).block());
+    }
+
+    /**
+     * replays GETs issued when an app is opened and refreshed: existence of its resource group and itself, listing,
+     * status refreshing and repeated {@code getRemote()} of drafts.
+     */
+    @Test
+    public void testArmTraceReplay() {
+        final List<String> trace = Arrays.asList(GROUP, APP, GROUP + "/providers/Microsoft.Web/sites", APP, APP, GROUP, APP, APP + "/config/web", APP,
+            APP + "/config/web", GROUP, APP);
+        final ArmStandIn uncached = new ArmStandIn(Duration.ZERO);
+        final ArmStandIn cached = new ArmStandIn(Duration.ZERO);
+        final HttpPipeline withoutCache = new HttpPipelineBuilder().httpClient(uncached::send).build();
+        final HttpPipeline withCache = pipeline(cached, Duration.ofSeconds(1));
+        trace.forEach(path -> assertEquals(get(withoutCache, path).block(), get(withCache, path).block()));
+        assertEquals(trace.size(), uncached.requests.get());
+        assertEquals(4, cached.requests.get());
+    }
+
+    private static HttpPipeline pipeline(ArmStandIn arm, Duration ttl) {
+        return new HttpPipelineBuilder().httpClient(arm::send).policies(new ConditionalGetPolicy(ttl)).build();
+    }
+
+    private static HttpPipeline pipeline(CreatingArm arm, Duration ttl) {
+        return new HttpPipelineBuilder().httpClient(arm::send).policies(new ConditionalGetPolicy(ttl)).build();
+    }
+
+    private static Mono<Integer> status(HttpPipeline pipeline) {
+        return pipeline.send(new HttpRequest(HttpMethod.GET, ARM + APP + VERSION)).map(HttpResponse::getStatusCode);
+    }
+
+    private static Mono<String> get(HttpPipeline pipeline, String path) {
+        return pipeline.send(new HttpRequest(HttpMethod.GET, ARM + path + VERSION)).flatMap(HttpResponse::getBodyAsString);
+    }
+
+    /**
+     * stand-in of ARM where the app is created by a PUT when it completes, GETs respond the state when they are sent.
+     */
+    private static class CreatingArm {
+        private final Duration readLatency;
+        private final Duration writeLatency;
+        private final AtomicBoolean created = new AtomicBoolean();
+
+        CreatingArm(Duration readLatency, Duration writeLatency) {
+            this.readLatency = readLatency;
+            this.writeLatency = writeLatency;
+        }
+
+        Mono<HttpResponse> send(HttpRequest request) {
+            if (request.getHttpMethod() != HttpMethod.GET) {
+                return Mono.delay(this.writeLatency).doOnNext(i -> this.created.set(true)).map(i -> new StubHttpResponse(request, 201));
+            }
+            final int status = this.created.get() ? 200 : 404;
+            return Mono.delay(this.readLatency).map(i -> new StubHttpResponse(request, status));
+        }
+    }
+
+    /**
+     * counting stand-in of ARM, responds resources with ETag and honors If-None-Match.
+     */
+    private static class ArmStandIn {
+        private final Duration latency;
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicInteger notModified = new AtomicInteger();
+        private final Map<String, String> etags = new ConcurrentHashMap<>();
+
+        ArmStandIn(Duration latency) {
+            this.latency = latency;
+        }
+
+        Mono<HttpResponse> send(HttpRequest request) {
+            this.requests.incrementAndGet();
+            final String path = request.getUrl().getPath();
+            if (request.getHttpMethod() != HttpMethod.GET) {
+                this.etags.remove(path);
+                return Mono.just(new StubHttpResponse(request, 200));
+            }
+            final String etag = this.etags.computeIfAbsent(path, p -> "\"" + p.hashCode() + "\"");
+            final HttpHeaders headers = new HttpHeaders().set("ETag", etag).set("Content-Type", "application/json");
+            if (etag.equals(request.getHeaders().getValue("If-None-Match"))) {
+                this.notModified.incrementAndGet();
+                return Mono.delay(this.latency).map(i -> new StubHttpResponse(request, 304, headers));
+            }
+            final String name = path.substring(path.lastIndexOf('/') + 1);
+            final byte[] body = String.format("{\"id\":\"%s\",\"name\":\"%s\"}", path, name).getBytes(StandardCharsets.UTF_8);
+            return Mono.delay(this.latency).map(i -> new StubHttpResponse(request, 200, headers, body));
+        }
+    }
+}
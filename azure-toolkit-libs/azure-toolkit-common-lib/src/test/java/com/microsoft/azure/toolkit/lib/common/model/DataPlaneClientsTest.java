@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.microsoft.azure.toolkit.lib.Azure;
+import com.microsoft.azure.toolkit.lib.AzureConfiguration;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import org.junit.Test;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.security.KeyStore;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class DataPlaneClientsTest {
+    private static final int REQUESTS = 20;
+    private static final char[] PASSWORD = "changeit".toCharArray();
+
+    @Test
+    public void testClientsAreCachedByEndpointAndCredential() {
+        final HttpPipeline client = getClient("https://account.blob.core.windows.net", "key");
+        assertSame(client, getClient("https://ACCOUNT.blob.core.windows.net", "key"));
+        assertNotSame(client, getClient("https://account.blob.core.windows.net", "another key"));
+        DataPlaneClients.invalidate("https://account.blob.core.windows.net");
+        assertNotSame(client, getClient("https://account.blob.core.windows.net", "key"));
+    }
+
+    @Test
+    public void testClientsShareConnections() throws Exception {
+        // local stand-in of a data plane endpoint (with a self-signed certificate of "localhost" in `localhost.p12`),
+        // which records the client side address of every connection.
+        final KeyStore keyStore = loadKeyStore();
+        final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+        final HttpsServer server = HttpsServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setHttpsConfigurator(new HttpsConfigurator(serverSslContext(keyStore)));
+        server.createContext("/", exchange -> {
+            connections.add(exchange.getRemoteAddress());
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        final AzureConfiguration config = Azure.az().config();
+        final SSLContext original = config.getSslContext();
+        try {
+            // the default http client trusts the certificate only if it's created after.
+            config.setSslContext(clientSslContext(keyStore));
+            AbstractAzServiceSubscription.HttpClientHolder.reset();
+            DataPlaneClients.invalidateAll();
+            final String endpoint = "https://localhost:" + server.getAddress().getPort();
+            final HttpConnectionPool.Metrics before = AbstractAzServiceSubscription.getDefaultHttpPoolMetrics();
+            for (int i = 0; i < REQUESTS; i++) {
+                final HttpPipeline client = getClient(endpoint, "key");
+                try (HttpResponse response = Objects.requireNonNull(client.send(new HttpRequest(HttpMethod.GET, endpoint + "/" + i)).block())) {
+                    assertEquals(200, response.getStatusCode());
+                }
+            }
+            final HttpConnectionPool.Metrics metrics = AbstractAzServiceSubscription.getDefaultHttpPoolMetrics();
+            assertEquals(1, connections.size());
+            assertEquals(before.getOpenedConnections() + 1, metrics.getOpenedConnections());
+            assertEquals(0, metrics.getPendingAcquires());
+            // all the requests are sent over the only connection, which is handshaked once.
+            assertEquals(before.getTlsHandshakes() + 1, metrics.getTlsHandshakes());
+        } finally {
+            server.stop(0);
+            config.setSslContext(original);
+            AbstractAzServiceSubscription.HttpClientHolder.reset();
+            DataPlaneClients.invalidateAll();
+        }
+    }
+
+    private static KeyStore loadKeyStore() throws Exception {
+        final KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream input = Objects.requireNonNull(DataPlaneClientsTest.class.getResourceAsStream("/localhost.p12"))) {
+            keyStore.load(input, PASSWORD);
+        }
+        return keyStore;
+    }
+
+    private static SSLContext serverSslContext(KeyStore keyStore) throws Exception {
+        final KeyManagerFactory keys = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keys.init(keyStore, PASSWORD);
+        final SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keys.getKeyManagers(), null, null);
+        return context;
+    }
+
+    private static SSLContext clientSslContext(KeyStore keyStore) throws Exception {
+        final KeyStore trusted = KeyStore.getInstance(KeyStore.getDefaultType());
+        trusted.load(null, null);
+        trusted.setCertificateEntry("localhost", keyStore.getCertificate("localhost"));
+        final TrustManagerFactory trusts = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trusts.init(trusted);
+        final SSLContext context = SSLContext.getInstance("TLS");
+        context.init(null, trusts.getTrustManagers(), null);
+        return context;
+    }
+
+    private static HttpPipeline getClient(String endpoint, String key) {
+        return DataPlaneClients.get(HttpPipeline.class, endpoint, key, http -> new HttpPipelineBuilder().httpClient(http).build());
+    }
+}
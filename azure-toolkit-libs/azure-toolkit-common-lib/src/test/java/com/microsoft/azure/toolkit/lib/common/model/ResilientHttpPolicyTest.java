@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResilientHttpPolicyTest {
+    private static final String URL = "https://management.azure.com/subscriptions/00000000-0000-0000-0000-000000000000/resourceGroups?api-version=2021-04-01";
+    private static final String BLOB = "https://account.blob.core.windows.net/container/blob";
+
+    @Test
+    public void testSlowReadIsHedged() {
+        final AtomicInteger calls = new AtomicInteger();
+        // stand-in: responds in 10ms except a latency spike of the 31st request.
+        final HttpPipeline pipeline = pipeline(8, request -> {
+            final int call = calls.incrementAndGet();
+            return respond(request, 200, new HttpHeaders(), Duration.ofMillis(call == 31 ? 10_000 : 10));
+        });
+        for (int i = 0; i < 30; i++) {
+            send(pipeline, HttpMethod.GET);
+        }
+        final long start = System.currentTimeMillis();
+        assertEquals(200, send(pipeline, HttpMethod.GET));
+        assertTrue(System.currentTimeMillis() - start < 2_000);
+        assertEquals(32, calls.get());
+    }
+
+    @Test
+    public void testDataPlaneReadIsNotHedged() {
+        final AtomicInteger calls = new AtomicInteger();
+        final HttpPipeline pipeline = pipeline(8, request -> {
+            final int call = calls.incrementAndGet();
+            return respond(request, 200, new HttpHeaders(), Duration.ofMillis(call == 31 ? 500 : 10));
+        });
+        for (int i = 0; i < 31; i++) {
+            pipeline.send(new HttpRequest(HttpMethod.GET, BLOB)).block();
+        }
+        assertEquals(31, calls.get());
+    }
+
+    @Test
+    public void testLosingCopyIsClosed() {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger responded = new AtomicInteger();
+        final AtomicInteger closed = new AtomicInteger();
+        final HttpPipeline pipeline = pipeline(8, request -> {
+            final int call = calls.incrementAndGet();
+            if (call <= 30) {
+                return respond(request, 200, new HttpHeaders(), Duration.ofMillis(10));
+            }
+            // the primary copy responds after the hedged one, regardless of being cancelled.
+            return Mono.create(sink -> Schedulers.parallel().schedule(() -> {
+                responded.incrementAndGet();
+                sink.success(new StubHttpResponse(request, 200) {
+                    @Override
+                    public void close() {
+                        closed.incrementAndGet();
+                    }
+                });
+            }, call == 31 ? 250 : 0, TimeUnit.MILLISECONDS));
+        });
+        for (int i = 0; i < 30; i++) {
+            send(pipeline, HttpMethod.GET);
+        }
+        assertEquals(200, send(pipeline, HttpMethod.GET));
+        assertEquals(32, calls.get());
+        awaitUntil(() -> responded.get() == 2);
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    public void testPermitIsHeldUntilBodyIsConsumed() {
+        final HttpPipeline pipeline = pipeline(1, request -> Mono.just(new StubHttpResponse(request, 200,
+            new HttpHeaders().set("Content-Length", "3"), "abc".getBytes(StandardCharsets.UTF_8))));
+        final HttpResponse first = pipeline.send(new HttpRequest(HttpMethod.GET, BLOB)).block();
+        final AtomicReference<HttpResponse> second = new AtomicReference<>();
+        pipeline.send(new HttpRequest(HttpMethod.GET, BLOB)).subscribe(second::set);
+        sleep(200);
+        assertNull(second.get()); // still waiting for the permit held by the unread body.
+        assertEquals("abc", Objects.requireNonNull(first).getBodyAsString().block());
+        awaitUntil(() -> second.get() != null);
+        second.get().close();
+        assertEquals(200, Objects.requireNonNull(pipeline.send(new HttpRequest(HttpMethod.GET, BLOB)).block(Duration.ofSeconds(5))).getStatusCode());
+    }
+
+    @Test
+    public void testHedgedCopyIsTakenIfPrimaryFails() {
+        final AtomicInteger calls = new AtomicInteger();
+        final HttpPipeline pipeline = pipeline(8, request -> calls.incrementAndGet() == 31 ?
+            Mono.delay(Duration.ofMillis(10)).then(Mono.error(new IOException("connection reset"))) :
+            respond(request, 200, new HttpHeaders(), Duration.ofMillis(10)));
+        for (int i = 0; i < 30; i++) {
+            send(pipeline, HttpMethod.GET);
+        }
+        assertEquals(200, send(pipeline, HttpMethod.GET));
+        assertEquals(32, calls.get());
+    }
+
+    @Test
+    public void testErrorOfFirstFailedCopyIsPropagatedWhenBothFail() {
+        final AtomicInteger calls = new AtomicInteger();
+        final HttpPipeline pipeline = pipeline(8, request -> {
+            final int call = calls.incrementAndGet();
+            return call > 30 ? Mono.error(new IOException("connection reset " + call)) : respond(request, 200, new HttpHeaders(), Duration.ofMillis(10));
+        });
+        for (int i = 0; i < 30; i++) {
+            send(pipeline, HttpMethod.GET);
+        }
+        try {
+            send(pipeline, HttpMethod.GET);
+            fail("request should fail if both copies failed.");
+        } catch (final RuntimeException e) {
+            final Throwable error = Exceptions.unwrap(e);
+            assertTrue(error instanceof IOException);
+            assertEquals("connection reset 31", error.getMessage());
+            assertEquals(32, calls.get());
+        }
+    }
+
+    @Test
+    public void testPermitIsReleasedOnCancel() {
+        final HttpPipeline pipeline = pipeline(1, request -> "/never".equals(request.getUrl().getPath()) ?
+            Mono.never() : respond(request, 200, new HttpHeaders(), Duration.ofMillis(1)));
+        // the only permit is taken by a request never responded, and the next one is waiting for it.
+        final Disposable holding = pipeline.send(new HttpRequest(HttpMethod.PUT, "https://management.azure.com/never")).subscribe();
+        final Disposable waiting = pipeline.send(new HttpRequest(HttpMethod.PUT, "https://management.azure.com/next")).subscribe();
+        waiting.dispose();
+        holding.dispose();
+        // requests cancelled at any moment, e.g. while the permit is being handed over.
+        Flux.range(0, 5000)
+            .flatMap(i -> pipeline.send(new HttpRequest(HttpMethod.PUT, "https://management.azure.com/" + i))
+                .timeout(Duration.ofMillis(i % 3)).onErrorResume(e -> Mono.empty()), 32)
+            .blockLast();
+        // the permit would be leaked otherwise.
+        final HttpResponse response = pipeline.send(new HttpRequest(HttpMethod.PUT, "https://management.azure.com/last")).block(Duration.ofSeconds(5));
+        assertEquals(200, Objects.requireNonNull(response).getStatusCode());
+    }
+
+    @Test
+    public void testThrottledSubscriptionIsPaused() {
+        final AtomicInteger calls = new AtomicInteger();
+        final HttpPipeline pipeline = pipeline(8, request -> calls.incrementAndGet() == 1 ?
+            respond(request, 429, new HttpHeaders().set("Retry-After-Ms", "500"), Duration.ZERO) :
+            respond(request, 200, new HttpHeaders(), Duration.ZERO));
+        assertEquals(429, send(pipeline, HttpMethod.PUT));
+        final long start = System.currentTimeMillis();
+        assertEquals(200, send(pipeline, HttpMethod.PUT));
+        assertTrue(System.currentTimeMillis() - start >= 400);
+    }
+
+    @Test
+    public void testConcurrentRequestsAreBounded() {
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        final HttpPipeline pipeline = pipeline(2, request -> Mono.defer(() -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            return respond(request, 200, new HttpHeaders(), Duration.ofMillis(50)).doOnNext(r -> active.decrementAndGet());
+        }));
+        Flux.range(0, 10).flatMap(i -> pipeline.send(new HttpRequest(HttpMethod.PUT, URL))).blockLast();
+        assertEquals(2, maxActive.get());
+    }
+
+    @Test
+    public void testCircuitBreaksAfterContinuousFailures() {
+        final AtomicInteger calls = new AtomicInteger();
+        final HttpPipeline pipeline = pipeline(8, request -> {
+            calls.incrementAndGet();
+            return respond(request, 503, new HttpHeaders(), Duration.ZERO);
+        });
+        for (int i = 0; i < 10; i++) {
+            assertEquals(503, send(pipeline, HttpMethod.PUT));
+        }
+        try {
+            send(pipeline, HttpMethod.PUT);
+            fail("request should fail fast when circuit is open.");
+        } catch (final RuntimeException e) {
+            assertEquals(10, calls.get());
+        }
+    }
+
+    @Test
+    public void testRemainingQuota() {
+        assertEquals(-1, ResilientHttpPolicy.getRemainingQuota(new HttpHeaders()));
+        assertEquals(107, ResilientHttpPolicy.getRemainingQuota(new HttpHeaders()
+            .set("x-ms-ratelimit-remaining-subscription-reads", "11999")
+            .set("x-ms-ratelimit-remaining-resource", "Microsoft.Compute/HighCostGet3Min;107")));
+    }
+
+    private static HttpPipeline pipeline(int maxConcurrentRequests, Function<HttpRequest, Mono<HttpResponse>> server) {
+        return new HttpPipelineBuilder().httpClient(server::apply).policies(new ResilientHttpPolicy(maxConcurrentRequests, true)).build();
+    }
+
+    private static Mono<HttpResponse> respond(HttpRequest request, int status, HttpHeaders headers, Duration latency) {
+        return Mono.delay(latency).map(ignored -> new StubHttpResponse(request, status, headers));
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("timeout", System.currentTimeMillis() < deadline);
+            sleep(10);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int send(HttpPipeline pipeline, HttpMethod method) {
+        return pipeline.send(new HttpRequest(method, URL)).map(HttpResponse::getStatusCode).block();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.azure.core.util.paging.ContinuablePage;
+import com.microsoft.azure.toolkit.lib.common.model.page.ItemPage;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ResourceListingTest {
+    private static final int ENTRIES = 10_000;
+    private static final int PAGE_SIZE = 1000;
+
+    @Test
+    public void testLookupsShareOneListing() {
+        final FakeModule module = new FakeModule();
+        for (int i = 0; i < ENTRIES; i += 100) {
+            assertEquals("item-" + i, module.loadResourceFromListing("ITEM-" + i, Function.identity()));
+        }
+        assertNull(module.loadResourceFromListing("missing", Function.identity()));
+        assertEquals(1, module.listings.get());
+    }
+
+    @Test
+    public void testListingIsDroppedWithLocalCache() {
+        final FakeModule module = new FakeModule();
+        module.loadResourceFromListing("item-1", Function.identity());
+        module.clear();
+        module.loadResourceFromListing("item-2", Function.identity());
+        assertEquals(2, module.listings.get());
+    }
+
+    private static class FakeModule extends AbstractAzResourceModule<FakeResource, AzResource.None, String> {
+        private final AtomicInteger listings = new AtomicInteger();
+
+        FakeModule() {
+            super("fakes", AzResource.NONE);
+        }
+
+        @Nonnull
+        @Override
+        protected Iterator<? extends ContinuablePage<String, String>> loadResourcePagesFromAzure() {
+            this.listings.incrementAndGet();
+            return IntStream.range(0, ENTRIES / PAGE_SIZE)
+                .mapToObj(p -> IntStream.range(p * PAGE_SIZE, (p + 1) * PAGE_SIZE).mapToObj(i -> "item-" + i).collect(Collectors.toList()))
+                .map(ItemPage::new)
+                .iterator();
+        }
+
+        @Nonnull
+        @Override
+        protected FakeResource newResource(@Nonnull String remote) {
+            return new FakeResource(remote, this);
+        }
+
+        @Nonnull
+        @Override
+        protected FakeResource newResource(@Nonnull String name, @Nullable String resourceGroupName) {
+            return new FakeResource(name, this);
+        }
+    }
+
+    private static class FakeResource extends AbstractAzResource<FakeResource, AzResource.None, String> {
+        FakeResource(@Nonnull String name, @Nonnull FakeModule module) {
+            super(name, AzResource.RESOURCE_GROUP_PLACEHOLDER, module);
+        }
+
+        @Nonnull
+        @Override
+        protected String loadStatus(@Nonnull String remote) {
+            return Status.RUNNING;
+        }
+
+        @Nonnull
+        @Override
+        public List<AbstractAzResourceModule<?, ?, ?>> getSubModules() {
+            return Collections.emptyList();
+        }
+    }
+}
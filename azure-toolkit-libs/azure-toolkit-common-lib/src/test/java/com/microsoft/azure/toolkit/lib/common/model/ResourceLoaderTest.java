@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResourceLoaderTest {
+    private static final int CALLERS = 20;
+    private static final String ID = "/subscriptions/sub/resourcegroups/rg/providers/microsoft.web/sites/app";
+
+    @Test
+    public void testConcurrentLoadsAreCoalesced() throws Exception {
+        final ResourceLoader loader = new ResourceLoader(() -> 0, () -> 0);
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Future<?>> results = run(() -> loader.load(ID, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release); // hold the in-flight loading until all callers arrived.
+        }), loading, release);
+        for (final Future<?> result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(1, loads.get());
+        // nothing in flight anymore, so the next load loads again.
+        loader.load(ID, loads::incrementAndGet);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testFailureIsSharedWithWaiters() throws Exception {
+        final ResourceLoader loader = new ResourceLoader(() -> 0, () -> 0);
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final IllegalStateException failure = new IllegalStateException("throttled");
+        final List<Future<?>> results = run(() -> loader.load(ID, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            throw failure;
+        }), loading, release);
+        for (final Future<?> result : results) {
+            try {
+                result.get(10, TimeUnit.SECONDS);
+                fail("failure of the in-flight loading is expected");
+            } catch (final ExecutionException e) {
+                assertSame(failure, e.getCause());
+            }
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testExpiration() throws Exception {
+        final ResourceLoader loader = new ResourceLoader(() -> 50, () -> 0);
+        assertFalse(loader.isExpired(ID, false)); // not loaded individually
+        loader.loaded(ID);
+        assertFalse(loader.isExpired(ID, false));
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertTrue(loader.isExpired(ID, false));
+        assertFalse(loader.isExpired(ID, true)); // found resources never expire if positive ttl is not set.
+        loader.forget(ID);
+        assertFalse(loader.isExpired(ID, false));
+    }
+
+    private static List<Future<?>> run(Runnable load, CountDownLatch loading, CountDownLatch release) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(CALLERS);
+        final List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    started.countDown();
+                    await(start);
+                    load.run();
+                }));
+            }
+            started.await(10, TimeUnit.SECONDS);
+            start.countDown();
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+            TimeUnit.MILLISECONDS.sleep(100); // let the other callers join the in-flight loading.
+            release.countDown();
+            for (final Future<?> result : results) {
+                try {
+                    result.get(10, TimeUnit.SECONDS);
+                } catch (final ExecutionException ignored) {
+                    // asserted by callers
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
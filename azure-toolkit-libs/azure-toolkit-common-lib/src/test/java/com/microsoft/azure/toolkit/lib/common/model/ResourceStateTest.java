@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.azure.core.util.paging.ContinuablePage;
+import com.microsoft.azure.toolkit.lib.common.event.AzureEventBus;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ResourceStateTest {
+    private static final int LEAVES = 10_000;
+
+    @Test
+    public void testStatusChangesOfLeavesAreFiredByModule() throws InterruptedException {
+        final FakeModule module = new FakeModule();
+        final List<FakeResource> leaves = IntStream.range(0, LEAVES).mapToObj(i -> new FakeResource("leaf-" + i, module)).collect(Collectors.toList());
+        final Set<FakeResource> fired = ConcurrentHashMap.newKeySet();
+        final AzureEventBus.EventListener listener = AzureEventBus.on("resource.status_changed.resource", FakeResource.class,
+            (resource, payload) -> fired.add(resource));
+        try {
+            leaves.forEach(r -> r.setStatus(AzResource.Status.RUNNING));
+            awaitUntil(() -> fired.size() == LEAVES);
+            assertTrue(fired.containsAll(leaves));
+        } finally {
+            AzureEventBus.off("resource.status_changed.resource", listener);
+        }
+    }
+
+    @Test
+    public void testStatusChangesAreFiredAfterTheLastChange() throws InterruptedException {
+        final FakeModule module = new FakeModule();
+        final List<FakeResource> leaves = IntStream.range(0, 3).mapToObj(i -> new FakeResource("leaf-" + i, module)).collect(Collectors.toList());
+        final Set<FakeResource> fired = ConcurrentHashMap.newKeySet();
+        final AzureEventBus.EventListener listener = AzureEventBus.on("resource.status_changed.resource", FakeResource.class,
+            (resource, payload) -> fired.add(resource));
+        try {
+            for (final FakeResource leaf : leaves) {
+                leaf.setStatus(AzResource.Status.RUNNING);
+                Thread.sleep(150);
+                assertTrue("fired before changes settle", fired.isEmpty());
+            }
+            awaitUntil(() -> fired.size() == leaves.size());
+            assertTrue(fired.containsAll(leaves));
+        } finally {
+            AzureEventBus.off("resource.status_changed.resource", listener);
+        }
+    }
+
+    @Test
+    public void testRemoteIsLoadedOnlyWhenRequired() {
+        final FakeModule module = new FakeModule();
+        final FakeResource resource = new FakeResource("leaf", module);
+        resource.invalidateCache();
+        assertEquals(0, module.loads.get());
+        assertEquals("remote-of-leaf", resource.getRemote());
+        assertEquals("remote-of-leaf", resource.getRemote());
+        assertEquals(1, module.loads.get());
+    }
+
+    @Test
+    public void testCopySharesRemoteOfOrigin() {
+        final FakeModule module = new FakeModule();
+        final FakeResource origin = new FakeResource("leaf", module);
+        final FakeResource copy = new FakeResource(origin);
+        origin.setRemote("updated");
+        assertEquals("updated", copy.getRemote());
+        copy.setRemote("updated-by-copy");
+        assertEquals("updated-by-copy", origin.getRemote());
+        assertEquals(0, module.loads.get());
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("timeout", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static class FakeModule extends AbstractAzResourceModule<FakeResource, AzResource.None, String> {
+        private final AtomicInteger loads = new AtomicInteger();
+
+        FakeModule() {
+            super("fakes", AzResource.NONE);
+        }
+
+        @Nonnull
+        @Override
+        protected Iterator<? extends ContinuablePage<String, String>> loadResourcePagesFromAzure() {
+            return Collections.emptyIterator();
+        }
+
+        @Nullable
+        @Override
+        protected String loadResourceFromAzure(@Nonnull String name, @Nullable String resourceGroup) {
+            this.loads.incrementAndGet();
+            return "remote-of-" + name;
+        }
+
+        @Nonnull
+        @Override
+        protected FakeResource newResource(@Nonnull String remote) {
+            return new FakeResource(remote, this);
+        }
+
+        @Nonnull
+        @Override
+        protected FakeResource newResource(@Nonnull String name, @Nullable String resourceGroupName) {
+            return new FakeResource(name, this);
+        }
+    }
+
+    private static class FakeResource extends AbstractAzResource<FakeResource, AzResource.None, String> {
+        FakeResource(@Nonnull String name, @Nonnull FakeModule module) {
+            super(name, AzResource.RESOURCE_GROUP_PLACEHOLDER, module);
+        }
+
+        FakeResource(@Nonnull FakeResource origin) {
+            super(origin);
+        }
+
+        @Nonnull
+        @Override
+        protected String loadStatus(@Nonnull String remote) {
+            return Status.RUNNING;
+        }
+
+        @Nonnull
+        @Override
+        public List<AbstractAzResourceModule<?, ?, ?>> getSubModules() {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * response of local stand-in servers in tests.
+ */
+public class StubHttpResponse extends HttpResponse {
+    private final int status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    public StubHttpResponse(HttpRequest request, int status) {
+        this(request, status, new HttpHeaders());
+    }
+
+    public StubHttpResponse(HttpRequest request, int status, HttpHeaders headers) {
+        this(request, status, headers, new byte[0]);
+    }
+
+    public StubHttpResponse(HttpRequest request, int status, HttpHeaders headers, byte[] body) {
+        super(request);
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    @Override
+    public int getStatusCode() {
+        return this.status;
+    }
+
+    @Override
+    @Deprecated
+    public String getHeaderValue(String name) {
+        return this.headers.getValue(name);
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return this.headers;
+    }
+
+    @Override
+    public Flux<ByteBuffer> getBody() {
+        return this.body.length == 0 ? Flux.empty() : Flux.just(ByteBuffer.wrap(this.body));
+    }
+
+    @Override
+    public Mono<byte[]> getBodyAsByteArray() {
+        return this.body.length == 0 ? Mono.empty() : Mono.just(this.body);
+    }
+
+    @Override
+    public Mono<String> getBodyAsString() {
+        return this.getBodyAsString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Mono<String> getBodyAsString(Charset charset) {
+        return this.getBodyAsByteArray().map(b -> new String(b, charset));
+    }
+}
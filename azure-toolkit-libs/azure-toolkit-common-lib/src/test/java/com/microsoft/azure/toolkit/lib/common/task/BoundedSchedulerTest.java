@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.task;
+
+import org.junit.Test;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BoundedSchedulerTest {
+
+    @Test
+    public void testThreadsAreCapped() throws InterruptedException {
+        final BoundedScheduler scheduler = new BoundedScheduler("capped", 4);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(20);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        for (int i = 0; i < 20; i++) {
+            scheduler.schedule(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                await(release);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+        Thread.sleep(100);
+        final BoundedScheduler.Metrics saturated = scheduler.getMetrics();
+        assertEquals(4, saturated.getActiveThreads());
+        assertEquals(16, saturated.getQueueDepth());
+        assertTrue(scheduler.isSaturated());
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(4, peak.get());
+        Thread.sleep(50);
+        final BoundedScheduler.Metrics drained = scheduler.getMetrics();
+        assertFalse(scheduler.isSaturated());
+        assertEquals(0, drained.getQueueDepth());
+        assertEquals(20, drained.getCompleted());
+        assertTrue(drained.getMaxWait().toMillis() >= 100);
+        scheduler.dispose();
+    }
+
+    /**
+     * a burst of log streaming occupies all threads of its scheduler, but doesn't delay status loading.
+     */
+    @Test
+    public void testSubsystemsAreIsolated() throws InterruptedException {
+        final BoundedScheduler streaming = new BoundedScheduler("streaming-burst", 2);
+        final BoundedScheduler refresh = new BoundedScheduler("refresh-isolated", 2);
+        final CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 100; i++) {
+            streaming.schedule(() -> await(release));
+        }
+        final CountDownLatch loaded = new CountDownLatch(1);
+        final long start = System.nanoTime();
+        refresh.schedule(loaded::countDown);
+        assertTrue(loaded.await(1, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+        assertTrue(streaming.isSaturated());
+        assertFalse(refresh.isSaturated());
+        release.countDown();
+        streaming.dispose();
+        refresh.dispose();
+    }
+
+    @Test
+    public void testSlowTaskTriggersDump() throws InterruptedException {
+        final AtomicReference<String> dump = new AtomicReference<>();
+        final CountDownLatch dumped = new CountDownLatch(1);
+        final BoundedScheduler scheduler = new BoundedScheduler("slow", 1, Duration.ofMillis(50), (s, waited) -> {
+            if (dump.compareAndSet(null, s.getMetrics() + "\n" + s.dumpThreads())) {
+                dumped.countDown();
+            }
+        });
+        final CountDownLatch release = new CountDownLatch(1);
+        scheduler.schedule(() -> await(release));
+        scheduler.schedule(() -> {
+        });
+        Thread.sleep(100);
+        release.countDown();
+        assertTrue(dumped.await(1, TimeUnit.SECONDS));
+        assertTrue(dump.get().startsWith("slow: "));
+        assertTrue(dump.get().contains("\"azure-slow-1\""));
+        scheduler.dispose();
+    }
+
+    @Test
+    public void testDelayedTasks() throws InterruptedException {
+        final BoundedScheduler scheduler = new BoundedScheduler("delayed", 2);
+        final CountDownLatch ran = new CountDownLatch(1);
+        final long start = System.nanoTime();
+        scheduler.schedule(ran::countDown, 50, TimeUnit.MILLISECONDS);
+        final Disposable cancelled = scheduler.schedule(() -> {
+        }, 1, TimeUnit.HOURS);
+        assertEquals(2, scheduler.getMetrics().getScheduled());
+        cancelled.dispose();
+        assertEquals(1, scheduler.getMetrics().getScheduled());
+        assertTrue(ran.await(1, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+        scheduler.dispose();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
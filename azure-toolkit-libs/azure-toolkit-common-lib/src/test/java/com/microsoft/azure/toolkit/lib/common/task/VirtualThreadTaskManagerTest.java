@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.task;
+
+import com.microsoft.azure.toolkit.lib.common.operation.Operation;
+import com.microsoft.azure.toolkit.lib.common.operation.OperationThreadContext;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class VirtualThreadTaskManagerTest {
+
+    @Test
+    public void testOperationContextIsPropagated() throws Exception {
+        final VirtualThreadTaskManager manager = new VirtualThreadTaskManager(Thread::new);
+        final AzureTask<Operation> outer = new AzureTask<>("outer", () -> manager
+            .runOnPooledThread(() -> OperationThreadContext.current().currentOperation()).get());
+        final Operation operation = manager.runOnPooledThread(outer).get(5, TimeUnit.SECONDS);
+        assertSame(outer, operation);
+    }
+
+    @Test
+    public void testCancellingTaskCancelsTasksStartedFromIt() throws Exception {
+        final VirtualThreadTaskManager manager = new VirtualThreadTaskManager(Thread::new);
+        final CountDownLatch started = new CountDownLatch(2);
+        final AtomicBoolean childInterrupted = new AtomicBoolean();
+        final AtomicReference<CompletableFuture<Void>> child = new AtomicReference<>();
+        final AzureTask<Void> parent = new AzureTask<>(() -> {
+            child.set(manager.runOnPooledThread(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (final InterruptedException e) {
+                    childInterrupted.set(true);
+                }
+            }));
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (final InterruptedException ignored) {
+            }
+        });
+        final CompletableFuture<Void> future = manager.runOnPooledThread(parent);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        parent.getMonitor().cancel();
+        future.get(5, TimeUnit.SECONDS);
+        child.get().get(5, TimeUnit.SECONDS);
+        assertTrue(childInterrupted.get());
+        assertEquals(2, manager.getMetrics().getCancelled());
+    }
+
+    @Test
+    public void testTaskCancelledBeforeStartIsSkipped() {
+        final VirtualThreadTaskManager manager = new VirtualThreadTaskManager(r -> new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (final InterruptedException ignored) {
+            }
+            r.run();
+        }));
+        final AtomicBoolean ran = new AtomicBoolean();
+        final CompletableFuture<Void> future = manager.runOnPooledThread(() -> ran.set(true));
+        manager.cancelAll();
+        assertTrue(future.handle((r, e) -> future.isCancelled()).join());
+        assertFalse(ran.get());
+    }
+
+    /**
+     * 50k concurrent blocking calls (e.g. ARM requests), far beyond the cap of {@code boundedElastic}.
+     */
+    @Test
+    public void testConcurrentBlockingCalls() {
+        Assume.assumeTrue("requires Java 21+", VirtualThreadTaskManager.isSupported());
+        final VirtualThreadTaskManager manager = new VirtualThreadTaskManager();
+        final long start = System.nanoTime();
+        final List<CompletableFuture<Integer>> futures = IntStream.range(0, 50_000)
+            .mapToObj(i -> manager.runOnPooledThread(() -> {
+                Thread.sleep(200);
+                return i;
+            })).collect(Collectors.toList());
+        futures.forEach(CompletableFuture::join);
+        final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsed < 20_000);
+        assertEquals(50_000, manager.getMetrics().getCompleted());
+        assertTrue(manager.getMetrics().getPeakActive() > 10 * Runtime.getRuntime().availableProcessors());
+    }
+}
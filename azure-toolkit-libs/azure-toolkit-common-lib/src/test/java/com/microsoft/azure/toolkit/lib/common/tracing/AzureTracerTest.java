@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.tracing;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
+import com.microsoft.azure.toolkit.lib.common.model.StubHttpResponse;
+import com.microsoft.azure.toolkit.lib.common.operation.Operation;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
+import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AzureTracerTest {
+    private final InMemorySpanExporter exporter = new InMemorySpanExporter();
+
+    @Before
+    public void setUp() {
+        AzureTracer.addExporter(this.exporter);
+    }
+
+    @After
+    public void tearDown() {
+        AzureTracer.removeExporter(this.exporter);
+    }
+
+    @Test
+    public void testNestedOperations() throws InterruptedException {
+        Operation.execute(AzureString.fromString("internal/test.outer"), () -> {
+            sleep(20);
+            Operation.execute(AzureString.fromString("internal/test.inner"), () -> sleep(30), null);
+            sleep(20);
+        }, null);
+        AzureTracer.flush();
+
+        final Span outer = this.exporter.getSpan("internal/test.outer").orElseThrow(AssertionError::new);
+        final Span inner = this.exporter.getSpan("internal/test.inner").orElseThrow(AssertionError::new);
+        assertNull(outer.getParentSpanId());
+        assertEquals(outer.getSpanId(), inner.getParentSpanId());
+        assertEquals(outer.getTraceId(), inner.getTraceId());
+        assertEquals(Span.Status.OK, outer.getStatus());
+        assertTrue(inner.getStartEpochNanos() >= outer.getStartEpochNanos());
+        assertTrue(inner.getEndEpochNanos() <= outer.getEndEpochNanos());
+        assertTrue(inner.getDurationNanos() >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertTrue(outer.getDurationNanos() >= inner.getDurationNanos() + TimeUnit.MILLISECONDS.toNanos(40));
+        assertEquals("internal", outer.getAttributes().get(AzureTracer.OPERATION_TYPE));
+        assertFalse(inner.getAttributes().containsKey(AzureTracer.THREAD_HOP));
+    }
+
+    @Test
+    public void testSpansAreLinkedAcrossThreads() {
+        Operation.execute(AzureString.fromString("internal/test.submit"), () -> AzureTaskManager.getInstance()
+            .runOnPooledThread(new AzureTask<>(AzureString.fromString("internal/test.pooled"), () -> sleep(10))).join(), null);
+        AzureTracer.flush();
+
+        final Span submit = this.exporter.getSpan("internal/test.submit").orElseThrow(AssertionError::new);
+        final Span pooled = this.exporter.getSpan("internal/test.pooled").orElseThrow(AssertionError::new);
+        assertEquals(submit.getSpanId(), pooled.getParentSpanId());
+        assertEquals(submit.getTraceId(), pooled.getTraceId());
+        assertNotEquals(submit.getThreadId(), pooled.getThreadId());
+        assertEquals(true, pooled.getAttributes().get(AzureTracer.THREAD_HOP));
+        assertTrue(pooled.getAttributes().containsKey(AzureTracer.TASK_QUEUED_MS));
+    }
+
+    @Test
+    public void testFailedOperation() {
+        try {
+            Operation.execute(AzureString.fromString("internal/test.failed"), () -> {
+                throw new IllegalStateException("boom");
+            }, null);
+            fail("exception is expected.");
+        } catch (final Exception ignored) {
+        }
+        AzureTracer.flush();
+
+        final Span failed = this.exporter.getSpan("internal/test.failed").orElseThrow(AssertionError::new);
+        assertEquals(Span.Status.ERROR, failed.getStatus());
+        assertTrue(failed.getStatusMessage().contains("boom"));
+    }
+
+    @Test
+    public void testHttpCallsAreCounted() {
+        final HttpPipeline pipeline = new HttpPipelineBuilder()
+            .httpClient(request -> Mono.just(new StubHttpResponse(request, request.getUrl().getPath().endsWith("missing") ? 404 : 200,
+                new HttpHeaders().set("Content-Length", "100"))))
+            .policies(new TracingHttpPolicy())
+            .build();
+        Operation.execute(AzureString.fromString("internal/test.http"), () -> {
+            send(pipeline, "https://management.azure.com/found");
+            send(pipeline, "https://management.azure.com/found");
+            send(pipeline, "https://management.azure.com/missing");
+        }, null);
+        AzureTracer.flush();
+
+        final Map<String, Object> attributes = this.exporter.getSpan("internal/test.http").orElseThrow(AssertionError::new).getAttributes();
+        assertEquals(3L, attributes.get(TracingHttpPolicy.HTTP_CALLS));
+        assertEquals(1L, attributes.get(TracingHttpPolicy.HTTP_ERRORS));
+        assertEquals(300L, attributes.get(TracingHttpPolicy.HTTP_RESPONSE_BYTES));
+    }
+
+    @Test
+    public void testChromeTrace() throws IOException {
+        final Path file = Files.createTempFile("trace", ".json");
+        final ChromeTraceSpanExporter chrome = new ChromeTraceSpanExporter(file);
+        AzureTracer.addExporter(chrome);
+        try {
+            Operation.execute(AzureString.fromString("internal/test.chrome"), () -> AzureTaskManager.getInstance()
+                .runOnPooledThread(new AzureTask<>(AzureString.fromString("internal/test.chrome_pooled"), () -> sleep(1))).join(), null);
+        } finally {
+            AzureTracer.removeExporter(chrome);
+            chrome.close();
+        }
+
+        final List<Map<String, Object>> events = JsonUtils.fromJson(new String(Files.readAllBytes(file), StandardCharsets.UTF_8),
+            new TypeReference<List<Map<String, Object>>>() {
+            });
+        final List<Object> names = events.stream().filter(e -> "X".equals(e.get("ph"))).map(e -> e.get("name")).collect(Collectors.toList());
+        assertTrue(names.contains("internal/test.chrome"));
+        assertTrue(names.contains("internal/test.chrome_pooled"));
+        assertTrue(events.stream().anyMatch(e -> "s".equals(e.get("ph"))));
+        assertTrue(events.stream().anyMatch(e -> "f".equals(e.get("ph"))));
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testChromeTraceHopOfChildExportedBeforeParent() throws Exception {
+        final Span parent = new Span("internal/test.parent", null);
+        final Span[] child = new Span[1];
+        final Thread thread = new Thread(() -> child[0] = new Span("internal/test.child", parent));
+        thread.start();
+        thread.join();
+        child[0].end(null);
+        final Path file = Files.createTempFile("trace", ".json");
+        final ChromeTraceSpanExporter chrome = new ChromeTraceSpanExporter(file);
+        try {
+            // the parent hasn't ended yet, so it's exported in a later batch, if ever.
+            chrome.export(Collections.singletonList(child[0]));
+        } finally {
+            chrome.close();
+        }
+
+        final List<Map<String, Object>> events = JsonUtils.fromJson(new String(Files.readAllBytes(file), StandardCharsets.UTF_8),
+            new TypeReference<List<Map<String, Object>>>() {
+            });
+        final Map<String, Object> from = events.stream().filter(e -> "s".equals(e.get("ph"))).findFirst().orElseThrow(AssertionError::new);
+        final Map<String, Object> to = events.stream().filter(e -> "f".equals(e.get("ph"))).findFirst().orElseThrow(AssertionError::new);
+        assertEquals(parent.getThreadId(), ((Number) from.get("tid")).longValue());
+        assertEquals(child[0].getThreadId(), ((Number) to.get("tid")).longValue());
+        Files.deleteIfExists(file);
+    }
+
+    private static void send(HttpPipeline pipeline, String url) {
+        try {
+            final HttpResponse response = pipeline.send(new HttpRequest(HttpMethod.GET, new URL(url))).block();
+            assertTrue(response != null);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TailingDebouncerTest {
+    private static final int RESOURCES = 10_000;
+
+    /**
+     * 10k resources refreshed repeatedly, each fires only once after the last refreshing.
+     */
+    @Test
+    public void testManyDebouncersFireOnceEach() throws InterruptedException {
+        final AtomicInteger[] fired = new AtomicInteger[RESOURCES];
+        final CountDownLatch latch = new CountDownLatch(RESOURCES);
+        final List<TailingDebouncer> debouncers = new ArrayList<>();
+        for (int i = 0; i < RESOURCES; i++) {
+            final AtomicInteger counter = fired[i] = new AtomicInteger();
+            debouncers.add(new TailingDebouncer(() -> {
+                counter.incrementAndGet();
+                latch.countDown();
+            }, 100));
+        }
+        for (int round = 0; round < 10; round++) {
+            debouncers.forEach(TailingDebouncer::debounce);
+        }
+        assertTrue(debouncers.stream().allMatch(TailingDebouncer::isPending));
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        for (final AtomicInteger counter : fired) {
+            assertEquals(1, counter.get());
+        }
+        assertTrue(debouncers.stream().noneMatch(TailingDebouncer::isPending));
+    }
+
+    @Test
+    public void testDebounceMovesDeadline() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final TailingDebouncer debouncer = new TailingDebouncer(latch::countDown, 100);
+        final long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            debouncer.debounce();
+            Thread.sleep(50);
+        }
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 300);
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        final AtomicInteger fired = new AtomicInteger();
+        final TailingDebouncer debouncer = new TailingDebouncer(fired::incrementAndGet, 50);
+        debouncer.debounce();
+        debouncer.cancel();
+        assertFalse(debouncer.isPending());
+        Thread.sleep(200);
+        assertEquals(0, fired.get());
+    }
+
+    @Test
+    public void testDebounceInCallback() throws InterruptedException {
+        final AtomicInteger fired = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(3);
+        final TailingDebouncer[] debouncer = new TailingDebouncer[1];
+        debouncer[0] = new TailingDebouncer(() -> {
+            if (fired.incrementAndGet() < 3) {
+                debouncer[0].debounce();
+            }
+            latch.countDown();
+        }, 20);
+        debouncer[0].debounce();
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(3, fired.get());
+    }
+}
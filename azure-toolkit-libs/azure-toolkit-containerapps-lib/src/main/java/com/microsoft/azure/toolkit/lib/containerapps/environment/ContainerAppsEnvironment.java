@@ -37,6 +37,7 @@ import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.exception.StreamingDiagnosticsException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.Availability;
@@ -261,6 +262,7 @@ public class ContainerAppsEnvironment extends AbstractAzResource<ContainerAppsEn
             final FileBody fileBody = new FileBody(tarFile.toFile());
             final HttpEntity multipartEntity = MultipartEntityBuilder.create().addPart("file", fileBody).build();
             request.setEntity(multipartEntity);
+            final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("container_apps.source", AzureMetrics.UPLOAD);
             final CloseableHttpResponse response = httpClient.execute(request);
             final int code = response.getStatusLine().getStatusCode();
             if (code != 200) {
@@ -271,6 +273,7 @@ public class ContainerAppsEnvironment extends AbstractAzResource<ContainerAppsEn
                 }
                 throw new AzureToolkitRuntimeException(String.format("Error when uploading artifact/source code, request exited with %s", code));
             }
+            transfer.stop(dataFile.length());
         } catch (final Exception e) {
             throw new AzureToolkitRuntimeException("Error when uploading artifact/source code", e);
         }
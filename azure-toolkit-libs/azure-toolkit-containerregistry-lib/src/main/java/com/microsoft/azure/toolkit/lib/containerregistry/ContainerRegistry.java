@@ -28,6 +28,7 @@ import com.microsoft.azure.toolkit.lib.common.exception.StreamingDiagnosticsExce
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
+import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
 import com.microsoft.azure.toolkit.lib.common.model.Region;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.utils.StreamingLogSupport;
@@ -144,7 +145,7 @@ public class ContainerRegistry extends AbstractAzResource<ContainerRegistry, Azu
             // upload tar.gz file
             AzureMessager.getMessager().progress(AzureString.format("Uploading compressed source code to Registry '%s'.", this.getName()));
             final SourceUploadDefinition upload = r.getBuildSourceUploadUrl();
-            final BlockBlobClient blobClient = new SpecializedBlobClientBuilder().endpoint(upload.uploadUrl()).buildBlockBlobClient();
+            final BlockBlobClient blobClient = new SpecializedBlobClientBuilder().httpClient(AbstractAzServiceSubscription.getDefaultHttpClient()).endpoint(upload.uploadUrl()).buildBlockBlobClient();
             blobClient.upload(BinaryData.fromFile(sourceTar));
 
             AzureMessager.getMessager().progress(AzureString.format("Building image '%s' in Registry '%s'.", imageNameWithTag, this.getName()));
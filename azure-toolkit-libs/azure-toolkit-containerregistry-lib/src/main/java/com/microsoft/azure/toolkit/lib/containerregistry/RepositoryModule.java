@@ -9,6 +9,7 @@ import com.azure.containers.containerregistry.ContainerRegistryClient;
 import com.azure.containers.containerregistry.ContainerRegistryClientBuilder;
 import com.azure.containers.containerregistry.ContainerRepository;
 import com.azure.containers.containerregistry.models.ContainerRegistryAudience;
+import com.azure.core.credential.TokenCredential;
 import com.azure.core.management.AzureEnvironment;
 import com.azure.core.util.paging.ContinuablePage;
 import com.microsoft.azure.toolkit.lib.Azure;
@@ -16,6 +17,7 @@ import com.microsoft.azure.toolkit.lib.auth.Account;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.model.DataPlaneClients;
 import com.microsoft.azure.toolkit.lib.common.model.page.ItemPage;
 import lombok.SneakyThrows;
 
@@ -46,12 +48,14 @@ public class RepositoryModule extends AbstractAzResourceModule<Repository, Conta
         if (Objects.isNull(this.client) && this.parent.exists()) {
             final String endpoint = String.format("https://%s", this.getParent().getLoginServerUrl());
             final Account account = Azure.az(AzureAccount.class).account();
-            this.client = new ContainerRegistryClientBuilder()
+            final TokenCredential credential = account.getTokenCredential(this.getSubscriptionId());
+            this.client = DataPlaneClients.get(ContainerRegistryClient.class, endpoint, credential, http -> new ContainerRegistryClientBuilder()
+                .httpClient(http)
                 .endpoint(endpoint)
                 .audience(getAudience())
                 .addPolicy(AbstractAzServiceSubscription.getUserAgentPolicy())
-                .credential(account.getTokenCredential(this.getSubscriptionId()))
-                .buildClient();
+                .credential(credential)
+                .buildClient());
         }
         return this.client;
     }
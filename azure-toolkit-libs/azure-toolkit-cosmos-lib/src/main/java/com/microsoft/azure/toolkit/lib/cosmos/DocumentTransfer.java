@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+package com.microsoft.azure.toolkit.lib.cosmos;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * state of a bulk document import/export of a file:
+ * <ul>
+ *     <li>a checkpoint persisted next to the file ({@code <file>.checkpoint}), so that an interrupted transfer can be
+ *     resumed instead of started over. the checkpoint is of the target container, it's ignored when the file is
+ *     transferred from/to another one.</li>
+ *     <li>adaptive pacing: the delay between requests grows when the service throttles (429) and shrinks again when
+ *     requests succeed.</li>
+ * </ul>
+ */
+@Slf4j
+public class DocumentTransfer {
+    public static final int BATCH_SIZE = 500;
+    public static final int MAX_RETRIES = 10;
+    private static final Duration MIN_DELAY = Duration.ofMillis(50);
+    private static final Duration MAX_DELAY = Duration.ofSeconds(30);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Nonnull
+    @Getter
+    private final Path file;
+    @Nonnull
+    private final Path checkpoint;
+    /**
+     * id of the container/collection the file is transferred from/to.
+     */
+    @Nonnull
+    private final String target;
+    @Nonnull
+    private Duration delay = Duration.ZERO;
+    @Getter
+    private long throttled;
+
+    public DocumentTransfer(@Nonnull Path file, @Nonnull String target) {
+        this.file = file;
+        this.target = target;
+        this.checkpoint = file.resolveSibling(file.getFileName() + ".checkpoint");
+    }
+
+    /**
+     * reads documents from a NDJSON file or a file of a JSON array lazily, one by one.
+     */
+    @Nonnull
+    public MappingIterator<ObjectNode> readDocuments() throws IOException {
+        return MAPPER.readerFor(ObjectNode.class).readValues(this.file.toFile());
+    }
+
+    /**
+     * @return the checkpoint saved by a transfer of the same file and target, null if there is none.
+     */
+    @Nullable
+    public String loadCheckpoint() throws IOException {
+        if (!Files.exists(this.checkpoint)) {
+            return null;
+        }
+        // checkpoint: "<target>\n<value>"
+        final String[] lines = StringUtils.split(new String(Files.readAllBytes(this.checkpoint), StandardCharsets.UTF_8), "\n", 2);
+        if (lines.length < 2 || !StringUtils.equalsIgnoreCase(lines[0].trim(), this.target)) {
+            log.debug("ignore checkpoint of {}, which is not of {}.", this.file, this.target);
+            return null;
+        }
+        return StringUtils.trimToNull(lines[1]);
+    }
+
+    public void saveCheckpoint(@Nonnull String value) throws IOException {
+        final Path temp = this.checkpoint.resolveSibling(this.checkpoint.getFileName() + ".tmp");
+        Files.write(temp, (this.target + "\n" + value).getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, this.checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public void deleteCheckpoint() throws IOException {
+        Files.deleteIfExists(this.checkpoint);
+    }
+
+    /**
+     * waits before sending the next request according to how much the service throttled recently.
+     */
+    public void pace() {
+        if (this.delay.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(this.delay.toMillis());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AzureToolkitRuntimeException("document transfer is interrupted.", e);
+        }
+    }
+
+    /**
+     * @param attempt    how many times the current batch has been retried.
+     * @param retryAfter suggested by the service, nullable.
+     */
+    public void onThrottled(int attempt, @Nullable Duration retryAfter) {
+        if (attempt >= MAX_RETRIES) {
+            throw new AzureToolkitRuntimeException(String.format("request is still throttled after %s retries, please increase the throughput (RU/s) and resume.", attempt));
+        }
+        this.throttled++;
+        final Duration doubled = this.delay.isZero() ? MIN_DELAY : this.delay.multipliedBy(2);
+        final Duration suggested = Objects.isNull(retryAfter) ? Duration.ZERO : retryAfter;
+        final Duration next = doubled.compareTo(suggested) > 0 ? doubled : suggested;
+        this.delay = next.compareTo(MAX_DELAY) > 0 ? MAX_DELAY : next;
+        log.debug("throttled, delay of next request: {}", this.delay);
+    }
+
+    public void onSucceeded() {
+        final Duration halved = this.delay.dividedBy(2);
+        this.delay = halved.compareTo(MIN_DELAY) < 0 ? Duration.ZERO : halved;
+    }
+}
@@ -9,10 +9,27 @@ import com.microsoft.azure.toolkit.lib.common.action.Action;
 import com.microsoft.azure.toolkit.lib.common.model.AzResource;
 
 import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Path;
 
 public interface ICosmosDocumentContainer<T extends ICosmosDocument> extends AzResource {
     public static final Action.Id<ICosmosDocumentContainer<?>> IMPORT_DOCUMENT = Action.Id.of("user/cosmos.import_document.container");
     public static final Action.Id<ICosmosDocumentContainer<?>> CREATE_DOCUMENT = Action.Id.of("user/cosmos.create_document.container");
 
     T importDocument(@Nonnull final ObjectNode node);
+
+    /**
+     * imports (upserts) documents in {@code file} (NDJSON or JSON array) in batches, an interrupted import is resumed
+     * from where it stopped.
+     *
+     * @return count of documents imported.
+     */
+    long importDocuments(@Nonnull Path file) throws IOException;
+
+    /**
+     * exports all documents to {@code file} as NDJSON, an interrupted export is resumed from where it stopped.
+     *
+     * @return count of documents exported.
+     */
+    long exportDocuments(@Nonnull Path file) throws IOException;
 }
@@ -6,6 +6,7 @@
 package com.microsoft.azure.toolkit.lib.cosmos.mongo;
 
 import com.azure.resourcemanager.cosmos.fluent.models.MongoDBCollectionGetResultsInner;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
@@ -13,17 +14,42 @@ import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
+import com.microsoft.azure.toolkit.lib.cosmos.DocumentTransfer;
 import com.microsoft.azure.toolkit.lib.cosmos.ICosmosCollection;
 import com.microsoft.azure.toolkit.lib.cosmos.ICosmosDocumentContainer;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoCommandException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.WriteModel;
 import lombok.Getter;
 import org.apache.commons.collections4.IteratorUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
 import org.bson.types.ObjectId;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -33,6 +59,9 @@ import static com.microsoft.azure.toolkit.lib.cosmos.mongo.MongoDocumentModule.M
 
 public class MongoCollection extends AbstractAzResource<MongoCollection, MongoDatabase, MongoDBCollectionGetResultsInner>
         implements Deletable, ICosmosCollection, ICosmosDocumentContainer<MongoDocument> {
+    private static final int TOO_MANY_REQUESTS = 16500;
+    private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+    private static final JsonWriterSettings CHECKPOINT_SETTINGS = JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
 
     @Getter
     private com.mongodb.client.MongoCollection<Document> collection;
@@ -88,6 +117,108 @@ public class MongoCollection extends AbstractAzResource<MongoCollection, MongoDa
         return result;
     }
 
+    @Override
+    public long importDocuments(@Nonnull Path file) throws IOException {
+        final com.mongodb.client.MongoCollection<Document> client = Objects.requireNonNull(this.getClient(), "data client of collection is not available.");
+        final DocumentTransfer transfer = new DocumentTransfer(file, this.getId());
+        final long imported = NumberUtils.toLong(transfer.loadCheckpoint(), 0);
+        long count = 0;
+        try (MappingIterator<ObjectNode> documents = transfer.readDocuments()) {
+            final List<WriteModel<Document>> batch = new ArrayList<>(DocumentTransfer.BATCH_SIZE);
+            while (documents.hasNext()) {
+                final ObjectNode node = documents.next();
+                if (++count <= imported) {
+                    continue; // imported before interrupted.
+                }
+                final Document document = Document.parse(node.toString());
+                final Object id = document.get(MONGO_ID_KEY);
+                batch.add(Objects.isNull(id) ? new InsertOneModel<>(document) :
+                    new ReplaceOneModel<>(Filters.eq(MONGO_ID_KEY, id), document, new ReplaceOptions().upsert(true)));
+                if (batch.size() >= DocumentTransfer.BATCH_SIZE || !documents.hasNext()) {
+                    this.importBatch(client, batch, transfer);
+                    transfer.saveCheckpoint(String.valueOf(count));
+                    batch.clear();
+                }
+            }
+        }
+        transfer.deleteCheckpoint();
+        AzureMessager.getMessager().info(AzureString.format("Imported %s documents to Mongo collection %s (throttled %s times).", count - imported, this.getName(), transfer.getThrottled()));
+        this.documentModule.refresh();
+        return count - imported;
+    }
+
+    private void importBatch(@Nonnull com.mongodb.client.MongoCollection<Document> client, @Nonnull List<WriteModel<Document>> batch,
+                             @Nonnull DocumentTransfer transfer) {
+        List<WriteModel<Document>> models = batch;
+        for (int attempt = 0; !models.isEmpty(); attempt++) {
+            transfer.pace();
+            try {
+                client.bulkWrite(models, new BulkWriteOptions().ordered(false));
+                transfer.onSucceeded();
+                return;
+            } catch (final MongoCommandException e) { // the whole request is throttled.
+                if (e.getErrorCode() != TOO_MANY_REQUESTS) {
+                    throw e;
+                }
+                transfer.onThrottled(attempt, null);
+            } catch (final MongoBulkWriteException e) {
+                final List<WriteModel<Document>> throttled = new ArrayList<>();
+                for (final BulkWriteError error : e.getWriteErrors()) {
+                    if (error.getCode() != TOO_MANY_REQUESTS) {
+                        throw new AzureToolkitRuntimeException(String.format("failed to import document: %s", error.getMessage()), e);
+                    }
+                    throttled.add(models.get(error.getIndex()));
+                }
+                transfer.onThrottled(attempt, null);
+                models = throttled;
+            }
+        }
+    }
+
+    @Override
+    public long exportDocuments(@Nonnull Path file) throws IOException {
+        final com.mongodb.client.MongoCollection<Document> client = Objects.requireNonNull(this.getClient(), "data client of collection is not available.");
+        final DocumentTransfer transfer = new DocumentTransfer(file, this.getId());
+        // checkpoint: "<size of exported content> <last exported _id in extended json, e.g. {"_id": {"$oid": "..."}}>"
+        final String[] checkpoint = StringUtils.split(StringUtils.defaultString(transfer.loadCheckpoint()), " ", 2);
+        final long size = checkpoint.length > 0 ? NumberUtils.toLong(checkpoint[0], 0) : 0;
+        Object lastId = checkpoint.length > 1 ? Document.parse(checkpoint[1]).get(MONGO_ID_KEY) : null;
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1))) {
+            channel.truncate(size).position(size);
+            for (int attempt = 0; ; ) {
+                // resumes after the last exported `_id` rather than `skip(n)`, which costs RUs of all skipped documents.
+                final Bson filter = Objects.isNull(lastId) ? new Document() : Filters.gt(MONGO_ID_KEY, lastId);
+                try (MongoCursor<Document> cursor = client.find(filter).sort(Sorts.ascending(MONGO_ID_KEY))
+                    .batchSize(DocumentTransfer.BATCH_SIZE).iterator()) {
+                    while (cursor.hasNext()) {
+                        final Document document = cursor.next();
+                        writer.write(document.toJson(JSON_SETTINGS));
+                        writer.write('\n');
+                        lastId = document.get(MONGO_ID_KEY);
+                        if (++count % DocumentTransfer.BATCH_SIZE == 0) {
+                            writer.flush();
+                            transfer.saveCheckpoint(channel.position() + " " + new Document(MONGO_ID_KEY, lastId).toJson(CHECKPOINT_SETTINGS));
+                            transfer.onSucceeded();
+                            attempt = 0;
+                        }
+                    }
+                    break;
+                } catch (final MongoCommandException e) { // throttled when fetching the next batch, continue after the last `_id`.
+                    if (e.getErrorCode() != TOO_MANY_REQUESTS) {
+                        throw e;
+                    }
+                    transfer.onThrottled(attempt++, null);
+                    transfer.pace();
+                }
+            }
+        }
+        transfer.deleteCheckpoint();
+        AzureMessager.getMessager().info(AzureString.format("Exported %s documents from Mongo collection %s.", count, this.getName()));
+        return count;
+    }
+
     @Nullable
     public String getSharedKey() {
         return Optional.ofNullable(getRemote())
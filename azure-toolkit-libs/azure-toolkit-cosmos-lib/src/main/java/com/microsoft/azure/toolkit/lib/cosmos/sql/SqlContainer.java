@@ -6,25 +6,50 @@ package com.microsoft.azure.toolkit.lib.cosmos.sql;
 
 import com.azure.cosmos.CosmosClient;
 import com.azure.cosmos.CosmosContainer;
+import com.azure.cosmos.models.CosmosBulkExecutionOptions;
+import com.azure.cosmos.models.CosmosBulkItemResponse;
+import com.azure.cosmos.models.CosmosBulkOperationResponse;
+import com.azure.cosmos.models.CosmosBulkOperations;
 import com.azure.cosmos.models.CosmosContainerResponse;
+import com.azure.cosmos.models.CosmosItemOperation;
+import com.azure.cosmos.models.CosmosQueryRequestOptions;
+import com.azure.cosmos.models.FeedResponse;
 import com.azure.resourcemanager.cosmos.fluent.models.SqlContainerGetResultsInner;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
+import com.microsoft.azure.toolkit.lib.cosmos.DocumentTransfer;
 import com.microsoft.azure.toolkit.lib.cosmos.ICosmosCollection;
 import com.microsoft.azure.toolkit.lib.cosmos.ICosmosDocumentContainer;
 import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.http.HttpStatus;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static com.microsoft.azure.toolkit.lib.cosmos.sql.SqlDocumentModule.ID;
 
@@ -78,6 +103,105 @@ public class SqlContainer extends AbstractAzResource<SqlContainer, SqlDatabase,
         return result;
     }
 
+    @Override
+    public long importDocuments(@Nonnull Path file) throws IOException {
+        final CosmosContainer client = Objects.requireNonNull(this.getClient(), "data client of container is not available.");
+        final DocumentTransfer transfer = new DocumentTransfer(file, this.getId());
+        final long imported = NumberUtils.toLong(transfer.loadCheckpoint(), 0);
+        long count = 0;
+        try (MappingIterator<ObjectNode> documents = transfer.readDocuments()) {
+            final List<ObjectNode> batch = new ArrayList<>(DocumentTransfer.BATCH_SIZE);
+            while (documents.hasNext()) {
+                final ObjectNode document = documents.next();
+                if (++count <= imported) {
+                    continue; // imported before interrupted.
+                }
+                batch.add(document);
+                if (batch.size() >= DocumentTransfer.BATCH_SIZE || !documents.hasNext()) {
+                    this.importBatch(client, batch, transfer);
+                    transfer.saveCheckpoint(String.valueOf(count));
+                    batch.clear();
+                }
+            }
+        }
+        transfer.deleteCheckpoint();
+        AzureMessager.getMessager().info(AzureString.format("Imported %s documents to Cosmos container %s (throttled %s times).", count - imported, this.getName(), transfer.getThrottled()));
+        this.getDocumentModule().refresh();
+        return count - imported;
+    }
+
+    private void importBatch(@Nonnull CosmosContainer client, @Nonnull List<ObjectNode> batch, @Nonnull DocumentTransfer transfer) {
+        List<CosmosItemOperation> operations = toUpsertOperations(batch, getPartitionKey());
+        for (int attempt = 0; !operations.isEmpty(); attempt++) {
+            transfer.pace();
+            final List<CosmosItemOperation> throttled = new ArrayList<>();
+            Duration retryAfter = Duration.ZERO;
+            for (final CosmosBulkOperationResponse<Object> result : client.<Object>executeBulkOperations(operations, new CosmosBulkExecutionOptions())) {
+                final CosmosBulkItemResponse response = result.getResponse();
+                if (Objects.nonNull(response) && response.isSuccessStatusCode()) {
+                    continue;
+                }
+                if (Objects.nonNull(response) && response.getStatusCode() == HttpStatus.SC_TOO_MANY_REQUESTS) {
+                    throttled.add(result.getOperation());
+                    retryAfter = response.getRetryAfterDuration().compareTo(retryAfter) > 0 ? response.getRetryAfterDuration() : retryAfter;
+                    continue;
+                }
+                final String reason = Objects.nonNull(result.getException()) ? result.getException().getMessage() :
+                    Optional.ofNullable(response).map(r -> String.valueOf(r.getStatusCode())).orElse("unknown");
+                throw new AzureToolkitRuntimeException(String.format("failed to import document (%s): %s", result.getOperation().getId(), reason));
+            }
+            if (throttled.isEmpty()) {
+                transfer.onSucceeded();
+            } else {
+                transfer.onThrottled(attempt, retryAfter);
+            }
+            operations = throttled;
+        }
+    }
+
+    @Nonnull
+    static List<CosmosItemOperation> toUpsertOperations(@Nonnull List<ObjectNode> documents, @Nullable String partitionKeyPath) {
+        return documents.stream().map(node -> {
+            if (node.get(ID) == null) {
+                node.put(ID, UUID.randomUUID().toString());
+            }
+            // e.g. number 1 and string "1" are different partition keys.
+            return CosmosBulkOperations.getUpsertItemOperation(node, SqlDocumentModule.getPartitionKey(node, partitionKeyPath));
+        }).collect(Collectors.toList());
+    }
+
+    @Override
+    public long exportDocuments(@Nonnull Path file) throws IOException {
+        final CosmosContainer client = Objects.requireNonNull(this.getClient(), "data client of container is not available.");
+        final DocumentTransfer transfer = new DocumentTransfer(file, this.getId());
+        // checkpoint: "<size of exported content> <continuation token of next page>"
+        final String[] checkpoint = StringUtils.split(StringUtils.defaultString(transfer.loadCheckpoint()), " ", 2);
+        final long size = checkpoint.length > 0 ? NumberUtils.toLong(checkpoint[0], 0) : 0;
+        final String continuationToken = checkpoint.length > 1 ? checkpoint[1] : null;
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1))) {
+            channel.truncate(size).position(size);
+            final Iterable<FeedResponse<ObjectNode>> pages = client.queryItems("select * from c", new CosmosQueryRequestOptions(), ObjectNode.class)
+                .iterableByPage(continuationToken, DocumentTransfer.BATCH_SIZE);
+            for (final FeedResponse<ObjectNode> page : pages) {
+                for (final ObjectNode document : page.getResults()) {
+                    document.remove(Arrays.asList(SqlDocument.HIDE_FIELDS));
+                    writer.write(document.toString());
+                    writer.write('\n');
+                    count++;
+                }
+                writer.flush();
+                if (StringUtils.isNotBlank(page.getContinuationToken())) {
+                    transfer.saveCheckpoint(channel.position() + " " + page.getContinuationToken());
+                }
+            }
+        }
+        transfer.deleteCheckpoint();
+        AzureMessager.getMessager().info(AzureString.format("Exported %s documents from Cosmos container %s.", count, this.getName()));
+        return count;
+    }
+
     public String getPartitionKey() {
         return Optional.ofNullable(this.containerResponse)
                 .map(CosmosContainerResponse::getProperties)
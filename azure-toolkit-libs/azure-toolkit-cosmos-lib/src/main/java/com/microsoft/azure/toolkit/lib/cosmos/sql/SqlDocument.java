@@ -7,6 +7,7 @@ package com.microsoft.azure.toolkit.lib.cosmos.sql;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
@@ -55,7 +56,7 @@ public class SqlDocument extends AbstractAzResource<SqlDocument, SqlContainer, O
     @Override
     @Nullable
     public ObjectNode getDocument() {
-        return Optional.ofNullable(getRemote()).map(remote -> {
+        return Optional.ofNullable(getFullRemote()).map(remote -> {
             final ObjectNode node = remote.deepCopy();
             for (final String field : HIDE_FIELDS) {
                 node.remove(field);
@@ -64,6 +65,33 @@ public class SqlDocument extends AbstractAzResource<SqlDocument, SqlContainer, O
         }).orElse(null);
     }
 
+    @Override
+    public String getDocumentDisplayName() {
+        // label fields are included in document summaries, no need to load the full document.
+        final ObjectNode remote = this.getRemote();
+        for (final String label : Azure.az().config().getDocumentsLabelFields()) {
+            if (remote != null && remote.has(label)) {
+                return remote.get(label).asText();
+            }
+        }
+        return Optional.ofNullable(getDocumentId()).orElse("Unknown");
+    }
+
+    /**
+     * documents are listed as summaries (see {@link SqlDocumentModule#getProjectionQuery()}), the full document is
+     * loaded on first access.
+     */
+    @Nullable
+    private ObjectNode getFullRemote() {
+        final ObjectNode remote = this.getRemote();
+        if (Objects.nonNull(remote) && SqlDocumentModule.isSummary(remote)) {
+            final ObjectNode full = ((SqlDocumentModule) this.getModule()).hydrate(remote);
+            this.setRemote(full);
+            return full;
+        }
+        return remote;
+    }
+
     @Nonnull
     @Override
     public List<AbstractAzResourceModule<?, ?, ?>> getSubModules() {
@@ -9,12 +9,16 @@ import com.azure.core.util.paging.ContinuablePage;
 import com.azure.cosmos.CosmosContainer;
 import com.azure.cosmos.models.CosmosItemRequestOptions;
 import com.azure.cosmos.models.CosmosQueryRequestOptions;
+import com.azure.cosmos.models.FeedResponse;
 import com.azure.cosmos.models.PartitionKey;
 import com.azure.resourcemanager.resources.fluentcore.arm.ResourceId;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.AzResource;
+import com.microsoft.azure.toolkit.lib.common.model.AzResourceId;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import lombok.SneakyThrows;
 import org.apache.commons.lang3.StringUtils;
@@ -23,15 +27,22 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class SqlDocumentModule extends AbstractAzResourceModule<SqlDocument, SqlContainer, ObjectNode> {
 
     public static final String DELIMITER = "#";
     public static final String ID = "id";
+    public static final String TS = "_ts";
+    public static final String ETAG = "_etag";
+    public static final String RID = "_rid";
     public static final String NONE = "$$$none$$$";
 
     public SqlDocumentModule(@Nonnull SqlContainer parent) {
@@ -45,28 +56,113 @@ public class SqlDocumentModule extends AbstractAzResourceModule<SqlDocument, Sql
         if (client == null) {
             return Collections.emptyIterator();
         }
-        return client.queryItems("select * from c", new CosmosQueryRequestOptions(), ObjectNode.class)
+        return client.queryItems(getProjectionQuery(), new CosmosQueryRequestOptions(), ObjectNode.class)
             .iterableByPage(getPageSize()).iterator();
     }
 
+    /**
+     * loads a page of document summaries (see {@link #getProjectionQuery()}), use {@link FeedResponse#getContinuationToken()}
+     * of the returned page to load the next page.
+     *
+     * @param continuationToken null to load the first page.
+     */
     @Nullable
-    @Override
-    @SneakyThrows(UnsupportedEncodingException.class)
-    protected ObjectNode loadResourceFromAzure(@Nonnull String name, @Nullable String resourceGroup) {
-        // workaround to fix the name by be encoded which will make split by DELIMITER failed
-        final String decodedName = URLDecoder.decode(name, "UTF-8");
-        final String[] split = decodedName.split(DELIMITER);
-        if (split.length > 2) {
+    public FeedResponse<ObjectNode> loadDocumentSummaries(@Nullable String continuationToken, int pageSize) {
+        final CosmosContainer client = getClient();
+        if (client == null) {
             return null;
         }
-        final String id = split[0];
-        final String partitionKeyValue = split.length > 1 ? split[1] : StringUtils.EMPTY;
-        final PartitionKey partitionKey = StringUtils.equals(partitionKeyValue, NONE) ? PartitionKey.NONE : new PartitionKey(partitionKeyValue);
+        final Iterator<FeedResponse<ObjectNode>> pages = client.queryItems(getProjectionQuery(), new CosmosQueryRequestOptions(), ObjectNode.class)
+            .iterableByPage(continuationToken, pageSize).iterator();
+        return pages.hasNext() ? pages.next() : null;
+    }
+
+    /**
+     * documents are listed as summaries with only the fields needed to identify and display them: id, top level
+     * field of the partition key, {@code _ts}, {@code _etag} and the label fields. full bodies are loaded lazily by
+     * {@link SqlDocument#getDocument()}.
+     */
+    @Nonnull
+    String getProjectionQuery() {
+        final Set<String> fields = new LinkedHashSet<>(Arrays.asList(ID, TS, ETAG));
+        Optional.ofNullable(getParent().getPartitionKey())
+            .map(path -> StringUtils.substringBefore(StringUtils.removeStart(path, "/"), "/"))
+            .filter(StringUtils::isNotBlank)
+            .ifPresent(fields::add);
+        fields.addAll(Azure.az().config().getDocumentsLabelFields());
+        return fields.stream().map(f -> String.format("c[\"%s\"]", f.replace("\\", "\\\\").replace("\"", "\\\"")))
+            .collect(Collectors.joining(", ", "select ", " from c"));
+    }
+
+    /**
+     * @return true if {@code node} is a document summary rather than a full document.
+     */
+    static boolean isSummary(@Nonnull ObjectNode node) {
+        return !node.has(RID);
+    }
+
+    /**
+     * @return the full document of {@code document} if it's a summary, or {@code document} itself.
+     */
+    @Nullable
+    ObjectNode hydrate(@Nonnull ObjectNode document) {
+        if (!isSummary(document)) {
+            return document;
+        }
+        return this.loadDocument(document.get(ID).asText(), getPartitionKey(document, getParent().getPartitionKey()));
+    }
+
+    @Nullable
+    @Override
+    protected ObjectNode loadResourceFromAzure(@Nonnull String name, @Nullable String resourceGroup) {
+        final String[] split = splitResourceName(name);
+        return this.loadDocument(split[0], getPartitionKey(split));
+    }
+
+    @Nullable
+    private ObjectNode loadDocument(@Nonnull String id, @Nonnull PartitionKey partitionKey) {
         return Optional.ofNullable(getClient())
             .map(client -> client.readItem(id, partitionKey, ObjectNode.class).getItem())
             .orElse(null);
     }
 
+    /**
+     * @return id and (text of) partition key value in resource name {@code <id>#<partition key value>}.
+     */
+    @Nonnull
+    @SneakyThrows(UnsupportedEncodingException.class)
+    static String[] splitResourceName(@Nonnull String name) {
+        // workaround to fix the name by be encoded which will make split by DELIMITER failed
+        final String decodedName = URLDecoder.decode(name, "UTF-8");
+        // id can't contain "#" but partition key values can.
+        return decodedName.split(DELIMITER, 2);
+    }
+
+    @Nonnull
+    private static PartitionKey getPartitionKey(@Nonnull String[] split) {
+        final String partitionKeyValue = split.length > 1 ? split[1] : StringUtils.EMPTY;
+        return StringUtils.equals(partitionKeyValue, NONE) ? PartitionKey.NONE : new PartitionKey(partitionKeyValue);
+    }
+
+    /**
+     * @return partition key of {@code document} with the JSON type of its value kept, e.g. number {@code 1} and
+     * string {@code "1"} are different partition keys.
+     */
+    @Nonnull
+    public static PartitionKey getPartitionKey(@Nonnull JsonNode document, @Nullable String partitionKeyPath) {
+        final JsonNode value = StringUtils.isBlank(partitionKeyPath) ? MissingNode.getInstance() : document.at(partitionKeyPath);
+        if (value.isMissingNode()) {
+            return PartitionKey.NONE;
+        } else if (value.isNull()) {
+            return new PartitionKey((Object) null);
+        } else if (value.isNumber()) {
+            return new PartitionKey(value.doubleValue());
+        } else if (value.isBoolean()) {
+            return new PartitionKey(value.booleanValue());
+        }
+        return new PartitionKey(value.asText());
+    }
+
     @Nullable
     public SqlDocument get(@Nonnull String id, @Nonnull String partitionKey, @Nullable String resourceGroup) {
         return super.get(getSqlDocumentResourceName(id, partitionKey), resourceGroup);
@@ -91,9 +187,19 @@ public class SqlDocumentModule extends AbstractAzResourceModule<SqlDocument, Sql
     @Override
     @AzureOperation(name = "azure/cosmos.delete_sql_document.document", params = {"nameFromResourceId(resourceId)"})
     protected void deleteResourceFromAzure(@Nonnull String resourceId) {
-        final ResourceId id = ResourceId.fromString(resourceId);
-        final ObjectNode node = loadResourceFromAzure(id.name(), id.resourceGroupName());
-        Optional.ofNullable(getClient()).ifPresent(client -> client.deleteItem(node, new CosmosItemRequestOptions()));
+        final String[] split = splitResourceName(ResourceId.fromString(resourceId).name());
+        // delete by id and partition key directly, no need to read the document first. the cached document (summary
+        // or full) keeps the type of the partition key value, the resource name only keeps its text.
+        final PartitionKey partitionKey = Optional.ofNullable(this.getCachedDocument(resourceId))
+            .map(document -> getPartitionKey(document, getParent().getPartitionKey()))
+            .orElseGet(() -> getPartitionKey(split));
+        Optional.ofNullable(getClient()).ifPresent(client -> client.deleteItem(split[0], partitionKey, new CosmosItemRequestOptions()));
+    }
+
+    @Nullable
+    ObjectNode getCachedDocument(@Nonnull String resourceId) {
+        return Optional.ofNullable(this.resources.get(AzResourceId.fromString(resourceId))).flatMap(r -> r)
+            .map(SqlDocument::getRemote).orElse(null);
     }
 
     @Nonnull
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.cosmos;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DocumentTransferTest {
+    private static final String CONTAINER = "/subscriptions/00000000-0000-0000-0000-000000000000/resourceGroups/rg/providers/Microsoft.DocumentDB/databaseAccounts/account/sqlDatabases/db/containers/c1";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCheckpointSurvivesRestart() throws Exception {
+        final Path file = this.folder.newFile("documents.json").toPath();
+        final DocumentTransfer transfer = new DocumentTransfer(file, CONTAINER);
+        assertNull(transfer.loadCheckpoint());
+        transfer.saveCheckpoint("500");
+        transfer.saveCheckpoint("1000");
+
+        // a new transfer of the same file resumes from the last checkpoint.
+        final DocumentTransfer resumed = new DocumentTransfer(file, CONTAINER);
+        assertEquals("1000", resumed.loadCheckpoint());
+        resumed.deleteCheckpoint();
+        assertNull(new DocumentTransfer(file, CONTAINER).loadCheckpoint());
+    }
+
+    @Test
+    public void testCheckpointOfOtherContainerIsIgnored() throws Exception {
+        final Path file = this.folder.newFile("documents.json").toPath();
+        new DocumentTransfer(file, CONTAINER).saveCheckpoint("1000");
+        // e.g. the same file is imported to another container.
+        final DocumentTransfer other = new DocumentTransfer(file, StringUtils.removeEnd(CONTAINER, "c1") + "c2");
+        assertNull(other.loadCheckpoint());
+        other.saveCheckpoint("500");
+        assertEquals("500", other.loadCheckpoint());
+        assertNull(new DocumentTransfer(file, CONTAINER).loadCheckpoint());
+    }
+
+    @Test
+    public void testReadNdjsonAndArray() throws Exception {
+        final Path ndjson = this.folder.newFile("documents.ndjson").toPath();
+        Files.write(ndjson, Arrays.asList("{\"id\": \"doc-1\"}", "{\"id\": \"doc-2\"}"), StandardCharsets.UTF_8);
+        final Path array = this.folder.newFile("documents.json").toPath();
+        Files.write(array, "[{\"id\": \"doc-1\"}, {\"id\": \"doc-2\"}]".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(Arrays.asList("doc-1", "doc-2"), ids(new DocumentTransfer(ndjson, CONTAINER)));
+        assertEquals(Arrays.asList("doc-1", "doc-2"), ids(new DocumentTransfer(array, CONTAINER)));
+    }
+
+    @Test
+    public void testGiveUpAfterMaxRetries() throws Exception {
+        final DocumentTransfer transfer = new DocumentTransfer(this.folder.newFile("documents.json").toPath(), CONTAINER);
+        for (int attempt = 0; attempt < DocumentTransfer.MAX_RETRIES; attempt++) {
+            transfer.onThrottled(attempt, Duration.ZERO);
+        }
+        assertEquals(DocumentTransfer.MAX_RETRIES, transfer.getThrottled());
+        try {
+            transfer.onThrottled(DocumentTransfer.MAX_RETRIES, null);
+            fail("should give up");
+        } catch (final AzureToolkitRuntimeException e) {
+            assertTrue(e.getMessage().contains("resume"));
+        }
+    }
+
+    private static List<String> ids(DocumentTransfer transfer) throws Exception {
+        final List<String> result = new ArrayList<>();
+        try (MappingIterator<ObjectNode> documents = transfer.readDocuments()) {
+            documents.forEachRemaining(d -> result.add(d.get("id").asText()));
+        }
+        return result;
+    }
+}
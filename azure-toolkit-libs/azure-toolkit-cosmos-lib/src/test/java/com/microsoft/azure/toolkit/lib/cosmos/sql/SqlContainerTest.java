@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.cosmos.sql;
+
+import com.azure.cosmos.CosmosContainer;
+import com.azure.cosmos.models.CosmosBulkExecutionOptions;
+import com.azure.cosmos.models.CosmosBulkItemResponse;
+import com.azure.cosmos.models.CosmosBulkOperationResponse;
+import com.azure.cosmos.models.CosmosItemOperation;
+import com.azure.cosmos.models.PartitionKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.toolkit.lib.cosmos.DocumentTransfer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SqlContainerTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String CONTAINER = "/subscriptions/00000000-0000-0000-0000-000000000000/resourceGroups/rg/providers/Microsoft.DocumentDB/databaseAccounts/account/sqlDatabases/db/containers/c1";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SqlContainer container;
+    private List<String> imported;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        this.imported = new ArrayList<>();
+        final CosmosContainer client = mock(CosmosContainer.class);
+        when(client.executeBulkOperations(anyList(), any(CosmosBulkExecutionOptions.class))).thenAnswer(invocation -> {
+            final List<CosmosItemOperation> operations = invocation.getArgument(0);
+            return operations.stream().map(operation -> {
+                this.imported.add(operation.getId());
+                final CosmosBulkItemResponse response = mock(CosmosBulkItemResponse.class);
+                when(response.isSuccessStatusCode()).thenReturn(true);
+                final CosmosBulkOperationResponse<Object> result = mock(CosmosBulkOperationResponse.class);
+                when(result.getResponse()).thenReturn(response);
+                when(result.getOperation()).thenReturn(operation);
+                return result;
+            }).collect(Collectors.toList());
+        });
+        this.container = mock(SqlContainer.class);
+        when(this.container.getClient()).thenReturn(client);
+        when(this.container.getId()).thenReturn(CONTAINER);
+        when(this.container.getPartitionKey()).thenReturn("/tenant");
+        when(this.container.getDocumentModule()).thenReturn(mock(SqlDocumentModule.class));
+        doCallRealMethod().when(this.container).importDocuments(any(Path.class));
+    }
+
+    @Test
+    public void testNumericPartitionKeyIsNotImportedAsString() throws Exception {
+        final List<ObjectNode> documents = Arrays.asList(
+            json("{\"id\": \"doc-1\", \"tenant\": 1}"),
+            json("{\"id\": \"doc-2\", \"tenant\": \"1\"}"),
+            json("{\"id\": \"doc-3\", \"tenant\": false}"),
+            json("{\"id\": \"doc-4\"}"));
+        final List<CosmosItemOperation> operations = SqlContainer.toUpsertOperations(documents, "/tenant");
+        assertEquals(new PartitionKey(1d), operations.get(0).getPartitionKeyValue());
+        assertEquals(new PartitionKey("1"), operations.get(1).getPartitionKeyValue());
+        assertEquals(new PartitionKey(false), operations.get(2).getPartitionKeyValue());
+        assertEquals(PartitionKey.NONE, operations.get(3).getPartitionKeyValue());
+    }
+
+    @Test
+    public void testDocumentsWithoutIdAreAssignedOne() throws Exception {
+        final ObjectNode document = json("{\"tenant\": 1}");
+        SqlContainer.toUpsertOperations(Arrays.asList(document), "/tenant");
+        assertNotNull(document.get(SqlDocumentModule.ID));
+    }
+
+    @Test
+    public void testImportIsResumedFromCheckpoint() throws Exception {
+        final Path file = this.folder.newFile("documents.json").toPath();
+        Files.write(file, Arrays.asList(
+            "{\"id\": \"doc-1\", \"tenant\": 1}",
+            "{\"id\": \"doc-2\", \"tenant\": 2}",
+            "{\"id\": \"doc-3\", \"tenant\": 3}"), StandardCharsets.UTF_8);
+        final DocumentTransfer transfer = new DocumentTransfer(file, CONTAINER);
+        transfer.saveCheckpoint("2"); // interrupted after 2 documents were imported.
+
+        assertEquals(1, this.container.importDocuments(file));
+        assertEquals(Arrays.asList("doc-3"), this.imported);
+        assertNull(transfer.loadCheckpoint());
+    }
+
+    @Test
+    public void testImportWithoutCheckpointImportsAll() throws Exception {
+        final Path file = this.folder.newFile("documents.json").toPath();
+        Files.write(file, "[{\"id\": \"doc-1\", \"tenant\": 1}, {\"id\": \"doc-2\", \"tenant\": 2}]".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(2, this.container.importDocuments(file));
+        assertEquals(Arrays.asList("doc-1", "doc-2"), this.imported);
+    }
+
+    private static ObjectNode json(String json) throws Exception {
+        return (ObjectNode) MAPPER.readTree(json);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.cosmos.sql;
+
+import com.azure.cosmos.CosmosContainer;
+import com.azure.cosmos.models.CosmosItemRequestOptions;
+import com.azure.cosmos.models.CosmosItemResponse;
+import com.azure.cosmos.models.PartitionKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SqlDocumentModuleTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String CONTAINER_ID = "/subscriptions/sid/resourceGroups/rg/providers/Microsoft.DocumentDB/databaseAccounts/account/sqlDatabases/db/containers/c";
+
+    private CosmosContainer client;
+    private SqlDocumentModule module;
+
+    @Before
+    public void setUp() {
+        final SqlContainer container = mock(SqlContainer.class);
+        this.client = mock(CosmosContainer.class);
+        when(container.getPartitionKey()).thenReturn("/tenant");
+        when(container.getClient()).thenReturn(this.client);
+        this.module = spy(new SqlDocumentModule(container));
+    }
+
+    @Test
+    public void testSummaryIsHydratedWithTypedPartitionKey() throws Exception {
+        final ObjectNode summary = json("{\"id\": \"doc-1\", \"tenant\": 1, \"_ts\": 1}");
+        final ObjectNode full = json("{\"id\": \"doc-1\", \"tenant\": 1, \"_ts\": 1, \"_rid\": \"rid\", \"body\": \"...\"}");
+        @SuppressWarnings("unchecked") final CosmosItemResponse<ObjectNode> response = mock(CosmosItemResponse.class);
+        when(response.getItem()).thenReturn(full);
+        when(this.client.readItem(eq("doc-1"), eq(new PartitionKey(1d)), eq(ObjectNode.class))).thenReturn(response);
+
+        assertTrue(SqlDocumentModule.isSummary(summary));
+        assertFalse(SqlDocumentModule.isSummary(full));
+        assertSame(full, this.module.hydrate(summary));
+    }
+
+    @Test
+    public void testFullDocumentIsNotReloaded() throws Exception {
+        final ObjectNode full = json("{\"id\": \"doc-1\", \"tenant\": \"t\", \"_rid\": \"rid\"}");
+        assertSame(full, this.module.hydrate(full));
+        verify(this.client, never()).readItem(anyString(), any(PartitionKey.class), eq(ObjectNode.class));
+    }
+
+    @Test
+    public void testTypedPartitionKey() throws Exception {
+        assertEquals(new PartitionKey(1d), SqlDocumentModule.getPartitionKey(json("{\"tenant\": 1}"), "/tenant"));
+        assertEquals(new PartitionKey(true), SqlDocumentModule.getPartitionKey(json("{\"tenant\": true}"), "/tenant"));
+        assertEquals(new PartitionKey("1"), SqlDocumentModule.getPartitionKey(json("{\"tenant\": \"1\"}"), "/tenant"));
+        assertEquals(new PartitionKey((Object) null), SqlDocumentModule.getPartitionKey(json("{\"tenant\": null}"), "/tenant"));
+        assertEquals(PartitionKey.NONE, SqlDocumentModule.getPartitionKey(json("{\"id\": \"doc-1\"}"), "/tenant"));
+        assertEquals(new PartitionKey("t"), SqlDocumentModule.getPartitionKey(json("{\"a\": {\"b\": \"t\"}}"), "/a/b"));
+    }
+
+    @Test
+    public void testPartitionKeyValueMayContainDelimiter() {
+        assertArrayEquals(new String[]{"doc-1", "tenant#1"}, SqlDocumentModule.splitResourceName("doc-1%23tenant%231"));
+        assertArrayEquals(new String[]{"doc-1"}, SqlDocumentModule.splitResourceName("doc-1"));
+    }
+
+    @Test
+    public void testDeleteUsesPartitionKeyOfCachedDocument() throws Exception {
+        doReturn(json("{\"id\": \"doc-1\", \"tenant\": 1}")).when(this.module).getCachedDocument(anyString());
+        this.module.deleteResourceFromAzure(CONTAINER_ID + "/documents/doc-1%231");
+        verify(this.client).deleteItem(eq("doc-1"), eq(new PartitionKey(1d)), any(CosmosItemRequestOptions.class));
+    }
+
+    @Test
+    public void testDeleteWithoutCachedDocumentUsesPartitionKeyInName() {
+        doReturn(null).when(this.module).getCachedDocument(anyString());
+        // used to be skipped silently because the partition key value contains "#".
+        this.module.deleteResourceFromAzure(CONTAINER_ID + "/documents/doc-1%23tenant%231");
+        verify(this.client).deleteItem(eq("doc-1"), eq(new PartitionKey("tenant#1")), any(CosmosItemRequestOptions.class));
+    }
+
+    private static ObjectNode json(String json) throws Exception {
+        return (ObjectNode) MAPPER.readTree(json);
+    }
+}
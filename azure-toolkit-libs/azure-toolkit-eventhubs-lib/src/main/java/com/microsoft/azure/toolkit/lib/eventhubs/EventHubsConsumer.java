@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+package com.microsoft.azure.toolkit.lib.eventhubs;
+
+import com.azure.messaging.eventhubs.EventHubConsumerAsyncClient;
+import com.azure.messaging.eventhubs.models.PartitionEvent;
+import com.microsoft.azure.toolkit.lib.common.task.AzureSchedulers;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * receives events from all partitions of an event hub with one consumer client. received events are kept in a bounded
+ * buffer per partition and delivered to {@code sink} in batches every {@code deliveryInterval}, so that a fast event
+ * hub can't flood the sink (e.g. the console/log) or exhaust memory: if a buffer is full, events are dropped according
+ * to the {@link OverflowPolicy}.
+ */
+@Slf4j
+public class EventHubsConsumer implements AutoCloseable {
+    public static final int DEFAULT_BUFFER_SIZE = 1000;
+    public static final Duration DEFAULT_DELIVERY_INTERVAL = Duration.ofMillis(500);
+
+    @Nonnull
+    private final EventHubConsumerAsyncClient client;
+    @Nonnull
+    private final Sink sink;
+    private final int bufferSize;
+    @Nonnull
+    private final OverflowPolicy policy;
+    @Nonnull
+    private final Duration deliveryInterval;
+    private final Map<String, RingBuffer> buffers = new ConcurrentHashMap<>();
+    private final AtomicLong receivedEvents = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    @Nullable
+    private Disposable receiving;
+    @Nullable
+    private Disposable delivering;
+    private volatile boolean closed;
+
+    public EventHubsConsumer(@Nonnull EventHubConsumerAsyncClient client, @Nonnull Sink sink) {
+        this(client, sink, DEFAULT_BUFFER_SIZE, OverflowPolicy.DROP_OLDEST, DEFAULT_DELIVERY_INTERVAL);
+    }
+
+    public EventHubsConsumer(@Nonnull EventHubConsumerAsyncClient client, @Nonnull Sink sink, int bufferSize,
+                             @Nonnull OverflowPolicy policy, @Nonnull Duration deliveryInterval) {
+        this.client = client;
+        this.sink = sink;
+        this.bufferSize = bufferSize;
+        this.policy = policy;
+        this.deliveryInterval = deliveryInterval;
+    }
+
+    /**
+     * starts receiving new events (from the latest position) of all partitions.
+     */
+    public synchronized void start() {
+        if (this.closed || Objects.nonNull(this.receiving)) {
+            return;
+        }
+        this.receiving = this.client.receive(false).subscribe(this::buffer,
+            error -> log.warn("failed to receive events from Event Hub.", error));
+        final long interval = this.deliveryInterval.toMillis();
+        this.delivering = AzureSchedulers.streaming().schedulePeriodically(this::deliver, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * stops receiving, delivers the buffered events and closes the client. no event is delivered after this method
+     * returns.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        Optional.ofNullable(this.receiving).ifPresent(Disposable::dispose);
+        Optional.ofNullable(this.delivering).ifPresent(Disposable::dispose);
+        try {
+            this.deliverBuffered();
+        } finally {
+            this.client.close();
+        }
+    }
+
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    public long getReceivedEvents() {
+        return this.receivedEvents.get();
+    }
+
+    public long getDroppedEvents() {
+        return this.droppedEvents.get();
+    }
+
+    private void buffer(@Nonnull PartitionEvent event) {
+        final String partitionId = event.getPartitionContext().getPartitionId();
+        this.buffer(partitionId, event.getData().getBodyAsString());
+    }
+
+    void buffer(@Nonnull String partitionId, @Nonnull String message) {
+        if (this.closed) {
+            return;
+        }
+        this.receivedEvents.incrementAndGet();
+        final RingBuffer buffer = this.buffers.computeIfAbsent(partitionId, k -> new RingBuffer(this.bufferSize));
+        if (!buffer.offer(message, this.policy)) {
+            this.droppedEvents.incrementAndGet();
+        }
+    }
+
+    // synchronized so that batches of a partition are delivered in order and never after close.
+    synchronized void deliver() {
+        if (this.closed) { // the periodic delivery may still be running when it's disposed.
+            return;
+        }
+        this.deliverBuffered();
+    }
+
+    private void deliverBuffered() {
+        this.buffers.forEach((partitionId, buffer) -> {
+            final RingBuffer.Drained drained = buffer.drain();
+            if (drained.messages.isEmpty() && drained.dropped == 0) {
+                return;
+            }
+            try {
+                this.sink.accept(partitionId, drained.messages, drained.dropped);
+            } catch (final RuntimeException e) {
+                log.warn("failed to deliver events of partition {}.", partitionId, e);
+            }
+        });
+    }
+
+    public enum OverflowPolicy {
+        /**
+         * evicts the oldest buffered event to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * discards the new event.
+         */
+        DROP_NEWEST
+    }
+
+    @FunctionalInterface
+    public interface Sink {
+        /**
+         * @param messages messages received from {@code partitionId} since last delivery, in order.
+         * @param dropped  count of messages of {@code partitionId} dropped since last delivery because of overflow.
+         */
+        void accept(@Nonnull String partitionId, @Nonnull List<String> messages, long dropped);
+    }
+
+    /**
+     * fixed-capacity FIFO buffer.
+     */
+    static class RingBuffer {
+        private final String[] items;
+        private int head;
+        private int size;
+        private long dropped;
+
+        RingBuffer(int capacity) {
+            this.items = new String[Math.max(1, capacity)];
+        }
+
+        /**
+         * @return false if an event (the new or the oldest one) is dropped.
+         */
+        synchronized boolean offer(@Nonnull String item, @Nonnull OverflowPolicy policy) {
+            final int capacity = this.items.length;
+            if (this.size < capacity) {
+                this.items[(this.head + this.size) % capacity] = item;
+                this.size++;
+                return true;
+            }
+            this.dropped++;
+            if (policy == OverflowPolicy.DROP_OLDEST) {
+                this.items[this.head] = item;
+                this.head = (this.head + 1) % capacity;
+            }
+            return false;
+        }
+
+        synchronized Drained drain() {
+            if (this.size == 0) {
+                final Drained result = new Drained(Collections.emptyList(), this.dropped);
+                this.dropped = 0;
+                return result;
+            }
+            final List<String> result = new ArrayList<>(this.size);
+            final int capacity = this.items.length;
+            for (int i = 0; i < this.size; i++) {
+                final int index = (this.head + i) % capacity;
+                result.add(this.items[index]);
+                this.items[index] = null;
+            }
+            final Drained drained = new Drained(result, this.dropped);
+            this.head = 0;
+            this.size = 0;
+            this.dropped = 0;
+            return drained;
+        }
+
+        static class Drained {
+            final List<String> messages;
+            final long dropped;
+
+            Drained(List<String> messages, long dropped) {
+                this.messages = messages;
+                this.dropped = dropped;
+            }
+        }
+    }
+}
@@ -5,7 +5,6 @@
 package com.microsoft.azure.toolkit.lib.eventhubs;
 
 import com.azure.messaging.eventhubs.*;
-import com.azure.messaging.eventhubs.models.EventPosition;
 import com.azure.resourcemanager.eventhubs.EventHubsManager;
 import com.azure.resourcemanager.eventhubs.fluent.EventHubManagementClient;
 import com.azure.resourcemanager.eventhubs.fluent.models.EventhubInner;
@@ -25,23 +24,26 @@ import com.microsoft.azure.toolkit.lib.common.model.Deletable;
 import com.microsoft.azure.toolkit.lib.common.utils.Utils;
 import com.microsoft.azure.toolkit.lib.resource.message.ISenderReceiver;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import reactor.core.Disposable;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
+@Slf4j
 public class EventHubsInstance extends AbstractAzResource<EventHubsInstance, EventHubsNamespace, EventHub> implements Deletable, ISenderReceiver {
     @Nullable
     @Getter
     private EntityStatus entityStatus;
     @Nullable
-    private EventHubConsumerAsyncClient consumerAsyncClient;
-    private final List<Disposable> receivers = new ArrayList<>();
+    private EventHubsConsumer consumer;
     @Nullable
     private IAzureMessager messager;
+    @Nullable
+    private EventHubsProducer producer;
     protected EventHubsInstance(@Nonnull String name, @Nonnull EventHubsInstanceModule module) {
         super(name, module);
     }
@@ -54,6 +56,21 @@ public class EventHubsInstance extends AbstractAzResource<EventHubsInstance, Eve
     protected void updateAdditionalProperties(@Nullable EventHub newRemote, @Nullable EventHub oldRemote) {
         super.updateAdditionalProperties(newRemote, oldRemote);
         this.entityStatus = Optional.ofNullable(newRemote).map(EventHub::innerModel).map(EventhubInner::status).orElse(null);
+        if (Objects.isNull(newRemote) || !this.isSendEnabled()) { // deleted or stopped
+            this.closeProducer();
+        }
+    }
+
+    @Override
+    public void invalidateCache() {
+        super.invalidateCache();
+        this.closeProducer(); // authorization rules (keys) may have been changed.
+    }
+
+    @Override
+    public void delete() {
+        this.closeProducer();
+        super.delete();
     }
 
     @Nonnull
@@ -84,33 +101,38 @@ public class EventHubsInstance extends AbstractAzResource<EventHubsInstance, Eve
         messager = AzureMessager.getMessager();
         messager.info(AzureString.format("Start listening to event hub ({0}) for consumerGroup ({1})...\n", getName(), consumerGroupName));
         messager.info("You can change default consumer group in Azure Settings\n");
-        remoteOptional().ifPresent(remote -> remote.partitionIds().forEach(partitionId -> {
-            this.consumerAsyncClient = new EventHubClientBuilder()
-                    .connectionString(getOrCreateConnectionString(Collections.singletonList(AccessRights.LISTEN)))
-                    .consumerGroup(consumerGroupName)
-                    .buildAsyncConsumerClient();
-            messager.info(AzureString.format("Created receiver for partition ({0})\n", partitionId));
-            Optional.ofNullable(this.consumerAsyncClient).ifPresent(client ->
-                    receivers.add(client.receiveFromPartition(partitionId, EventPosition.latest())
-                            .subscribe(partitionEvent -> {
-                                messager.info(AzureString.format("Message Received from partition (%s): ", partitionId));
-                                messager.debug(AzureString.format("\"%s\"\n", partitionEvent.getData().getBodyAsString()));
-                            })));
-        }));
+        if (!remoteOptional().isPresent() || Objects.nonNull(this.consumer)) {
+            return;
+        }
+        final IAzureMessager m = messager;
+        final EventHubConsumerAsyncClient client = new EventHubClientBuilder()
+                .connectionString(getOrCreateConnectionString(Collections.singletonList(AccessRights.LISTEN)))
+                .consumerGroup(consumerGroupName)
+                .buildAsyncConsumerClient();
+        this.consumer = new EventHubsConsumer(client, (partitionId, messages, dropped) -> {
+            if (dropped > 0) {
+                m.warning(AzureString.format("%s messages from partition (%s) are dropped because they are received faster than displayed.\n", dropped, partitionId));
+            }
+            if (!messages.isEmpty()) {
+                m.info(AzureString.format("%s messages Received from partition (%s): ", messages.size(), partitionId));
+                m.debug(AzureString.format("%s\n", messages.stream().map(message -> "\"" + message + "\"").collect(Collectors.joining("\n"))));
+            }
+        });
+        this.consumer.start();
+        messager.info(AzureString.format("Created receiver for all partitions ({0})\n", StringUtils.join(Objects.requireNonNull(getRemote()).partitionIds(), ", ")));
     }
 
     @Override
     public synchronized void stopReceivingMessage() {
-        Optional.ofNullable(consumerAsyncClient).ifPresent(EventHubConsumerAsyncClient::close);
+        final EventHubsConsumer current = this.consumer;
+        this.consumer = null;
+        Optional.ofNullable(current).ifPresent(EventHubsConsumer::close);
         Optional.ofNullable(messager).orElse(AzureMessager.getMessager()).info(AzureString.format("Stop listening to event hub ({0})\n", getName()));
-        this.consumerAsyncClient = null;
-        this.receivers.forEach(Disposable::dispose);
-        this.receivers.clear();
     }
 
     @Override
     public boolean isListening() {
-        return Objects.nonNull(this.consumerAsyncClient);
+        return Objects.nonNull(this.consumer);
     }
 
     @Override
@@ -122,31 +144,67 @@ public class EventHubsInstance extends AbstractAzResource<EventHubsInstance, Eve
     public void sendMessage(String message) {
         final IAzureMessager messager = AzureMessager.getMessager();
         messager.info(AzureString.format("Sending message to Event Hub (%s)...\n", getName()));
-        try (final EventHubProducerClient producer = new EventHubClientBuilder()
-                .connectionString(getOrCreateConnectionString(Collections.singletonList(AccessRights.SEND)))
-                .buildProducerClient()) {
-            EventDataBatch eventDataBatch = producer.createBatch();
-            final EventData eventData =  new EventData(message);
-            if (!eventDataBatch.tryAdd(eventData)) {
-                producer.send(eventDataBatch);
-                eventDataBatch = producer.createBatch();
-                if (!eventDataBatch.tryAdd(eventData)) {
-                    final String reason = "Event is too large for an empty batch. Max size: "
-                            + eventDataBatch.getMaxSizeInBytes();
-                    messager.error(AzureString.format("Failed to send message to Event Hub (%s): %s", getName(), reason));
-                }
-            }
-            if (eventDataBatch.getCount() > 0) {
-                producer.send(eventDataBatch);
-                messager.info("Successfully sent message ");
-                messager.success(AzureString.format("\"%s\"", message));
-                messager.info(AzureString.format(" to Event Hub (%s)\n", getName()));
-            }
+        try {
+            final EventHubsProducer producer = this.getOrCreateProducer();
+            producer.send(message, null);
+            producer.flush();
+            messager.info("Successfully sent message ");
+            messager.success(AzureString.format("\"%s\"", message));
+            messager.info(AzureString.format(" to Event Hub (%s)\n", getName()));
         } catch (final Exception e) {
+            this.closeProducer(); // the connection may be broken.
             messager.error(AzureString.format("Failed to send message to Event Hub (%s): %s", getName(), e));
         }
     }
 
+    /**
+     * sends every non-blank line of {@code file} (e.g. NDJSON) as an event in batches.
+     *
+     * @param partitionKey events with the same partition key go to the same partition, nullable.
+     */
+    public void sendMessages(@Nonnull Path file, @Nullable String partitionKey) {
+        final IAzureMessager messager = AzureMessager.getMessager();
+        messager.info(AzureString.format("Sending messages in file (%s) to Event Hub (%s)...\n", file.getFileName(), getName()));
+        final EventHubsProducer producer = this.getOrCreateProducer();
+        try {
+            final long count = producer.sendFile(file, partitionKey);
+            messager.success(AzureString.format("Successfully sent %s messages to Event Hub (%s)\n", count, getName()));
+        } catch (final Exception e) {
+            this.closeProducer();
+            messager.error(AzureString.format("Failed to send messages to Event Hub (%s): %s", getName(), e));
+        }
+        log.debug("[{}]: sent {} events in {} batches ({} failed), average latency: {}", getName(),
+            producer.getSentEvents(), producer.getSentBatches(), producer.getFailedEvents(), producer.getAverageSendLatency());
+    }
+
+    /**
+     * @return the producer of this event hub, which is created on first use and shared afterwards.
+     */
+    @Nonnull
+    public synchronized EventHubsProducer getOrCreateProducer() {
+        if (Objects.isNull(this.producer)) {
+            this.producer = this.createProducer();
+        }
+        return this.producer;
+    }
+
+    @Nonnull
+    EventHubsProducer createProducer() {
+        return new EventHubsProducer(new EventHubClientBuilder()
+            .connectionString(getOrCreateConnectionString(Collections.singletonList(AccessRights.SEND)))
+            .buildProducerClient());
+    }
+
+    public synchronized void closeProducer() {
+        final EventHubsProducer current = this.producer;
+        this.producer = null;
+        try {
+            Optional.ofNullable(current).ifPresent(EventHubsProducer::close);
+        } catch (final RuntimeException e) {
+            log.debug("[{}]: failed to close producer", getName(), e);
+        }
+    }
+
     public String getOrCreateListenConnectionString() {
         return getOrCreateConnectionString(Collections.singletonList(AccessRights.LISTEN));
     }
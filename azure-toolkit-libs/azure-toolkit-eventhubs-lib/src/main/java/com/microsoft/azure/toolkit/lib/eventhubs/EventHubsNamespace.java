@@ -51,6 +51,12 @@ public class EventHubsNamespace extends AbstractAzResource<EventHubsNamespace, E
         return remote.innerModel().status();
     }
 
+    @Override
+    public void delete() {
+        this.instanceModule.listCachedResources().forEach(EventHubsInstance::closeProducer);
+        super.delete();
+    }
+
     public List<EventHubsInstance> getInstances() {
         return this.instanceModule.list();
     }
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+package com.microsoft.azure.toolkit.lib.eventhubs;
+
+import com.azure.messaging.eventhubs.EventData;
+import com.azure.messaging.eventhubs.EventDataBatch;
+import com.azure.messaging.eventhubs.EventHubProducerClient;
+import com.azure.messaging.eventhubs.models.CreateBatchOptions;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.task.AzureSchedulers;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import reactor.core.Disposable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * long-lived producer of an event hub, events are accumulated into {@link EventDataBatch batches} (one per partition
+ * key) which are sent when full, when {@code maxEventsPerBatch} is reached or {@code linger} after the first event
+ * was added, whichever comes first.
+ */
+@Slf4j
+public class EventHubsProducer implements AutoCloseable {
+    public static final int DEFAULT_MAX_EVENTS_PER_BATCH = 500;
+    public static final Duration DEFAULT_LINGER = Duration.ofMillis(100);
+    private static final String NO_PARTITION_KEY = "";
+
+    @Nonnull
+    private final EventHubProducerClient client;
+    private final int maxEventsPerBatch;
+    @Nonnull
+    private final Duration linger;
+    private final Map<String, EventDataBatch> batches = new HashMap<>();
+    @Nullable
+    private Disposable flushing;
+
+    private final AtomicLong sentEvents = new AtomicLong();
+    private final AtomicLong sentBatches = new AtomicLong();
+    private final AtomicLong failedEvents = new AtomicLong();
+    private final AtomicLong sendingNanos = new AtomicLong();
+
+    public EventHubsProducer(@Nonnull EventHubProducerClient client) {
+        this(client, DEFAULT_MAX_EVENTS_PER_BATCH, DEFAULT_LINGER);
+    }
+
+    public EventHubsProducer(@Nonnull EventHubProducerClient client, int maxEventsPerBatch, @Nonnull Duration linger) {
+        this.client = client;
+        this.maxEventsPerBatch = maxEventsPerBatch;
+        this.linger = linger;
+    }
+
+    /**
+     * adds {@code message} to the batch of {@code partitionKey}, events with the same partition key always go to the
+     * same partition, events without a partition key are distributed by the service.
+     */
+    public synchronized void send(@Nonnull String message, @Nullable String partitionKey) {
+        final String key = StringUtils.defaultString(partitionKey, NO_PARTITION_KEY);
+        final EventData event = new EventData(message);
+        EventDataBatch batch = this.batches.computeIfAbsent(key, this::createBatch);
+        if (!batch.tryAdd(event)) {
+            this.batches.remove(key);
+            this.sendBatch(batch);
+            batch = this.createBatch(key);
+            if (!batch.tryAdd(event)) {
+                this.failedEvents.incrementAndGet();
+                throw new AzureToolkitRuntimeException(String.format("Event is too large for an empty batch. Max size: %s", batch.getMaxSizeInBytes()));
+            }
+            this.batches.put(key, batch);
+        }
+        if (batch.getCount() >= this.maxEventsPerBatch) {
+            this.batches.remove(key);
+            this.sendBatch(batch);
+        } else {
+            this.scheduleFlush();
+        }
+    }
+
+    /**
+     * sends every non-blank line of {@code file} (e.g. NDJSON) as an event, the file is streamed rather than loaded
+     * into memory.
+     *
+     * @return count of events sent.
+     */
+    public long sendFile(@Nonnull Path file, @Nullable String partitionKey) throws IOException {
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (StringUtils.isNotBlank(line)) {
+                    this.send(line, partitionKey);
+                    count++;
+                }
+            }
+        } finally {
+            this.flush();
+        }
+        return count;
+    }
+
+    /**
+     * sends all pending batches immediately.
+     */
+    public synchronized void flush() {
+        Optional.ofNullable(this.flushing).ifPresent(Disposable::dispose);
+        this.flushing = null;
+        final List<EventDataBatch> pending = new ArrayList<>(this.batches.values());
+        this.batches.clear();
+        RuntimeException error = null;
+        for (final EventDataBatch batch : pending) {
+            try {
+                this.sendBatch(batch);
+            } catch (final RuntimeException e) {
+                error = Objects.isNull(error) ? e : error;
+            }
+        }
+        if (Objects.nonNull(error)) {
+            throw error;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            this.flush();
+        } finally {
+            this.client.close();
+        }
+    }
+
+    public long getSentEvents() {
+        return this.sentEvents.get();
+    }
+
+    public long getSentBatches() {
+        return this.sentBatches.get();
+    }
+
+    public long getFailedEvents() {
+        return this.failedEvents.get();
+    }
+
+    /**
+     * @return average latency of sending a batch.
+     */
+    @Nonnull
+    public Duration getAverageSendLatency() {
+        final long batches = this.sentBatches.get();
+        return batches == 0 ? Duration.ZERO : Duration.ofNanos(this.sendingNanos.get() / batches);
+    }
+
+    @Nonnull
+    private EventDataBatch createBatch(@Nonnull String partitionKey) {
+        if (StringUtils.isEmpty(partitionKey)) {
+            return this.client.createBatch();
+        }
+        return this.client.createBatch(new CreateBatchOptions().setPartitionKey(partitionKey));
+    }
+
+    private void sendBatch(@Nonnull EventDataBatch batch) {
+        if (batch.getCount() < 1) {
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            this.client.send(batch);
+            this.sentEvents.addAndGet(batch.getCount());
+            this.sentBatches.incrementAndGet();
+            this.sendingNanos.addAndGet(System.nanoTime() - start);
+        } catch (final RuntimeException e) {
+            this.failedEvents.addAndGet(batch.getCount());
+            throw e;
+        }
+    }
+
+    private void scheduleFlush() {
+        if (Objects.nonNull(this.flushing) || this.linger.isZero()) {
+            return;
+        }
+        this.flushing = AzureSchedulers.io().schedule(() -> {
+            synchronized (this) {
+                this.flushing = null; // not to dispose itself
+            }
+            try {
+                this.flush();
+            } catch (final RuntimeException e) {
+                log.warn("failed to send events to Event Hub.", e);
+            }
+        }, this.linger.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
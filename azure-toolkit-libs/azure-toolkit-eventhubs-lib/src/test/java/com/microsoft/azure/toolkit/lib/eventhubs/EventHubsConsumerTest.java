@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.eventhubs;
+
+import com.azure.messaging.eventhubs.EventHubConsumerAsyncClient;
+import com.microsoft.azure.toolkit.lib.eventhubs.EventHubsConsumer.OverflowPolicy;
+import com.microsoft.azure.toolkit.lib.eventhubs.EventHubsConsumer.RingBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class EventHubsConsumerTest {
+    private final Map<String, List<String>> delivered = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private EventHubConsumerAsyncClient client;
+
+    @Before
+    public void setUp() {
+        this.client = mock(EventHubConsumerAsyncClient.class);
+    }
+
+    @Test
+    public void testDropOldestOnOverflow() {
+        final RingBuffer buffer = new RingBuffer(3);
+        final List<Boolean> accepted = IntStream.range(0, 5).mapToObj(i -> buffer.offer("m" + i, OverflowPolicy.DROP_OLDEST)).collect(Collectors.toList());
+        assertEquals(Arrays.asList(true, true, true, false, false), accepted);
+        final RingBuffer.Drained drained = buffer.drain();
+        assertEquals(Arrays.asList("m2", "m3", "m4"), drained.messages);
+        assertEquals(2, drained.dropped);
+        assertTrue(buffer.drain().messages.isEmpty());
+    }
+
+    @Test
+    public void testDropNewestOnOverflow() {
+        final RingBuffer buffer = new RingBuffer(3);
+        IntStream.range(0, 5).forEach(i -> buffer.offer("m" + i, OverflowPolicy.DROP_NEWEST));
+        final RingBuffer.Drained drained = buffer.drain();
+        assertEquals(Arrays.asList("m0", "m1", "m2"), drained.messages);
+        assertEquals(2, drained.dropped);
+    }
+
+    @Test
+    public void testEventsOfPartitionAreDeliveredInOrder() {
+        final EventHubsConsumer consumer = this.newConsumer(100);
+        final List<String> expected = new ArrayList<>();
+        for (int batch = 0; batch < 3; batch++) {
+            for (int i = 0; i < 50; i++) {
+                final String message = batch + "-" + i;
+                consumer.buffer("0", message);
+                consumer.buffer("1", "other");
+                expected.add(message);
+            }
+            consumer.deliver();
+        }
+        assertEquals(expected, this.delivered.get("0"));
+        assertEquals(150, this.delivered.get("1").size());
+        assertEquals(0, this.dropped.get());
+        assertEquals(300, consumer.getReceivedEvents());
+    }
+
+    @Test
+    public void testDroppedEventsAreReported() {
+        final EventHubsConsumer consumer = this.newConsumer(10);
+        IntStream.range(0, 25).forEach(i -> consumer.buffer("0", "m" + i));
+        consumer.deliver();
+        assertEquals(IntStream.range(15, 25).mapToObj(i -> "m" + i).collect(Collectors.toList()), this.delivered.get("0"));
+        assertEquals(15, this.dropped.get());
+        assertEquals(15, consumer.getDroppedEvents());
+    }
+
+    @Test
+    public void testNothingIsDeliveredAfterClose() {
+        final EventHubsConsumer consumer = this.newConsumer(10);
+        consumer.buffer("0", "before");
+        consumer.close();
+        assertEquals(Collections.singletonList("before"), this.delivered.get("0"));
+        verify(this.client).close();
+
+        consumer.buffer("0", "after");
+        consumer.deliver();
+        assertEquals(Collections.singletonList("before"), this.delivered.get("0"));
+        assertFalse(consumer.getReceivedEvents() > 1);
+    }
+
+    private EventHubsConsumer newConsumer(int bufferSize) {
+        return new EventHubsConsumer(this.client, (partitionId, messages, dropped) -> {
+            this.delivered.computeIfAbsent(partitionId, k -> new ArrayList<>()).addAll(messages);
+            this.dropped.addAndGet(dropped);
+        }, bufferSize, OverflowPolicy.DROP_OLDEST, Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.eventhubs;
+
+import com.azure.messaging.eventhubs.EventHubProducerClient;
+import com.azure.resourcemanager.eventhubs.fluent.models.EventhubInner;
+import com.azure.resourcemanager.eventhubs.models.EntityStatus;
+import com.azure.resourcemanager.eventhubs.models.EventHub;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EventHubsInstanceTest {
+    private final AtomicInteger created = new AtomicInteger();
+    private EventHubProducerClient client;
+    private EventHubsInstance instance;
+
+    @Before
+    public void setUp() {
+        this.client = mock(EventHubProducerClient.class);
+        final EventHubsInstanceModule module = mock(EventHubsInstanceModule.class);
+        when(module.getParent()).thenReturn(mock(EventHubsNamespace.class));
+        this.instance = new EventHubsInstance("hub", module) {
+            @Nonnull
+            @Override
+            EventHubsProducer createProducer() {
+                created.incrementAndGet();
+                return new EventHubsProducer(client);
+            }
+        };
+    }
+
+    @Test
+    public void testProducerIsShared() {
+        assertSame(this.instance.getOrCreateProducer(), this.instance.getOrCreateProducer());
+        assertEquals(1, this.created.get());
+        verify(this.client, never()).close();
+    }
+
+    @Test
+    public void testProducerIsClosedOnRefresh() {
+        final EventHubsProducer producer = this.instance.getOrCreateProducer();
+        this.instance.invalidateCache();
+        verify(this.client).close();
+        assertNotSame(producer, this.instance.getOrCreateProducer());
+        assertEquals(2, this.created.get());
+    }
+
+    @Test
+    public void testProducerIsClosedIfDeletedRemotely() {
+        this.instance.getOrCreateProducer();
+        this.instance.updateAdditionalProperties(null, null);
+        verify(this.client).close();
+    }
+
+    @Test
+    public void testProducerIsClosedIfSendingIsDisabled() {
+        final EventHub remote = mock(EventHub.class);
+        when(remote.innerModel()).thenReturn(new EventhubInner().withStatus(EntityStatus.ACTIVE));
+        this.instance.getOrCreateProducer();
+        this.instance.updateAdditionalProperties(remote, null);
+        verify(this.client, never()).close();
+
+        when(remote.innerModel()).thenReturn(new EventhubInner().withStatus(EntityStatus.SEND_DISABLED));
+        this.instance.updateAdditionalProperties(remote, remote);
+        verify(this.client).close();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.eventhubs;
+
+import com.azure.messaging.eventhubs.EventData;
+import com.azure.messaging.eventhubs.EventDataBatch;
+import com.azure.messaging.eventhubs.EventHubProducerClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EventHubsProducerTest {
+    private EventHubProducerClient client;
+
+    @Before
+    public void setUp() {
+        this.client = mock(EventHubProducerClient.class);
+        when(this.client.createBatch()).thenAnswer(i -> newBatch());
+    }
+
+    @Test
+    public void testBatchIsSentWhenFull() {
+        final EventHubsProducer producer = new EventHubsProducer(this.client, 2, Duration.ZERO);
+        producer.send("1", null);
+        producer.send("2", null);
+        producer.send("3", null);
+        verify(this.client, times(1)).send(any(EventDataBatch.class));
+        assertEquals(2, producer.getSentEvents());
+    }
+
+    @Test
+    public void testCloseSendsPendingEventsAndClosesClient() {
+        final EventHubsProducer producer = new EventHubsProducer(this.client, 10, Duration.ZERO);
+        producer.send("1", null);
+        verify(this.client, never()).send(any(EventDataBatch.class));
+        producer.close();
+        final InOrder order = inOrder(this.client);
+        order.verify(this.client).send(any(EventDataBatch.class));
+        order.verify(this.client).close();
+        assertEquals(1, producer.getSentEvents());
+    }
+
+    private static EventDataBatch newBatch() {
+        final EventDataBatch batch = mock(EventDataBatch.class);
+        final AtomicInteger count = new AtomicInteger();
+        when(batch.tryAdd(any(EventData.class))).thenAnswer(i -> count.incrementAndGet() > 0);
+        when(batch.getCount()).thenAnswer(i -> count.get());
+        return batch;
+    }
+}
@@ -5,6 +5,7 @@
 
 package com.microsoft.azure.toolkit.lib.keyvault;
 
+import com.azure.core.credential.TokenCredential;
 import com.azure.resourcemanager.keyvault.models.Vault;
 import com.azure.resourcemanager.resources.fluentcore.arm.ResourceId;
 import com.azure.security.keyvault.certificates.CertificateAsyncClient;
@@ -18,6 +19,7 @@ import com.microsoft.azure.toolkit.lib.common.action.Action;
 import com.microsoft.azure.toolkit.lib.common.action.AzureActionManager;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
+import com.microsoft.azure.toolkit.lib.common.model.DataPlaneClients;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
 import com.microsoft.azure.toolkit.lib.common.model.Region;
 import com.microsoft.azure.toolkit.lib.keyvault.certificate.Certificate;
@@ -110,10 +112,12 @@ public class KeyVault extends AbstractAzResource<KeyVault, KeyVaultSubscription,
             synchronized (this) {
                 if (certificateClient == null && Objects.nonNull(getVaultUri())) {
                     final Account account = Azure.az(AzureAccount.class).account();
-                    certificateClient = new CertificateClientBuilder()
+                    final TokenCredential credential = account.getTokenCredential(getSubscriptionId());
+                    certificateClient = DataPlaneClients.get(CertificateAsyncClient.class, getVaultUri(), credential, http -> new CertificateClientBuilder()
+                        .httpClient(http)
                         .vaultUrl(getVaultUri())
-                        .credential(account.getTokenCredential(getSubscriptionId()))
-                        .buildAsyncClient();
+                        .credential(credential)
+                        .buildAsyncClient());
                 }
             }
         }
@@ -9,6 +9,7 @@ import com.azure.core.util.paging.ContinuablePage;
 import com.azure.resourcemanager.resources.fluentcore.arm.ResourceId;
 import com.azure.security.keyvault.certificates.CertificateAsyncClient;
 import com.azure.security.keyvault.certificates.models.CertificateProperties;
+import com.azure.security.keyvault.certificates.models.KeyVaultCertificateWithPolicy;
 import com.microsoft.azure.toolkit.lib.common.action.Action;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
@@ -16,13 +17,11 @@ import com.microsoft.azure.toolkit.lib.common.model.page.ItemPage;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.keyvault.KeyVault;
 import org.apache.commons.collections4.IteratorUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -61,15 +60,18 @@ public class CertificateModule extends AbstractAzResourceModule<Certificate, Key
     @AzureOperation(name = "azure/keyvault.load_certificate.certificate", params = {"name"})
     protected CertificateProperties loadResourceFromAzure(@Nonnull String name, @Nullable String resourceGroup) {
         try {
-            final List<CertificateProperties> versions = Optional.ofNullable(getClient())
-                .map(keys -> keys.listPropertiesOfCertificates().collectList().block())
-                .orElse(null);
-            return Objects.isNull(versions) ? null : versions.stream()
-                .filter(s -> StringUtils.equalsIgnoreCase(s.getName(), name))
-                .findFirst()
+            return Optional.ofNullable(getClient())
+                .map(client -> client.getCertificate(name).block())
+                .map(KeyVaultCertificateWithPolicy::getProperties)
                 .orElse(null);
         } catch (final Throwable t) {
             if (isHttpException(t, 403)) {
+                // `get` and `list` are granted separately by access policies, fall back to listing if only the latter is granted.
+                try {
+                    return this.loadResourceFromListing(name, CertificateProperties::getName);
+                } catch (final Throwable ignored) {
+                    // listing is not granted either.
+                }
                 final Action<String> configure = getAccessPolicyConfiureAction(getParent());
                 final Action<String> learnMore = getAccessPolicyLearnMoreAction();
                 throw new AzureToolkitRuntimeException(ExceptionUtils.getRootCauseMessage(t), configure, learnMore);
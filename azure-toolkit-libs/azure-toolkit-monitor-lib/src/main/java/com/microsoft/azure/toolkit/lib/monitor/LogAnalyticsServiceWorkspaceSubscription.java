@@ -21,12 +21,15 @@ public class LogAnalyticsServiceWorkspaceSubscription extends AbstractAzServiceS
     private final LogAnalyticsWorkspaceModule logAnalyticsWorkspaceModule;
     @Nullable
     private final LogsQueryClient logsQueryClient;
+    @Nonnull
+    private final LogsQueryEngine logsQueryEngine;
 
     protected LogAnalyticsServiceWorkspaceSubscription(@Nonnull String subscriptionId, @Nonnull AzureLogAnalyticsWorkspace service) {
         super(subscriptionId, service);
         this.subscriptionId = subscriptionId;
         this.logAnalyticsWorkspaceModule = new LogAnalyticsWorkspaceModule(this);
-        this.logsQueryClient = new LogsQueryClientBuilder().credential(Azure.az(AzureAccount.class).account().getTokenCredential(subscriptionId)).buildClient();
+        this.logsQueryClient = new LogsQueryClientBuilder().httpClient(getDefaultHttpClient()).credential(Azure.az(AzureAccount.class).account().getTokenCredential(subscriptionId)).buildClient();
+        this.logsQueryEngine = new LogsQueryEngine(this.logsQueryClient);
     }
 
     public LogAnalyticsWorkspaceModule logAnalyticsWorkspaces() {
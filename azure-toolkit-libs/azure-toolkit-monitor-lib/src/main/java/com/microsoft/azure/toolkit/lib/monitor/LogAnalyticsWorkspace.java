@@ -1,9 +1,7 @@
 package com.microsoft.azure.toolkit.lib.monitor;
 
-import com.azure.core.util.Context;
-import com.azure.monitor.query.LogsQueryClient;
-import com.azure.monitor.query.models.LogsQueryOptions;
 import com.azure.monitor.query.models.LogsTable;
+import com.azure.monitor.query.models.LogsTableRow;
 import com.azure.resourcemanager.loganalytics.LogAnalyticsManager;
 import com.azure.resourcemanager.loganalytics.models.Column;
 import com.azure.resourcemanager.loganalytics.models.Workspace;
@@ -15,8 +13,9 @@ import com.microsoft.azure.toolkit.lib.common.model.Region;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class LogAnalyticsWorkspace extends AbstractAzResource<LogAnalyticsWorkspace, LogAnalyticsServiceWorkspaceSubscription, Workspace> implements Deletable {
@@ -65,15 +64,26 @@ public class LogAnalyticsWorkspace extends AbstractAzResource<LogAnalyticsWorksp
 
     @Nullable
     public LogsTable executeQuery(String queryString) {
-        final LogsQueryOptions options = new LogsQueryOptions().setServerTimeout(Duration.ofSeconds(10));
         final String workspaceId = getCustomerId();
-        final LogsQueryClient client = getParent().getLosQueryClient();
-        if (Objects.nonNull(workspaceId) && Objects.nonNull(client)) {
-            return client.queryWorkspaceWithResponse(workspaceId, queryString, null, options, Context.NONE).getValue().getTable();
+        if (Objects.nonNull(workspaceId)) {
+            return getParent().getLogsQueryEngine().query(workspaceId, queryString, null);
         }
         return null;
     }
 
+    /**
+     * executes row-wise {@code queryString} over [{@code start}, {@code end}) in parallel time shards, rows are passed to
+     * {@code consumer} shard by shard as they arrive instead of being materialized into one table.
+     *
+     * @see LogsQueryEngine#query(String, String, OffsetDateTime, OffsetDateTime, java.time.Duration, Consumer)
+     */
+    public void executeQuery(String queryString, OffsetDateTime start, OffsetDateTime end, Consumer<LogsTableRow> consumer) {
+        final String workspaceId = getCustomerId();
+        if (Objects.nonNull(workspaceId)) {
+            getParent().getLogsQueryEngine().query(workspaceId, queryString, start, end, LogsQueryEngine.DEFAULT_SHARD_SIZE, consumer);
+        }
+    }
+
     public List<String> getTableColumnNames(String tableName) {
         final LogAnalyticsManager manager = getParent().getRemote();
         if (Objects.isNull(manager)) {
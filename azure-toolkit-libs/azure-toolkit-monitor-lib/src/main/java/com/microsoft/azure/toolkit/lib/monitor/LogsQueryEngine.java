@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.monitor;
+
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.util.Context;
+import com.azure.monitor.query.LogsQueryClient;
+import com.azure.monitor.query.models.LogsQueryError;
+import com.azure.monitor.query.models.LogsQueryOptions;
+import com.azure.monitor.query.models.LogsTable;
+import com.azure.monitor.query.models.LogsTableRow;
+import com.azure.monitor.query.models.QueryTimeInterval;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.task.AzureSchedulers;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * executes Log Analytics queries:
+ * <ul>
+ *     <li>results are cached for {@code cacheTtl}, keyed by workspace, time interval (if any) and normalized query.
+ *     results of queries calling {@code now()}/{@code ago()} are never cached, since their time range moves with the
+ *     time they run.</li>
+ *     <li>server timeout starts at {@link #MIN_SERVER_TIMEOUT} and is doubled (up to {@link #MAX_SERVER_TIMEOUT}) on
+ *     every timeout, as long as all attempts of a query fit in {@link #MAX_TOTAL_SERVER_TIMEOUT}. the raised timeout
+ *     is used by later queries and halves every {@link #SERVER_TIMEOUT_HALF_LIFE} until it's back to the minimum.</li>
+ *     <li>row-wise queries over a long time range can be split into time shards which are queried in parallel and
+ *     whose rows are streamed to the caller shard by shard.</li>
+ * </ul>
+ */
+@Slf4j
+public class LogsQueryEngine {
+    public static final Duration MIN_SERVER_TIMEOUT = Duration.ofSeconds(10);
+    public static final Duration MAX_SERVER_TIMEOUT = Duration.ofMinutes(10);
+    /**
+     * sum of server timeouts of all attempts of one query, which bounds how long a call can block.
+     */
+    public static final Duration MAX_TOTAL_SERVER_TIMEOUT = Duration.ofMinutes(10);
+    public static final Duration SERVER_TIMEOUT_HALF_LIFE = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_SHARD_SIZE = Duration.ofHours(6);
+    public static final Duration DEFAULT_CACHE_TTL = Duration.ofMinutes(1);
+    private static final int MAX_CACHED_RESULTS = 100;
+    private static final int MAX_CONCURRENT_SHARDS = 4;
+    private static final Set<String> RELATIVE_TIME_FUNCTIONS = new HashSet<>(Arrays.asList("now", "ago"));
+    /**
+     * tabular operators whose result depends on rows of other shards, e.g. aggregations, ordering and limits.
+     */
+    private static final Set<String> NON_ROW_WISE_OPERATORS = new HashSet<>(Arrays.asList("summarize", "count", "distinct",
+        "top", "top-nested", "top-hitters", "take", "limit", "sort", "order", "sample", "sample-distinct", "make-series",
+        "reduce", "serialize", "scan", "partition", "evaluate"));
+    /**
+     * error codes returned by Log Analytics if a query exceeds the server timeout.
+     */
+    private static final Set<String> TIMEOUT_ERROR_CODES = new HashSet<>(Arrays.asList("GatewayTimeout", "QueryExecutionTimeout", "RequestTimeout"));
+
+    @Nonnull
+    private final LogsQueryClient client;
+    @Nonnull
+    private final Cache<String, LogsTable> cache;
+    @Nonnull
+    private final Ticker ticker;
+    private final AtomicReference<ServerTimeout> serverTimeout;
+
+    public LogsQueryEngine(@Nonnull LogsQueryClient client) {
+        this(client, DEFAULT_CACHE_TTL);
+    }
+
+    public LogsQueryEngine(@Nonnull LogsQueryClient client, @Nonnull Duration cacheTtl) {
+        this(client, cacheTtl, Ticker.systemTicker());
+    }
+
+    LogsQueryEngine(@Nonnull LogsQueryClient client, @Nonnull Duration cacheTtl, @Nonnull Ticker ticker) {
+        this.client = client;
+        this.ticker = ticker;
+        this.serverTimeout = new AtomicReference<>(new ServerTimeout(MIN_SERVER_TIMEOUT, ticker.read()));
+        this.cache = Caffeine.newBuilder()
+            .ticker(ticker)
+            .expireAfterWrite(cacheTtl.toMillis(), TimeUnit.MILLISECONDS)
+            .maximumSize(MAX_CACHED_RESULTS)
+            .build();
+    }
+
+    /**
+     * @param interval null means the time range is specified in the query.
+     */
+    @Nonnull
+    public LogsTable query(@Nonnull String workspaceId, @Nonnull String query, @Nullable QueryTimeInterval interval) {
+        if (isTimeRelative(query)) { // results change over time.
+            return this.doQuery(workspaceId, query, interval);
+        }
+        final String key = String.join("|", workspaceId, Objects.isNull(interval) ? "" : interval.toString(), normalize(query));
+        return Objects.requireNonNull(this.cache.get(key, k -> this.doQuery(workspaceId, query, interval)));
+    }
+
+    /**
+     * queries [{@code start}, {@code end}) in shards of {@code shardSize} in parallel, rows are passed to
+     * {@code consumer} shard by shard (earlier shards first) as soon as the shard and all shards before it are loaded.
+     * rows of one shard keep the order returned by the service, they are not sorted by time.
+     * <p>
+     * {@code query} is evaluated per shard, so it must be row-wise (e.g. {@code where}, {@code extend},
+     * {@code project}), aggregations, ordering and limits (e.g. {@code summarize}, {@code order by}, {@code take})
+     * are rejected because they would apply to every shard separately. use {@link #query(String, String, QueryTimeInterval)}
+     * with the whole time range for such queries.
+     *
+     * @throws AzureToolkitRuntimeException if {@code query} isn't row-wise.
+     */
+    public void query(@Nonnull String workspaceId, @Nonnull String query, @Nonnull OffsetDateTime start, @Nonnull OffsetDateTime end,
+                      @Nonnull Duration shardSize, @Nonnull Consumer<LogsTableRow> consumer) {
+        final String operator = getNonRowWiseOperator(query);
+        if (Objects.nonNull(operator)) {
+            throw new AzureToolkitRuntimeException(String.format("operator '%s' can't be applied per time shard, query the whole time range instead.", operator));
+        }
+        Flux.fromIterable(split(start, end, shardSize))
+            .flatMapSequential(shard -> Mono.fromCallable(() -> this.query(workspaceId, query, shard))
+                .subscribeOn(AzureSchedulers.io()), MAX_CONCURRENT_SHARDS)
+            .concatMapIterable(LogsTable::getRows)
+            .doOnNext(consumer)
+            .blockLast();
+    }
+
+    public void invalidateCache() {
+        this.cache.invalidateAll();
+    }
+
+    @Nonnull
+    private LogsTable doQuery(@Nonnull String workspaceId, @Nonnull String query, @Nullable QueryTimeInterval interval) {
+        Duration timeout = this.serverTimeout.get().decayed(this.ticker.read());
+        Duration spent = Duration.ZERO;
+        while (true) {
+            try {
+                final LogsQueryOptions options = new LogsQueryOptions().setServerTimeout(timeout);
+                return this.client.queryWorkspaceWithResponse(workspaceId, query, interval, options, Context.NONE).getValue().getTable();
+            } catch (final RuntimeException e) {
+                spent = spent.plus(timeout);
+                final Duration next = min(min(timeout.multipliedBy(2), MAX_SERVER_TIMEOUT), MAX_TOTAL_SERVER_TIMEOUT.minus(spent));
+                if (!isTimeout(e) || next.compareTo(timeout) <= 0) { // a retry with the same timeout would time out again.
+                    throw e;
+                }
+                timeout = next;
+                final ServerTimeout raised = new ServerTimeout(timeout, this.ticker.read());
+                this.serverTimeout.accumulateAndGet(raised, (a, b) -> a.decayed(b.raisedAt).compareTo(b.value) > 0 ? a : b);
+                log.debug("query timed out, retrying with server timeout {}", timeout);
+            }
+        }
+    }
+
+    @Nonnull
+    private static Duration min(@Nonnull Duration a, @Nonnull Duration b) {
+        return a.compareTo(b) > 0 ? b : a;
+    }
+
+    @Nonnull
+    static List<QueryTimeInterval> split(@Nonnull OffsetDateTime start, @Nonnull OffsetDateTime end, @Nonnull Duration shardSize) {
+        final List<QueryTimeInterval> shards = new ArrayList<>();
+        OffsetDateTime shardStart = start;
+        while (shardStart.isBefore(end)) {
+            final OffsetDateTime shardEnd = shardStart.plus(shardSize).isBefore(end) ? shardStart.plus(shardSize) : end;
+            shards.add(new QueryTimeInterval(shardStart, shardEnd));
+            shardStart = shardEnd;
+        }
+        return shards;
+    }
+
+    /**
+     * collapses whitespaces outside string literals, so that formatting doesn't affect caching.
+     */
+    @Nonnull
+    static String normalize(@Nonnull String query) {
+        final StringBuilder result = new StringBuilder(query.length());
+        char quote = 0;
+        boolean whitespace = false;
+        for (int i = 0; i < query.length(); i++) {
+            final char c = query.charAt(i);
+            if (quote == 0 && Character.isWhitespace(c)) {
+                whitespace = true;
+                continue;
+            }
+            if (whitespace && result.length() > 0) {
+                result.append(' ');
+            }
+            whitespace = false;
+            if (quote == 0 && (c == '"' || c == '\'')) {
+                quote = c;
+            } else if (quote == c && query.charAt(i - 1) != '\\') {
+                quote = 0;
+            }
+            result.append(c);
+        }
+        return result.toString();
+    }
+
+    /**
+     * @return true if {@code query} calls {@code now()} or {@code ago()} outside string literals.
+     */
+    static boolean isTimeRelative(@Nonnull String query) {
+        char quote = 0;
+        for (int i = 0; i < query.length(); i++) {
+            final char c = query.charAt(i);
+            if (quote != 0) {
+                if (c == quote && query.charAt(i - 1) != '\\') {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                final int start = i;
+                while (i + 1 < query.length() && Character.isJavaIdentifierPart(query.charAt(i + 1))) {
+                    i++;
+                }
+                int next = i + 1;
+                while (next < query.length() && Character.isWhitespace(query.charAt(next))) {
+                    next++;
+                }
+                if (next < query.length() && query.charAt(next) == '(' && RELATIVE_TIME_FUNCTIONS.contains(query.substring(start, i + 1))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the first tabular operator (lower case) of {@code query} which isn't row-wise, or null if there is none.
+     */
+    @Nullable
+    static String getNonRowWiseOperator(@Nonnull String query) {
+        char quote = 0;
+        for (int i = 0; i < query.length(); i++) {
+            final char c = query.charAt(i);
+            if (quote != 0) {
+                if (c == quote && query.charAt(i - 1) != '\\') {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '|') {
+                int start = i + 1;
+                while (start < query.length() && Character.isWhitespace(query.charAt(start))) {
+                    start++;
+                }
+                int end = start;
+                while (end < query.length() && (Character.isLetterOrDigit(query.charAt(end)) || query.charAt(end) == '-' || query.charAt(end) == '_')) {
+                    end++;
+                }
+                final String operator = query.substring(start, end).toLowerCase(Locale.ROOT);
+                if (NON_ROW_WISE_OPERATORS.contains(operator)) {
+                    return operator;
+                }
+                i = end - 1;
+            }
+        }
+        return null;
+    }
+
+    static boolean isTimeout(@Nonnull Throwable e) {
+        for (final Throwable t : ExceptionUtils.getThrowableList(e)) {
+            if (t instanceof TimeoutException) {
+                return true;
+            }
+            if (t instanceof HttpResponseException) {
+                final HttpResponseException error = (HttpResponseException) t;
+                if (error.getValue() instanceof LogsQueryError && TIMEOUT_ERROR_CODES.contains(((LogsQueryError) error.getValue()).getCode())) {
+                    return true;
+                }
+                final int status = Objects.nonNull(error.getResponse()) ? error.getResponse().getStatusCode() : 0;
+                if (status == 408 || status == 504) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * a server timeout raised at {@code raisedAt} (nanos of the ticker), which halves every
+     * {@link #SERVER_TIMEOUT_HALF_LIFE} since then, but never gets below {@link #MIN_SERVER_TIMEOUT}.
+     */
+    @RequiredArgsConstructor
+    private static class ServerTimeout {
+        @Nonnull
+        private final Duration value;
+        private final long raisedAt;
+
+        @Nonnull
+        Duration decayed(long now) {
+            final long halvings = Math.max(0, (now - this.raisedAt) / SERVER_TIMEOUT_HALF_LIFE.toNanos());
+            final Duration decayed = halvings >= Long.SIZE - 1 ? Duration.ZERO : this.value.dividedBy(1L << halvings);
+            return decayed.compareTo(MIN_SERVER_TIMEOUT) < 0 ? MIN_SERVER_TIMEOUT : decayed;
+        }
+    }
+}
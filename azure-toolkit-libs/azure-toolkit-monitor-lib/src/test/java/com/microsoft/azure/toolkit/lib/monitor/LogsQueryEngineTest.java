@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.monitor;
+
+import com.azure.core.exception.HttpResponseException;
+import com.azure.core.http.rest.Response;
+import com.azure.monitor.query.LogsQueryClient;
+import com.azure.monitor.query.models.LogsQueryError;
+import com.azure.monitor.query.models.LogsQueryOptions;
+import com.azure.monitor.query.models.LogsQueryResult;
+import com.azure.monitor.query.models.LogsTable;
+import com.azure.monitor.query.models.QueryTimeInterval;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LogsQueryEngineTest {
+    private static final String WORKSPACE = "workspace";
+    private static final QueryTimeInterval LAST_DAY = new QueryTimeInterval(OffsetDateTime.parse("2024-01-01T00:00:00Z"), OffsetDateTime.parse("2024-01-02T00:00:00Z"));
+
+    private LogsQueryClient client;
+    private LogsTable table;
+    private Response<LogsQueryResult> response;
+    private LogsQueryEngine engine;
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        this.client = mock(LogsQueryClient.class);
+        this.table = mock(LogsTable.class);
+        final LogsQueryResult result = mock(LogsQueryResult.class);
+        when(result.getTable()).thenReturn(this.table);
+        this.response = mock(Response.class);
+        when(this.response.getValue()).thenReturn(result);
+        when(this.client.queryWorkspaceWithResponse(anyString(), anyString(), any(), any(), any())).thenReturn(this.response);
+        this.engine = new LogsQueryEngine(this.client, LogsQueryEngine.DEFAULT_CACHE_TTL, this.nanos::get);
+    }
+
+    @Test
+    public void testResultsOfFixedTimeRangeAreCached() {
+        assertSame(this.table, this.engine.query(WORKSPACE, "AppTraces | take 10", LAST_DAY));
+        assertSame(this.table, this.engine.query(WORKSPACE, "AppTraces\n|   take 10", LAST_DAY));
+        verify(this.client, times(1)).queryWorkspaceWithResponse(anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    public void testResultsWithoutIntervalAreCached() {
+        assertSame(this.table, this.engine.query(WORKSPACE, "AppTraces | take 10", null));
+        assertSame(this.table, this.engine.query(WORKSPACE, "AppTraces | take 10", null));
+        this.engine.query(WORKSPACE, "AppTraces | take 10", LAST_DAY);
+        verify(this.client, times(2)).queryWorkspaceWithResponse(anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    public void testResultsOfRelativeTimeRangeAreNotCached() {
+        this.engine.query(WORKSPACE, "AppTraces | where TimeGenerated > ago(1h)", null);
+        this.engine.query(WORKSPACE, "AppTraces | where TimeGenerated > ago(1h)", null);
+        this.engine.query(WORKSPACE, "AppTraces | where TimeGenerated > ago(1h)", LAST_DAY);
+        this.engine.query(WORKSPACE, "AppTraces | where TimeGenerated > ago(1h)", LAST_DAY);
+        verify(this.client, times(4)).queryWorkspaceWithResponse(anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    public void testIsTimeRelative() {
+        assertTrue(LogsQueryEngine.isTimeRelative("T | where TimeGenerated > ago(1h)"));
+        assertTrue(LogsQueryEngine.isTimeRelative("T | extend t = now ()"));
+        assertFalse(LogsQueryEngine.isTimeRelative("T | where Message == 'ago(1h)'"));
+        assertFalse(LogsQueryEngine.isTimeRelative("T | extend snow(1), Ago"));
+    }
+
+    @Test
+    public void testNormalize() {
+        assertEquals("T | where a == 'x  y' | take 1", LogsQueryEngine.normalize("  T\n|  where a ==   'x  y'\n| take 1 "));
+    }
+
+    @Test
+    public void testServerTimeoutIsRaisedOnTimeoutErrorCode() {
+        final LogsQueryError error = mock(LogsQueryError.class);
+        when(error.getCode()).thenReturn("GatewayTimeout");
+        when(this.client.queryWorkspaceWithResponse(anyString(), anyString(), any(), any(), any()))
+            .thenThrow(new HttpResponseException("Gateway timeout", null, error))
+            .thenReturn(this.response);
+        assertSame(this.table, this.engine.query(WORKSPACE, "T | take 1", LAST_DAY));
+
+        final ArgumentCaptor<LogsQueryOptions> options = ArgumentCaptor.forClass(LogsQueryOptions.class);
+        verify(this.client, times(2)).queryWorkspaceWithResponse(anyString(), anyString(), any(), options.capture(), any());
+        final List<LogsQueryOptions> values = options.getAllValues();
+        assertEquals(LogsQueryEngine.MIN_SERVER_TIMEOUT, values.get(0).getServerTimeout());
+        assertEquals(LogsQueryEngine.MIN_SERVER_TIMEOUT.multipliedBy(2), values.get(1).getServerTimeout());
+    }
+
+    @Test
+    public void testRetriesFitInTotalServerTimeout() {
+        final LogsQueryError error = mock(LogsQueryError.class);
+        when(error.getCode()).thenReturn("GatewayTimeout");
+        final HttpResponseException exception = new HttpResponseException("Gateway timeout", null, error);
+        when(this.client.queryWorkspaceWithResponse(anyString(), anyString(), any(), any(), any())).thenThrow(exception);
+        try {
+            this.engine.query(WORKSPACE, "T | take 1", LAST_DAY);
+            fail("error is expected");
+        } catch (final HttpResponseException e) {
+            assertSame(exception, e);
+        }
+
+        final ArgumentCaptor<LogsQueryOptions> options = ArgumentCaptor.forClass(LogsQueryOptions.class);
+        verify(this.client, times(6)).queryWorkspaceWithResponse(anyString(), anyString(), any(), options.capture(), any());
+        final Duration total = options.getAllValues().stream().map(LogsQueryOptions::getServerTimeout).reduce(Duration.ZERO, Duration::plus);
+        assertEquals(LogsQueryEngine.MAX_TOTAL_SERVER_TIMEOUT, total);
+    }
+
+    @Test
+    public void testRaisedServerTimeoutDecays() {
+        final LogsQueryError error = mock(LogsQueryError.class);
+        when(error.getCode()).thenReturn("GatewayTimeout");
+        when(this.client.queryWorkspaceWithResponse(anyString(), anyString(), any(), any(), any()))
+            .thenThrow(new HttpResponseException("Gateway timeout", null, error))
+            .thenThrow(new HttpResponseException("Gateway timeout", null, error))
+            .thenReturn(this.response);
+        this.engine.query(WORKSPACE, "T | take 1", LAST_DAY); // raised to 4x
+        this.engine.invalidateCache();
+        this.engine.query(WORKSPACE, "T | take 1", LAST_DAY);
+        this.nanos.addAndGet(LogsQueryEngine.SERVER_TIMEOUT_HALF_LIFE.toNanos());
+        this.engine.invalidateCache();
+        this.engine.query(WORKSPACE, "T | take 1", LAST_DAY);
+        this.nanos.addAndGet(LogsQueryEngine.SERVER_TIMEOUT_HALF_LIFE.multipliedBy(10).toNanos());
+        this.engine.invalidateCache();
+        this.engine.query(WORKSPACE, "T | take 1", LAST_DAY);
+
+        final ArgumentCaptor<LogsQueryOptions> options = ArgumentCaptor.forClass(LogsQueryOptions.class);
+        verify(this.client, times(6)).queryWorkspaceWithResponse(anyString(), anyString(), any(), options.capture(), any());
+        final List<LogsQueryOptions> values = options.getAllValues();
+        assertEquals(LogsQueryEngine.MIN_SERVER_TIMEOUT.multipliedBy(4), values.get(3).getServerTimeout());
+        assertEquals(LogsQueryEngine.MIN_SERVER_TIMEOUT.multipliedBy(2), values.get(4).getServerTimeout());
+        assertEquals(LogsQueryEngine.MIN_SERVER_TIMEOUT, values.get(5).getServerTimeout());
+    }
+
+    @Test
+    public void testErrorMentioningTimeoutIsNotRetried() {
+        final LogsQueryError error = mock(LogsQueryError.class);
+        when(error.getCode()).thenReturn("BadArgumentError");
+        final HttpResponseException exception = new HttpResponseException("unknown column 'timeout'", null, error);
+        when(this.client.queryWorkspaceWithResponse(anyString(), anyString(), any(), any(), any())).thenThrow(exception);
+        try {
+            this.engine.query(WORKSPACE, "T | project timeout", LAST_DAY);
+            fail("error is expected");
+        } catch (final HttpResponseException e) {
+            assertSame(exception, e);
+        }
+        verify(this.client, times(1)).queryWorkspaceWithResponse(anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    public void testGetNonRowWiseOperator() {
+        assertNull(LogsQueryEngine.getNonRowWiseOperator("T | where Message has 'x' | extend n = 1 | project n"));
+        assertNull(LogsQueryEngine.getNonRowWiseOperator("T | where Message == 'a | take 1'"));
+        assertEquals("order", LogsQueryEngine.getNonRowWiseOperator("T | where n > 1\n| order by TimeGenerated"));
+        assertEquals("summarize", LogsQueryEngine.getNonRowWiseOperator("T |summarize count() by bin(TimeGenerated, 1h)"));
+        assertEquals("top-nested", LogsQueryEngine.getNonRowWiseOperator("T | top-nested 3 of Name by count()"));
+    }
+
+    @Test
+    public void testShardedQueryRejectsNonRowWiseQuery() {
+        final OffsetDateTime start = LAST_DAY.getStartTime();
+        try {
+            this.engine.query(WORKSPACE, "T | take 10", start, start.plusDays(1), Duration.ofHours(6), row -> {
+            });
+            fail("error is expected");
+        } catch (final AzureToolkitRuntimeException e) {
+            assertTrue(e.getMessage().contains("take"));
+        }
+        verify(this.client, never()).queryWorkspaceWithResponse(anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    public void testSplit() {
+        final OffsetDateTime start = LAST_DAY.getStartTime();
+        final List<QueryTimeInterval> shards = LogsQueryEngine.split(start, start.plusHours(13), Duration.ofHours(6));
+        assertEquals(3, shards.size());
+        assertEquals(start.plusHours(12), shards.get(2).getStartTime());
+        assertEquals(start.plusHours(13), shards.get(2).getEndTime());
+    }
+}
@@ -15,7 +15,9 @@ import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
 import com.microsoft.azure.toolkit.lib.common.utils.Utils;
+import com.microsoft.azure.toolkit.lib.servicebus.queue.ServiceBusQueue;
 import com.microsoft.azure.toolkit.lib.servicebus.queue.ServiceBusQueueModule;
+import com.microsoft.azure.toolkit.lib.servicebus.topic.ServiceBusTopic;
 import com.microsoft.azure.toolkit.lib.servicebus.topic.ServiceBusTopicModule;
 import org.apache.commons.lang3.StringUtils;
 
@@ -66,6 +68,13 @@ public class ServiceBusNamespace extends AbstractAzResource<ServiceBusNamespace,
         return Arrays.asList(queueModule, topicModule);
     }
 
+    @Override
+    public void delete() {
+        this.queueModule.listCachedResources().forEach(ServiceBusQueue::closeSenderClient);
+        this.topicModule.listCachedResources().forEach(ServiceBusTopic::closeSenderClient);
+        super.delete();
+    }
+
     @Nonnull
     @Override
     protected String loadStatus(@Nonnull com.azure.resourcemanager.servicebus.models.ServiceBusNamespace remote) {
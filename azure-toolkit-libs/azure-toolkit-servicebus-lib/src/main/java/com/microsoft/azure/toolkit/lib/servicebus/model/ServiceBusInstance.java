@@ -9,29 +9,42 @@ import com.azure.messaging.servicebus.*;
 import com.azure.resourcemanager.servicebus.models.AccessRights;
 import com.azure.resourcemanager.servicebus.models.EntityStatus;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessager;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.resource.message.ISenderReceiver;
 import com.microsoft.azure.toolkit.lib.servicebus.ServiceBusNamespace;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 public abstract class ServiceBusInstance<
         T extends ServiceBusInstance<T, P, F>, P, F>
         extends AbstractAzResource<T, ServiceBusNamespace, F> implements ISenderReceiver {
+    protected static final int PREFETCH_COUNT = 50;
     @Nullable
     protected EntityStatus entityStatus;
     @Nullable
     protected ServiceBusProcessorClient processorClient;
     @Nullable
     protected IAzureMessager messager;
+    @Nullable
+    private ServiceBusSenderClient senderClient;
+    private final Map<String, String> connectionStrings = new ConcurrentHashMap<>();
 
     protected ServiceBusInstance(@Nonnull String name, @Nonnull AbstractAzResourceModule<T, ServiceBusNamespace, F> module) {
         super(name, module);
@@ -44,18 +57,133 @@ public abstract class ServiceBusInstance<
     }
 
     public String getOrCreateListenConnectionString() {
-        return getOrCreateConnectionString(Collections.singletonList(AccessRights.LISTEN));
+        return getCachedConnectionString(Collections.singletonList(AccessRights.LISTEN));
+    }
+
+    /**
+     * @return connection string with {@code accessRights}, which is looked up (or created) only once and cached
+     * until sending/receiving with it fails.
+     */
+    protected String getCachedConnectionString(List<AccessRights> accessRights) {
+        final String key = accessRights.stream().map(AccessRights::toString).sorted().collect(Collectors.joining("-"));
+        return this.connectionStrings.computeIfAbsent(key, k -> getOrCreateConnectionString(accessRights));
     }
+
     protected abstract String getOrCreateConnectionString(List<AccessRights> accessRights);
 
+    @Nonnull
+    protected abstract ServiceBusSenderClient buildSenderClient(@Nonnull String connectionString);
+
     @Nullable
     public EntityStatus getEntityStatus() {
         return this.entityStatus;
     }
+
+    protected void setEntityStatus(@Nullable EntityStatus status) {
+        this.entityStatus = status;
+        if (!this.isSendEnabled()) { // stopped
+            this.closeSenderClient();
+        }
+    }
+
+    @Override
+    protected void updateAdditionalProperties(@Nullable F newRemote, @Nullable F oldRemote) {
+        super.updateAdditionalProperties(newRemote, oldRemote);
+        if (Objects.isNull(newRemote)) { // deleted
+            this.closeSenderClient();
+        }
+    }
+
+    @Override
+    public void invalidateCache() {
+        super.invalidateCache();
+        this.closeSenderClient(); // the key may have been regenerated.
+    }
+
+    @Override
+    public void delete() {
+        this.closeSenderClient();
+        super.delete();
+    }
     public abstract void updateStatus(EntityStatus status);
 
     @Override
-    public abstract void sendMessage(String message);
+    public void sendMessage(String message) {
+        final IAzureMessager messager = AzureMessager.getMessager();
+        messager.info(AzureString.format("Sending message to %s (%s)...\n", getResourceTypeName(), getName()));
+        try {
+            getOrCreateSenderClient().sendMessage(new ServiceBusMessage(message));
+            messager.info("Successfully sent message ");
+            messager.success(AzureString.format("\"%s\"", message));
+            messager.info(AzureString.format(" to %s (%s)\n", getResourceTypeName(), getName()));
+        } catch (final Exception e) {
+            closeSenderClient();
+            messager.error(AzureString.format("Failed to send message to %s (%s): %s", getResourceTypeName(), getName(), e));
+        }
+    }
+
+    /**
+     * sends every non-blank line of {@code file} (e.g. NDJSON) as a message, in as few {@link ServiceBusMessageBatch
+     * batches} as possible. the file is streamed rather than loaded into memory.
+     */
+    public void sendMessages(@Nonnull Path file) {
+        final IAzureMessager messager = AzureMessager.getMessager();
+        messager.info(AzureString.format("Sending messages in file (%s) to %s (%s)...\n", file.getFileName(), getResourceTypeName(), getName()));
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            final ServiceBusSenderClient sender = getOrCreateSenderClient();
+            ServiceBusMessageBatch batch = sender.createMessageBatch();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (StringUtils.isBlank(line)) {
+                    continue;
+                }
+                final ServiceBusMessage message = new ServiceBusMessage(line);
+                if (!batch.tryAddMessage(message)) {
+                    sender.sendMessages(batch);
+                    count += batch.getCount();
+                    batch = sender.createMessageBatch();
+                    if (!batch.tryAddMessage(message)) {
+                        throw new AzureToolkitRuntimeException(String.format("Message is too large for an empty batch. Max size: %s", batch.getMaxSizeInBytes()));
+                    }
+                }
+            }
+            if (batch.getCount() > 0) {
+                sender.sendMessages(batch);
+                count += batch.getCount();
+            }
+            messager.success(AzureString.format("Successfully sent %s messages to %s (%s)\n", count, getResourceTypeName(), getName()));
+        } catch (final Exception e) {
+            closeSenderClient();
+            messager.error(AzureString.format("Failed to send messages to %s (%s) after %s messages sent: %s", getResourceTypeName(), getName(), count, e));
+        }
+    }
+
+    /**
+     * @return the sender of this queue/topic, which is created on first use and shared afterwards.
+     */
+    @Nonnull
+    protected synchronized ServiceBusSenderClient getOrCreateSenderClient() {
+        if (Objects.isNull(this.senderClient)) {
+            this.senderClient = buildSenderClient(getCachedConnectionString(Collections.singletonList(AccessRights.SEND)));
+        }
+        return this.senderClient;
+    }
+
+    /**
+     * closes the sender and evicts the cached connection strings, both are recreated on next use.
+     */
+    public synchronized void closeSenderClient() {
+        final ServiceBusSenderClient current = this.senderClient;
+        this.senderClient = null;
+        this.connectionStrings.clear(); // the key may have been regenerated.
+        try {
+            Optional.ofNullable(current).ifPresent(ServiceBusSenderClient::close);
+        } catch (final RuntimeException e) {
+            // ignore
+        }
+    }
+
     @Override
     public abstract void startReceivingMessage();
     @Override
@@ -99,6 +227,7 @@ public abstract class ServiceBusInstance<
         if (reason == ServiceBusFailureReason.MESSAGING_ENTITY_DISABLED
                 || reason == ServiceBusFailureReason.MESSAGING_ENTITY_NOT_FOUND
                 || reason == ServiceBusFailureReason.UNAUTHORIZED) {
+            this.closeSenderClient();
             messager.error(AzureString.format("An unrecoverable error occurred. Stopping processing with reason %s: %s\n",
                     reason, exception.getMessage()));
         } else if (reason == ServiceBusFailureReason.MESSAGE_LOCK_LOST) {
@@ -18,7 +18,6 @@ import com.azure.resourcemanager.servicebus.models.QueueAuthorizationRule;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
-import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessager;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
 import com.microsoft.azure.toolkit.lib.servicebus.ServiceBusNamespace;
 import com.microsoft.azure.toolkit.lib.servicebus.model.ServiceBusInstance;
@@ -41,7 +40,7 @@ public class ServiceBusQueue extends ServiceBusInstance<ServiceBusQueue, Service
     @Override
     protected void updateAdditionalProperties(@Nullable Queue newRemote, @Nullable Queue oldRemote) {
         super.updateAdditionalProperties(newRemote, oldRemote);
-        this.entityStatus = Optional.ofNullable(newRemote).map(Queue::innerModel).map(SBQueueInner::status).orElse(null);
+        this.setEntityStatus(Optional.ofNullable(newRemote).map(Queue::innerModel).map(SBQueueInner::status).orElse(null));
     }
 
     @Nonnull
@@ -60,22 +59,14 @@ public class ServiceBusQueue extends ServiceBusInstance<ServiceBusQueue, Service
                 .ifPresent(c -> doModify(() -> c.createOrUpdate(getResourceGroupName(), namespace.getName(), getName(), inner.withStatus(status)), Status.UPDATING));
     }
 
+    @Nonnull
     @Override
-    public void sendMessage(String message) {
-        final IAzureMessager messager = AzureMessager.getMessager();
-        messager.info(AzureString.format("Sending message to Service Bus Queue (%s)...\n", getName()));
-        try (final ServiceBusSenderClient senderClient = new ServiceBusClientBuilder()
-                .connectionString(getOrCreateConnectionString(Collections.singletonList(AccessRights.SEND)))
+    protected ServiceBusSenderClient buildSenderClient(@Nonnull String connectionString) {
+        return new ServiceBusClientBuilder()
+                .connectionString(connectionString)
                 .sender()
                 .queueName(getName())
-                .buildClient()) {
-            senderClient.sendMessage(new ServiceBusMessage(message));
-            messager.info("Successfully sent message ");
-            messager.success(AzureString.format("\"%s\"", message));
-            messager.info(AzureString.format(" to Service Bus Queue (%s)\n", getName()));
-        } catch (final Exception e) {
-            messager.error(AzureString.format("Failed to send message to Service Bus Queue (%s): %s", getName(), e));
-        }
+                .buildClient();
     }
 
     @Override
@@ -83,10 +74,11 @@ public class ServiceBusQueue extends ServiceBusInstance<ServiceBusQueue, Service
         messager = AzureMessager.getMessager();
         messager.info(AzureString.format("Start listening to Service Bus Queue ({0})\n", getName()));
         this.processorClient = new ServiceBusClientBuilder()
-                .connectionString(getOrCreateConnectionString(Collections.singletonList(AccessRights.LISTEN)))
+                .connectionString(getOrCreateListenConnectionString())
                 .processor()
                 .queueName(getName())
                 .receiveMode(ServiceBusReceiveMode.PEEK_LOCK)
+                .prefetchCount(PREFETCH_COUNT)
                 .processMessage(this::processMessage)
                 .processError(this::processError)
                 .disableAutoComplete()  // Complete - causes the message to be deleted from the queue or topic.
@@ -15,7 +15,6 @@ import com.azure.resourcemanager.servicebus.models.*;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
-import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessager;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
 import com.microsoft.azure.toolkit.lib.common.utils.Utils;
 import com.microsoft.azure.toolkit.lib.servicebus.ServiceBusNamespace;
@@ -39,7 +38,7 @@ public class ServiceBusTopic extends ServiceBusInstance<ServiceBusTopic, Service
     @Override
     protected void updateAdditionalProperties(@Nullable Topic newRemote, @Nullable Topic oldRemote) {
         super.updateAdditionalProperties(newRemote, oldRemote);
-        this.entityStatus = Optional.ofNullable(newRemote).map(Topic::innerModel).map(SBTopicInner::status).orElse(null);
+        this.setEntityStatus(Optional.ofNullable(newRemote).map(Topic::innerModel).map(SBTopicInner::status).orElse(null));
     }
 
     @Nonnull
@@ -58,22 +57,14 @@ public class ServiceBusTopic extends ServiceBusInstance<ServiceBusTopic, Service
                 .ifPresent(c -> doModify(() -> c.createOrUpdate(getResourceGroupName(), namespace.getName(), getName(), inner.withStatus(status)), Status.UPDATING));
     }
 
+    @Nonnull
     @Override
-    public void sendMessage(String message) {
-        final IAzureMessager messager = AzureMessager.getMessager();
-        messager.info(AzureString.format("Sending message to Service Bus Topic (%s)...\n", getName()));
-        try (final ServiceBusSenderClient senderClient = new ServiceBusClientBuilder()
-                .connectionString(getOrCreateConnectionString(Collections.singletonList(AccessRights.SEND)))
+    protected ServiceBusSenderClient buildSenderClient(@Nonnull String connectionString) {
+        return new ServiceBusClientBuilder()
+                .connectionString(connectionString)
                 .sender()
                 .topicName(getName())
-                .buildClient()) {
-            senderClient.sendMessage(new ServiceBusMessage(message));
-            messager.info("Successfully sent message ");
-            messager.success(AzureString.format("\"%s\"", message));
-            messager.info(AzureString.format(" to Service Bus Topic (%s)\n", getName()));
-        } catch (final Exception e) {
-            messager.error(AzureString.format("Failed to send message to Service Bus Topic (%s): %s", getName(), e));
-        }
+                .buildClient();
     }
 
     @Override
@@ -81,11 +72,12 @@ public class ServiceBusTopic extends ServiceBusInstance<ServiceBusTopic, Service
         messager = AzureMessager.getMessager();
         messager.info(AzureString.format("Start listening to Service Bus Topic ({0})\n", getName()));
         this.processorClient = new ServiceBusClientBuilder()
-                .connectionString(getOrCreateConnectionString(Collections.singletonList(AccessRights.LISTEN)))
+                .connectionString(getOrCreateListenConnectionString())
                 .processor()
                 .topicName(getName())
                 .subscriptionName(getOrCreateSubscription().name())
                 .receiveMode(ServiceBusReceiveMode.PEEK_LOCK)
+                .prefetchCount(PREFETCH_COUNT)
                 .processMessage(this::processMessage)
                 .processError(this::processError)
                 .disableAutoComplete()  // Complete - causes the message to be deleted from the queue or topic.
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.servicebus.model;
+
+import com.azure.messaging.servicebus.ServiceBusSenderClient;
+import com.azure.resourcemanager.servicebus.models.AccessRights;
+import com.azure.resourcemanager.servicebus.models.EntityStatus;
+import com.azure.resourcemanager.servicebus.models.Queue;
+import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
+import com.microsoft.azure.toolkit.lib.servicebus.ServiceBusNamespace;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ServiceBusInstanceTest {
+    private FakeInstance instance;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        final AbstractAzResourceModule<FakeInstance, ServiceBusNamespace, Queue> module = mock(AbstractAzResourceModule.class);
+        when(module.getParent()).thenReturn(mock(ServiceBusNamespace.class));
+        this.instance = new FakeInstance(module);
+    }
+
+    @Test
+    public void testSenderAndConnectionStringAreShared() {
+        final ServiceBusSenderClient sender = this.instance.getOrCreateSenderClient();
+        assertSame(sender, this.instance.getOrCreateSenderClient());
+        assertEquals(1, this.instance.senders.size());
+        assertEquals(1, this.instance.lookups);
+        verify(sender, never()).close();
+    }
+
+    @Test
+    public void testSenderIsEvictedOnRefresh() {
+        final ServiceBusSenderClient sender = this.instance.getOrCreateSenderClient();
+        this.instance.invalidateCache();
+        verify(sender).close();
+        assertNotSame(sender, this.instance.getOrCreateSenderClient());
+        assertEquals(2, this.instance.lookups); // the key may have been regenerated.
+    }
+
+    @Test
+    public void testSenderIsEvictedIfStopped() {
+        final ServiceBusSenderClient sender = this.instance.getOrCreateSenderClient();
+        this.instance.setEntityStatus(EntityStatus.ACTIVE);
+        verify(sender, never()).close();
+        this.instance.setEntityStatus(EntityStatus.DISABLED);
+        verify(sender).close();
+        this.instance.getOrCreateSenderClient();
+        assertEquals(2, this.instance.lookups);
+    }
+
+    @Test
+    public void testSenderIsEvictedIfDeletedRemotely() {
+        final ServiceBusSenderClient sender = this.instance.getOrCreateSenderClient();
+        this.instance.updateAdditionalProperties(null, null);
+        verify(sender).close();
+    }
+
+    private static class FakeInstance extends ServiceBusInstance<FakeInstance, ServiceBusNamespace, Queue> {
+        private final List<ServiceBusSenderClient> senders = new ArrayList<>();
+        private int lookups;
+
+        FakeInstance(@Nonnull AbstractAzResourceModule<FakeInstance, ServiceBusNamespace, Queue> module) {
+            super("queue", module);
+        }
+
+        @Override
+        protected String getOrCreateConnectionString(List<AccessRights> accessRights) {
+            this.lookups++;
+            return "Endpoint=sb://namespace.servicebus.windows.net/;SharedAccessKeyName=key-" + this.lookups;
+        }
+
+        @Nonnull
+        @Override
+        protected ServiceBusSenderClient buildSenderClient(@Nonnull String connectionString) {
+            final ServiceBusSenderClient sender = mock(ServiceBusSenderClient.class);
+            this.senders.add(sender);
+            return sender;
+        }
+
+        @Override
+        public void updateStatus(EntityStatus status) {
+            this.setEntityStatus(status);
+        }
+
+        @Override
+        public void startReceivingMessage() {
+        }
+
+        @Nonnull
+        @Override
+        protected String loadStatus(@Nonnull Queue remote) {
+            return Status.RUNNING;
+        }
+    }
+}
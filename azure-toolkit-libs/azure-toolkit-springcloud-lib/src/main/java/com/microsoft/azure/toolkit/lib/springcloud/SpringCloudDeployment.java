@@ -20,13 +20,13 @@ import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessager;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
+import com.microsoft.azure.toolkit.lib.common.task.AzureSchedulers;
 import com.microsoft.azure.toolkit.lib.common.utils.Debouncer;
 import com.microsoft.azure.toolkit.lib.common.utils.TailingDebouncer;
 import com.microsoft.azure.toolkit.lib.servicelinker.ServiceLinkerConsumer;
 import com.microsoft.azure.toolkit.lib.servicelinker.ServiceLinkerModule;
 import org.apache.commons.lang3.StringUtils;
 import reactor.core.Disposable;
-import reactor.core.scheduler.Schedulers;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -269,7 +269,7 @@ public class SpringCloudDeployment extends AbstractAzResource<SpringCloudDeploym
             final SpringCloudCluster service = this.getParent().getParent();
             disposable = this.getLatestInstance().streamingLogs(follow, service.isConsumptionTier() ? 300 : 500)
                 .doFinally(type -> messager.debug("###############STREAMING LOG END##################"))
-                .subscribeOn(Schedulers.boundedElastic())
+                .subscribeOn(AzureSchedulers.streaming())
                 .subscribe((s) -> {
                     messager.debug(s);
                     fireEvents.debounce();
@@ -5,6 +5,7 @@
 
 package com.microsoft.azure.toolkit.lib.springcloud;
 
+import com.microsoft.azure.toolkit.lib.common.task.AzureSchedulers;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import rx.Observable;
@@ -64,7 +65,7 @@ public class Utils {
         return Observable.interval(pollingInterval, TimeUnit.SECONDS)
             .timeout(timeOutInSeconds, TimeUnit.SECONDS)
             .flatMap(aLong -> Observable.fromCallable(callable))
-            .subscribeOn(Schedulers.io())
+            .subscribeOn(Schedulers.from(AzureSchedulers.polling()))
             .takeUntil(resource -> predicate.test(resource) || System.currentTimeMillis() > timeout)
             .toBlocking().last();
     }
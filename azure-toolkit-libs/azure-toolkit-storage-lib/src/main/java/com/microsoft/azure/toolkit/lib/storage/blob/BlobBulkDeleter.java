@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.blob;
+
+import com.microsoft.azure.toolkit.lib.common.task.AzureSchedulers;
+import com.azure.core.http.rest.Response;
+import com.azure.core.util.Context;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.batch.BlobBatch;
+import com.azure.storage.blob.batch.BlobBatchClient;
+import com.azure.storage.blob.batch.BlobBatchClientBuilder;
+import com.azure.storage.blob.batch.BlobBatchStorageException;
+import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * deletes all blobs under a prefix (a virtual directory) of a container: blobs are listed flat rather than walking the
+ * directory hierarchy, and deleted in batches of up to {@link #MAX_BATCH_SIZE} through the Blob Batch API with at most
+ * {@code concurrency} batches in flight.
+ * <p>
+ * Blob Batch isn't supported on accounts with hierarchical namespace (ADLS Gen2), where directories are real paths that
+ * can't be deleted until empty: blobs are deleted one by one there instead, level by level from the deepest.
+ */
+@Slf4j
+public class BlobBulkDeleter {
+    public static final int MAX_BATCH_SIZE = 256;
+    public static final int DEFAULT_CONCURRENCY = 4;
+    private static final int LIST_PAGE_SIZE = 5000;
+
+    @Nonnull
+    private final BlobContainerClient client;
+    @Nonnull
+    private final BlobBatchClient batchClient;
+    private final int concurrency;
+
+    public BlobBulkDeleter(@Nonnull BlobContainerClient client) {
+        this(client, DEFAULT_CONCURRENCY);
+    }
+
+    public BlobBulkDeleter(@Nonnull BlobContainerClient client, int concurrency) {
+        this(client, new BlobBatchClientBuilder(client).buildClient(), concurrency);
+    }
+
+    BlobBulkDeleter(@Nonnull BlobContainerClient client, @Nonnull BlobBatchClient batchClient, int concurrency) {
+        this.client = client;
+        this.batchClient = batchClient;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /**
+     * dry run of {@link #delete(String)}.
+     *
+     * @return count of blobs under {@code prefix}.
+     */
+    public long count(@Nonnull String prefix) {
+        return this.listBlobs(prefix).count().blockOptional().orElse(0L);
+    }
+
+    /**
+     * deletes all blobs (including their snapshots) under {@code prefix}, failure of a blob doesn't stop the others.
+     */
+    @Nonnull
+    public Result delete(@Nonnull String prefix) {
+        final Result result = new Result();
+        if (this.isHierarchicalNamespaceEnabled()) {
+            this.deleteByLevel(prefix, result);
+        } else {
+            this.listBlobs(prefix)
+                .buffer(MAX_BATCH_SIZE)
+                .flatMap(names -> Mono.fromRunnable(() -> this.deleteBatch(names, result)).subscribeOn(AzureSchedulers.io()), this.concurrency)
+                .blockLast();
+        }
+        log.debug("deleted {} blobs under '{}' of container {}, {} failed.", result.getDeleted(), prefix, this.client.getBlobContainerName(), result.failures.size());
+        return result;
+    }
+
+    @Nonnull
+    private Flux<String> listBlobs(@Nonnull String prefix) {
+        final ListBlobsOptions options = new ListBlobsOptions().setPrefix(prefix).setMaxResultsPerPage(LIST_PAGE_SIZE);
+        return Flux.fromIterable(this.client.listBlobs(options, null)).map(BlobItem::getName).subscribeOn(AzureSchedulers.io());
+    }
+
+    private boolean isHierarchicalNamespaceEnabled() {
+        try {
+            return this.client.getServiceClient().getAccountInfo().isHierarchicalNamespaceEnabled();
+        } catch (final RuntimeException e) { // e.g. not authorized to get account info with a SAS of the container.
+            log.debug("failed to get account info of container {}, assuming flat namespace.", this.client.getBlobContainerName(), e);
+            return false;
+        }
+    }
+
+    private void deleteByLevel(@Nonnull String prefix, @Nonnull Result result) {
+        final List<String> paths = new ArrayList<>(Optional.ofNullable(this.listBlobs(prefix).collectList().block()).orElse(Collections.emptyList()));
+        final String directory = StringUtils.removeEnd(prefix, "/");
+        if (StringUtils.isNotBlank(directory) && !directory.equals(prefix)) {
+            paths.add(directory); // the directory itself is a path too.
+        }
+        final Map<Integer, List<String>> levels = paths.stream()
+            .collect(Collectors.groupingBy(path -> StringUtils.countMatches(path, '/'), () -> new TreeMap<>(Comparator.reverseOrder()), Collectors.toList()));
+        levels.values().forEach(level -> Flux.fromIterable(level)
+            .flatMap(path -> Mono.fromRunnable(() -> this.deleteBlob(path, result)).subscribeOn(AzureSchedulers.io()), this.concurrency)
+            .blockLast());
+    }
+
+    private void deleteBlob(@Nonnull String name, @Nonnull Result result) {
+        check(name, () -> this.client.getBlobClient(name).deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE, null, null, Context.NONE), result);
+    }
+
+    private void deleteBatch(@Nonnull List<String> names, @Nonnull Result result) {
+        final BlobBatch batch = this.batchClient.getBlobBatch();
+        final Map<String, Response<Void>> responses = new LinkedHashMap<>();
+        final String container = this.client.getBlobContainerName();
+        names.forEach(name -> responses.put(name, batch.deleteBlob(container, name, DeleteSnapshotsOptionType.INCLUDE, null)));
+        try {
+            this.batchClient.submitBatchWithResponse(batch, false, null, Context.NONE);
+        } catch (final BlobBatchStorageException ignored) {
+            // failures are checked per blob below
+        } catch (final RuntimeException e) { // the whole batch failed
+            names.forEach(name -> result.failures.put(name, ExceptionUtils.getRootCauseMessage(e)));
+            return;
+        }
+        // `getStatusCode` throws the error of the operation if it failed.
+        responses.forEach((name, response) -> check(name, response::getStatusCode, result));
+    }
+
+    private static void check(@Nonnull String name, @Nonnull Runnable deletion, @Nonnull Result result) {
+        try {
+            deletion.run();
+            result.deleted.incrementAndGet();
+        } catch (final BlobStorageException e) {
+            if (e.getStatusCode() == HttpStatus.SC_NOT_FOUND) { // deleted by others
+                result.deleted.incrementAndGet();
+            } else {
+                result.failures.put(name, String.valueOf(e.getErrorCode()));
+            }
+        } catch (final RuntimeException e) {
+            result.failures.put(name, ExceptionUtils.getRootCauseMessage(e));
+        }
+    }
+
+    public static class Result {
+        private final AtomicLong deleted = new AtomicLong();
+        /**
+         * blob name -> error
+         */
+        private final Map<String, String> failures = new ConcurrentHashMap<>();
+
+        public long getDeleted() {
+            return this.deleted.get();
+        }
+
+        public boolean isSucceeded() {
+            return this.failures.isEmpty();
+        }
+
+        @Nonnull
+        public Map<String, String> getFailures() {
+            return Collections.unmodifiableMap(this.failures);
+        }
+    }
+}
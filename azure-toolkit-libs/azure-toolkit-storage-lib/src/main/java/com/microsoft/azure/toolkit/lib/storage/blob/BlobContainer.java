@@ -12,16 +12,20 @@ import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractEmulatableAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
 import com.microsoft.azure.toolkit.lib.storage.IStorageAccount;
+import com.microsoft.azure.toolkit.lib.storage.model.DirectoryTransfer;
 import lombok.Getter;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Path;
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Getter
 public class BlobContainer extends AbstractEmulatableAzResource<BlobContainer, IStorageAccount, BlobContainerClient>
@@ -98,4 +102,26 @@ public class BlobContainer extends AbstractEmulatableAzResource<BlobContainer, I
     @Override
     public void download(Path dest) {
     }
+
+    /**
+     * uploads all files under {@code source} into this blob container in parallel, files identical to the existing ones are skipped.
+     */
+    @Nonnull
+    public DirectoryTransfer.Progress uploadDirectory(@Nonnull Path source, @Nullable Consumer<DirectoryTransfer.Progress> listener) throws IOException {
+        final BlobContainerClient client = Objects.requireNonNull(this.getClient(), "client of blob container is not available.");
+        try {
+            return new DirectoryTransfer(new BlobRemote(client, ""), DirectoryTransfer.DEFAULT_CONCURRENCY, listener).upload(source);
+        } finally {
+            this.subFileModule.refresh();
+        }
+    }
+
+    /**
+     * downloads all files of this blob container into {@code dest} in parallel, files identical to the existing ones are skipped.
+     */
+    @Nonnull
+    public DirectoryTransfer.Progress downloadDirectory(@Nonnull Path dest, @Nullable Consumer<DirectoryTransfer.Progress> listener) throws IOException {
+        final BlobContainerClient client = Objects.requireNonNull(this.getClient(), "client of blob container is not available.");
+        return new DirectoryTransfer(new BlobRemote(client, ""), DirectoryTransfer.DEFAULT_CONCURRENCY, listener).download(dest);
+    }
 }
@@ -12,6 +12,7 @@ import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractEmulatableAzResourceModule;
+import com.microsoft.azure.toolkit.lib.common.model.DataPlaneClients;
 import com.microsoft.azure.toolkit.lib.common.model.page.ItemPage;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.storage.IStorageAccount;
@@ -41,7 +42,8 @@ public class BlobContainerModule extends AbstractEmulatableAzResourceModule<Blob
     synchronized BlobServiceClient getBlobServiceClient() {
         if (Objects.isNull(this.client) && this.parent.exists()) {
             final String connectionString = this.parent.getConnectionString();
-            this.client = new BlobServiceClientBuilder().addPolicy(AbstractAzServiceSubscription.getUserAgentPolicy()).connectionString(connectionString).buildClient();
+            this.client = DataPlaneClients.get(BlobServiceClient.class, connectionString, http -> new BlobServiceClientBuilder().httpClient(http)
+                .addPolicy(AbstractAzServiceSubscription.getUserAgentPolicy()).connectionString(connectionString).buildClient());
         }
         return this.client;
     }
@@ -9,6 +9,7 @@ import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.models.BlobItem;
 import com.azure.storage.blob.models.BlobItemProperties;
 import com.azure.storage.blob.specialized.BlobClientBase;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractEmulatableAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
@@ -89,12 +90,20 @@ public class BlobFile extends AbstractEmulatableAzResource<BlobFile, IBlobFile,
 
     @Override
     public void download(OutputStream output) {
-        Optional.ofNullable(this.getClient()).map(c -> c.getBlobClient(this.getPath())).ifPresent(client -> client.downloadStream(output));
+        Optional.ofNullable(this.getClient()).map(c -> c.getBlobClient(this.getPath())).ifPresent(client -> {
+            final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("blob", AzureMetrics.DOWNLOAD);
+            client.downloadStream(output);
+            transfer.stop(this.getSize());
+        });
     }
 
     @Override
     public void download(Path dest) {
-        Optional.ofNullable(this.getClient()).map(c -> c.getBlobClient(this.getPath())).ifPresent(client -> client.downloadToFile(dest.toAbsolutePath().toString()));
+        Optional.ofNullable(this.getClient()).map(c -> c.getBlobClient(this.getPath())).ifPresent(client -> {
+            final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("blob", AzureMetrics.DOWNLOAD);
+            client.downloadToFile(dest.toAbsolutePath().toString());
+            transfer.stop(dest.toFile().length());
+        });
     }
 
     @Override
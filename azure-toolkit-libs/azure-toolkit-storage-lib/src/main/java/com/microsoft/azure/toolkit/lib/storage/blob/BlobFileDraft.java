@@ -15,6 +15,7 @@ import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessager;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.storage.model.StorageFile;
 import lombok.Getter;
@@ -68,7 +69,9 @@ public class BlobFileDraft extends BlobFile implements StorageFile.Draft<BlobFil
         final IAzureMessager messager = AzureMessager.getMessager();
         if (Objects.nonNull(this.sourceFile)) {
             messager.info(AzureString.format("Start uploading file ({0}).", sourceFile.getFileName()));
+            final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("blob", AzureMetrics.UPLOAD);
             client.uploadFromFile(this.sourceFile.toString());
+            transfer.stop(this.sourceFile.toFile().length());
             final Action<StorageFile> open = AzureActionManager.getInstance().getAction(OPEN_FILE).bind(this);
             messager.success(AzureString.format("File ({0}) is successfully uploaded.", sourceFile.getFileName()), open);
         } else {
@@ -93,7 +96,9 @@ public class BlobFileDraft extends BlobFile implements StorageFile.Draft<BlobFil
         final IAzureMessager messager = AzureMessager.getMessager();
         messager.info(AzureString.format("Start updating Blob ({0})", fullPath));
         if (Objects.nonNull(this.sourceFile)) {
+            final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("blob", AzureMetrics.UPLOAD);
             client.uploadFromFile(this.sourceFile.toString(), true);
+            transfer.stop(this.sourceFile.toFile().length());
         }
         messager.info(AzureString.format("Blob ({0}) is successfully updated.", fullPath));
         return Objects.requireNonNull(module.loadResourceFromAzure(this.getName(), this.getParent().getResourceGroupName()));
@@ -5,28 +5,35 @@
 
 package com.microsoft.azure.toolkit.lib.storage.blob;
 
-import com.azure.core.http.rest.PagedIterable;
 import com.azure.core.util.paging.ContinuablePage;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobItemProperties;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.ListBlobsOptions;
 import com.azure.storage.blob.specialized.BlobClientBase;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractEmulatableAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.AzResource;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpStatus;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Stream;
 
 public class BlobFileModule extends AbstractEmulatableAzResourceModule<BlobFile, IBlobFile, BlobItem> {
 
     public static final String NAME = "file";
+    private static final String DELIMITER = "/";
 
     public BlobFileModule(@Nonnull IBlobFile parent) {
         super(NAME, parent);
@@ -49,10 +56,30 @@ public class BlobFileModule extends AbstractEmulatableAzResourceModule<BlobFile,
     @Nullable
     @Override
     protected BlobItem loadResourceFromAzure(@Nonnull String name, @Nullable String resourceGroup) {
-        final Stream<BlobItem> resources = Optional.ofNullable(this.getClient()).map(c -> c.listBlobsByHierarchy(this.parent.getPath())).map(PagedIterable::stream).orElse(Stream.empty());
-        return resources
-            .filter(r -> Objects.equals(Paths.get(r.getName()).getFileName().toString(), name))
-            .findAny().orElse(null);
+        final BlobContainerClient client = this.getClient();
+        if (Objects.isNull(client)) {
+            return null;
+        }
+        final String parentPath = this.parent.getPath();
+        final String path = StringUtils.isEmpty(parentPath) ? name : StringUtils.appendIfMissing(parentPath, DELIMITER) + name;
+        try {
+            final BlobProperties properties = client.getBlobClient(path).getProperties();
+            return new BlobItem().setName(path).setIsPrefix(false).setProperties(new BlobItemProperties()
+                .setContentLength(properties.getBlobSize())
+                .setContentType(properties.getContentType())
+                .setCreationTime(properties.getCreationTime())
+                .setLastModified(properties.getLastModified())
+                .setETag(properties.getETag()));
+        } catch (final BlobStorageException e) {
+            if (e.getStatusCode() != HttpStatus.SC_NOT_FOUND) {
+                throw e;
+            }
+        }
+        // not a blob, check if it's a virtual directory by fetching at most one blob under it.
+        final String prefix = path + DELIMITER;
+        final ListBlobsOptions options = new ListBlobsOptions().setPrefix(prefix).setMaxResultsPerPage(1);
+        final boolean isDirectory = client.listBlobs(options, null).stream().findAny().isPresent();
+        return isDirectory ? new BlobItem().setName(prefix).setIsPrefix(true) : null;
     }
 
     @Override
@@ -73,15 +100,12 @@ public class BlobFileModule extends AbstractEmulatableAzResourceModule<BlobFile,
         if (Objects.isNull(containerClient)) {
             return;
         }
-        final PagedIterable<BlobItem> files = containerClient.listBlobsByHierarchy(current.getName());
-        for (BlobItem file : files) {
-            if (BooleanUtils.isTrue(file.isPrefix())) {
-                deleteDirectory(file);
-            } else {
-                containerClient.getBlobClient(file.getName()).deleteIfExists();
-            }
+        final BlobBulkDeleter.Result result = new BlobBulkDeleter(containerClient).delete(current.getName());
+        if (!result.isSucceeded()) {
+            final Map.Entry<String, String> failure = result.getFailures().entrySet().iterator().next();
+            throw new AzureToolkitRuntimeException(String.format("failed to delete %s blobs under '%s', e.g. '%s': %s",
+                result.getFailures().size(), current.getName(), failure.getKey(), failure.getValue()));
         }
-        containerClient.getBlobClient(current.getName()).deleteIfExists();
     }
 
     @Nonnull
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.blob;
+
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobItemProperties;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
+import com.microsoft.azure.toolkit.lib.storage.model.DirectoryTransfer;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * blobs under {@code prefix} of a container as the remote of a {@link DirectoryTransfer}.
+ */
+@RequiredArgsConstructor
+class BlobRemote implements DirectoryTransfer.Remote {
+    private static final int LIST_PAGE_SIZE = 5000;
+    @Nonnull
+    private final BlobContainerClient client;
+    @Nonnull
+    private final String prefix;
+
+    @Nonnull
+    @Override
+    public String getId() {
+        return this.client.getBlobContainerUrl() + "/" + this.prefix;
+    }
+
+    @Nonnull
+    @Override
+    public Map<String, DirectoryTransfer.Entry> list() {
+        final Map<String, DirectoryTransfer.Entry> result = new HashMap<>();
+        final ListBlobsOptions options = new ListBlobsOptions().setPrefix(this.prefix).setMaxResultsPerPage(LIST_PAGE_SIZE);
+        for (final BlobItem blob : this.client.listBlobs(options, null)) {
+            if (BooleanUtils.isTrue(blob.isPrefix()) || StringUtils.endsWith(blob.getName(), "/")) {
+                continue;
+            }
+            final BlobItemProperties properties = blob.getProperties();
+            final String path = StringUtils.removeStart(blob.getName(), this.prefix);
+            result.put(path, new DirectoryTransfer.Entry(properties.getContentLength(), properties.getLastModified(), properties.getContentMd5()));
+        }
+        return result;
+    }
+
+    @Override
+    public void upload(@Nonnull Path source, @Nonnull String path) {
+        // blobs uploaded in a single request get Content-MD5 computed by the service, which is used to skip them next time.
+        final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("blob", AzureMetrics.UPLOAD);
+        this.client.getBlobClient(this.prefix + path).uploadFromFile(source.toString(), true);
+        transfer.stop(source.toFile().length());
+    }
+
+    @Override
+    public void download(@Nonnull String path, @Nonnull Path dest) {
+        final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("blob", AzureMetrics.DOWNLOAD);
+        this.client.getBlobClient(this.prefix + path).downloadToFile(dest.toString(), true);
+        transfer.stop(dest.toFile().length());
+    }
+}
@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.model;
+
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * transfers a directory tree between local file system and a {@link Remote} (a blob container or a file share):
+ * <ul>
+ *     <li>files are transferred in parallel by a work-stealing pool, small files are grouped so that a task transfers
+ *     several of them in a row over the pooled connections instead of scheduling one task per tiny file.</li>
+ *     <li>files identical to the target (same Content-MD5 if known, otherwise same size and target not older) are
+ *     skipped.</li>
+ *     <li>transferred files are recorded in a journal together with the size and last modified time (or Content-MD5)
+ *     of their source, so that an interrupted transfer resumes with the remaining files and the files changed since;
+ *     the journal is deleted once all files are transferred.</li>
+ *     <li>aggregated progress is reported to the {@code listener} after each file.</li>
+ * </ul>
+ */
+@Slf4j
+public class DirectoryTransfer {
+    public static final int DEFAULT_CONCURRENCY = 8;
+    private static final long SMALL_FILE_SIZE = 1024 * 1024;
+    private static final int SMALL_FILES_PER_TASK = 32;
+    private static final long MAX_MD5_SIZE = 64 * 1024 * 1024;
+    private static final String SEPARATOR = "/";
+
+    @Nonnull
+    private final Remote remote;
+    private final int concurrency;
+    @Nullable
+    private final Consumer<Progress> listener;
+
+    public DirectoryTransfer(@Nonnull Remote remote) {
+        this(remote, DEFAULT_CONCURRENCY, null);
+    }
+
+    public DirectoryTransfer(@Nonnull Remote remote, int concurrency, @Nullable Consumer<Progress> listener) {
+        this.remote = remote;
+        this.concurrency = Math.max(1, concurrency);
+        this.listener = listener;
+    }
+
+    /**
+     * uploads all files under {@code source} to the remote, keeping their relative paths.
+     */
+    @Nonnull
+    public Progress upload(@Nonnull Path source) throws IOException {
+        final Map<String, Entry> remoteFiles = this.remote.list();
+        final List<Item> items;
+        try (Stream<Path> files = Files.walk(source)) {
+            items = files.filter(Files::isRegularFile).map(file -> {
+                final String path = toRemotePath(source.relativize(file));
+                final long size = sizeOf(file);
+                return new Item(path, file, size, stamp(size, lastModifiedMillis(file)), null);
+            }).collect(Collectors.toList());
+        }
+        return this.transfer(items, source, true, item -> {
+            final Entry target = remoteFiles.get(item.path);
+            if (Objects.isNull(target) || target.size != item.size) {
+                return false;
+            }
+            if (Objects.nonNull(target.md5) && item.size <= MAX_MD5_SIZE) {
+                return Arrays.equals(target.md5, md5(item.local));
+            }
+            return Objects.nonNull(target.lastModified) && !target.lastModified.toInstant().isBefore(lastModified(item.local));
+        }, item -> this.remote.upload(item.local, item.path));
+    }
+
+    /**
+     * downloads all files of the remote into {@code dest}, keeping their relative paths.
+     */
+    @Nonnull
+    public Progress download(@Nonnull Path dest) throws IOException {
+        final Path base = dest.toAbsolutePath().normalize();
+        final List<Item> items = this.remote.list().entrySet().stream().map(e -> {
+            final Path local = base.resolve(e.getKey()).normalize();
+            if (!local.startsWith(base) || local.equals(base)) { // e.g. "../../.bashrc" or "/etc/profile"
+                throw new AzureToolkitRuntimeException(String.format("invalid path '%s' of %s, it's outside of '%s'.", e.getKey(), this.remote.getId(), dest));
+            }
+            final Entry entry = e.getValue();
+            final Object version = Objects.nonNull(entry.md5) ? DigestUtils.md5Hex(entry.md5) :
+                Objects.isNull(entry.lastModified) ? null : entry.lastModified.toInstant().toEpochMilli();
+            return new Item(e.getKey(), local, entry.size, stamp(entry.size, version), entry);
+        }).collect(Collectors.toList());
+        return this.transfer(items, dest, false, item -> {
+            final Entry target = Objects.requireNonNull(item.entry);
+            if (!Files.isRegularFile(item.local) || sizeOf(item.local) != item.size) {
+                return false;
+            }
+            if (Objects.nonNull(target.md5) && item.size <= MAX_MD5_SIZE) {
+                return Arrays.equals(target.md5, md5(item.local));
+            }
+            return Objects.nonNull(target.lastModified) && !lastModified(item.local).isBefore(target.lastModified.toInstant());
+        }, item -> {
+            Files.createDirectories(Objects.requireNonNull(item.local.toAbsolutePath().getParent()));
+            final Path part = item.local.resolveSibling(item.local.getFileName() + ".part");
+            Files.deleteIfExists(part);
+            this.remote.download(item.path, part);
+            Files.move(part, item.local, StandardCopyOption.REPLACE_EXISTING);
+            final Entry target = Objects.requireNonNull(item.entry);
+            if (Objects.nonNull(target.lastModified)) { // so that the file is known identical next time.
+                Files.setLastModifiedTime(item.local, FileTime.from(target.lastModified.toInstant()));
+            }
+        });
+    }
+
+    @Nonnull
+    private Progress transfer(@Nonnull List<Item> items, @Nonnull Path local, boolean upload,
+                              @Nonnull Check identical, @Nonnull Action action) throws IOException {
+        final Journal journal = new Journal(this.remote.getId(), local, upload);
+        final Map<String, String> done = journal.load();
+        final Progress progress = new Progress(items.size(), items.stream().mapToLong(i -> i.size).sum());
+        // big files first so that they don't end up as the long tail.
+        items.sort((a, b) -> Long.compare(b.size, a.size));
+        final List<List<Item>> tasks = new ArrayList<>();
+        List<Item> smalls = new ArrayList<>();
+        for (final Item item : items) {
+            if (item.size > SMALL_FILE_SIZE) {
+                tasks.add(Collections.singletonList(item));
+            } else {
+                smalls.add(item);
+                if (smalls.size() >= SMALL_FILES_PER_TASK) {
+                    tasks.add(smalls);
+                    smalls = new ArrayList<>();
+                }
+            }
+        }
+        if (!smalls.isEmpty()) {
+            tasks.add(smalls);
+        }
+        final ExecutorService pool = Executors.newWorkStealingPool(this.concurrency);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (final List<Item> task : tasks) {
+                futures.add(pool.submit(() -> task.forEach(item -> this.transfer(item, done, journal, progress, identical, action))));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AzureToolkitRuntimeException("transfer is interrupted, it will be resumed next time.", e);
+        } catch (final Exception e) {
+            throw new AzureToolkitRuntimeException(ExceptionUtils.getRootCauseMessage(e), e);
+        } finally {
+            pool.shutdownNow();
+            journal.close();
+        }
+        if (progress.failures.isEmpty()) {
+            journal.delete();
+        }
+        return progress;
+    }
+
+    private void transfer(@Nonnull Item item, @Nonnull Map<String, String> done, @Nonnull Journal journal, @Nonnull Progress progress,
+                          @Nonnull Check identical, @Nonnull Action action) {
+        try {
+            // transferred before interrupted, and neither the source nor the transferred file has changed since.
+            final boolean transferred = item.stamp.equals(done.get(item.path)) && sizeOf(item.local) == item.size;
+            if (transferred || identical.test(item)) {
+                progress.skipped(item);
+            } else {
+                action.run(item);
+                journal.record(item.path, item.stamp);
+                progress.transferred(item);
+            }
+        } catch (final Exception e) {
+            log.debug("failed to transfer {}.", item.path, e);
+            progress.failed(item, ExceptionUtils.getRootCauseMessage(e));
+        }
+        if (Objects.nonNull(this.listener)) {
+            this.listener.accept(progress);
+        }
+    }
+
+    @Nonnull
+    private static String toRemotePath(@Nonnull Path relative) {
+        final List<String> names = new ArrayList<>();
+        relative.forEach(name -> names.add(name.toString()));
+        return String.join(SEPARATOR, names);
+    }
+
+    private static long sizeOf(@Nonnull Path file) {
+        try {
+            return Files.size(file);
+        } catch (final IOException e) {
+            return -1;
+        }
+    }
+
+    @Nonnull
+    private static Instant lastModified(@Nonnull Path file) throws IOException {
+        return Files.getLastModifiedTime(file).toInstant();
+    }
+
+    private static long lastModifiedMillis(@Nonnull Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (final IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return identity of the version of a source file, recorded in the journal.
+     */
+    @Nonnull
+    private static String stamp(long size, @Nullable Object version) {
+        return size + ":" + StringUtils.defaultString(Objects.toString(version, null));
+    }
+
+    @Nonnull
+    public static byte[] md5(@Nonnull Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return DigestUtils.md5(input);
+        }
+    }
+
+    /**
+     * a blob container (or a virtual directory of it) or a file share (or a directory of it).
+     */
+    public interface Remote {
+        /**
+         * identifies the remote (e.g. its url) in the transfer journal.
+         */
+        @Nonnull
+        String getId();
+
+        /**
+         * @return relative path (separated by '/') -> entry, of all files under the remote recursively.
+         */
+        @Nonnull
+        Map<String, Entry> list();
+
+        void upload(@Nonnull Path source, @Nonnull String path) throws IOException;
+
+        void download(@Nonnull String path, @Nonnull Path dest) throws IOException;
+    }
+
+    @RequiredArgsConstructor
+    public static class Entry {
+        private final long size;
+        @Nullable
+        private final OffsetDateTime lastModified;
+        @Nullable
+        private final byte[] md5;
+    }
+
+    public static class Progress {
+        @Getter
+        private final int totalFiles;
+        @Getter
+        private final long totalBytes;
+        private final AtomicLong transferredFiles = new AtomicLong();
+        private final AtomicLong skippedFiles = new AtomicLong();
+        private final AtomicLong transferredBytes = new AtomicLong();
+        private final AtomicLong processedBytes = new AtomicLong();
+        /**
+         * relative path -> error
+         */
+        private final Map<String, String> failures = new ConcurrentHashMap<>();
+
+        Progress(int totalFiles, long totalBytes) {
+            this.totalFiles = totalFiles;
+            this.totalBytes = totalBytes;
+        }
+
+        public long getTransferredFiles() {
+            return this.transferredFiles.get();
+        }
+
+        public long getSkippedFiles() {
+            return this.skippedFiles.get();
+        }
+
+        public long getTransferredBytes() {
+            return this.transferredBytes.get();
+        }
+
+        /**
+         * bytes of transferred, skipped and failed files, for progress reporting.
+         */
+        public long getProcessedBytes() {
+            return this.processedBytes.get();
+        }
+
+        @Nonnull
+        public Map<String, String> getFailures() {
+            return Collections.unmodifiableMap(this.failures);
+        }
+
+        public boolean isCompleted() {
+            return this.transferredFiles.get() + this.skippedFiles.get() + this.failures.size() >= this.totalFiles;
+        }
+
+        private void transferred(@Nonnull Item item) {
+            this.transferredFiles.incrementAndGet();
+            this.transferredBytes.addAndGet(item.size);
+            this.processedBytes.addAndGet(item.size);
+        }
+
+        private void skipped(@Nonnull Item item) {
+            this.skippedFiles.incrementAndGet();
+            this.processedBytes.addAndGet(item.size);
+        }
+
+        private void failed(@Nonnull Item item, @Nonnull String error) {
+            this.failures.put(item.path, error);
+            this.processedBytes.addAndGet(item.size);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Item {
+        @Nonnull
+        private final String path;
+        @Nonnull
+        private final Path local;
+        private final long size;
+        @Nonnull
+        private final String stamp;
+        @Nullable
+        private final Entry entry;
+    }
+
+    /**
+     * records relative paths of transferred files, with the stamps of their sources, under the system temp directory.
+     */
+    private static class Journal {
+        private static final char STAMP_SEPARATOR = '\t';
+        private final Path file;
+        @Nullable
+        private BufferedWriter writer;
+
+        Journal(@Nonnull String remoteId, @Nonnull Path local, boolean upload) {
+            final String key = DigestUtils.sha256Hex(String.join("|", upload ? "upload" : "download", remoteId, local.toAbsolutePath().normalize().toString()));
+            this.file = Paths.get(System.getProperty("java.io.tmpdir"), "azure-toolkit", "transfers", key + ".journal");
+        }
+
+        /**
+         * @return relative path -> stamp
+         */
+        @Nonnull
+        Map<String, String> load() throws IOException {
+            if (!Files.exists(this.file)) {
+                return Collections.emptyMap();
+            }
+            final Map<String, String> result = new HashMap<>();
+            try (Stream<String> lines = Files.lines(this.file, StandardCharsets.UTF_8)) {
+                lines.filter(line -> line.lastIndexOf(STAMP_SEPARATOR) > 0).forEach(line -> {
+                    final int index = line.lastIndexOf(STAMP_SEPARATOR);
+                    result.put(line.substring(0, index), line.substring(index + 1));
+                });
+            }
+            return result;
+        }
+
+        synchronized void record(@Nonnull String path, @Nonnull String stamp) throws IOException {
+            if (Objects.isNull(this.writer)) {
+                Files.createDirectories(Objects.requireNonNull(this.file.getParent()));
+                this.writer = Files.newBufferedWriter(this.file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            this.writer.write(path + STAMP_SEPARATOR + stamp);
+            this.writer.newLine();
+            this.writer.flush();
+        }
+
+        synchronized void close() throws IOException {
+            if (Objects.nonNull(this.writer)) {
+                this.writer.close();
+                this.writer = null;
+            }
+        }
+
+        void delete() throws IOException {
+            Files.deleteIfExists(this.file);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Check {
+        boolean test(@Nonnull Item item) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run(@Nonnull Item item) throws IOException;
+    }
+}
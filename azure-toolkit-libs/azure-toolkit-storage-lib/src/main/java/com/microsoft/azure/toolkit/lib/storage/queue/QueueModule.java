@@ -14,6 +14,7 @@ import com.azure.storage.queue.QueueServiceClientBuilder;
 import com.azure.storage.queue.models.QueuesSegmentOptions;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractEmulatableAzResourceModule;
+import com.microsoft.azure.toolkit.lib.common.model.DataPlaneClients;
 import com.microsoft.azure.toolkit.lib.common.model.page.ItemPage;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.storage.IStorageAccount;
@@ -44,7 +45,8 @@ public class QueueModule extends AbstractEmulatableAzResourceModule<Queue, IStor
     synchronized QueueServiceClient getQueueServiceClient() {
         if (Objects.isNull(this.client) && this.parent.exists()) {
             final String connectionString = this.parent.getConnectionString();
-            this.client = new QueueServiceClientBuilder().addPolicy(AbstractAzServiceSubscription.getUserAgentPolicy()).connectionString(connectionString).buildClient();
+            this.client = DataPlaneClients.get(QueueServiceClient.class, connectionString, http -> new QueueServiceClientBuilder().httpClient(http)
+                .addPolicy(AbstractAzServiceSubscription.getUserAgentPolicy()).connectionString(connectionString).buildClient());
         }
         return this.client;
     }
@@ -13,16 +13,20 @@ import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractEmulatableAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
 import com.microsoft.azure.toolkit.lib.storage.IStorageAccount;
+import com.microsoft.azure.toolkit.lib.storage.model.DirectoryTransfer;
 import lombok.Getter;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Path;
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Getter
 public class Share extends AbstractEmulatableAzResource<Share, IStorageAccount, ShareClient>
@@ -101,4 +105,26 @@ public class Share extends AbstractEmulatableAzResource<Share, IStorageAccount,
     @Override
     public void download(Path dest) {
     }
+
+    /**
+     * uploads all files under {@code source} into this file share in parallel, files identical to the existing ones are skipped.
+     */
+    @Nonnull
+    public DirectoryTransfer.Progress uploadDirectory(@Nonnull Path source, @Nullable Consumer<DirectoryTransfer.Progress> listener) throws IOException {
+        final ShareDirectoryClient client = Objects.requireNonNull(this.getClient(), "client of file share is not available.");
+        try {
+            return new DirectoryTransfer(new ShareRemote(client), DirectoryTransfer.DEFAULT_CONCURRENCY, listener).upload(source);
+        } finally {
+            this.subFileModule.refresh();
+        }
+    }
+
+    /**
+     * downloads all files of this file share into {@code dest} in parallel, files identical to the existing ones are skipped.
+     */
+    @Nonnull
+    public DirectoryTransfer.Progress downloadDirectory(@Nonnull Path dest, @Nullable Consumer<DirectoryTransfer.Progress> listener) throws IOException {
+        final ShareDirectoryClient client = Objects.requireNonNull(this.getClient(), "client of file share is not available.");
+        return new DirectoryTransfer(new ShareRemote(client), DirectoryTransfer.DEFAULT_CONCURRENCY, listener).download(dest);
+    }
 }
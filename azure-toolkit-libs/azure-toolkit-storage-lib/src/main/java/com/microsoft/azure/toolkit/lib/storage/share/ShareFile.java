@@ -8,6 +8,7 @@ package com.microsoft.azure.toolkit.lib.storage.share;
 import com.azure.storage.file.share.ShareDirectoryClient;
 import com.azure.storage.file.share.models.ShareFileItem;
 import com.azure.storage.file.share.models.ShareFileItemProperties;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractEmulatableAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
@@ -81,7 +82,9 @@ public class ShareFile extends AbstractEmulatableAzResource<ShareFile, IShareFil
     public void download(OutputStream output) {
         final ShareDirectoryClient parentClient = (ShareDirectoryClient) this.getParent().getClient();
         if (!this.isDirectory() && Objects.nonNull(parentClient) && this.exists()) {
+            final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("share", AzureMetrics.DOWNLOAD);
             parentClient.getFileClient(this.getName()).download(output);
+            transfer.stop(this.getSize());
         }
     }
 
@@ -89,7 +92,9 @@ public class ShareFile extends AbstractEmulatableAzResource<ShareFile, IShareFil
     public void download(Path dest) {
         final ShareDirectoryClient parentClient = (ShareDirectoryClient) this.getParent().getClient();
         if (!this.isDirectory() && Objects.nonNull(parentClient) && this.exists()) {
+            final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("share", AzureMetrics.DOWNLOAD);
             parentClient.getFileClient(this.getName()).downloadToFile(dest.toAbsolutePath().toString());
+            transfer.stop(dest.toFile().length());
         }
     }
 
@@ -12,6 +12,7 @@ import com.azure.storage.file.share.ShareServiceClient;
 import com.azure.storage.file.share.ShareServiceClientBuilder;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractEmulatableAzResourceModule;
+import com.microsoft.azure.toolkit.lib.common.model.DataPlaneClients;
 import com.microsoft.azure.toolkit.lib.common.model.page.ItemPage;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.storage.IStorageAccount;
@@ -42,7 +43,8 @@ public class ShareModule extends AbstractEmulatableAzResourceModule<Share, IStor
     synchronized ShareServiceClient getFileShareServiceClient() {
         if (Objects.isNull(this.client) && this.parent.exists()) {
             final String connectionString = this.parent.getConnectionString();
-            this.client = new ShareServiceClientBuilder().addPolicy(AbstractAzServiceSubscription.getUserAgentPolicy()).connectionString(connectionString).buildClient();
+            this.client = DataPlaneClients.get(ShareServiceClient.class, connectionString, http -> new ShareServiceClientBuilder().httpClient(http)
+                .addPolicy(AbstractAzServiceSubscription.getUserAgentPolicy()).connectionString(connectionString).buildClient());
         }
         return this.client;
     }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.share;
+
+import com.azure.core.util.Context;
+import com.azure.storage.file.share.ShareDirectoryClient;
+import com.azure.storage.file.share.ShareFileClient;
+import com.azure.storage.file.share.models.ShareFileItem;
+import com.azure.storage.file.share.models.ShareFileItemProperties;
+import com.azure.storage.file.share.options.ShareListFilesAndDirectoriesOptions;
+import com.microsoft.azure.toolkit.lib.common.metrics.AzureMetrics;
+import com.microsoft.azure.toolkit.lib.storage.model.DirectoryTransfer;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * files under a directory of a file share as the remote of a {@link DirectoryTransfer}.
+ */
+@RequiredArgsConstructor
+class ShareRemote implements DirectoryTransfer.Remote {
+    @Nonnull
+    private final ShareDirectoryClient root;
+    private final Map<String, Boolean> directories = new ConcurrentHashMap<>();
+
+    @Nonnull
+    @Override
+    public String getId() {
+        return this.root.getDirectoryUrl();
+    }
+
+    @Nonnull
+    @Override
+    public Map<String, DirectoryTransfer.Entry> list() {
+        final Map<String, DirectoryTransfer.Entry> result = new HashMap<>();
+        this.list(this.root, "", result);
+        return result;
+    }
+
+    private void list(@Nonnull ShareDirectoryClient dir, @Nonnull String relative, @Nonnull Map<String, DirectoryTransfer.Entry> result) {
+        final ShareListFilesAndDirectoriesOptions options = new ShareListFilesAndDirectoriesOptions().setIncludeTimestamps(true);
+        for (final ShareFileItem item : dir.listFilesAndDirectories(options, null, Context.NONE)) {
+            final String path = relative + item.getName();
+            if (item.isDirectory()) {
+                this.directories.put(path, true);
+                this.list(dir.getSubdirectoryClient(item.getName()), path + "/", result);
+            } else {
+                final OffsetDateTime lastModified = Optional.ofNullable(item.getProperties()).map(ShareFileItemProperties::getLastModified).orElse(null);
+                result.put(path, new DirectoryTransfer.Entry(item.getFileSize(), lastModified, null));
+            }
+        }
+    }
+
+    @Override
+    public void upload(@Nonnull Path source, @Nonnull String path) throws IOException {
+        final int index = path.lastIndexOf('/');
+        if (index > 0) {
+            this.createDirectories(path.substring(0, index));
+        }
+        final ShareFileClient file = this.root.getFileClient(path);
+        final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("share", AzureMetrics.UPLOAD);
+        file.create(Files.size(source));
+        file.uploadFromFile(source.toString());
+        transfer.stop(Files.size(source));
+    }
+
+    @Override
+    public void download(@Nonnull String path, @Nonnull Path dest) {
+        final AzureMetrics.Transfer transfer = AzureMetrics.startTransfer("share", AzureMetrics.DOWNLOAD);
+        this.root.getFileClient(path).downloadToFile(dest.toString());
+        transfer.stop(dest.toFile().length());
+    }
+
+    // concurrent uploads into the same directory wait for the one creating it.
+    private void createDirectories(@Nonnull String dir) {
+        final int index = dir.lastIndexOf('/');
+        if (index > 0) {
+            this.createDirectories(dir.substring(0, index));
+        }
+        this.directories.computeIfAbsent(dir, d -> {
+            this.root.getSubdirectoryClient(d).createIfNotExists();
+            return true;
+        });
+    }
+}
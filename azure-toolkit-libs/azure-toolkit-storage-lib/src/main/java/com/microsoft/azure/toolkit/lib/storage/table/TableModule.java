@@ -12,6 +12,7 @@ import com.azure.data.tables.TableServiceClientBuilder;
 import com.azure.resourcemanager.resources.fluentcore.arm.ResourceId;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractEmulatableAzResourceModule;
+import com.microsoft.azure.toolkit.lib.common.model.DataPlaneClients;
 import com.microsoft.azure.toolkit.lib.common.model.page.ItemPage;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.storage.IStorageAccount;
@@ -42,7 +43,8 @@ public class TableModule extends AbstractEmulatableAzResourceModule<Table, IStor
     synchronized TableServiceClient getTableServiceClient() {
         if (Objects.isNull(this.client) && this.parent.exists()) {
             final String connectionString = this.parent.getConnectionString();
-            this.client = new TableServiceClientBuilder().addPolicy(AbstractAzServiceSubscription.getUserAgentPolicy()).connectionString(connectionString).buildClient();
+            this.client = DataPlaneClients.get(TableServiceClient.class, connectionString, http -> new TableServiceClientBuilder().httpClient(http)
+                .addPolicy(AbstractAzServiceSubscription.getUserAgentPolicy()).connectionString(connectionString).buildClient());
         }
         return this.client;
     }
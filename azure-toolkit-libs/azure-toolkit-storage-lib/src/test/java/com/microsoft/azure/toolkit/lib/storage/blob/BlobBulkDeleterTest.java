@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.blob;
+
+import com.azure.core.http.rest.PagedFlux;
+import com.azure.core.http.rest.PagedIterable;
+import com.azure.core.http.rest.PagedResponse;
+import com.azure.core.http.rest.PagedResponseBase;
+import com.azure.core.http.rest.Response;
+import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.batch.BlobBatch;
+import com.azure.storage.blob.batch.BlobBatchClient;
+import com.azure.storage.blob.models.BlobErrorCode;
+import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.blob.models.StorageAccountInfo;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class BlobBulkDeleterTest {
+    private BlobContainerClient client;
+    private BlobBatchClient batchClient;
+    private StorageAccountInfo account;
+    private List<AtomicInteger> batchSizes;
+
+    @Before
+    public void setUp() {
+        this.client = mock(BlobContainerClient.class);
+        this.batchClient = mock(BlobBatchClient.class);
+        this.account = mock(StorageAccountInfo.class);
+        this.batchSizes = Collections.synchronizedList(new ArrayList<>());
+        final BlobServiceClient service = mock(BlobServiceClient.class);
+        when(this.client.getBlobContainerName()).thenReturn("container");
+        when(this.client.getServiceClient()).thenReturn(service);
+        when(service.getAccountInfo()).thenReturn(this.account);
+        when(this.batchClient.getBlobBatch()).thenAnswer(invocation -> {
+            final AtomicInteger size = new AtomicInteger();
+            this.batchSizes.add(size);
+            final BlobBatch batch = mock(BlobBatch.class);
+            when(batch.deleteBlob(anyString(), anyString(), any(), any())).thenAnswer(i -> {
+                size.incrementAndGet();
+                return this.response(i.getArgument(1));
+            });
+            return batch;
+        });
+    }
+
+    @Test
+    public void testBlobsOfAllPagesAreDeletedInBatches() {
+        final List<String> names = IntStream.range(0, 600).mapToObj(i -> "dir/blob-" + i).collect(Collectors.toList());
+        when(this.client.listBlobs(any(ListBlobsOptions.class), any())).thenReturn(pages(names, 500));
+
+        final BlobBulkDeleter.Result result = new BlobBulkDeleter(this.client, this.batchClient, 2).delete("dir/");
+        assertTrue(result.isSucceeded());
+        assertEquals(600, result.getDeleted());
+        final List<Integer> sizes = this.batchSizes.stream().map(AtomicInteger::get).sorted().collect(Collectors.toList());
+        assertEquals(Arrays.asList(88, BlobBulkDeleter.MAX_BATCH_SIZE, BlobBulkDeleter.MAX_BATCH_SIZE), sizes);
+        verify(this.batchClient, times(3)).submitBatchWithResponse(any(BlobBatch.class), anyBoolean(), any(), any());
+
+        final ArgumentCaptor<ListBlobsOptions> options = ArgumentCaptor.forClass(ListBlobsOptions.class);
+        verify(this.client).listBlobs(options.capture(), any());
+        assertEquals("dir/", options.getValue().getPrefix());
+        assertEquals(Integer.valueOf(5000), options.getValue().getMaxResultsPerPage());
+    }
+
+    @Test
+    public void testFailuresAreReportedPerBlob() {
+        when(this.client.listBlobs(any(ListBlobsOptions.class), any())).thenReturn(pages(Arrays.asList("dir/a", "dir/gone", "dir/forbidden"), 5000));
+
+        final BlobBulkDeleter.Result result = new BlobBulkDeleter(this.client, this.batchClient, 1).delete("dir/");
+        assertFalse(result.isSucceeded());
+        assertEquals(2, result.getDeleted()); // blobs deleted by others count as deleted.
+        assertEquals(Collections.singletonMap("dir/forbidden", BlobErrorCode.AUTHORIZATION_FAILURE.toString()), result.getFailures());
+    }
+
+    @Test
+    public void testWholeBatchFailure() {
+        when(this.client.getServiceClient()).thenThrow(new IllegalStateException("no permission to get account info"));
+        when(this.client.listBlobs(any(ListBlobsOptions.class), any())).thenReturn(pages(Arrays.asList("dir/a", "dir/b"), 5000));
+        when(this.batchClient.submitBatchWithResponse(any(BlobBatch.class), anyBoolean(), any(), any())).thenThrow(new IllegalStateException("throttled"));
+
+        final BlobBulkDeleter.Result result = new BlobBulkDeleter(this.client, this.batchClient, 1).delete("dir/");
+        assertEquals(0, result.getDeleted());
+        assertEquals(2, result.getFailures().size());
+    }
+
+    @Test
+    public void testHierarchicalNamespaceIsDeletedOneByOneFromDeepest() {
+        when(this.account.isHierarchicalNamespaceEnabled()).thenReturn(true);
+        when(this.client.listBlobs(any(ListBlobsOptions.class), any())).thenReturn(pages(Arrays.asList("dir/a", "dir/sub", "dir/sub/b", "dir/sub/c"), 5000));
+        final List<String> deleted = Collections.synchronizedList(new ArrayList<>());
+        when(this.client.getBlobClient(anyString())).thenAnswer(invocation -> {
+            final String name = invocation.getArgument(0);
+            final BlobClient blob = mock(BlobClient.class);
+            when(blob.deleteWithResponse(any(), any(), any(), any())).thenAnswer(i -> {
+                deleted.add(name);
+                return this.response(name);
+            });
+            return blob;
+        });
+
+        final BlobBulkDeleter.Result result = new BlobBulkDeleter(this.client, this.batchClient, 1).delete("dir/");
+        assertTrue(result.isSucceeded());
+        assertEquals(5, result.getDeleted());
+        // a directory is deleted after its children, the directory itself the last.
+        assertEquals(Arrays.asList("dir/sub/b", "dir/sub/c", "dir/a", "dir/sub", "dir"), deleted);
+        verifyNoInteractions(this.batchClient);
+        verify(this.client, never()).getBlobClient("dir/");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Response<Void> response(String name) {
+        final Response<Void> response = mock(Response.class);
+        if (name.endsWith("gone") || name.endsWith("forbidden")) {
+            final BlobStorageException error = mock(BlobStorageException.class);
+            when(error.getStatusCode()).thenReturn(name.endsWith("gone") ? 404 : 403);
+            when(error.getErrorCode()).thenReturn(name.endsWith("gone") ? BlobErrorCode.BLOB_NOT_FOUND : BlobErrorCode.AUTHORIZATION_FAILURE);
+            when(response.getStatusCode()).thenThrow(error);
+        } else {
+            when(response.getStatusCode()).thenReturn(202);
+        }
+        return response;
+    }
+
+    private static PagedIterable<BlobItem> pages(List<String> names, int pageSize) {
+        final List<List<BlobItem>> pages = new ArrayList<>();
+        for (int i = 0; i < names.size(); i += pageSize) {
+            pages.add(names.subList(i, Math.min(names.size(), i + pageSize)).stream().map(n -> new BlobItem().setName(n)).collect(Collectors.toList()));
+        }
+        return new PagedIterable<>(new PagedFlux<>(() -> page(pages, 0), token -> page(pages, Integer.parseInt(token))));
+    }
+
+    private static Mono<PagedResponse<BlobItem>> page(List<List<BlobItem>> pages, int index) {
+        final String next = index + 1 < pages.size() ? String.valueOf(index + 1) : null;
+        final List<BlobItem> items = pages.isEmpty() ? Collections.emptyList() : pages.get(index);
+        return Mono.just(new PagedResponseBase<Void, BlobItem>(null, 200, null, items, next, null));
+    }
+}
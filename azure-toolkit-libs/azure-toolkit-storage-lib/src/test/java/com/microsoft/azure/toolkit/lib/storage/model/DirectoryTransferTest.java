@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.storage.model;
+
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DirectoryTransferTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FakeRemote remote;
+    private Path local;
+
+    @Before
+    public void setUp() throws IOException {
+        this.remote = new FakeRemote();
+        this.local = this.folder.newFolder("local").toPath();
+    }
+
+    @Test
+    public void testUploadResumesWithRemainingFiles() throws IOException {
+        write(this.local.resolve("a.txt"), "a");
+        write(this.local.resolve("b.txt"), "b");
+        this.remote.failing.add("b.txt");
+        final DirectoryTransfer.Progress first = new DirectoryTransfer(this.remote, 1, null).upload(this.local);
+        assertEquals(Collections.singleton("b.txt"), first.getFailures().keySet());
+
+        this.remote.failing.clear();
+        this.remote.uploaded.clear();
+        final DirectoryTransfer.Progress second = new DirectoryTransfer(this.remote, 1, null).upload(this.local);
+        assertTrue(second.getFailures().isEmpty());
+        assertEquals(1, second.getSkippedFiles());
+        assertEquals(Collections.singletonList("b.txt"), this.remote.uploaded);
+    }
+
+    @Test
+    public void testUploadResumeRetransfersFilesChangedSince() throws IOException {
+        final Path a = write(this.local.resolve("a.txt"), "a");
+        write(this.local.resolve("b.txt"), "b");
+        this.remote.failing.add("b.txt");
+        new DirectoryTransfer(this.remote, 1, null).upload(this.local);
+
+        write(a, "changed"); // after it was uploaded by the interrupted transfer.
+        this.remote.failing.clear();
+        this.remote.uploaded.clear();
+        new DirectoryTransfer(this.remote, 1, null).upload(this.local);
+        assertEquals(new HashSet<>(Arrays.asList("a.txt", "b.txt")), new HashSet<>(this.remote.uploaded));
+    }
+
+    @Test
+    public void testDownloadResumeRetransfersFilesChangedSince() throws IOException {
+        this.remote.put("a.txt", "a", 1000);
+        this.remote.put("b.txt", "b", 1000);
+        this.remote.failing.add("b.txt");
+        new DirectoryTransfer(this.remote, 1, null).download(this.local);
+
+        this.remote.put("a.txt", "A", 2000); // same size, modified after the interrupted transfer.
+        this.remote.failing.clear();
+        this.remote.downloaded.clear();
+        new DirectoryTransfer(this.remote, 1, null).download(this.local);
+        assertEquals(new HashSet<>(Arrays.asList("a.txt", "b.txt")), new HashSet<>(this.remote.downloaded));
+        assertEquals("A", new String(Files.readAllBytes(this.local.resolve("a.txt")), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testDownloadRejectsPathsOutsideOfDest() throws IOException {
+        this.remote.put("a.txt", "a", 1000);
+        this.remote.put("../evil.txt", "evil", 1000);
+        try {
+            new DirectoryTransfer(this.remote, 1, null).download(this.local);
+            fail("path traversal should be rejected");
+        } catch (final AzureToolkitRuntimeException e) {
+            assertTrue(e.getMessage().contains("../evil.txt"));
+        }
+        assertTrue(this.remote.downloaded.isEmpty());
+        assertFalse(Files.exists(this.local.resolveSibling("evil.txt")));
+    }
+
+    private static Path write(Path file, String content) throws IOException {
+        return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class FakeRemote implements DirectoryTransfer.Remote {
+        // journals are kept per remote, don't share them between tests.
+        private final String id = "fake://" + UUID.randomUUID();
+        private final Map<String, byte[]> files = new HashMap<>();
+        private final Map<String, Long> modified = new HashMap<>();
+        private final Set<String> failing = new HashSet<>();
+        private final List<String> uploaded = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> downloaded = Collections.synchronizedList(new ArrayList<>());
+
+        void put(String path, String content, long lastModified) {
+            this.files.put(path, content.getBytes(StandardCharsets.UTF_8));
+            this.modified.put(path, lastModified);
+        }
+
+        @Nonnull
+        @Override
+        public String getId() {
+            return this.id;
+        }
+
+        @Nonnull
+        @Override
+        public Map<String, DirectoryTransfer.Entry> list() {
+            // uploaded files aren't listed, so that only the journal decides what's skipped.
+            final Map<String, DirectoryTransfer.Entry> result = new HashMap<>();
+            this.files.forEach((path, content) -> result.put(path, new DirectoryTransfer.Entry(content.length,
+                OffsetDateTime.ofInstant(Instant.ofEpochMilli(this.modified.get(path)), ZoneOffset.UTC), null)));
+            return result;
+        }
+
+        @Override
+        public void upload(@Nonnull Path source, @Nonnull String path) throws IOException {
+            if (this.failing.contains(path)) {
+                throw new IOException("connection reset");
+            }
+            this.uploaded.add(path);
+        }
+
+        @Override
+        public void download(@Nonnull String path, @Nonnull Path dest) throws IOException {
+            if (this.failing.contains(path)) {
+                throw new IOException("connection reset");
+            }
+            this.downloaded.add(path);
+            Files.write(dest, this.files.get(path));
+        }
+    }
+}